@@ -0,0 +1,145 @@
+//*****************************************************************************/
+//* Copyright (C) 2005-2013                                                   */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * BenchFixture.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New, loads benchmark fixtures from the bundled data/mm files.
+ */
+
+package mmj.bench;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import mmj.lang.*;
+import mmj.pa.ProofAsst;
+import mmj.util.*;
+import mmj.verify.Grammar;
+
+/**
+ * A LogicalSystem loaded (and verified, parsed and ready for the Proof
+ * Assistant) by running a generated RunParm file through {@code BatchMMJ2},
+ * exactly as a batch run would.
+ * <p>
+ * The .mm files are looked up in the directory named by system property
+ * {@code mmj2.bench.data}, by default the bundled {@code ../data/mm} (the
+ * benchmarks are normally run from the {@code benchmarks} directory).
+ */
+public class BenchFixture {
+
+    /** System property naming the directory containing the .mm files */
+    public static final String DATA_DIR_PROPERTY = "mmj2.bench.data";
+
+    /** Default directory containing the .mm files */
+    public static final String DEFAULT_DATA_DIR = "../data/mm";
+
+    /** Default .mm file, the only bundled file with many real proofs */
+    public static final String DEFAULT_MM_FILE = "setFirst100.mm";
+
+    public final BatchMMJ2 batchMMJ2;
+    public final LogicalSystem logicalSystem;
+    public final Grammar grammar;
+    /** null if the Proof Assistant could not be initialized */
+    public final ProofAsst proofAsst;
+    public final Messages messages;
+
+    /**
+     * Loads a .mm file with the default parser.
+     *
+     * @param mmFileName name of the file in the data directory.
+     */
+    public BenchFixture(final String mmFileName) {
+        this(mmFileName, null);
+    }
+
+    /**
+     * Loads a .mm file.
+     *
+     * @param mmFileName name of the file in the data directory.
+     * @param parserClass name of the GrammaticalParser class to use, or null
+     *            for the default.
+     */
+    public BenchFixture(final String mmFileName, final String parserClass) {
+        final List<String> runParms = new ArrayList<>();
+        runParms.add("MaxErrorMessages,5000");
+        runParms.add("MaxInfoMessages,50000");
+        runParms.add("LoadFile," + getMMFile(mmFileName).getAbsolutePath());
+        if (parserClass != null) // after LoadFile, which resets the parser
+            runParms.add("SetParser," + parserClass);
+        runParms.add("VerifyProof,*");
+        runParms.add("Parse,*");
+        runParms.add("ProofAsstDjVarsSoftErrors,Report");
+
+        final File runParmFile;
+        try {
+            runParmFile = File.createTempFile("mmj2bench", ".txt");
+            runParmFile.deleteOnExit();
+            Files.write(runParmFile.toPath(), runParms,
+                StandardCharsets.US_ASCII);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        batchMMJ2 = new BatchMMJ2();
+        if (batchMMJ2.runIt(new String[]{runParmFile.getAbsolutePath(),
+                "n"}) != 0)
+            throw new IllegalStateException("BatchMMJ2 failed for "
+                + mmFileName);
+
+        logicalSystem = batchMMJ2.logicalSystemBoss.getLogicalSystem();
+        grammar = batchMMJ2.grammarBoss.getGrammar();
+        proofAsst = batchMMJ2.proofAsstBoss.getProofAsst();
+        messages = batchMMJ2.outputBoss.getMessages();
+        messages.clearMessages();
+    }
+
+    /**
+     * Returns the Proof Assistant, which must have been initialized.
+     *
+     * @return the ProofAsst.
+     */
+    public ProofAsst requireProofAsst() {
+        if (proofAsst == null)
+            throw new IllegalStateException("ProofAsst not initialized");
+        return proofAsst;
+    }
+
+    /**
+     * Returns a .mm file in the data directory.
+     *
+     * @param mmFileName name of the file.
+     * @return the File.
+     */
+    public static File getMMFile(final String mmFileName) {
+        final File f = new File(
+            System.getProperty(DATA_DIR_PROPERTY, DEFAULT_DATA_DIR),
+            mmFileName);
+        if (!f.isFile())
+            throw new IllegalArgumentException("No such file " + f
+                + " (set -D" + DATA_DIR_PROPERTY + ")");
+        return f;
+    }
+
+    /**
+     * Returns the Theorems of the LogicalSystem in database order.
+     *
+     * @return List of Theorems sorted by MObj.seq.
+     */
+    public List<Theorem> getTheorems() {
+        final List<Theorem> list = new ArrayList<>();
+        for (final Stmt stmt : logicalSystem.getStmtTbl().values())
+            if (stmt instanceof Theorem)
+                list.add((Theorem)stmt);
+        Collections.sort(list, MObj.SEQ);
+        return list;
+    }
+}
@@ -0,0 +1,68 @@
+//*****************************************************************************/
+//* Copyright (C) 2005-2013                                                   */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * ParserBench.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New.
+ */
+
+package mmj.bench;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mmj.lang.*;
+
+/**
+ * {@code Grammar.parseFormula} over every logical hypothesis and theorem
+ * formula of a .mm file, comparing the Earley and LR grammatical parsers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBench {
+
+    @Param({"mmj.verify.EarleyParser", "mmj.verify.LRParser"})
+    public String parser;
+
+    @Param({BenchFixture.DEFAULT_MM_FILE})
+    public String mmFile;
+
+    private BenchFixture fixture;
+    private Stmt[] stmts;
+
+    @Setup
+    public void setup() {
+        fixture = new BenchFixture(mmFile, parser);
+        final List<Stmt> list = new ArrayList<>();
+        for (final Stmt stmt : fixture.logicalSystem.getStmtTbl().values())
+            if (stmt instanceof Theorem || stmt instanceof LogHyp)
+                list.add(stmt);
+        Collections.sort(list, MObj.SEQ);
+        stmts = list.toArray(new Stmt[list.size()]);
+    }
+
+    @Benchmark
+    public void parseFormulas(final Blackhole bh) {
+        final Map<String, Sym> symTbl = fixture.logicalSystem.getSymTbl();
+        final Map<String, Stmt> stmtTbl = fixture.logicalSystem.getStmtTbl();
+        for (final Stmt stmt : stmts)
+            bh.consume(fixture.grammar.parseFormula(fixture.messages, symTbl,
+                stmtTbl, stmt.getFormula(), stmt.getMandVarHypArray(),
+                stmt.getSeq(), stmt));
+        fixture.messages.clearMessages();
+    }
+}
@@ -0,0 +1,114 @@
+//*****************************************************************************/
+//* Copyright (C) 2005-2013                                                   */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * ProofCompressionBench.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New.
+ */
+
+package mmj.bench;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mmj.lang.*;
+import mmj.mmio.*;
+
+/**
+ * {@code ProofCompression.decompress} and {@code compress} over every
+ * compressed proof of a .mm file.
+ * <p>
+ * The compressed proofs are captured with a Statementizer pass over the file,
+ * so that {@code decompress} sees exactly the input LogicalSystem would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProofCompressionBench {
+
+    /** Width of the generated compressed proof text, as in a worksheet */
+    private static final int WIDTH = 74;
+
+    @Param({BenchFixture.DEFAULT_MM_FILE, "big-unifier.mm"})
+    public String mmFile;
+
+    private Map<String, Stmt> stmtTbl;
+    private Theorem[] theorems;
+    private SrcStmt[] srcStmts;
+    private List<List<Hyp>> mandHyps;
+    private List<List<VarHyp>> optHyps;
+    private ProofCompression proofCompression;
+
+    @Setup
+    public void setup() throws IOException, MMIOException {
+        final BenchFixture fixture = new BenchFixture(mmFile);
+        stmtTbl = fixture.logicalSystem.getStmtTbl();
+
+        final Map<String, SrcStmt> compressed = new HashMap<>();
+        try (Statementizer s = new Statementizer(
+            new Tokenizer(BenchFixture.getMMFile(mmFile), mmFile)))
+        {
+            SrcStmt x;
+            while ((x = s.getStmt()) != null)
+                if (x.proofBlockList != null)
+                    compressed.put(x.label, x);
+        }
+
+        final List<Theorem> theoremList = new ArrayList<>();
+        final List<SrcStmt> srcList = new ArrayList<>();
+        mandHyps = new ArrayList<>();
+        optHyps = new ArrayList<>();
+        for (final Theorem theorem : fixture.getTheorems()) {
+            final SrcStmt x = compressed.get(theorem.getLabel());
+            // compress() needs at least one step that is not a mandatory
+            // hypothesis (dummylink's proof is just its hypothesis)
+            if (x == null || x.proofList.isEmpty())
+                continue;
+            theoremList.add(theorem);
+            srcList.add(x);
+            mandHyps.add(Arrays.asList(theorem.getMandFrame().hypArray));
+            final List<VarHyp> opt = new ArrayList<>();
+            for (final Hyp h : theorem.getOptFrame().hypArray)
+                opt.add((VarHyp)h);
+            optHyps.add(opt);
+        }
+        theorems = theoremList.toArray(new Theorem[theoremList.size()]);
+        srcStmts = srcList.toArray(new SrcStmt[srcList.size()]);
+        proofCompression = new ProofCompression();
+    }
+
+    @Benchmark
+    public void decompress(final Blackhole bh) throws LangException {
+        for (int i = 0; i < theorems.length; i++) {
+            final Theorem t = theorems[i];
+            bh.consume(proofCompression.decompress(t.getLabel(), t.getSeq(),
+                stmtTbl, t.getMandFrame().hypArray, t.getOptFrame().hypArray,
+                srcStmts[i].proofList, srcStmts[i].proofBlockList));
+        }
+    }
+
+    @Benchmark
+    public void compress(final Blackhole bh) {
+        for (int i = 0; i < theorems.length; i++) {
+            final StringBuilder letters = new StringBuilder();
+            bh.consume(proofCompression.compress(theorems[i].getLabel(), WIDTH,
+                mandHyps.get(i), optHyps.get(i), theorems[i].getProof(),
+                letters));
+            bh.consume(letters);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+//*****************************************************************************/
+//* Copyright (C) 2005-2013                                                   */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * ProofUnifierBench.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New.
+ */
+
+package mmj.bench;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mmj.lang.Theorem;
+
+/**
+ * {@code ProofAsst.unify} (and so {@code ProofUnifier}) over a set of Proof
+ * Worksheets.
+ * <p>
+ * The sample worksheets in {@code data/mmp/tests} are written against the
+ * full set.mm, which is not bundled. By default the worksheets are therefore
+ * exported from the theorems of the loaded .mm file, as ProofAsstBatchTest
+ * does; to unify the sample worksheets instead, set {@code mmj2.bench.data}
+ * to a directory containing set.mm, run with {@code -p mmFile=set.mm}, and
+ * name the worksheet directory with system property {@code mmj2.bench.mmp}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProofUnifierBench {
+
+    /** System property naming a directory of .mmp files to unify */
+    public static final String MMP_DIR_PROPERTY = "mmj2.bench.mmp";
+
+    @Param({BenchFixture.DEFAULT_MM_FILE})
+    public String mmFile;
+
+    private BenchFixture fixture;
+    private String[] worksheets;
+
+    @Setup
+    public void setup() throws IOException {
+        fixture = new BenchFixture(mmFile);
+        fixture.requireProofAsst();
+        final List<String> list = new ArrayList<>();
+        final String mmpDir = System.getProperty(MMP_DIR_PROPERTY);
+        if (mmpDir == null)
+            for (final Theorem theorem : fixture.getTheorems()) {
+                final String s = fixture.proofAsst.exportOneTheorem(theorem);
+                if (s != null)
+                    list.add(s);
+            }
+        else {
+            final File[] files = new File(mmpDir)
+                .listFiles((dir, name) -> name.endsWith(".mmp"));
+            if (files == null)
+                throw new IllegalArgumentException("No such directory "
+                    + mmpDir);
+            Arrays.sort(files);
+            for (final File f : files)
+                list.add(new String(Files.readAllBytes(f.toPath()),
+                    StandardCharsets.ISO_8859_1));
+        }
+        fixture.messages.clearMessages();
+        worksheets = list.toArray(new String[list.size()]);
+    }
+
+    @Benchmark
+    public void unify(final Blackhole bh) {
+        for (final String proofText : worksheets) {
+            bh.consume(fixture.proofAsst.unify(false, // no renum
+                false, // convert work vars
+                proofText, null, // no preprocess request
+                null, // no step request
+                null, // no TL request
+                -1, // inputCursorPos
+                false)); // printOkMessages
+            fixture.messages.clearMessages();
+        }
+    }
+}
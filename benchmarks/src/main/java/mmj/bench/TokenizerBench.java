@@ -0,0 +1,83 @@
+//*****************************************************************************/
+//* Copyright (C) 2005-2013                                                   */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * TokenizerBench.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New.
+ */
+
+package mmj.bench;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mmj.mmio.*;
+
+/**
+ * Tokenizer and Statementizer throughput over a whole .mm file, for both the
+ * memory-mapped and the Reader based Tokenizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TokenizerBench {
+
+    @Param({"setFirst100.mm", "big-unifier.mm"})
+    public String mmFile;
+
+    private File file;
+
+    @Setup
+    public void setup() {
+        file = BenchFixture.getMMFile(mmFile);
+    }
+
+    @Benchmark
+    public void tokenizeMapped(final Blackhole bh) throws IOException {
+        final TokenTable table = new TokenTable();
+        try (Tokenizer t = new Tokenizer(file, mmFile)) {
+            String token;
+            while ((token = t.getToken(table)) != null)
+                bh.consume(token);
+        }
+    }
+
+    @Benchmark
+    public void tokenizeReader(final Blackhole bh) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        try (Tokenizer t = new Tokenizer(
+            new BufferedReader(new FileReader(file)), mmFile))
+        {
+            while (t.getToken(sb, 0) >= 0) {
+                bh.consume(sb.length());
+                sb.setLength(0);
+            }
+        }
+    }
+
+    @Benchmark
+    public void statementize(final Blackhole bh)
+        throws IOException, MMIOException
+    {
+        try (Statementizer s = new Statementizer(new Tokenizer(file, mmFile),
+            new TokenTable()))
+        {
+            SrcStmt stmt;
+            while ((stmt = s.getStmt()) != null)
+                bh.consume(stmt);
+        }
+    }
+}
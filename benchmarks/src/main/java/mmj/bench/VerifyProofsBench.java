@@ -0,0 +1,56 @@
+//*****************************************************************************/
+//* Copyright (C) 2005-2013                                                   */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * VerifyProofsBench.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New.
+ */
+
+package mmj.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mmj.lang.Theorem;
+import mmj.verify.VerifyProofs;
+
+/**
+ * {@code VerifyProofs.verifyOneProof} over every theorem of a .mm file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VerifyProofsBench {
+
+    @Param({BenchFixture.DEFAULT_MM_FILE, "big-unifier.mm"})
+    public String mmFile;
+
+    private Theorem[] theorems;
+    private VerifyProofs verifyProofs;
+
+    @Setup
+    public void setup() {
+        final List<Theorem> list = new BenchFixture(mmFile).getTheorems();
+        theorems = list.toArray(new Theorem[list.size()]);
+        verifyProofs = new VerifyProofs();
+    }
+
+    @Benchmark
+    public void verifyOneProof(final Blackhole bh) {
+        for (final Theorem theorem : theorems)
+            bh.consume(verifyProofs.verifyOneProof(theorem));
+    }
+}
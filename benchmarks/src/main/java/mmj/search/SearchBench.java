@@ -0,0 +1,89 @@
+//*****************************************************************************/
+//* Copyright (C) 2005-2013                                                   */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * SearchBench.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New.
+ */
+
+package mmj.search;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import mmj.bench.BenchFixture;
+import mmj.lang.Stmt;
+import mmj.pa.*;
+
+/**
+ * {@code SearchEngine.execSearch} general searches (as from the Search Options
+ * screen) over all assertions of a .mm file.
+ * <p>
+ * This benchmark lives in package {@code mmj.search} because the search
+ * arguments are package-private. SearchOutput is updated in place by a
+ * search, so each invocation gets a fresh SearchMgr and SearchEngine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchBench {
+
+    @Param({BenchFixture.DEFAULT_MM_FILE})
+    public String mmFile;
+
+    /** the "For What" search text; empty selects every assertion */
+    @Param({"", "ph", "-> ph", "<->"})
+    public String forWhat;
+
+    /** index into SearchOptionsConstants.OUTPUT_SORT_VALUES */
+    @Param({"0", "1"})
+    public int outputSort;
+
+    private BenchFixture fixture;
+    private SearchEngine searchEngine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = new BenchFixture(mmFile);
+        fixture.requireProofAsst();
+    }
+
+    @Setup(Level.Invocation)
+    public void newSearch() {
+        final ProofAsst proofAsst = fixture.proofAsst;
+        final ProofAsstPreferences preferences = proofAsst.getPreferences();
+        final SearchMgr searchMgr = new SearchMgr(preferences);
+        searchMgr.initOtherEnvAreas(proofAsst, fixture.logicalSystem,
+            fixture.grammar, proofAsst.getVerifyProofs(), fixture.messages);
+
+        final SearchArgs args = searchMgr.getSearchArgs();
+        args.initSearchArgsToDefaults();
+        args.forWhat[0].set(forWhat);
+        args.outputSort
+            .set(SearchOptionsConstants.OUTPUT_SORT_VALUES[outputSort]);
+        args.maxResults.set("10000");
+        args.loadSearchKeys((Stmt)null, fixture.logicalSystem);
+
+        searchEngine = new SearchEngine(searchMgr, proofAsst, preferences,
+            fixture.logicalSystem.bookManager, proofAsst.getVerifyProofs(),
+            fixture.grammar.getProvableLogicStmtTypArray()[0]);
+    }
+
+    @Benchmark
+    public SearchOutput execSearch() {
+        final SearchOutput searchOutput = searchEngine.execSearch();
+        fixture.messages.clearMessages();
+        return searchOutput;
+    }
+}
@@ -392,15 +392,15 @@ proofAsst.proofUnifier.postUnifyHook = function(d, assrt, assrtSubst) {
     var i = vars[max.el.base.stmt.getVar().getId()];
     var hyp = assrtSubst[i].stmt;
     if (hyp instanceof mmj.lang.WorkVarHyp)
-        assrtSubst[i] = hyp.paSubst = activeStructure.base;
+        hyp.setPaSubst(assrtSubst[i] = activeStructure.base);
     else return;
     for (var key in max.el.groups) {
         var o = max.el.groups[key];
         i = vars[o.val.stmt.getVar().getId()];
         hyp = assrtSubst[i].stmt;
         if (hyp instanceof mmj.lang.WorkVarHyp)
-            assrtSubst[i] = hyp.paSubst = key in activeStructure.groups ?
-                activeStructure.groups[key].val : o.fv;
+            hyp.setPaSubst(assrtSubst[i] = key in activeStructure.groups ?
+                activeStructure.groups[key].val : o.fv);
     }
 };
 
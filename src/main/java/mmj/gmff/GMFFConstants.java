@@ -11,6 +11,10 @@
  *
  * Version 0.01:
  * Nov-01-2011: new.
+ *
+ * Version 0.02:
+ * Oct-18-2026: - add EXPORT_THREADS_DEFAULT, EXPORT_SHARD_MIN_LEN and
+ *                EXPORT_FILE_WRITE_CHUNK_SIZE for parallel bulk exports.
  */
 
 package mmj.gmff;
@@ -100,6 +104,18 @@ public class GMFFConstants {
 
     public static final int PROOF_WORKSHEET_BUFFER_SIZE = 8192;
 
+    /**
+     * Default number of threads used by GMFFExportTheorem and
+     * GMFFExportFromFolder (1 = serial).
+     */
+    public static final int EXPORT_THREADS_DEFAULT = 1;
+
+    /**
+     * Number of exports below which a parallel export shard is not split any
+     * further.
+     */
+    public static final int EXPORT_SHARD_MIN_LEN = 8;
+
     public static final char APPEND_FILE_NAME_ERR_CHAR_1 = '/';
     public static final char APPEND_FILE_NAME_ERR_CHAR_2 = '\\';
     public static final char APPEND_FILE_NAME_ERR_CHAR_3 = ':';
@@ -173,6 +189,8 @@ public class GMFFConstants {
 
     public static final int EXPORTER_MODEL_CACHE_INIT_SIZE = 40;
 
+    public static final int EXPORT_FILE_WRITE_CHUNK_SIZE = 8192;
+
     public static final String MODEL_ERROR_MESSAGE_DESCRIPTOR = "Model";
 
     public static final int DEFAULT_MODEL_FILE_BUFFER_SIZE = 512;
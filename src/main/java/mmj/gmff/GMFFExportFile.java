@@ -11,6 +11,10 @@
  *
  * Version 0.01:
  * Nov-01-2011: new.
+ *
+ * Version 0.02:
+ * Oct-18-2026: write the export buffer in chunks instead of copying it
+ *              to a String first.
  */
 
 package mmj.gmff;
@@ -96,7 +100,14 @@ public class GMFFExportFile {
         try (BufferedWriter w = new BufferedWriter(new OutputStreamWriter(
             new FileOutputStream(exportFile, append), charsetEncoding)))
         {
-            w.write(exportBuffer.toString());
+            final char[] chunk = new char[Math.min(exportBuffer.length(),
+                GMFFConstants.EXPORT_FILE_WRITE_CHUNK_SIZE)];
+            for (int i = 0; i < exportBuffer.length(); i += chunk.length) {
+                final int end = Math.min(i + chunk.length,
+                    exportBuffer.length());
+                exportBuffer.getChars(i, end, chunk, 0);
+                w.write(chunk, 0, end - i);
+            }
         } catch (final UnsupportedEncodingException e) {
             throw new GMFFException(e,
                 GMFFConstants.ERRMSG_EXPORT_FILE_CHARSET_ERROR, exportFileName,
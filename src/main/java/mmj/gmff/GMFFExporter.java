@@ -11,12 +11,18 @@
  *
  * Version 0.01:
  * Nov-01-2011: new.
+ *
+ * Version 0.02:
+ * Oct-18-2026: - newWorkerExporter() for parallel bulk exports: the
+ *                worker shares the typesetting definitions and the
+ *                (now concurrent) modelFileCacheMap, and has its own
+ *                Messages and export buffer.
  */
 
 package mmj.gmff;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import mmj.lang.*;
 
@@ -56,6 +62,15 @@ public abstract class GMFFExporter {
     char[][] escapeSubstitutions;
     Map<String, String> modelFileCacheMap;
 
+    Messages messages;
+
+    /**
+     * Export buffer, reused for each export by this exporter (so an exporter
+     * must not be used by more than one thread at a time.)
+     */
+    final StringBuilder exportBuffer = new StringBuilder(
+        GMFFConstants.EXPORT_BUFFER_DEFAULT_SIZE);
+
     /**
      * A factory for generating GMFFExporters according to Model Id.
      * <p>
@@ -122,11 +137,42 @@ public abstract class GMFFExporter {
                 escapeSubstitutions[pair.num][i] = pair.replacement.charAt(i);
         }
 
-        modelFileCacheMap = new HashMap<>(
+        modelFileCacheMap = new ConcurrentHashMap<>(
             GMFFConstants.EXPORTER_MODEL_CACHE_INIT_SIZE);
 
+        messages = gmffManager.getMessages();
+    }
+
+    /**
+     * Constructor for a worker copy of an exporter.
+     * <p>
+     * The copy shares everything that is read-only once GMFF is initialized
+     * -- parms, escapes, typesetting definitions -- and the model file cache,
+     * but reports to its own {@code Messages} and has its own export buffer.
+     *
+     * @param exporter the exporter to copy.
+     * @param messages the {@code Messages} object for the copy.
+     */
+    protected GMFFExporter(final GMFFExporter exporter,
+        final Messages messages)
+    {
+        gmffManager = exporter.gmffManager;
+        gmffExportParms = exporter.gmffExportParms;
+        gmffUserTextEscapes = exporter.gmffUserTextEscapes;
+        gmffExporterTypesetDefs = exporter.gmffExporterTypesetDefs;
+        escapeSubstitutions = exporter.escapeSubstitutions;
+        modelFileCacheMap = exporter.modelFileCacheMap;
+        this.messages = messages;
     }
 
+    /**
+     * Creates a copy of this exporter for one thread of a parallel export.
+     *
+     * @param messages the {@code Messages} object for the copy.
+     * @return the new {@code GMFFExporter}
+     */
+    public abstract GMFFExporter newWorkerExporter(Messages messages);
+
     /**
      * Abstract method to export a Proof Worksheet according to the pattern of a
      * Model.
@@ -150,7 +196,7 @@ public abstract class GMFFExporter {
      * @return the {@code Messages} object.
      */
     public Messages getMessages() {
-        return gmffManager.getMessages();
+        return messages;
     }
 
     /**
@@ -234,7 +280,7 @@ public abstract class GMFFExporter {
         if (sym == null || sym instanceof WorkVar)
             return;
 
-        gmffManager.getMessages().accumMessage(
+        messages.accumMessage(
             GMFFConstants.ERRMSG_TYPESET_DEF_NOT_FOUND_ERROR, theoremLabel,
             token, gmffExporterTypesetDefs.typesetDefKeyword);
     }
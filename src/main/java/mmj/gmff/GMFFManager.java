@@ -11,16 +11,22 @@
  *
  * Version 0.01:
  * Nov-01-2011: new.
+ *
+ * Version 0.02:
+ * Oct-18-2026: - export ranges of theorems and Proof Worksheet files on a
+ *                pool of worker threads (see setExportThreads()).
  */
 
 package mmj.gmff;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.*;
 
 import mmj.lang.*;
 import mmj.mmio.MMIOConstants;
 import mmj.pa.ProofAsst;
+import mmj.pa.ProofAsst.TheoremExporter;
 import mmj.pa.ProofAsstException;
 
 /**
@@ -93,6 +99,9 @@ public class GMFFManager {
     // to inputGMFFUserExportChoice
     private GMFFExporter[] selectedExporters;
 
+    // number of threads used by exportTheorem() and exportFromFolder()
+    private int exportThreads = GMFFConstants.EXPORT_THREADS_DEFAULT;
+
     /**
      * Standard constructor.
      * <p>
@@ -293,6 +302,24 @@ public class GMFFManager {
         gmffInitialized = false;
     }
 
+    /**
+     * Sets the number of threads used to export a range of theorems or Proof
+     * Worksheet files.
+     * <p>
+     * A parallel export gives each thread its own copy of the selected
+     * exporters (see {@link GMFFExporter#newWorkerExporter(Messages)}) and,
+     * for theorems, its own {@code ProofAsst}. Messages are reported in export
+     * order, as for a serial export. Exports to an append file, or with an
+     * Export Parms output file name, write every export to the same file and
+     * so are always done serially.
+     *
+     * @param exportThreads number of worker threads; 1 or less exports
+     *            serially.
+     */
+    public void setExportThreads(final int exportThreads) {
+        this.exportThreads = exportThreads;
+    }
+
     /**
      * Exports one or a range of Proof Worksheets of a given file type from a
      * designated directory.
@@ -358,11 +385,16 @@ public class GMFFManager {
                 return;
             }
 
-            for (int i = 0; i < fileArray.length && i < max; i++) {
+            final List<File> list = Arrays.asList(fileArray).subList(0,
+                Math.min(fileArray.length, max));
+            if (isParallelExport(list.size(), appendFileName)
+                && exportInParallel(list, null))
+                return;
+
+            for (final File file : list) {
 
                 final String proofWorksheetText = GMFFInputFile.getFileContents(
-                    fileArray[i], " ",
-                    GMFFConstants.PROOF_WORKSHEET_MESSAGE_DESCRIPTOR,
+                    file, " ", GMFFConstants.PROOF_WORKSHEET_MESSAGE_DESCRIPTOR,
                     GMFFConstants.PROOF_WORKSHEET_BUFFER_SIZE);
 
                 for (final GMFFException confirm : exportProofWorksheet(
@@ -439,18 +471,24 @@ public class GMFFManager {
                 return;
             }
 
-            int i = 0;
+            final List<Theorem> list = new ArrayList<>();
             for (final Theorem theorem : iterable) {
-                if (i++ >= max)
+                if (list.size() >= max)
                     break;
-                gmffExportOneTheorem(theorem, appendFileName, proofAsst);
+                list.add(theorem);
             }
-            if (i == 0) {
+            if (list.isEmpty()) {
                 messages.accumMessage(
                     GMFFConstants.ERRMSG_NO_THEOREMS_SELECTED_ERROR,
                     labelOrAsterisk);
                 return;
             }
+            if (isParallelExport(list.size(), appendFileName)
+                && exportInParallel(list, proofAsst))
+                return;
+
+            for (final Theorem theorem : list)
+                gmffExportOneTheorem(theorem, appendFileName, proofAsst);
         }
         else
             gmffExportOneTheorem(labelOrAsterisk, appendFileName, proofAsst);
@@ -608,6 +646,234 @@ public class GMFFManager {
         return confirmationMessage;
     }
 
+    /**
+     * Returns true if a range of exports can be done in parallel: more than
+     * one thread is requested and each export goes to its own file.
+     *
+     * @param nbrExports number of exports in the range.
+     * @param appendFileName append file name, or null.
+     * @return true if the exports can be done in parallel.
+     */
+    private boolean isParallelExport(final int nbrExports,
+        final String appendFileName)
+    {
+        if (exportThreads <= 1 || nbrExports <= 1 || appendFileName != null)
+            return false;
+        for (final GMFFExporter selectedExporter : selectedExporters)
+            if (selectedExporter.gmffExportParms.outputFileName != null)
+                return false;
+        return true;
+    }
+
+    /**
+     * Exports a list of Theorems or Proof Worksheet files using a pool of
+     * worker threads.
+     * <p>
+     * The list is sharded across a fork-join pool. Each shard borrows an
+     * ExportWorker, so that the exporters (and their export buffers) and the
+     * ProofAsst are used by one thread at a time. The messages produced by
+     * each export are stored, and accumulated in list order after all shards
+     * have finished.
+     * <p>
+     * If an input file cannot be read, the exception is thrown after the
+     * messages of the preceding exports are accumulated, as in a serial
+     * export (the following exports have been written, though.)
+     *
+     * @param list Theorems (if proofAsst is not null) or Proof Worksheet
+     *            Files to export.
+     * @param proofAsst The {@code ProofAsst} object, used to format Proof
+     *            Worksheets from Metamath (RPN) proofs, or null.
+     * @return false if the workers could not be created, so that the export
+     *         must be done serially.
+     * @throws GMFFException if errors encountered.
+     */
+    private boolean exportInParallel(final List<?> list,
+        final ProofAsst proofAsst) throws GMFFException
+    {
+        if (selectedExporters.length == 0)
+            throw new GMFFException(
+                GMFFConstants.ERRMSG_NO_EXPORT_TYPES_SELECTED_ERROR);
+
+        // One worker more than threads: the invoking thread may run
+        // shards while it waits for the pool.
+        final Queue<ExportWorker> workers = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i <= exportThreads; i++) {
+            final ExportWorker worker = newExportWorker(proofAsst);
+            if (worker == null)
+                return false;
+            workers.add(worker);
+        }
+
+        final ExportOutput[] outputs = new ExportOutput[list.size()];
+        final ForkJoinPool pool = new ForkJoinPool(exportThreads);
+        try {
+            pool.invoke(new ExportShard(list, outputs, workers, 0,
+                outputs.length));
+        } finally {
+            pool.shutdown();
+        }
+
+        for (final ExportOutput output : outputs) {
+            for (final String s : output.errorMessages)
+                messages.accumErrorMessage(s);
+            for (final String s : output.infoMessages)
+                messages.accumInfoMessage(s);
+            if (output.exception != null)
+                throw output.exception;
+            for (final GMFFException confirm : output.confirmations)
+                messages.accumException(confirm);
+        }
+        return true;
+    }
+
+    /**
+     * Creates the per-thread state of a parallel export.
+     *
+     * @param proofAsst the ProofAsst to copy, or null if exporting files.
+     * @return the worker, or null if the ProofAsst cannot be copied.
+     */
+    private ExportWorker newExportWorker(final ProofAsst proofAsst) {
+        TheoremExporter theoremExporter = null;
+        Messages workerMessages;
+        if (proofAsst == null)
+            workerMessages = new Messages(
+                messages.getErrorMessageArray().length,
+                messages.getInfoMessageArray().length);
+        else {
+            theoremExporter = proofAsst.newTheoremExporter();
+            if (theoremExporter == null)
+                return null;
+            workerMessages = theoremExporter.getMessages();
+        }
+
+        final GMFFExporter[] exporters = new GMFFExporter[selectedExporters.length];
+        for (int i = 0; i < exporters.length; i++)
+            exporters[i] = selectedExporters[i]
+                .newWorkerExporter(workerMessages);
+        return new ExportWorker(workerMessages, theoremExporter, exporters);
+    }
+
+    /**
+     * The per-thread state of a parallel export: copies of the selected
+     * exporters and, for theorem exports, a ProofAsst TheoremExporter, all
+     * reporting to the worker's own Messages.
+     */
+    private static class ExportWorker {
+        final Messages messages;
+        final TheoremExporter theoremExporter;
+        final GMFFExporter[] exporters;
+
+        ExportWorker(final Messages messages,
+            final TheoremExporter theoremExporter,
+            final GMFFExporter[] exporters)
+        {
+            this.messages = messages;
+            this.theoremExporter = theoremExporter;
+            this.exporters = exporters;
+        }
+
+        /**
+         * Exports one Theorem or Proof Worksheet File, as
+         * gmffExportOneTheorem() and exportFromFolder() do.
+         *
+         * @param item the Theorem or File.
+         * @return the messages produced by the export.
+         */
+        ExportOutput export(final Object item) {
+            final ExportOutput output = new ExportOutput();
+            try {
+                final String proofWorksheetText = item instanceof Theorem
+                    ? getProofWorksheetText((Theorem)item)
+                    : GMFFInputFile.getFileContents((File)item, " ",
+                        GMFFConstants.PROOF_WORKSHEET_MESSAGE_DESCRIPTOR,
+                        GMFFConstants.PROOF_WORKSHEET_BUFFER_SIZE);
+                if (proofWorksheetText != null) {
+                    final ProofWorksheetCache p = new ProofWorksheetCache(
+                        proofWorksheetText);
+                    for (final GMFFExporter exporter : exporters) {
+                        final GMFFException confirm = exporter
+                            .exportProofWorksheet(p, null);
+                        if (confirm != null)
+                            output.confirmations.add(confirm);
+                    }
+                }
+            } catch (final GMFFException e) {
+                output.exception = e;
+            }
+            output.errorMessages = Arrays.copyOf(
+                messages.getErrorMessageArray(), messages.getErrorMessageCnt());
+            output.infoMessages = Arrays.copyOf(messages.getInfoMessageArray(),
+                messages.getInfoMessageCnt());
+            messages.clearMessages();
+            return output;
+        }
+
+        private String getProofWorksheetText(final Theorem theorem) {
+            String proofWorksheetText;
+            try {
+                proofWorksheetText = theoremExporter.exportOneTheorem(theorem);
+            } catch (final IllegalArgumentException e) {
+                messages.accumException(new GMFFException(e,
+                    GMFFConstants.ERRMSG_GMFF_THEOREM_EXPORT_PA_ERROR,
+                    theorem.getLabel(), e.getMessage()));
+                return null;
+            }
+            if (proofWorksheetText == null)
+                messages.accumMessage(
+                    GMFFConstants.ERRMSG_GMFF_THEOREM_EXPORT_PA_ERROR,
+                    theorem.getLabel());
+            return proofWorksheetText;
+        }
+    }
+
+    private static class ExportOutput {
+        public String[] errorMessages;
+        public String[] infoMessages;
+        public final List<GMFFException> confirmations = new ArrayList<>(0);
+        public GMFFException exception;
+    }
+
+    /**
+     * A contiguous range of the export list, exported by one fork-join task.
+     * Results are stored in the parallel outputs array.
+     */
+    private static class ExportShard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<?> list;
+        private final ExportOutput[] outputs;
+        private final Queue<ExportWorker> workers;
+        private final int lo;
+        private final int hi;
+
+        ExportShard(final List<?> list, final ExportOutput[] outputs,
+            final Queue<ExportWorker> workers, final int lo, final int hi)
+        {
+            this.list = list;
+            this.outputs = outputs;
+            this.workers = workers;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GMFFConstants.EXPORT_SHARD_MIN_LEN) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(new ExportShard(list, outputs, workers, lo, mid),
+                    new ExportShard(list, outputs, workers, mid, hi));
+                return;
+            }
+            final ExportWorker worker = workers.poll();
+            try {
+                for (int i = lo; i < hi; i++)
+                    outputs[i] = worker.export(list.get(i));
+            } finally {
+                workers.add(worker);
+            }
+        }
+    }
+
     /**
      * Implements RunParm GMFFParseMMTypesetDefsComment.
      * <p>
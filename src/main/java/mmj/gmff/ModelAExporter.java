@@ -11,10 +11,15 @@
  *
  * Version 0.01:
  * Nov-01-2011: new.
+ *
+ * Version 0.02:
+ * Oct-18-2026: - newWorkerExporter(); reuse the exporter's export buffer.
  */
 
 package mmj.gmff;
 
+import mmj.lang.Messages;
+
 /**
  * {@code ModelAExporter} is an extension of {@code GMFFExporter} which
  * implements export of Proof Worksheets using Model A.
@@ -22,7 +27,7 @@ package mmj.gmff;
 public class ModelAExporter extends GMFFExporter {
 
     /**
-     * The only constructor.
+     * The standard constructor.
      *
      * @param gmffManager The {@code GMFFManager} object
      * @param gmffExportParms The {@code GMFFExportParms} for for this exporter.
@@ -37,6 +42,17 @@ public class ModelAExporter extends GMFFExporter {
         super(gmffManager, gmffExportParms, gmffUserTextEscapes);
     }
 
+    private ModelAExporter(final ModelAExporter exporter,
+        final Messages messages)
+    {
+        super(exporter, messages);
+    }
+
+    @Override
+    public GMFFExporter newWorkerExporter(final Messages messages) {
+        return new ModelAExporter(this, messages);
+    }
+
     /**
      * Exports a Proof Worksheet in Model A format and returns a confirmation
      * message showing the absolute path of the output file.
@@ -65,7 +81,7 @@ public class ModelAExporter extends GMFFExporter {
     {
         try {
             final MinProofWorksheet w = p
-                .loadMinProofWorksheet(gmffManager.getMessages());
+                .loadMinProofWorksheet(getMessages());
 
             if (!w.getStructuralErrors()) {
                 if (w.getMinProofWorkStmtList().isEmpty())
@@ -79,7 +95,7 @@ public class ModelAExporter extends GMFFExporter {
                     w.getTheoremLabel());
             }
         } catch (final GMFFException e) {
-            gmffManager.getMessages().accumException(e);
+            getMessages().accumException(e);
         }
         return null;
     }
@@ -88,8 +104,7 @@ public class ModelAExporter extends GMFFExporter {
         throws GMFFException
     {
 
-        final StringBuilder exportBuffer = new StringBuilder(
-            GMFFConstants.EXPORT_BUFFER_DEFAULT_SIZE);
+        exportBuffer.setLength(0);
 
         appendMandatoryModelFile(exportBuffer, GMFFConstants.MODEL_A_FILE0_NAME,
             w.getTheoremLabel());
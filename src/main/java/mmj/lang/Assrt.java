@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * Assrt.java  0.08 08/01/2008
+ * Assrt.java  0.09 10/18/2026
  *
  * Sep-30-2005: change getMandHypArray() to
  *              getMandHypArrayLength().
@@ -47,6 +47,10 @@
  *                      object construction.
  *
  * Version 0.08 - 08/01/2008
+ *
+ * Version 0.09 - 10/18/2026
+ *              - added mandVarIndex and getMandVarIndex() for the
+ *                proof verifier's substitutions.
  */
 
 package mmj.lang;
@@ -109,6 +113,12 @@ public abstract class Assrt extends Stmt {
 
     private boolean excluded = false;
 
+    /**
+     * Dense substitution index for VerifyProofs, built on first use by
+     * getMandVarIndex() and discarded whenever the MandFrame is replaced.
+     */
+    private volatile int[][] mandVarIndex;
+
     /**
      * Construct using a boatload of parameters.
      *
@@ -214,6 +224,59 @@ public abstract class Assrt extends Stmt {
      */
     public void setMandFrame(final ScopeFrame mandFrame) {
         this.mandFrame = mandFrame;
+        mandVarIndex = null;
+    }
+
+    /**
+     * Get the Assrt's dense variable substitution index.
+     * <p>
+     * The index maps each symbol position of a formula to the position in
+     * {@code mandFrame.hypArray} of the VarHyp for that variable, or to -1 for
+     * constants (and for the type code). Entry {@code i} of the result is the
+     * index for {@code mandFrame.hypArray[i]}'s formula (null for VarHyps) and
+     * the final entry, {@code mandFrame.hypArray.length}, is the index for the
+     * Assrt's own formula. A proof verifier holding the substitutions in an
+     * array parallel to hypArray can thus substitute each symbol without
+     * searching.
+     * <p>
+     * The index is immutable and built on first use, so it may be shared by
+     * concurrent verifiers.
+     *
+     * @return the substitution index.
+     */
+    public int[][] getMandVarIndex() {
+        int[][] index = mandVarIndex;
+        if (index == null) {
+            final Hyp[] hypArray = mandFrame.hypArray;
+            index = new int[hypArray.length + 1][];
+            for (int i = 0; i < hypArray.length; i++)
+                if (!(hypArray[i] instanceof VarHyp))
+                    index[i] = buildVarIndex(hypArray,
+                        hypArray[i].getFormula());
+            index[hypArray.length] = buildVarIndex(hypArray, formula);
+            mandVarIndex = index;
+        }
+        return index;
+    }
+
+    private static int[] buildVarIndex(final Hyp[] hypArray,
+        final Formula f)
+    {
+        final Sym[] sym = f.getSym();
+        final int[] index = new int[f.getCnt()];
+        index[0] = -1;
+        nextSym: for (int i = 1; i < index.length; i++) {
+            if (sym[i] instanceof Var)
+                for (int j = 0; j < hypArray.length; j++)
+                    if (hypArray[j] instanceof VarHyp
+                        && ((VarHyp)hypArray[j]).getVar() == sym[i])
+                    {
+                        index[i] = j;
+                        continue nextSym;
+                    }
+            index[i] = -1;
+        }
+        return index;
     }
 
     /**
@@ -0,0 +1,215 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * DiscriminationTree.java  0.01 10/18/2026
+ */
+
+package mmj.lang;
+
+import java.util.*;
+
+/**
+ * DiscriminationTree is a term index over ParseTrees, used to quickly find the
+ * indexed values (typically Assrts) whose formula might unify with a given
+ * formula.
+ * <p>
+ * Each indexed ParseNode tree is flattened in prefix order into a path through
+ * the tree. A non-VarHyp node contributes its Stmt (syntax axiom) as the path
+ * key, while a VarHyp node -- a variable that can be substituted by any
+ * subtree -- contributes a single "wildcard" key and its subtree is not
+ * examined further. Since the number of children of each syntax axiom is
+ * fixed, the prefix order path uniquely determines the tree.
+ * <p>
+ * A lookup walks the query tree in prefix order, following the matching Stmt
+ * key and the wildcard key at each position. Optionally, Work Variables in the
+ * query tree can be treated as wildcards as well, in which case an entire
+ * indexed subtree is skipped.
+ * <p>
+ * The index is only a filter: every value that unifies with the query is
+ * returned, but some of the returned values may fail unification (for
+ * example, because a variable is used twice with different substitutions, or
+ * because of a type mismatch). The caller is expected to perform full
+ * unification on the candidates.
+ *
+ * @param <T> the type of the indexed values
+ */
+public class DiscriminationTree<T> {
+
+    private final Node<T> root = new Node<>(0);
+
+    private int size;
+
+    /**
+     * Adds a value to the index, keyed by a ParseNode tree.
+     *
+     * @param node the root of the ParseNode tree
+     * @param value the value to be returned by lookups
+     */
+    public void add(final ParseNode node, final T value) {
+        Node<T> n = root;
+        final Deque<ParseNode> nodeStack = new ArrayDeque<>();
+        nodeStack.push(node);
+        while (!nodeStack.isEmpty()) {
+            final ParseNode p = nodeStack.pop();
+            if (p.stmt instanceof VarHyp)
+                n = n.getOrCreateWild();
+            else {
+                n = n.getOrCreateChild(p.stmt, p.child.length);
+                for (int i = p.child.length - 1; i >= 0; i--)
+                    nodeStack.push(p.child[i]);
+            }
+        }
+        if (n.values == null)
+            n.values = new ArrayList<>(1);
+        n.values.add(value);
+        size++;
+    }
+
+    /**
+     * Returns the number of values in the index.
+     *
+     * @return the number of values in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all values from the index.
+     */
+    public void clear() {
+        root.children = null;
+        root.wild = null;
+        root.values = null;
+        size = 0;
+    }
+
+    /**
+     * Finds all indexed values whose ParseNode tree might unify with the given
+     * ParseNode tree, adding them to the output collection.
+     *
+     * @param node the root of the query ParseNode tree
+     * @param workVarsAreWild true if WorkVarHyp nodes in the query tree should
+     *            match any indexed subtree.
+     * @param out the output collection
+     */
+    public void collectCandidates(final ParseNode node,
+        final boolean workVarsAreWild, final Collection<? super T> out)
+    {
+        final ParseNode[] q = new ParseNode[countNodes(node)];
+        final int[] skip = new int[q.length];
+        flatten(node, 0, q, skip);
+        find(root, 0, q, skip, workVarsAreWild, out);
+    }
+
+    /**
+     * Convenience version of collectCandidates() returning a Set.
+     *
+     * @param node the root of the query ParseNode tree
+     * @param workVarsAreWild true if WorkVarHyp nodes in the query tree should
+     *            match any indexed subtree.
+     * @return Set of candidate values.
+     */
+    public Set<T> getCandidates(final ParseNode node,
+        final boolean workVarsAreWild)
+    {
+        final Set<T> out = new HashSet<>();
+        collectCandidates(node, workVarsAreWild, out);
+        return out;
+    }
+
+    private static int countNodes(final ParseNode node) {
+        int n = 1;
+        if (!(node.stmt instanceof VarHyp))
+            for (final ParseNode c : node.child)
+                n += countNodes(c);
+        return n;
+    }
+
+    /**
+     * Flattens a tree into prefix order. For each position, skip[i] is the
+     * position just past the subtree rooted at position i.
+     */
+    private static int flatten(final ParseNode node, int pos,
+        final ParseNode[] q, final int[] skip)
+    {
+        final int start = pos;
+        q[pos++] = node;
+        if (!(node.stmt instanceof VarHyp))
+            for (final ParseNode c : node.child)
+                pos = flatten(c, pos, q, skip);
+        return skip[start] = pos;
+    }
+
+    private static <T> void find(final Node<T> n, final int pos,
+        final ParseNode[] q, final int[] skip, final boolean workVarsAreWild,
+        final Collection<? super T> out)
+    {
+        if (pos == q.length) {
+            if (n.values != null)
+                out.addAll(n.values);
+            return;
+        }
+        if (n.wild != null)
+            find(n.wild, skip[pos], q, skip, workVarsAreWild, out);
+
+        final Stmt stmt = q[pos].stmt;
+        if (workVarsAreWild && stmt instanceof WorkVarHyp)
+            skipTerms(n, 1, skip[pos], q, skip, workVarsAreWild, out);
+        else if (n.children != null) {
+            final Node<T> c = n.children.get(stmt);
+            if (c != null)
+                find(c, pos + 1, q, skip, workVarsAreWild, out);
+        }
+    }
+
+    /**
+     * Skips over {@code terms} complete indexed subtrees starting at trie node
+     * n, then continues the lookup at query position pos.
+     */
+    private static <T> void skipTerms(final Node<T> n, final int terms,
+        final int pos, final ParseNode[] q, final int[] skip,
+        final boolean workVarsAreWild, final Collection<? super T> out)
+    {
+        if (terms == 0) {
+            find(n, pos, q, skip, workVarsAreWild, out);
+            return;
+        }
+        if (n.wild != null)
+            skipTerms(n.wild, terms - 1, pos, q, skip, workVarsAreWild, out);
+        if (n.children != null)
+            for (final Node<T> c : n.children.values())
+                skipTerms(c, terms - 1 + c.arity, pos, q, skip,
+                    workVarsAreWild, out);
+    }
+
+    private static class Node<T> {
+        /** number of children of the Stmt on the edge leading here */
+        final int arity;
+        Map<Stmt, Node<T>> children;
+        Node<T> wild;
+        List<T> values;
+
+        Node(final int arity) {
+            this.arity = arity;
+        }
+
+        Node<T> getOrCreateChild(final Stmt stmt, final int childArity) {
+            if (children == null)
+                children = new HashMap<>(4);
+            return children.computeIfAbsent(stmt, s -> new Node<>(childArity));
+        }
+
+        Node<T> getOrCreateWild() {
+            if (wild == null)
+                wild = new Node<>(0);
+            return wild;
+        }
+    }
+}
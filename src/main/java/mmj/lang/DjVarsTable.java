@@ -0,0 +1,147 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * DjVarsTable.java  0.01 10/18/2026
+ *
+ * Oct-18-2026:
+ *     --> new!
+ */
+
+package mmj.lang;
+
+import java.util.Arrays;
+
+/**
+ * DjVarsTable is an adjacency matrix of the disjoint variable restrictions in
+ * a ScopeFrame's djVarsArray, built by {@link ScopeFrame#getDjVarsTable()}.
+ * <p>
+ * The variables mentioned in the DjVars are numbered 0, 1, ... in order of
+ * {@code Sym.getTblIdx()} ("local" indexes, found by binary search), and
+ * row {@code i} of the matrix is a bitset of the local indexes of the
+ * variables that are disjoint from variable {@code i}. Checking a pair is
+ * then a couple of lookups and a bit test instead of a scan of the
+ * djVarsArray, and a caller that checks one variable against many can look
+ * up its row once.
+ * <p>
+ * An array with a variable that has no tblIdx cannot be indexed; its
+ * DjVarsTable is a placeholder for which {@link #isIndexed()} is false, so
+ * that ScopeFrame remembers not to build it again.
+ * <p>
+ * A DjVarsTable is immutable, so it may be shared by concurrent verifiers.
+ */
+public class DjVarsTable {
+
+    /** the djVarsArray the table was built from */
+    private final DjVars[] djVarsArray;
+
+    /** sorted tblIdx of each variable, by local index; null if not indexed */
+    private final int[] varIdx;
+
+    /** row i = bitset of the local indexes disjoint from variable i */
+    private final long[][] rows;
+
+    private DjVarsTable(final DjVars[] djVarsArray, final int[] varIdx,
+        final long[][] rows)
+    {
+        this.djVarsArray = djVarsArray;
+        this.varIdx = varIdx;
+        this.rows = rows;
+    }
+
+    /**
+     * Builds the table for an array of DjVars.
+     *
+     * @param djVarsArray the DjVars.
+     * @return the table, which is not indexed (see {@link #isIndexed()}) if a
+     *         variable has no tblIdx (is not in the LogicalSystem's Symbol
+     *         Table).
+     */
+    public static DjVarsTable build(final DjVars[] djVarsArray) {
+        int[] idx = new int[djVarsArray.length * 2];
+        int n = 0;
+        for (final DjVars djVars : djVarsArray) {
+            idx[n++] = djVars.getVarLo().getTblIdx();
+            idx[n++] = djVars.getVarHi().getTblIdx();
+        }
+        Arrays.sort(idx);
+        if (n > 0 && idx[0] < 0)
+            return new DjVarsTable(djVarsArray, null, null);
+
+        int cnt = 0;
+        for (int i = 0; i < n; i++)
+            if (cnt == 0 || idx[i] != idx[cnt - 1])
+                idx[cnt++] = idx[i];
+        idx = Arrays.copyOf(idx, cnt);
+
+        final long[][] rows = new long[cnt][(cnt + 63) >>> 6];
+        for (final DjVars djVars : djVarsArray) {
+            final int lo = Arrays.binarySearch(idx,
+                djVars.getVarLo().getTblIdx());
+            final int hi = Arrays.binarySearch(idx,
+                djVars.getVarHi().getTblIdx());
+            rows[lo][hi >>> 6] |= 1L << hi;
+            rows[hi][lo >>> 6] |= 1L << lo;
+        }
+        return new DjVarsTable(djVarsArray, idx, rows);
+    }
+
+    /**
+     * @param array a djVarsArray.
+     * @return true if the table was built from this very array.
+     */
+    public boolean isFor(final DjVars[] array) {
+        return array == djVarsArray;
+    }
+
+    /**
+     * @return false if the table is only a placeholder for an array which
+     *         cannot be indexed, in which case the other methods must not be
+     *         used.
+     */
+    public boolean isIndexed() {
+        return varIdx != null;
+    }
+
+    /**
+     * Returns the local index of a variable.
+     *
+     * @param v the variable.
+     * @return the local index, or -1 if the variable is not in any of the
+     *         table's DjVars.
+     */
+    public int getLocalIdx(final Var v) {
+        final int t = v.getTblIdx();
+        if (t < 0)
+            return -1;
+        final int i = Arrays.binarySearch(varIdx, t);
+        return i < 0 ? -1 : i;
+    }
+
+    /**
+     * Checks a pair of variables by local index.
+     *
+     * @param i local index of the first variable, or -1.
+     * @param j local index of the second variable, or -1.
+     * @return true if the pair is disjoint.
+     */
+    public boolean isDjPair(final int i, final int j) {
+        return i >= 0 && j >= 0 && (rows[i][j >>> 6] & 1L << j) != 0;
+    }
+
+    /**
+     * Checks a pair of variables.
+     *
+     * @param v1 the first variable.
+     * @param v2 the second variable.
+     * @return true if the pair is disjoint.
+     */
+    public boolean isDjVarPair(final Var v1, final Var v2) {
+        return isDjPair(getLocalIdx(v1), getLocalIdx(v2));
+    }
+}
@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * Formula.java  0.07 08/01/2008
+ * Formula.java  0.08 10/18/2026
  *
  * Dec 31, 2005
  * -->Added toProofWorksheetString() for ProofAsst
@@ -39,6 +39,10 @@
  * --> Add srcStmtEquals()
  * --> remove unused toProofWorksheetString() variant
  * --> Added toStringBuilderLineList() for MMTTheoremExportFormatter.
+ *
+ * Version 0.08: 10/18/2026
+ * --> collectConstFrequenceAndInitConstList() counts in an int[]
+ *     indexed by Cnst table index (Sym.tblIdx) instead of a Map.
  */
 
 package mmj.lang;
@@ -221,27 +225,19 @@ public class Formula {
      * This function should be used to collect frequency statistic for some
      * metamath library and create an array of constant symbols.
      *
-     * @param frequency the map from constant to its frequency in the metamath
-     *            library
+     * @param frequency the frequency in the metamath library of each constant,
+     *            indexed by {@code Sym.getTblIdx()} (size at least
+     *            {@code LogicalSystem.getSymCnt()}), or null
      */
-    public void collectConstFrequenceAndInitConstList(
-        final Map<Cnst, Integer> frequency)
-    {
+    public void collectConstFrequenceAndInitConstList(final int[] frequency) {
         if (constList != null)
             assert constList == null;
         final Set<Cnst> set = new HashSet<>();
         for (final Sym s : getSym())
             if (s instanceof Cnst) {
                 final Cnst c = (Cnst)s;
-                if (!set.contains(c)) {
-                    set.add(c);
-                    if (frequency != null) {
-                        final Integer numObj = frequency.get(c);
-                        int num = numObj != null ? numObj : 0;
-                        num++;
-                        frequency.put(c, num);
-                    }
-                }
+                if (set.add(c) && frequency != null && c.tblIdx >= 0)
+                    frequency[c.tblIdx]++;
             }
         constList = set.toArray(new Cnst[set.size()]);
     }
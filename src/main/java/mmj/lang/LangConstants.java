@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * LangConstants.java  0.10 11/01/2011
+ * LangConstants.java  0.12 10/18/2026
  *
  * Aug-30-2005: misc. message typos fixed.
  *
@@ -74,6 +74,14 @@
  *
  * Version 0.11 - Sep-02-2013
  *     --> Add CNST_SET_TYPE
+ *
+ * Version 0.12 - Oct-18-2026
+ *     --> Add PROOF_CACHE_SIZE_DEFAULT and PROOF_CACHE_INITIAL_SIZE
+ *     --> Add ERRMSG_PARSE_NODE_NOT_INTERNED for ParseNodeFactory
+ *     --> Add DECOMPRESS_SHARD_MIN_LEN
+ *     --> Add DJ_VARS_TABLE_MIN_LEN for ScopeFrame.getDjVarsTable()
+ *     --> Add COMPRESS_CODE_MAX_LEN and COMPRESS_KNAPSACK_INIT_LEN
+ *         for ProofCompression.compress()
  */
 
 package mmj.lang;
@@ -313,6 +321,38 @@ public class LangConstants {
 
     public static final int COMPRESS_STEP_INIT_LEN = 20000;
 
+    /**
+     * Longest compressed proof letter code: the high digits needed for any
+     * int, one low digit and the repeat char.
+     */
+    public static final int COMPRESS_CODE_MAX_LEN = 16;
+
+    /**
+     * Initial size of the work table used by ProofCompression.compress() to
+     * fill the lines of the parenthesized list.
+     */
+    public static final int COMPRESS_KNAPSACK_INIT_LEN = 8192;
+
+    /**
+     * Default number of decompressed proofs held by the ProofCache, 0 meaning
+     * that compressed proofs are decompressed when loaded (not lazily).
+     */
+    public static final int PROOF_CACHE_SIZE_DEFAULT = 0;
+
+    public static final int PROOF_CACHE_INITIAL_SIZE = 1024;
+
+    /**
+     * Number of Theorems below which a parallel proof decompression shard is
+     * not split any further (see LogicalSystem.setLoadThreads()).
+     */
+    public static final int DECOMPRESS_SHARD_MIN_LEN = 64;
+
+    /**
+     * Number of DjVars pairs below which a ScopeFrame's djVarsArray is simply
+     * scanned rather than indexed by a DjVarsTable.
+     */
+    public static final int DJ_VARS_TABLE_MIN_LEN = 8;
+
     // ====================================================
 
     /**
@@ -594,6 +634,10 @@ public class LangConstants {
         "A-LA-0042 Duplicate Stmt MObj map.put() (add) attempted by "
             + " LogicalSystem. The duplicate label = %s");
 
+    public static final ErrorCode ERRMSG_PARSE_NODE_NOT_INTERNED = of(
+        "A-LA-0043 ParseNodeFactory.get() was given a child ParseNode"
+            + " not interned by the same ParseNodeFactory.");
+
     public static final ErrorCode ERRMSG_THEOREM_LOADER_COMMIT_FAILED = of(
         "A-LA-0044 theoremLoaderCommit() failed."
             + " This is an unrecoverable error, probably a bug!"
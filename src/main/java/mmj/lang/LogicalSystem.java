@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * LogicalSystem.java  0.07 11/01/2011
+ * LogicalSystem.java  0.09 10/18/2026
  *
  *     --> 10-Dec-2005: add "prematureEOF" param to finalizeEOF()
  *         so that a user-requested termination of the load at
@@ -46,13 +46,27 @@
  *
  * Version 0.07 - Nov-01-2011:
  *     - Added GMFFManager
+ *
+ * Version 0.08 - Oct-18-2026:
+ *     - Added ProofDependencyGraph, updated by theoremLoaderCommit()
+ *       and discarded by finalizeEOF().
+ *
+ * Version 0.09 - Oct-18-2026:
+ *     - Added ProofCache for lazy decompression of compressed proofs.
+ *     - Added setLoadThreads(): compressed proofs can be decompressed
+ *       by several threads at the end of the load (or by abortLoad()
+ *       if the load is abandoned).
+ *     - Assign dense table indexes (Sym.tblIdx) to Syms (getSymCnt()).
  */
 
 package mmj.lang;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import mmj.gmff.GMFFManager;
+import mmj.lang.ParseTree.RPNStep;
 import mmj.mmio.BlockList;
 import mmj.pa.MMJException;
 import mmj.tl.*;
@@ -92,6 +106,8 @@ public class LogicalSystem implements SystemLoader {
     public final SeqAssigner seqAssigner;
     private final List<TheoremLoaderCommitListener> theoremLoaderCommitListeners;
 
+    private final ProofDependencyGraph proofDependencyGraph;
+
     private final List<ScopeDef> scopeDefList;
     private ScopeDef currScopeDef;
     private int scopeLvl;
@@ -99,6 +115,14 @@ public class LogicalSystem implements SystemLoader {
     private ProofVerifier proofVerifier;
     private SyntaxVerifier syntaxVerifier;
     private ProofCompression proofCompression;
+    private ProofCache proofCache;
+
+    private int loadThreads = 1;
+    private List<Theorem> deferredProofs;
+    // for each deferred Theorem, the number of info messages when it was
+    // added: where its decompression error, if any, belongs
+    private List<Integer> deferredProofMessagePositions;
+    private ProofCache deferredProofCache;
 
     // Sym table (was sorted, asc order by Sym.id, but HashMap is
     // faster...)
@@ -108,6 +132,9 @@ public class LogicalSystem implements SystemLoader {
     // faster...)
     private final Map<String, Stmt> stmtTbl;
 
+    // symCnt is the next Sym.tblIdx
+    private int symCnt;
+
     /**
      * Construct with full set of parameters.
      *
@@ -169,6 +196,7 @@ public class LogicalSystem implements SystemLoader {
 
         symTbl = new HashMap<>(symTblInitialSize);
         stmtTbl = new HashMap<>(stmtTblInitialSize);
+        proofDependencyGraph = new ProofDependencyGraph(stmtTbl);
 
         this.syntaxVerifier = syntaxVerifier;
         this.proofVerifier = proofVerifier;
@@ -210,6 +238,7 @@ public class LogicalSystem implements SystemLoader {
         final Sym existingSym = symTbl.put(id, c);
 
         dupCheckSymAdd(existingSym);
+        registerSym(c);
 
         bookManager.assignChapterSectionNbrs(c);
 
@@ -241,6 +270,8 @@ public class LogicalSystem implements SystemLoader {
 
         final Var v = Var.declareVar(seqAssigner.nextSeq(), symTbl, stmtTbl,
             id);
+        if (v.getTblIdx() < 0)
+            registerSym(v);
         currScopeDef.scopeVar.add(v);
 
         bookManager.assignChapterSectionNbrs(v);
@@ -587,9 +618,23 @@ public class LogicalSystem implements SystemLoader {
         final Messages messages) throws LangException
     {
 
-        final Theorem theorem = new Theorem(seqAssigner.nextSeq(), scopeDefList,
-            symTbl, stmtTbl, labelS, column, typS, symList, proofList,
-            proofBlockList, getProofCompression(), messages);
+        final Theorem theorem;
+        if (proofCache != null)
+            theorem = new Theorem(seqAssigner.nextSeq(), scopeDefList, symTbl,
+                stmtTbl, labelS, column, typS, symList, proofList,
+                proofBlockList, proofCache);
+        else if (deferredProofs != null) {
+            theorem = new Theorem(seqAssigner.nextSeq(), scopeDefList, symTbl,
+                stmtTbl, labelS, column, typS, symList, proofList,
+                proofBlockList, deferredProofCache);
+            deferredProofs.add(theorem);
+            deferredProofMessagePositions.add(
+                messages == null ? 0 : messages.getInfoMessageCnt());
+        }
+        else
+            theorem = new Theorem(seqAssigner.nextSeq(), scopeDefList, symTbl,
+                stmtTbl, labelS, column, typS, symList, proofList,
+                proofBlockList, getProofCompression(), messages);
 
         final Stmt existingStmt = stmtTbl.put(labelS, theorem);
 
@@ -684,7 +729,9 @@ public class LogicalSystem implements SystemLoader {
     public void finalizeEOF(final Messages messages, final boolean prematureEOF)
         throws LangException
     {
+        decompressDeferredProofs(messages);
         setProofCompression(null); // free up memory
+        proofDependencyGraph.invalidate(); // new theorems: rebuild
         if (scopeLvl != 0)
             if (prematureEOF)
                 while (true) {
@@ -699,6 +746,110 @@ public class LogicalSystem implements SystemLoader {
                     LangConstants.ERRMSG_MISSING_END_SCOPE_AT_EOF);
     }
 
+    /**
+     * Decompresses the compressed proofs whose decompression was deferred, as
+     * {@code finalizeEOF()} does, when the load is abandoned before the end
+     * of the file.
+     *
+     * @param messages Messages object to error reporting.
+     */
+    public void abortLoad(final Messages messages) {
+        decompressDeferredProofs(messages);
+    }
+
+    /**
+     * Decompresses the compressed proofs whose decompression was deferred to
+     * the end of the load (see {@link #setLoadThreads(int)}), using up to
+     * {@code loadThreads} threads. Decompression errors are reported as info
+     * messages, each inserted where it would have been had the proof been
+     * decompressed while loading -- so the messages are in source order.
+     *
+     * @param messages {@code Messages} object for reporting errors.
+     */
+    private void decompressDeferredProofs(final Messages messages) {
+        if (deferredProofs == null)
+            return;
+        final List<Theorem> list = deferredProofs;
+        final List<Integer> positions = deferredProofMessagePositions;
+        deferredProofs = null;
+        deferredProofMessagePositions = null;
+        deferredProofCache = null;
+        if (list.isEmpty())
+            return;
+
+        final RPNStep[][] proofs = new RPNStep[list.size()][];
+        final LangException[] errMsgs = new LangException[list.size()];
+        final ThreadLocal<ProofCompression> proofCompressions = ThreadLocal
+            .withInitial(ProofCompression::new);
+        final ForkJoinPool pool = new ForkJoinPool(loadThreads);
+        try {
+            pool.invoke(new DecompressShard(list, proofs, errMsgs,
+                proofCompressions, 0, proofs.length));
+        } finally {
+            pool.shutdown();
+        }
+
+        int inserted = 0;
+        for (int i = 0; i < proofs.length; i++)
+            if (errMsgs[i] != null) {
+                list.get(i).setProofDecompressionFailed();
+                messages.insertInfoMessage(positions.get(i) + inserted++,
+                    errMsgs[i].getMessage());
+            }
+            else
+                list.get(i).setDecompressedProof(proofs[i]);
+    }
+
+    /**
+     * A contiguous range of the deferred Theorem list, decompressed by one
+     * fork-join task. Results are stored in the parallel proofs and errMsgs
+     * arrays.
+     */
+    private class DecompressShard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Theorem> list;
+        private final RPNStep[][] proofs;
+        private final LangException[] errMsgs;
+        private final ThreadLocal<ProofCompression> proofCompressions;
+        private final int lo;
+        private final int hi;
+
+        DecompressShard(final List<Theorem> list, final RPNStep[][] proofs,
+            final LangException[] errMsgs,
+            final ThreadLocal<ProofCompression> proofCompressions,
+            final int lo, final int hi)
+        {
+            this.list = list;
+            this.proofs = proofs;
+            this.errMsgs = errMsgs;
+            this.proofCompressions = proofCompressions;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > LangConstants.DECOMPRESS_SHARD_MIN_LEN) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(
+                    new DecompressShard(list, proofs, errMsgs,
+                        proofCompressions, lo, mid),
+                    new DecompressShard(list, proofs, errMsgs,
+                        proofCompressions, mid, hi));
+                return;
+            }
+            final ProofCompression proofCompression = proofCompressions.get();
+            for (int i = lo; i < hi; i++)
+                try {
+                    proofs[i] = list.get(i).decompressProof(proofCompression,
+                        stmtTbl);
+                } catch (final LangException e) {
+                    errMsgs[i] = e;
+                }
+        }
+    }
+
     /**
      * Does Syntactical Analysis of the grammar and all statements in the
      * LogicalSystem.
@@ -844,6 +995,16 @@ public class LogicalSystem implements SystemLoader {
         return stmtTbl;
     }
 
+    /**
+     * Returns the number of Syms in the LogicalSystem, which is one more than
+     * the highest {@code Sym.tblIdx}.
+     *
+     * @return number of {@code Cnst}s and {@code Var}s.
+     */
+    public int getSymCnt() {
+        return symCnt;
+    }
+
     /**
      * Returns an instance of ProofCompression.
      * <p>
@@ -858,6 +1019,60 @@ public class LogicalSystem implements SystemLoader {
         return proofCompression;
     }
 
+    /**
+     * Returns the ProofCache holding lazily decompressed proofs.
+     *
+     * @return ProofCache, or null if compressed proofs are decompressed when
+     *         loaded.
+     */
+    public ProofCache getProofCache() {
+        return proofCache;
+    }
+
+    /**
+     * Selects lazy decompression of compressed proofs added from now on.
+     * <p>
+     * With a size greater than zero, Theorems loaded with a compressed proof
+     * keep just the compressed form and decompress it on first use, keeping
+     * at most {@code size} decompressed proofs (see ProofCache). With size 0
+     * compressed proofs are decompressed when loaded, as before.
+     * <p>
+     * Theorems already loaded lazily continue to use the previous ProofCache.
+     *
+     * @param size maximum number of decompressed proofs to hold, or 0.
+     */
+    public void setProofCacheSize(final int size) {
+        if (size <= 0)
+            proofCache = null;
+        else if (proofCache == null || proofCache.getCapacity() != size)
+            proofCache = new ProofCache(stmtTbl, size);
+    }
+
+    /**
+     * Sets the number of threads used to decompress the compressed proofs of
+     * the next load.
+     * <p>
+     * With more than one thread (and without lazy decompression, see
+     * {@link #setProofCacheSize(int)}) the compressed proofs are kept as they
+     * are while loading and decompressed in parallel by {@code finalizeEOF()}.
+     *
+     * @param loadThreads number of threads, 1 to decompress proofs as they are
+     *            loaded.
+     */
+    public void setLoadThreads(final int loadThreads) {
+        this.loadThreads = loadThreads;
+        if (loadThreads > 1) {
+            deferredProofs = new ArrayList<>();
+            deferredProofMessagePositions = new ArrayList<>();
+            deferredProofCache = new ProofCache(stmtTbl, 1);
+        }
+        else {
+            deferredProofs = null;
+            deferredProofMessagePositions = null;
+            deferredProofCache = null;
+        }
+    }
+
     /**
      * Sets the reference to the local ProofCompression instance.
      *
@@ -952,6 +1167,16 @@ public class LogicalSystem implements SystemLoader {
         return bookManager.isEnabled();
     }
 
+    /**
+     * Get the ProofDependencyGraph, which tracks the theorems that use each
+     * assertion and the theorems changed by TheoremLoader.
+     *
+     * @return ProofDependencyGraph object.
+     */
+    public ProofDependencyGraph getProofDependencyGraph() {
+        return proofDependencyGraph;
+    }
+
     /**
      * Empties the TheoremLoaderCommitListener list.
      */
@@ -1044,6 +1269,8 @@ public class LogicalSystem implements SystemLoader {
      * <p>
      * Commits BookManager updates.
      * <p>
+     * Commits ProofDependencyGraph updates.
+     * <p>
      * Sends commit() request to every TheoremLoaderCommitListener.
      * <p>
      *
@@ -1060,6 +1287,8 @@ public class LogicalSystem implements SystemLoader {
             if (bookManager != null)
                 bookManager.commit(mmtTheoremSet);
 
+            proofDependencyGraph.commit(mmtTheoremSet);
+
             for (final TheoremLoaderCommitListener l : theoremLoaderCommitListeners)
                 l.commit(mmtTheoremSet);
         } catch (final Exception e) {
@@ -1069,6 +1298,10 @@ public class LogicalSystem implements SystemLoader {
         }
     }
 
+    private void registerSym(final Sym sym) {
+        sym.setTblIdx(symCnt++);
+    }
+
     private void dupCheckSymAdd(final Sym existingSym) {
 
         if (existingSym != null)
@@ -6,13 +6,16 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * Messages.java  0.03 06/01/2007
+ * Messages.java  0.04 10/18/2026
  *
  * Version 0.02 -- 08/23/2005
  *
  * Version 0.03 -- 06/01/2007
  *     --> added startInstrumentationTimer() and
  *               stopInstrumentationTimer().
+ *
+ * Version 0.04 -- 10/18/2026
+ *     --> added insertInfoMessage().
  */
 
 package mmj.lang;
@@ -195,6 +198,32 @@ public class Messages {
         return false;
     }
 
+    /**
+     * Insert info message in Messages repository, before the message at
+     * {@code index} (which is clamped to the messages stored).
+     * <p>
+     * This is used to report a message in its proper place among messages
+     * accumulated later. If the repository is full the last message is
+     * discarded, as if the messages had been accumulated in order.
+     *
+     * @param index position of the new message, 0 for the first.
+     * @param infoMessage info message.
+     * @return true if message stored, false if no room left.
+     */
+    public boolean insertInfoMessage(final int index,
+        final String infoMessage)
+    {
+        final int i = Math.min(Math.max(index, 0), infoMessageCnt);
+        if (i >= infoMessageArray.length)
+            return false;
+        if (infoMessageCnt < infoMessageArray.length)
+            infoMessageCnt++;
+        System.arraycopy(infoMessageArray, i, infoMessageArray, i + 1,
+            infoMessageCnt - 1 - i);
+        infoMessageArray[i] = infoMessage;
+        return true;
+    }
+
     /**
      * Return count of error messages stored in Messages object.
      *
@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * ParseNode.java  0.09 03/01/2008
+ * ParseNode.java  0.10 10/18/2026
  *
  * Sep-30-2005: use getMandHypArrayLength() instead of
  *              getMandHypArray().
@@ -43,6 +43,12 @@
  *         -- Clone deepCloneApplyingAssrtSubst()
  *            so that input variable "workVarList" is
  *            optional, and if null will not be used.
+ *
+ * Oct-18-2026 -- version 0.10
+ *         -- Added interned (hash-consed) ParseNodes, see
+ *            ParseNodeFactory.
+ *         -- squishTree() finds repeated subtrees with a
+ *            hash table instead of a linear search.
  */
 
 package mmj.lang;
@@ -100,6 +106,10 @@ import mmj.verify.VerifyProofs;
  * in the proof and may have children of its own -- for example, a VarHyp
  * sub-node of a ProofTree may actually contain a Stmt reference to "wi" where
  * the "wi" statement has its own VarHyp's.)</li>
+ * </ul>
+ * <p>
+ * ParseNodes built by a {@link ParseNodeFactory} are "interned", shared by
+ * every tree containing the same subterm, and must not be modified.
  */
 
 public class ParseNode {
@@ -136,6 +146,16 @@ public class ParseNode {
      */
     public int firstAppearance;
 
+    /**
+     * The ParseNodeFactory which interned this node, or null.
+     */
+    ParseNodeFactory factory;
+
+    /**
+     * Cached deep hash code of an interned node.
+     */
+    private int deepHash;
+
     /**
      * Default constructor.
      */
@@ -290,7 +310,10 @@ public class ParseNode {
         while (thatNode != null && myNode.stmt == thatNode.stmt
             && myNode.child.length == thatNode.child.length)
         {
-            int i = myNode.child.length - 1;
+            if (myNode.factory != null && myNode.factory == thatNode.factory
+                && myNode != thatNode)
+                break;
+            int i = myNode == thatNode ? -1 : myNode.child.length - 1;
             if (i < 0) {
                 if (compareNodeStack.isEmpty())
                     return true;
@@ -326,6 +349,8 @@ public class ParseNode {
 
         if (this == that)
             return true;
+        if (factory != null && factory == that.factory)
+            return false;
         for (int i = 0; i < child.length; i++)
             if (child[i] != null) {
                 if (!child[i].isDeepDup(that.child[i]))
@@ -338,13 +363,14 @@ public class ParseNode {
     }
 
     /**
-     * Calculates the hash code based on children deep hash code. This
-     * implementation may be inefficient so in case of performance problems the
-     * function should be fixed.
+     * Calculates the hash code based on children deep hash code. The hash code
+     * of an interned node is computed only once.
      *
      * @return true the hash code
      */
     public int deepHashCode() {
+        if (factory != null)
+            return deepHash;
         if (stmt == null)
             return 0;
         int hash = stmt.hashCode();
@@ -562,6 +588,8 @@ public class ParseNode {
     }
 
     private void resetAppearances() {
+        if (factory != null)
+            return;
         for (final ParseNode n : child)
             n.resetAppearances();
         firstAppearance = 0;
@@ -579,7 +607,10 @@ public class ParseNode {
             element.getCounts();
             sizeExpanded += element.sizeExpanded;
             formulaSize += element.formulaSize - 2;
-            if (element.firstAppearance >= 0) {
+            if (element.factory != null)
+                // interned nodes are written out in full
+                size += element.size;
+            else if (element.firstAppearance >= 0) {
                 element.firstAppearance = -1;
                 size += element.size;
             }
@@ -590,28 +621,72 @@ public class ParseNode {
         }
     }
 
-    public boolean squishTree(final List<ParseNode> encountered) {
+    /**
+     * Compresses ("squishes") the sub-tree so that repeated subtrees are held
+     * only once, the first one found being kept.
+     * <p>
+     * Interned subtrees below this node are replaced by copies before being
+     * squished; an interned node itself is left as it is.
+     *
+     * @return true if the sub-tree was modified
+     */
+    public boolean squishTree() {
+        return squishTree(new HashMap<ParseNodeFactory.Key, ParseNode>());
+    }
+
+    /**
+     * Squishes a sub-tree. The children of each child are squished before the
+     * child itself is looked up in the {@code encountered} table, so that deep
+     * duplicates have the same Stmt and identical children.
+     *
+     * @param encountered the subtrees found so far
+     * @return true if the sub-tree was modified
+     */
+    private boolean squishTree(
+        final Map<ParseNodeFactory.Key, ParseNode> encountered)
+    {
+        if (factory != null)
+            return false;
         boolean modified = false;
         for (int i = 0; i < child.length; i++) {
+            if (child[i].factory != null) {
+                child[i] = child[i].deepClone();
+                modified = true;
+            }
             modified |= child[i].squishTree(encountered);
-            boolean found = false;
-            for (final ParseNode n : encountered)
-                if (child[i].isDeepDup(n)) {
-                    found = true;
-                    if (child[i] != n) {
-                        child[i] = n;
-                        modified = true;
-                    }
-                    break;
-                }
-            if (!found)
-                encountered.add(child[i]);
+            final ParseNode n = encountered.putIfAbsent(
+                new ParseNodeFactory.Key(child[i].stmt, child[i].child),
+                child[i]);
+            if (n != null && n != child[i]) {
+                child[i] = n;
+                modified = true;
+            }
         }
         if (modified)
             size = sizeExpanded = 0;
         return modified;
     }
 
+    /**
+     * Marks this node as interned by a ParseNodeFactory, and computes the
+     * cached values which do not depend on the enclosing tree. The children
+     * must already be interned.
+     *
+     * @param factory the ParseNodeFactory
+     */
+    void intern(final ParseNodeFactory factory) {
+        size = sizeExpanded = 1;
+        formulaSize = stmt == null ? 0 : stmt.getFormula().cnt;
+        deepHash = stmt == null ? 0 : stmt.hashCode();
+        for (final ParseNode element : child) {
+            size = sizeExpanded += element.sizeExpanded;
+            formulaSize += element.formulaSize - 2;
+            if (stmt != null)
+                deepHash ^= element.deepHash;
+        }
+        this.factory = factory;
+    }
+
     /**
      * Converts a sub-tree expression to Reverse Polish Notation.
      * <p>
@@ -773,7 +848,7 @@ public class ParseNode {
         final ParseNode out = new ParseNode();
 
         if (stmt instanceof VarHyp) {
-            final ParseNode vHNode = ((VarHyp)stmt).paSubst;
+            final ParseNode vHNode = ((VarHyp)stmt).getPaSubst();
             if (vHNode == null)
                 throw new IllegalArgumentException(new LangException(
                     LangConstants.ERRMSG_NULL_TARGET_VAR_HYP_PA_SUBST));
@@ -836,10 +911,10 @@ public class ParseNode {
             || !(stmt instanceof WorkVarHyp))
             return stmt;
 
-        if (((VarHyp)stmt).paSubst == null)
+        if (((VarHyp)stmt).getPaSubst() == null)
             return null; // found nothing
 
-        return ((VarHyp)stmt).paSubst
+        return ((VarHyp)stmt).getPaSubst()
             .checkWorkVarHasOccursInValidRename(searchWorkVarHyp);
     }
 
@@ -856,8 +931,8 @@ public class ParseNode {
         if (searchWorkVarHyp == stmt)
             return true;
         if (stmt instanceof WorkVarHyp)
-            return ((VarHyp)stmt).paSubst != null
-                && ((VarHyp)stmt).paSubst.hasOccursIn(searchWorkVarHyp);
+            return ((VarHyp)stmt).getPaSubst() != null
+                && ((VarHyp)stmt).getPaSubst().hasOccursIn(searchWorkVarHyp);
         for (final ParseNode element : child)
             if (element.hasOccursIn(searchWorkVarHyp))
                 return true;
@@ -871,7 +946,7 @@ public class ParseNode {
      * @return true if subtree contains an updated WorkVar.
      */
     public boolean hasUpdatedWorkVar() {
-        if (stmt instanceof WorkVarHyp && ((VarHyp)stmt).paSubst != null)
+        if (stmt instanceof WorkVarHyp && ((VarHyp)stmt).getPaSubst() != null)
             return true;
         for (final ParseNode element : child)
             if (element.hasUpdatedWorkVar())
@@ -886,9 +961,11 @@ public class ParseNode {
      * @return cloned subtree containing no Work Vars which have updates.
      */
     public ParseNode cloneResolvingUpdatedWorkVars() {
-        if (stmt instanceof WorkVarHyp)
-            return ((VarHyp)stmt).paSubst == null ? new ParseNode((VarHyp)stmt)
-                : ((VarHyp)stmt).paSubst.cloneResolvingUpdatedWorkVars();
+        if (stmt instanceof WorkVarHyp) {
+            final ParseNode paSubst = ((VarHyp)stmt).getPaSubst();
+            return paSubst == null ? new ParseNode((VarHyp)stmt)
+                : paSubst.cloneResolvingUpdatedWorkVars();
+        }
         final ParseNode out = new ParseNode(stmt, new ParseNode[child.length]);
         for (int i = 0; i < child.length; i++)
             out.child[i] = child[i].cloneResolvingUpdatedWorkVars();
@@ -986,8 +1063,8 @@ public class ParseNode {
      */
     public ParseNode deepCloneApplyingWorkVarUpdates() {
 
-        if (stmt instanceof WorkVarHyp && ((VarHyp)stmt).paSubst != null)
-            return ((VarHyp)stmt).paSubst;
+        if (stmt instanceof WorkVarHyp && ((VarHyp)stmt).getPaSubst() != null)
+            return ((VarHyp)stmt).getPaSubst();
 
         final ParseNode out = new ParseNode(stmt, new ParseNode[child.length]);
         for (int i = 0; i < child.length; i++)
@@ -0,0 +1,167 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * ParseNodeFactory.java  0.01 10/18/2026
+ *
+ * Oct-18-2026:
+ *     --> new!
+ */
+
+package mmj.lang;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ParseNodeFactory hash-conses ParseNodes: it returns one shared ParseNode for
+ * each distinct subtree, so that parse trees built through the same factory
+ * form a DAG in which identical subterms -- which are very frequent in a
+ * database like set.mm -- are held only once.
+ * <p>
+ * A ParseNode built by a factory is "interned". Interned ParseNodes must not
+ * be modified: their children are interned too, their {@code deepHashCode()}
+ * is computed once, and two of them from the same factory are deep duplicates
+ * if and only if they are the same object (see {@code isDeepDup()}). Code that
+ * needs to change a tree clones it first, as it already does for statement
+ * parse trees (see {@code deepCloneApplyingAssrtSubst()}).
+ * <p>
+ * Interned subtrees are written out in full by {@code convertToRPN()}, just as
+ * if they were not shared, and counting or converting a tree does not update
+ * them, so they can be used by several threads at once.
+ * <p>
+ * The interning table is keyed by Stmt plus the identities of the (interned)
+ * children. ParseNodeFactory is thread-safe.
+ */
+public class ParseNodeFactory {
+
+    private final Map<Key, ParseNode> table = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the interned ParseNode for a Stmt and interned children, building
+     * it if necessary.
+     *
+     * @param stmt the Stmt of the node.
+     * @param child the children, which must have been interned by this
+     *            factory.
+     * @return the interned ParseNode.
+     */
+    public ParseNode get(final Stmt stmt, final ParseNode... child) {
+        for (final ParseNode c : child)
+            if (c != null && c.factory != this)
+                throw new IllegalArgumentException(new LangException(
+                    LangConstants.ERRMSG_PARSE_NODE_NOT_INTERNED));
+        return getInterned(stmt, child.clone());
+    }
+
+    private ParseNode getInterned(final Stmt stmt, final ParseNode[] child) {
+        final Key key = new Key(stmt, child);
+        final ParseNode node = table.get(key);
+        if (node != null)
+            return node;
+        final ParseNode newNode = new ParseNode(stmt, child);
+        newNode.intern(this);
+        final ParseNode oldNode = table.putIfAbsent(key, newNode);
+        return oldNode == null ? newNode : oldNode;
+    }
+
+    /**
+     * Returns the interned equivalent of a ParseNode sub-tree. The input
+     * sub-tree is not modified.
+     *
+     * @param node root of the sub-tree.
+     * @return the interned root.
+     */
+    public ParseNode intern(final ParseNode node) {
+        if (node == null || node.factory == this)
+            return node;
+        final ParseNode[] child = new ParseNode[node.child.length];
+        for (int i = 0; i < child.length; i++)
+            child[i] = intern(node.child[i]);
+        return getInterned(node.stmt, child);
+    }
+
+    /**
+     * Returns the interned equivalent of a ParseTree.
+     *
+     * @param tree the ParseTree, which is not modified.
+     * @return a new ParseTree with an interned root, or the input tree if it
+     *         is null, empty or already interned.
+     */
+    public ParseTree intern(final ParseTree tree) {
+        if (tree == null || tree.getRoot() == null
+            || tree.getRoot().factory == this)
+            return tree;
+        return new ParseTree(intern(tree.getRoot()));
+    }
+
+    /**
+     * Interns the expression parse trees of a collection of Stmts.
+     *
+     * @param stmts the Stmts.
+     */
+    public void internExprParseTrees(final Collection<? extends Stmt> stmts) {
+        for (final Stmt stmt : stmts) {
+            final ParseTree tree = stmt.getExprParseTree();
+            final ParseTree interned = intern(tree);
+            if (interned != tree) {
+                stmt.setExprParseTree(interned);
+                interned.getMaxDepth();
+                interned.getLevelOneTwo();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct ParseNodes held.
+     *
+     * @return number of interned ParseNodes.
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Hash key of a ParseNode: its Stmt and the identities of its children.
+     * <p>
+     * Also used by {@code ParseNode.squishTree()} to find repeated subtrees of
+     * a proof tree whose own subtrees have already been squished.
+     */
+    static final class Key {
+        final Stmt stmt;
+        final ParseNode[] child;
+        private final int hash;
+
+        Key(final Stmt stmt, final ParseNode[] child) {
+            this.stmt = stmt;
+            this.child = child;
+            int h = stmt == null ? 0 : stmt.hashCode();
+            for (final ParseNode c : child)
+                h = 31 * h + System.identityHashCode(c);
+            hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key))
+                return false;
+            final Key that = (Key)obj;
+            if (stmt != that.stmt || child.length != that.child.length)
+                return false;
+            for (int i = 0; i < child.length; i++)
+                if (child[i] != that.child[i])
+                    return false;
+            return true;
+        }
+    }
+}
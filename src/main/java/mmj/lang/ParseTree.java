@@ -298,8 +298,11 @@ public class ParseTree {
      * @return this object
      */
     public ParseTree squishTree() {
-        if (root != null)
-            root.squishTree(new ArrayList<ParseNode>());
+        if (root != null) {
+            if (root.factory != null)
+                root = root.deepClone();
+            root.squishTree();
+        }
         return this;
     }
 
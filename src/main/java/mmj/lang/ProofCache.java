@@ -0,0 +1,191 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * ProofCache.java  0.01 10/18/2026
+ *
+ * Oct-18-2026:
+ *     --> new!
+ */
+
+package mmj.lang;
+
+import java.util.*;
+
+import mmj.lang.ParseTree.RPNStep;
+
+/**
+ * ProofCache holds the most recently used decompressed proofs of Theorems
+ * loaded with lazy proof decompression.
+ * <p>
+ * In lazy mode (see {@code LogicalSystem.setProofCacheSize()}) a Theorem
+ * with a compressed proof keeps only the compressed form -- the labels in
+ * the parenthesized portion plus the block of compressed proof letters --
+ * and its RPN proof is decompressed on first use. The decompressed proofs
+ * are kept here, least recently used first, and the oldest are discarded
+ * once {@code capacity} proofs are held, so the heap never holds more than
+ * {@code capacity} RPN proofs at a time. Verification, export, etc. simply
+ * call {@code Theorem.getProof()} and fill (and evict from) the cache as
+ * they go.
+ * <p>
+ * ProofCache is thread-safe: proofs are decompressed outside of the lock
+ * with a ProofCompression instance per thread, so that multi-threaded
+ * proof verification is not serialized.
+ * <p>
+ * Decompression errors, which in eager mode are reported while the file is
+ * loaded, are held until {@code reportDecompressionErrors()} is called; the
+ * Theorem's proof is then set to a single unknown step, exactly as in eager
+ * mode.
+ */
+public class ProofCache {
+
+    private final Map<String, Stmt> stmtTbl;
+    private final int capacity;
+
+    private final LinkedHashMap<Theorem, RPNStep[]> cache;
+
+    private final ThreadLocal<ProofCompression> proofCompression = ThreadLocal
+        .withInitial(ProofCompression::new);
+
+    private final List<LangException> decompressionErrors = new ArrayList<>();
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Construct ProofCache for a LogicalSystem statement table.
+     *
+     * @param stmtTbl the LogicalSystem statement table.
+     * @param capacity maximum number of decompressed proofs held.
+     */
+    public ProofCache(final Map<String, Stmt> stmtTbl, final int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException();
+        this.stmtTbl = stmtTbl;
+        this.capacity = capacity;
+        cache = new LinkedHashMap<Theorem, RPNStep[]>(
+            Math.min(capacity, LangConstants.PROOF_CACHE_INITIAL_SIZE), 0.75f,
+            true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<Theorem, RPNStep[]> eldest)
+            {
+                return size() > ProofCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the decompressed proof of a Theorem, decompressing it if it is
+     * not in the cache.
+     *
+     * @param theorem Theorem with a compressed proof.
+     * @return RPN proof.
+     */
+    RPNStep[] getProof(final Theorem theorem) {
+        synchronized (this) {
+            final RPNStep[] proof = cache.get(theorem);
+            if (proof != null) {
+                hits++;
+                return proof;
+            }
+            misses++;
+        }
+
+        final RPNStep[] proof;
+        try {
+            proof = theorem.decompressProof(proofCompression.get(), stmtTbl);
+        } catch (final LangException e) {
+            synchronized (this) {
+                decompressionErrors.add(e);
+            }
+            return theorem.setProofDecompressionFailed();
+        }
+
+        synchronized (this) {
+            // unless the proof was set meanwhile (see Theorem.setLoadedProof)
+            if (theorem.isProofDecompressedLazily())
+                cache.put(theorem, proof);
+        }
+        return proof;
+    }
+
+    /**
+     * Discards a Theorem's decompressed proof, if cached.
+     *
+     * @param theorem the Theorem.
+     */
+    public synchronized void remove(final Theorem theorem) {
+        cache.remove(theorem);
+    }
+
+    /**
+     * Discards every cached proof.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Returns the maximum number of decompressed proofs held.
+     *
+     * @return capacity of the cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of decompressed proofs now held.
+     *
+     * @return number of cached proofs.
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the number of {@code getProof()} requests satisfied from the
+     * cache.
+     *
+     * @return number of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of proofs decompressed.
+     *
+     * @return number of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Moves the decompression errors found since the last call into a
+     * Messages object, as info messages (as in eager mode).
+     *
+     * @param messages Messages object for the error messages.
+     * @return true if there were any errors.
+     */
+    public synchronized boolean reportDecompressionErrors(
+        final Messages messages)
+    {
+        if (decompressionErrors.isEmpty())
+            return false;
+        for (final LangException e : decompressionErrors)
+            messages.accumInfoMessage(e.getMessage());
+        decompressionErrors.clear();
+        return true;
+    }
+}
@@ -7,7 +7,12 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * ProofCompression.java 0.01 04/01/2006
+ * ProofCompression.java 0.02 10/18/2026
+ *
+ * Version 0.02 - Oct-18-2026
+ *     --> compress() numbers Stmts through hash maps instead of
+ *         List.indexOf() and builds letter codes in a reusable char
+ *         buffer; the knapsack line fill reuses its work table.
  */
 
 package mmj.lang;
@@ -54,6 +59,17 @@ public class ProofCompression {
      */
     private List<RPNStep> step;
 
+    /**
+     * codeBuffer holds the letter code being built by compress()
+     */
+    private final char[] codeBuffer = new char[LangConstants.COMPRESS_CODE_MAX_LEN];
+
+    /**
+     * knapsackWorth is the dynamic programming table of compress()'s line
+     * fill, kept for the next line and proof
+     */
+    private int[] knapsackWorth;
+
     // *******************************************
 
     /**
@@ -252,141 +268,238 @@ public class ProofCompression {
         step = new ArrayList<>(LangConstants.COMPRESS_STEP_INIT_LEN);
     }
 
+    /**
+     * Compress a single proof.
+     * <p>
+     * The Stmts referenced by the proof (other than the mandatory hypotheses)
+     * are numbered in order of decreasing use, so that the most used ones get
+     * the shortest letter codes, and each group of Stmts with codes of the
+     * same length is laid out in proof order, packing the lines of the
+     * parenthesized list as tightly as possible.
+     * <p>
+     * Stmts are numbered through hash maps and the letter codes are built in a
+     * reusable char buffer, so the time taken is linear in the length of the
+     * proof, apart from the line packing.
+     *
+     * @param theoremLabel Theorem's label, for error messages.
+     * @param width width of the lines of the parenthesized list, the first of
+     *            which starts with "( ".
+     * @param mandHypArray The theorem's mandatory hypotheses.
+     * @param optHypArray The theorem's optional hypotheses (not used.)
+     * @param rpnProof the "squished" RPN proof, with back references.
+     * @param letters output: the compressed proof letters.
+     * @return the Stmts of the parenthesized list.
+     */
     public List<Stmt> compress(final String theoremLabel, final int width,
         final List<Hyp> mandHypArray, final List<VarHyp> optHypArray,
         final RPNStep[] rpnProof, final StringBuilder letters)
     {
         this.theoremLabel = theoremLabel;
-        final List<Stmt> parenStmt = new ArrayList<>();
-        int linePos = 2;
+        final int mandLen = mandHypArray.size();
+
+        // letter number of each Stmt: the mandatory hypotheses first,
+        // then (below) the Stmts of the parenthesized list.
+        final Map<Stmt, Integer> letterNbr = new HashMap<>(
+            (mandLen + rpnProof.length) * 2);
+        for (int i = 0; i < mandLen; i++)
+            letterNbr.putIfAbsent(mandHypArray.get(i), i + 1);
+
+        final Map<Stmt, Integer> proofOrdIndex = new HashMap<>(
+            rpnProof.length * 2);
         final List<Stmt> proofOrdered = new ArrayList<>();
-        final List<Integer> proofOrdBackrefs = new ArrayList<>();
+        final int[] proofOrdBackrefs = new int[rpnProof.length];
+        int hyps = 0;
         for (final RPNStep s : rpnProof)
             if (s != null && s.backRef <= 0 && s.stmt != null
-                && !mandHypArray.contains(s.stmt))
+                && !letterNbr.containsKey(s.stmt))
             {
-                final int i = proofOrdered.indexOf(s.stmt);
-                if (i >= 0)
-                    proofOrdBackrefs.set(i, proofOrdBackrefs.get(i) + 1);
+                final Integer i = proofOrdIndex.putIfAbsent(s.stmt,
+                    proofOrdered.size());
+                if (i != null)
+                    proofOrdBackrefs[i]++;
                 else {
+                    proofOrdBackrefs[proofOrdered.size()] = 1;
                     proofOrdered.add(s.stmt);
-                    proofOrdBackrefs.add(1);
+                    if (s.stmt instanceof Hyp)
+                        hyps++;
                 }
             }
-        int hyps = 0;
-        for (int i = 0; i < proofOrdered.size(); i++)
-            if (proofOrdered.get(i) instanceof Hyp) {
-                proofOrdered.add(hyps, proofOrdered.remove(i));
-                proofOrdBackrefs.add(hyps++, proofOrdBackrefs.remove(i));
+
+        // hypotheses first, otherwise in proof order
+        final int n = proofOrdered.size();
+        final Stmt[] ordered = new Stmt[n];
+        final int[] backrefs = new int[n];
+        for (int i = 0, h = 0, o = hyps; i < n; i++) {
+            final int j = proofOrdered.get(i) instanceof Hyp ? h++ : o++;
+            ordered[j] = proofOrdered.get(i);
+            backrefs[j] = proofOrdBackrefs[i];
+        }
+        final int[] values = new int[n];
+        for (int i = 0; i < n; i++)
+            values[i] = ordered[i].getLabel().length() + 1;
+        final Integer[] sortedByBackrefs = new Integer[n];
+        for (int i = 0; i < n; i++)
+            sortedByBackrefs[i] = i;
+        Arrays.sort(sortedByBackrefs, new Comparator<Integer>() {
+            public int compare(final Integer a, final Integer b) {
+                final int i = backrefs[b] - backrefs[a];
+                return i == 0 ? a - b : i;
             }
-        final int[] values = new int[proofOrdered.size()];
-        for (int i = 0; i < values.length; i++)
-            values[i] = proofOrdered.get(i).getLabel().length() + 1;
-        final PriorityQueue<Integer> sortedByBackrefs = new PriorityQueue<>(
-            proofOrdered.size(), new Comparator<Integer>()
-        {
-                public int compare(final Integer a, final Integer b) {
-                    final int i = proofOrdBackrefs.get(b)
-                        - proofOrdBackrefs.get(a);
-                    return i == 0 ? a - b : i;
-                }
-            });
-        for (int i = 0; i < proofOrdered.size(); i++)
-            sortedByBackrefs.add(i);
-        int i = mandHypArray.size();
+        });
+
+        final List<Stmt> parenStmt = new ArrayList<>(n);
+        int linePos = 2;
+        int i = mandLen;
         int cutoff = LangConstants.COMPRESS_LOW_BASE;
         while (cutoff <= i) {
             i -= cutoff;
             cutoff *= LangConstants.COMPRESS_HIGH_BASE;
         }
-        Integer pos;
-        final List<Integer> lengthBlock = new LinkedList<>();
-        while ((pos = sortedByBackrefs.poll()) != null) {
+        final int[] lengthBlock = new int[n];
+        final boolean[] included = new boolean[n];
+        int blockLen = 0;
+        for (final int pos : sortedByBackrefs) {
             if (i++ == cutoff) {
                 i = 1;
                 cutoff *= LangConstants.COMPRESS_HIGH_BASE;
-                linePos = processBlock(parenStmt, proofOrdered, values,
-                    lengthBlock, width, linePos);
+                linePos = processBlock(parenStmt, ordered, values,
+                    lengthBlock, blockLen, included, width, linePos);
+                blockLen = 0;
             }
-            lengthBlock.add(pos);
+            lengthBlock[blockLen++] = pos;
         }
-        processBlock(parenStmt, proofOrdered, values, lengthBlock, width,
-            linePos);
+        processBlock(parenStmt, ordered, values, lengthBlock, blockLen,
+            included, width, linePos);
+        for (int j = 0; j < parenStmt.size(); j++)
+            letterNbr.putIfAbsent(parenStmt.get(j), mandLen + j + 1);
+
+        final int backrefBase = mandLen + parenStmt.size();
+        letters.ensureCapacity(letters.length() + rpnProof.length * 2);
         for (final RPNStep s : rpnProof) {
             if (s == null) {
                 letters.append((char)LangConstants.COMPRESS_UNKNOWN_CHAR);
                 continue;
             }
-            int letter = 0;
+            int letter;
             if (s.backRef > 0)
-                letter = mandHypArray.size() + parenStmt.size() + s.backRef;
+                letter = backrefBase + s.backRef;
             else {
-                int index = mandHypArray.indexOf(s.stmt);
-                if (index != -1)
-                    letter = index + 1;
-                else {
-                    index = parenStmt.indexOf(s.stmt);
-                    if (index == -1)
-                        throw new RuntimeException("shouldn't happen");
-                    letter = mandHypArray.size() + index + 1;
-                }
+                final Integer nbr = letterNbr.get(s.stmt);
+                if (nbr == null)
+                    throw new RuntimeException("shouldn't happen");
+                letter = nbr;
             }
-            String code = ""
-                + (char)LangConstants.COMPRESS_LOW_DIGIT_CHARS[(letter - 1)
-                    % LangConstants.COMPRESS_LOW_BASE];
-            letter = (letter - 1) / LangConstants.COMPRESS_LOW_BASE;
-            while (letter > 0) {
-                code = (char)LangConstants.COMPRESS_HIGH_DIGIT_CHARS[(letter
-                    - 1) % LangConstants.COMPRESS_HIGH_BASE] + code;
-                letter = (letter - 1) / LangConstants.COMPRESS_HIGH_BASE;
-            }
-            if (s.backRef < 0)
-                code += (char)LangConstants.COMPRESS_REPEAT_CHAR;
-            letters.append(code);
+            appendLetterCode(letters, letter, s.backRef < 0);
         }
         return parenStmt;
     }
 
-    private int processBlock(final List<Stmt> parenStmt,
-        final List<Stmt> proofOrdered, final int[] values,
-        final List<Integer> list, final int width, int linePos)
+    /**
+     * Appends the compressed proof code of a letter number: high digits, then
+     * a low digit, then the repeat char if the step is referenced later.
+     * <p>
+     * The code is built backwards in a reusable char buffer.
+     */
+    private void appendLetterCode(final StringBuilder letters, int letter,
+        final boolean repeat)
+    {
+        int p = codeBuffer.length;
+        if (repeat)
+            codeBuffer[--p] = (char)LangConstants.COMPRESS_REPEAT_CHAR;
+        codeBuffer[--p] = (char)LangConstants.COMPRESS_LOW_DIGIT_CHARS[(letter
+            - 1) % LangConstants.COMPRESS_LOW_BASE];
+        letter = (letter - 1) / LangConstants.COMPRESS_LOW_BASE;
+        while (letter > 0) {
+            codeBuffer[--p] = (char)LangConstants.COMPRESS_HIGH_DIGIT_CHARS[(letter
+                - 1) % LangConstants.COMPRESS_HIGH_BASE];
+            letter = (letter - 1) / LangConstants.COMPRESS_HIGH_BASE;
+        }
+        letters.append(codeBuffer, p, codeBuffer.length - p);
+    }
+
+    /**
+     * Lays out a block of Stmts whose letter codes have the same length in
+     * the parenthesized list: in proof order, filling each line as far as
+     * possible.
+     *
+     * @return the position in the line after the block.
+     */
+    private int processBlock(final List<Stmt> parenStmt, final Stmt[] ordered,
+        final int[] values, final int[] list, int len,
+        final boolean[] included, final int width, int linePos)
     {
-        Collections.sort(list); // restart with proof order
-        while (!list.isEmpty()) {
-            boolean noSpace = true;
-            for (final Integer p : knapsackFit(list, values, width - linePos)) {
-                noSpace = false;
-                final Stmt s = proofOrdered.get(p);
-                final int l = s.getLabel().length() + 1;
-                linePos += l;
-                list.remove(p);
-                parenStmt.add(s);
+        Arrays.sort(list, 0, len); // restart with proof order
+        while (len > 0) {
+            int fit = knapsackFit(list, len, values, width - linePos,
+                included);
+            if (fit == 0 && linePos == 0) {
+                // a label longer than the line: give it a line of its own
+                included[0] = true;
+                fit = 1;
             }
-            if (noSpace || linePos >= width - 1)
+            int k = 0;
+            for (int j = 0; j < len; j++)
+                if (included[j]) {
+                    final Stmt s = ordered[list[j]];
+                    linePos += values[list[j]];
+                    parenStmt.add(s);
+                }
+                else
+                    list[k++] = list[j];
+            len = k;
+            if (fit == 0 || linePos >= width - 1)
                 linePos = 0;
         }
         return linePos;
     }
 
-    private Deque<Integer> knapsackFit(final List<Integer> items,
-        final int[] values, final int size)
+    /**
+     * Chooses the items that fill a line best: a 0-1 knapsack with item
+     * weight = value = label length + 1. If all the items fit there is
+     * nothing to choose; otherwise the dynamic programming table is a
+     * reusable work array.
+     *
+     * @return the number of items chosen, which are flagged in included.
+     */
+    private int knapsackFit(final int[] items, final int len,
+        final int[] values, final int size, final boolean[] included)
     {
-        final int[][] worth = new int[items.size() + 1][size + 1];
-        for (int i = 0; i < items.size(); i++) {
-            final int value = values[items.get(i)];
+        Arrays.fill(included, 0, len, false);
+        if (size <= 0)
+            return 0;
+        int total = 0;
+        for (int i = 0; i < len; i++)
+            total += values[items[i]];
+        if (total <= size) {
+            Arrays.fill(included, 0, len, true);
+            return len;
+        }
+
+        final int stride = size + 1;
+        final int need = (len + 1) * stride;
+        if (knapsackWorth == null || knapsackWorth.length < need)
+            knapsackWorth = new int[Math.max(need,
+                LangConstants.COMPRESS_KNAPSACK_INIT_LEN)];
+        final int[] worth = knapsackWorth;
+        Arrays.fill(worth, 0, stride, 0);
+        for (int i = 0; i < len; i++) {
+            final int value = values[items[i]];
+            final int prev = i * stride;
+            final int cur = prev + stride;
             for (int s = 0; s <= size; s++)
-                worth[i + 1][s] = s >= value
-                    ? Math.max(worth[i][s], value + worth[i][s - value])
-                    : worth[i][s];
+                worth[cur + s] = s >= value
+                    ? Math.max(worth[prev + s], value + worth[prev + s - value])
+                    : worth[prev + s];
         }
-        final Deque<Integer> included = new ArrayDeque<>();
+        int fit = 0;
         int s = size;
-        for (int i = items.size() - 1; i >= 0; i--)
-            if (worth[i + 1][s] != worth[i][s]) {
-                included.push(items.get(i));
-                if ((s -= values[items.get(i)]) == 0)
+        for (int i = len - 1; i >= 0; i--)
+            if (worth[(i + 1) * stride + s] != worth[i * stride + s]) {
+                included[i] = true;
+                fit++;
+                if ((s -= values[items[i]]) == 0)
                     break;
             }
-        return included;
+        return fit;
     }
 }
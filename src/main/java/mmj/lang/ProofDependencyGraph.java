@@ -0,0 +1,182 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * ProofDependencyGraph.java  0.01 10/18/2026
+ *
+ * Oct-18-2026:
+ *     --> new!
+ */
+
+package mmj.lang;
+
+import java.util.*;
+
+import mmj.lang.ParseTree.RPNStep;
+import mmj.tl.*;
+
+/**
+ * ProofDependencyGraph keeps track of which theorems' proofs use each
+ * assertion, and of the theorems changed by TheoremLoader, so that only the
+ * changed theorems and their (transitive) dependents need to be re-verified
+ * after a TheoremLoader commit instead of every proof in the LogicalSystem.
+ * <p>
+ * The reverse dependency graph (assertion -> theorems whose proofs refer to
+ * it) is built from the statement table on first use and from then on is
+ * maintained incrementally by {@code commit()}, which LogicalSystem calls from
+ * {@code theoremLoaderCommit()}. Loading further statements by other means
+ * (e.g. another LoadFile) discards the graph so that it is rebuilt the next
+ * time it is needed.
+ */
+public class ProofDependencyGraph implements TheoremLoaderCommitListener {
+
+    private final Map<String, Stmt> stmtTbl;
+
+    /**
+     * usedBy maps an Assrt to the Theorems whose proofs refer to it (each
+     * Theorem listed once), or is null if not yet built.
+     */
+    private Map<Assrt, List<Theorem>> usedBy;
+
+    private final Set<Theorem> changedTheorems = new HashSet<>();
+
+    /**
+     * Construct ProofDependencyGraph for a LogicalSystem statement table.
+     *
+     * @param stmtTbl the LogicalSystem statement table.
+     */
+    public ProofDependencyGraph(final Map<String, Stmt> stmtTbl) {
+        this.stmtTbl = stmtTbl;
+    }
+
+    /**
+     * Records the Theorems added or updated by a TheoremLoader commit and
+     * updates the reverse dependency graph with their new proofs.
+     *
+     * @param mmtTheoremSet Set of TheoremStmtGroup updates now committed
+     */
+    @Override
+    public void commit(final MMTTheoremSet mmtTheoremSet) {
+        for (final TheoremStmtGroup g : mmtTheoremSet) {
+            final Theorem theorem = g.getTheorem();
+            if (theorem == null
+                || !g.getIsTheoremNew() && !g.getWasTheoremUpdated())
+                continue;
+            changedTheorems.add(theorem);
+            if (usedBy == null)
+                continue;
+            if (g.getWasTheoremUpdated())
+                for (final Assrt a : getProofAssrts(g.getOldProof()))
+                    usedBy.getOrDefault(a, Collections.emptyList())
+                        .remove(theorem);
+            addEdges(theorem);
+        }
+    }
+
+    /**
+     * Discards the reverse dependency graph, which will be rebuilt from the
+     * statement table when next needed.
+     * <p>
+     * The set of changed Theorems is retained.
+     */
+    public void invalidate() {
+        usedBy = null;
+    }
+
+    /**
+     * Returns the Theorems added or updated by TheoremLoader since the last
+     * call to {@code clearChangedTheorems()}.
+     *
+     * @return List of changed Theorems in MObj.seq order.
+     */
+    public List<Theorem> getChangedTheorems() {
+        final List<Theorem> list = new ArrayList<>(changedTheorems);
+        Collections.sort(list, MObj.SEQ);
+        return list;
+    }
+
+    /**
+     * Forgets the changed Theorems, typically after they have been verified.
+     */
+    public void clearChangedTheorems() {
+        changedTheorems.clear();
+    }
+
+    /**
+     * Returns the changed Theorems plus every Theorem whose proof depends on
+     * one of them, directly or transitively.
+     *
+     * @return List of Theorems in MObj.seq order.
+     */
+    public List<Theorem> getChangedTheoremsAndDependents() {
+        return getDependents(changedTheorems);
+    }
+
+    /**
+     * Returns the input Assrts that are Theorems plus every Theorem whose proof
+     * depends on one of the input Assrts, directly or transitively.
+     *
+     * @param assrts the Assrts whose dependents are wanted.
+     * @return List of Theorems in MObj.seq order.
+     */
+    public List<Theorem> getDependents(
+        final Collection<? extends Assrt> assrts)
+    {
+        final Map<Assrt, List<Theorem>> graph = getUsedBy();
+
+        final Set<Assrt> visited = new HashSet<>(assrts);
+        final Deque<Assrt> queue = new ArrayDeque<>(assrts);
+        final List<Theorem> list = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            final Assrt a = queue.removeFirst();
+            if (a instanceof Theorem)
+                list.add((Theorem)a);
+            for (final Theorem t : graph.getOrDefault(a,
+                Collections.emptyList()))
+                if (visited.add(t))
+                    queue.addLast(t);
+        }
+        Collections.sort(list, MObj.SEQ);
+        return list;
+    }
+
+    /**
+     * Returns the Theorems whose proofs refer directly to an Assrt.
+     *
+     * @param assrt the Assrt.
+     * @return unmodifiable List of Theorems, possibly empty.
+     */
+    public List<Theorem> getUsedBy(final Assrt assrt) {
+        return Collections.unmodifiableList(
+            getUsedBy().getOrDefault(assrt, Collections.emptyList()));
+    }
+
+    private Map<Assrt, List<Theorem>> getUsedBy() {
+        if (usedBy == null) {
+            usedBy = new HashMap<>();
+            for (final Stmt stmt : stmtTbl.values())
+                if (stmt instanceof Theorem)
+                    addEdges((Theorem)stmt);
+        }
+        return usedBy;
+    }
+
+    private void addEdges(final Theorem theorem) {
+        for (final Assrt a : getProofAssrts(theorem.getProof()))
+            usedBy.computeIfAbsent(a, k -> new ArrayList<>(2)).add(theorem);
+    }
+
+    private static Set<Assrt> getProofAssrts(final RPNStep[] proof) {
+        final Set<Assrt> set = new HashSet<>();
+        if (proof != null)
+            for (final RPNStep step : proof)
+                if (step != null && step.stmt instanceof Assrt)
+                    set.add((Assrt)step.stmt);
+        return set;
+    }
+}
@@ -7,6 +7,11 @@
 
 /*
  * OptFrame.java  0.02 08/23/2005
+ *
+ * Oct-18-2026:
+ *     --> added getDjVarsTable(), used by isVarPairInDjArray()
+ *         and VerifyProofs to check DjVars without scanning
+ *         djVarsArray.
  */
 
 package mmj.lang;
@@ -51,11 +56,41 @@ public class ScopeFrame {
      */
     public DjVars[] djVarsArray;
 
+    /**
+     * Index of djVarsArray, built on first use by getDjVarsTable() and
+     * rebuilt whenever djVarsArray is replaced.
+     */
+    private volatile DjVarsTable djVarsTable;
+
     /**
      * Default Constructor.
      */
     public ScopeFrame() {}
 
+    /**
+     * Returns the DjVarsTable index of djVarsArray.
+     * <p>
+     * Small arrays are not indexed, as scanning them is as fast as the
+     * lookup; nor are arrays with variables that are not in the Symbol Table
+     * (a placeholder table is kept for those, so that the array is only
+     * examined once).
+     * A table is kept for the array it was built from, so it is rebuilt when
+     * a new array is assigned to djVarsArray (djVarsArray elements must not
+     * be replaced in place once the table is built.)
+     *
+     * @return the DjVarsTable or null if the array is not indexed.
+     */
+    public DjVarsTable getDjVarsTable() {
+        final DjVars[] array = djVarsArray;
+        if (array == null
+            || array.length < LangConstants.DJ_VARS_TABLE_MIN_LEN)
+            return null;
+        DjVarsTable table = djVarsTable;
+        if (table == null || !table.isFor(array))
+            djVarsTable = table = DjVarsTable.build(array);
+        return table.isIndexed() ? table : null;
+    }
+
     /**
      * Checks to see if a certain pair of variables is mentioned in a OptFrame's
      * DjVars array.
@@ -75,6 +110,10 @@ public class ScopeFrame {
     public static boolean isVarPairInDjArray(final ScopeFrame frame, Var vLo,
         Var vHi)
     {
+        final DjVarsTable table = frame.getDjVarsTable();
+        if (table != null)
+            return table.isDjVarPair(vLo, vHi);
+
         Var vSwap;
         if (DjVars.DV_LEX.compare(vLo, vHi) > 0) {
             vSwap = vHi;
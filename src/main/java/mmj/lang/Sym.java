@@ -6,7 +6,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * Sym.java  0.03 11/01/2006
+ * Sym.java  0.04 10/18/2026
  *
  * Version 0.03:
  *
@@ -14,6 +14,10 @@
  *                conform to Metamath.pdf spec change of 6-24-2006
  *                prohibiting Stmt label and Sym id namespace
  *                collisions.
+ *
+ * Oct-18-2026: Version 0.04 --
+ *     --> added tblIdx, a dense int id assigned by LogicalSystem
+ *         (see LogicalSystem.getSymCnt()).
  */
 
 package mmj.lang;
@@ -58,6 +62,17 @@ public abstract class Sym extends MObj {
      */
     private final String id;
 
+    /**
+     * tblIdx is assigned by LogicalSystem when the Sym is added to its Sym
+     * table.
+     * <p>
+     * Syms are numbered 0, 1, 2, ... in order of declaration, so tblIdx can be
+     * used to index arrays and bitsets instead of hashing on the Sym. tblIdx is
+     * -1 for work variables and for Syms that were never added to a
+     * LogicalSystem.
+     */
+    protected int tblIdx = -1;
+
     /**
      * Construct using sequence number and id string.
      *
@@ -94,6 +109,24 @@ public abstract class Sym extends MObj {
                 LangConstants.ERRMSG_SYM_ID_DUP_OF_STMT_LABEL, id);
     }
 
+    /**
+     * Returns the dense Sym table index of the Sym.
+     *
+     * @return tblIdx, or -1 if not in a LogicalSystem Sym table.
+     */
+    public int getTblIdx() {
+        return tblIdx;
+    }
+
+    /**
+     * Sets the dense Sym table index; called only by LogicalSystem.
+     *
+     * @param tblIdx Sym table index.
+     */
+    void setTblIdx(final int tblIdx) {
+        this.tblIdx = tblIdx;
+    }
+
     /**
      * Return Sym.id String
      *
@@ -23,6 +23,9 @@
  *
  * Version 0.06: Nov-01-2011 --
  *     --> Added cacheTypesettingCommentForGMFF()
+ *
+ * Version 0.07: Oct-18-2026 --
+ *     --> Added abortLoad()
  */
 
 package mmj.lang;
@@ -181,6 +184,15 @@ public interface SystemLoader {
     void finalizeEOF(Messages messages, boolean prematureEOF)
         throws MMJException;
 
+    /**
+     * Processing for Logical System after a load is abandoned before the end
+     * of the file (because the maximum number of error messages was reached),
+     * in which case {@code finalizeEOF()} is not called.
+     * 
+     * @param messages Messages object to error reporting.
+     */
+    default void abortLoad(final Messages messages) {}
+
     /**
      * Is BookManager enabled?
      * <p>
@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * Theorem.java  0.08 11/01/2011
+ * Theorem.java  0.09 10/18/2026
  *
  * 5-Dec-2005: --> added isAxiom() for ProofAsst
  *
@@ -26,6 +26,12 @@
  *
  * Version 0.08 - Nov-01-2011:  comment update.
  *     --> Add stmt label to ERRMSG_BAD_PARSE_STMT_1
+ *
+ * Version 0.09 - Oct-18-2026:
+ *     --> Added constructor for lazy proof decompression through a
+ *         ProofCache.
+ *     --> Added setDecompressedProof() for proofs decompressed at
+ *         the end of a multi-threaded load.
  */
 
 package mmj.lang;
@@ -71,7 +77,15 @@ import mmj.mmio.BlockList;
  *      Entity-Relationship Notes</a>
  */
 public class Theorem extends Assrt {
-    private RPNStep[] proof;
+    /** the proof, or null if the compressed proof is decompressed lazily */
+    private volatile RPNStep[] proof;
+
+    // compressed proof, kept in lazy mode until the proof is replaced; read
+    // and cleared only while holding the Theorem's lock
+    private volatile ProofCache proofCache;
+    private String[] proofOtherRefs;
+    private String proofBlocks;
+
     private final ScopeFrame optFrame;
     private final int column;
 
@@ -157,13 +171,125 @@ public class Theorem extends Assrt {
 
     }
 
+    /**
+     * Construct Theorem with a compressed proof that is decompressed on first
+     * use, through a ProofCache.
+     * <p>
+     * Only the compressed form of the proof is kept: nothing is validated
+     * here, and decompression errors are reported by the ProofCache.
+     *
+     * @param seq MObj.seq sequence number
+     * @param scopeDefList Scope info in effect at the time
+     * @param symTbl Symbol Table (Map)
+     * @param stmtTbl Statement Table (Map)
+     * @param labelS Theorem label String
+     * @param column Starting column
+     * @param typS Theorem Formula Type Code String
+     * @param symList Theorem Expression Sym String List
+     * @param proofList Theorem Proof Stmt String List.
+     * @param proofBlockList list containing one or more blocks of compressed
+     *            proof symbols.
+     * @param proofCache ProofCache used to hold the decompressed proof.
+     * @throws LangException if an error occurred
+     */
+    public Theorem(final int seq, final List<ScopeDef> scopeDefList,
+        final Map<String, Sym> symTbl, final Map<String, Stmt> stmtTbl,
+        final String labelS, final int column, final String typS,
+        final List<String> symList, final List<String> proofList,
+        final BlockList proofBlockList, final ProofCache proofCache)
+        throws LangException
+    {
+        super(seq, scopeDefList, symTbl, stmtTbl, labelS, typS, symList);
+
+        optFrame = buildOptFrame(scopeDefList);
+        this.column = column;
+
+        proofOtherRefs = proofList.toArray(new String[proofList.size()]);
+        proofBlocks = proofBlockList.toString();
+        this.proofCache = proofCache;
+    }
+
     /**
      * Return Theorem's proof.
+     * <p>
+     * If the proof is decompressed lazily this may decompress it.
      *
      * @return Theorem's proof.
      */
     public RPNStep[] getProof() {
-        return proof;
+        final RPNStep[] p = proof;
+        if (p != null)
+            return p;
+        final ProofCache c = proofCache;
+        return c == null ? proof : c.getProof(this);
+    }
+
+    /**
+     * Returns true if the proof is held in compressed form and decompressed
+     * on demand through a ProofCache.
+     *
+     * @return true if the proof is decompressed lazily.
+     */
+    public boolean isProofDecompressedLazily() {
+        return proofCache != null;
+    }
+
+    /**
+     * Decompresses the compressed proof kept in lazy mode.
+     * <p>
+     * This is synchronized with {@code setLoadedProof()}, which discards the
+     * compressed proof: if the proof has been set meanwhile (for example by
+     * the deferred decompression of another thread), that proof is returned.
+     *
+     * @param proofCompression ProofCompression instance for this thread.
+     * @param stmtTbl Statement Table (Map)
+     * @return the decompressed proof.
+     * @throws LangException if the compressed proof is invalid.
+     */
+    synchronized RPNStep[] decompressProof(
+        final ProofCompression proofCompression,
+        final Map<String, Stmt> stmtTbl) throws LangException
+    {
+        if (proofCache == null)
+            return proof;
+        final BlockList blockList = new BlockList();
+        blockList.addBlock(proofBlocks);
+        return proofCompression.decompress(getLabel(), getSeq(), stmtTbl,
+            mandFrame.hypArray, optFrame.hypArray,
+            Arrays.asList(proofOtherRefs), blockList);
+    }
+
+    /**
+     * Replaces an invalid compressed proof with a single unknown step, as the
+     * eager constructor does.
+     *
+     * @return the new proof.
+     */
+    RPNStep[] setProofDecompressionFailed() {
+        final RPNStep[] p = new RPNStep[]{new RPNStep(null)};
+        setLoadedProof(p);
+        return p;
+    }
+
+    /**
+     * Sets the proof of a Theorem whose compressed proof has been
+     * decompressed (see {@code LogicalSystem.setLoadThreads()}).
+     *
+     * @param p the decompressed proof.
+     */
+    void setDecompressedProof(final RPNStep[] p) {
+        setLoadedProof(p);
+    }
+
+    private synchronized void setLoadedProof(final RPNStep[] p) {
+        proof = p;
+        final ProofCache c = proofCache;
+        if (c != null) {
+            proofCache = null;
+            proofOtherRefs = null;
+            proofBlocks = null;
+            c.remove(this);
+        }
     }
 
     /**
@@ -180,8 +306,9 @@ public class Theorem extends Assrt {
     public RPNStep[] setProof(final Map<String, Stmt> stmtTbl,
         final List<String> proofList) throws LangException
     {
-        proof = editProofListDefAndActive(stmtTbl, proofList);
-        return proof;
+        final RPNStep[] p = editProofListDefAndActive(stmtTbl, proofList);
+        setLoadedProof(p);
+        return p;
     }
 
     /**
@@ -367,7 +494,7 @@ public class Theorem extends Assrt {
         final DjVars[] newDjVarsArray, final DjVars[] newOptDjVarsArray)
     {
 
-        proof = newProof;
+        setLoadedProof(newProof);
         mandFrame.djVarsArray = newDjVarsArray;
         optFrame.djVarsArray = newOptDjVarsArray;
     }
@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * VarHyp.java  0.06 08/01/2007
+ * VarHyp.java  0.07 10/18/2026
  *
  * Sep-30-2005: change getMandHypArray() to
  *              getMandHypArrayLength().
@@ -28,12 +28,19 @@
  *                -- removed dummy var hyp stuff
  *                -- added containedInVarListBySeq()
  *                -- added accumVarHypListBySeq()
+ *
+ * Version 0.07 : 10/18/2026
+ *              - Added getPaSubst() and setPaSubst(), with one
+ *                paSubst slot per PaSubstThread during
+ *                multi-threaded unification.
  */
 
 package mmj.lang;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 /**
  * VarHyp -- Variable Hypothesis -- corresponds to the Metamath "$f" statement,
@@ -79,9 +86,44 @@ public class VarHyp extends Hyp {
      * <p>
      * Yes, this is a hokey scratchpad. In theory an array of paSubst could be
      * devised, with one entry for each thread :-) Or not.
+     * <p>
+     * And now there is: see {@link #setPaSubstSlots(int)}. The field holds the
+     * value for every thread but the PaSubstThreads of a multi-threaded
+     * unification, which must go through {@link #getPaSubst()} and
+     * {@link #setPaSubst(ParseNode)}. Single-threaded code, such as macros,
+     * may keep using the field.
      */
     public ParseNode paSubst;
 
+    /**
+     * paSubstSlots holds one paSubst per PaSubstThread while the Proof
+     * Assistant unifies on multiple threads; otherwise it is null and only
+     * paSubst is used.
+     */
+    private ParseNode[] paSubstSlots;
+
+    /**
+     * A fork-join worker thread that owns one paSubst slot in every VarHyp
+     * allocated with {@link VarHyp#setPaSubstSlots(int)}.
+     */
+    public static class PaSubstThread extends ForkJoinWorkerThread {
+
+        /** this thread's paSubst slot index */
+        public final int slot;
+
+        /**
+         * Construct PaSubstThread.
+         *
+         * @param pool the pool the thread works in.
+         * @param slot the paSubst slot index, 0 through the number of slots
+         *            minus 1.
+         */
+        public PaSubstThread(final ForkJoinPool pool, final int slot) {
+            super(pool);
+            this.slot = slot;
+        }
+    }
+
     /**
      * Construct VarHyp using sequence number plus label, Type Code and Var
      * Strings.
@@ -163,6 +205,57 @@ public class VarHyp extends Hyp {
         return formula.getVarHypVar();
     }
 
+    /**
+     * Gets the Proof Assistant substitution value for this VarHyp.
+     * <p>
+     * On a PaSubstThread the value is taken from the thread's paSubst slot,
+     * if this VarHyp has slots.
+     *
+     * @return paSubst ParseNode, or null.
+     */
+    public ParseNode getPaSubst() {
+        final ParseNode[] slots = paSubstSlots;
+        if (slots != null) {
+            final Thread t = Thread.currentThread();
+            if (t instanceof PaSubstThread)
+                return slots[((PaSubstThread)t).slot];
+        }
+        return paSubst;
+    }
+
+    /**
+     * Sets the Proof Assistant substitution value for this VarHyp.
+     * <p>
+     * On a PaSubstThread the value is stored in the thread's paSubst slot, if
+     * this VarHyp has slots.
+     *
+     * @param paSubst ParseNode, or null.
+     */
+    public void setPaSubst(final ParseNode paSubst) {
+        final ParseNode[] slots = paSubstSlots;
+        if (slots != null) {
+            final Thread t = Thread.currentThread();
+            if (t instanceof PaSubstThread) {
+                slots[((PaSubstThread)t).slot] = paSubst;
+                return;
+            }
+        }
+        this.paSubst = paSubst;
+    }
+
+    /**
+     * Allocates (or frees) one paSubst slot per PaSubstThread.
+     * <p>
+     * This must be done for every VarHyp shared by the threads -- but not for
+     * Work Variable hypotheses, which belong to one thread's WorkVarManager --
+     * before the threads start, and undone after they have finished.
+     *
+     * @param nbrSlots number of PaSubstThreads, or 0 to free the slots.
+     */
+    public void setPaSubstSlots(final int nbrSlots) {
+        paSubstSlots = nbrSlots > 0 ? new ParseNode[nbrSlots] : null;
+    }
+
     /**
      * Return the mandatory VarHyp array for this VarHyp.
      * <p>
@@ -7,10 +7,14 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * WorkVarManager.java  0.01 08/01/2007
+ * WorkVarManager.java  0.02 10/18/2026
  *
  * Aug-1-2007:
  *     --> new!
+ *
+ * Oct-18-2026:
+ *     --> Added copy constructor, for the per-thread WorkVarManagers
+ *         of the multi-threaded Proof Assistant batch test.
  */
 
 package mmj.lang;
@@ -78,6 +82,24 @@ public class WorkVarManager {
         definedNbrWorkVarsList = new ArrayList<>(len);
     }
 
+    /**
+     * Construct a WorkVarManager with the same Work Variable definitions as
+     * another.
+     * <p>
+     * The Work Variables themselves are not copied: the new WorkVarManager
+     * must declare its own, and its Work Variables are distinct objects with
+     * the same names as the other's.
+     *
+     * @param workVarManager WorkVarManager whose definitions are copied.
+     */
+    public WorkVarManager(final WorkVarManager workVarManager) {
+        definedTypCdList = new ArrayList<>(workVarManager.definedTypCdList);
+        definedWorkVarPrefixList = new ArrayList<>(
+            workVarManager.definedWorkVarPrefixList);
+        definedNbrWorkVarsList = new ArrayList<>(
+            workVarManager.definedNbrWorkVarsList);
+    }
+
     /**
      * Returns true if the Work Variables have been declared.
      * <p>
@@ -339,12 +361,13 @@ public class WorkVarManager {
                 if (!allocated[i][j])
                     continue;
 
-                if ((holdParseNode = declaredWorkVarHyp[i][j].paSubst) == null)
+                if ((holdParseNode = declaredWorkVarHyp[i][j]
+                    .getPaSubst()) == null)
                     continue;
 
                 if (holdParseNode.hasUpdatedWorkVar())
-                    declaredWorkVarHyp[i][j].paSubst = holdParseNode
-                        .cloneResolvingUpdatedWorkVars();
+                    declaredWorkVarHyp[i][j].setPaSubst(holdParseNode
+                        .cloneResolvingUpdatedWorkVars());
 
                 dealloc(i, j);
             }
@@ -454,7 +477,7 @@ public class WorkVarManager {
 
         if (!allocated[i][j]) {
             allocated[i][j] = true;
-            declaredWorkVar[i][j].getActiveVarHyp().paSubst = null;
+            declaredWorkVar[i][j].getActiveVarHyp().setPaSubst(null);
         }
         prevAllocIndex[i] = j;
         return declaredWorkVar[i][j];
@@ -7,10 +7,13 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * IncludeFile.java  0.03 11/01/2011
+ * IncludeFile.java  0.04 10/18/2026
  *
  * Nov-01-2011 - Version 0.03
  *     -->Modified for mmj2 Paths Enhancement
+ *
+ * Oct-18-2026 - Version 0.04
+ *     -->Include files are memory-mapped (see Tokenizer).
  */
 package mmj.mmio;
 
@@ -79,10 +82,7 @@ public class IncludeFile {
         i.fileObject = f;
         i.fileName = fileName;
         i.restartCharsToBypass = 0;
-        i.tokenizer = new Tokenizer(
-            new BufferedReader(new InputStreamReader(new FileInputStream(f)),
-                MMIOConstants.READER_BUFFER_SIZE),
-            fileName);
+        i.tokenizer = new Tokenizer(f, fileName);
         i.prevTokenizer = statementizer.setTokenizer(i.tokenizer);
         fileList.push(i);
 
@@ -132,12 +132,8 @@ public class IncludeFile {
              */
             currI = fileList.peek();
 
-            currI.tokenizer = new Tokenizer(
-                new BufferedReader(
-                    new InputStreamReader(
-                        new FileInputStream(currI.fileObject)),
-                    MMIOConstants.READER_BUFFER_SIZE),
-                currI.fileName, currI.restartCharsToBypass);
+            currI.tokenizer = new Tokenizer(currI.fileObject, currI.fileName,
+                currI.restartCharsToBypass);
 
             currI.restartCharsToBypass = 0;
             retTokenizer = currI.tokenizer;
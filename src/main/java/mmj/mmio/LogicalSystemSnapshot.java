@@ -0,0 +1,768 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * LogicalSystemSnapshot.java  0.01 10/18/2026
+ *
+ * Version 0.01:
+ *     --> new!
+ */
+
+package mmj.mmio;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.*;
+import java.util.*;
+
+import mmj.lang.*;
+import mmj.lang.ParseTree.RPNStep;
+import mmj.pa.MMJException;
+
+/**
+ * A binary snapshot of a Metamath load, used to rebuild a LogicalSystem
+ * without tokenizing, statementizing and grammatically parsing the source file
+ * again.
+ * <p>
+ * The snapshot is a recording of the calls made to the {@code SystemLoader}
+ * interface while the .mm file was loaded by {@code Systemizer} (see
+ * {@link #record(SystemLoader)}), plus the statement descriptions and the
+ * grammatical parse trees of the statements. Replaying the calls with
+ * {@link #load(SystemLoader, Messages)} rebuilds the LogicalSystem exactly as
+ * the original load did: same sequence numbers, scopes, frames, chapters,
+ * sections and $t typesetting comments. Symbols and labels are stored once, in
+ * a string table, and referenced by index.
+ * <p>
+ * A snapshot is keyed by the SHA-256 hash of each source file (the .mm file
+ * and its include files) and by the load settings; {@link #read} ignores a
+ * snapshot whose key does not match, so a stale snapshot is never used.
+ * <p>
+ * The snapshot also remembers whether all statements parsed and all proofs
+ * verified successfully when it was written, so that the Parse and VerifyProof
+ * RunParms need not be repeated on a warm start.
+ */
+public class LogicalSystemSnapshot {
+
+    private static final byte OP_CNST = 1;
+    private static final byte OP_VAR = 2;
+    private static final byte OP_VAR_HYP = 3;
+    private static final byte OP_DJ_VARS = 4;
+    private static final byte OP_LOG_HYP = 5;
+    private static final byte OP_AXIOM = 6;
+    private static final byte OP_THEOREM = 7;
+    private static final byte OP_THEOREM_COMPRESSED = 8;
+    private static final byte OP_BEGIN_SCOPE = 9;
+    private static final byte OP_END_SCOPE = 10;
+    private static final byte OP_FINALIZE_EOF = 11;
+    private static final byte OP_CHAPTER = 12;
+    private static final byte OP_SECTION = 13;
+    private static final byte OP_TYPESETTING = 14;
+    private static final byte OP_ABORT_LOAD = 15;
+
+    private final String loadSettings;
+
+    private final List<String> sourceFiles = new ArrayList<>();
+    private final List<byte[]> sourceHashes = new ArrayList<>();
+
+    // string table: index -> string when loading, string -> index when
+    // recording
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+
+    // recorded/loaded SystemLoader calls
+    private final ByteArrayOutputStream eventBytes = new ByteArrayOutputStream();
+    private final DataOutputStream events = new DataOutputStream(eventBytes);
+    private byte[] loadedEvents;
+    private int nbrEvents;
+
+    // Axioms and Theorems in load order, for their descriptions
+    private final List<Assrt> assrts = new ArrayList<>();
+    private String[] descriptions;
+
+    // label -> RPN of the parse tree (loaded snapshot only)
+    private Map<String, int[]> parseTreeRPNs;
+
+    private boolean allStatementsParsed;
+    private boolean allProofsVerified;
+
+    private boolean valid = true;
+
+    /**
+     * Constructor for a new, empty snapshot.
+     *
+     * @param loadSettings a String describing the load settings (LoadProofs,
+     *            LoadComments, etc.) which must match when the snapshot is
+     *            read back.
+     */
+    public LogicalSystemSnapshot(final String loadSettings) {
+        this.loadSettings = loadSettings;
+    }
+
+    /**
+     * Returns a SystemLoader which forwards every call to the given
+     * SystemLoader and records it in this snapshot.
+     *
+     * @param systemLoader the SystemLoader to forward to (the LogicalSystem).
+     * @return the recording SystemLoader.
+     */
+    public SystemLoader record(final SystemLoader systemLoader) {
+        return new Recorder(systemLoader);
+    }
+
+    /**
+     * Adds a source file to the snapshot key.
+     *
+     * @param file the source file (the .mm file or an include file).
+     * @throws IOException if the file cannot be read.
+     */
+    public void addSourceFile(final File file) throws IOException {
+        sourceFiles.add(file.getAbsolutePath());
+        sourceHashes.add(hash(file));
+    }
+
+    /**
+     * Marks the snapshot as no longer describing the LogicalSystem (for
+     * example, after a Theorem Loader commit).
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Returns true if the snapshot still describes the LogicalSystem.
+     *
+     * @return true if the snapshot may be written.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns true if all statements were successfully parsed when the
+     * snapshot was written, in which case the parse trees are in the snapshot.
+     *
+     * @return true if all statements parsed successfully.
+     */
+    public boolean getAllStatementsParsed() {
+        return allStatementsParsed;
+    }
+
+    /**
+     * Returns true if all proofs had been verified successfully when the
+     * snapshot was written.
+     *
+     * @return true if all proofs verified successfully.
+     */
+    public boolean getAllProofsVerified() {
+        return allProofsVerified;
+    }
+
+    /**
+     * Writes the snapshot.
+     *
+     * @param file the snapshot file.
+     * @param stmtTbl the LogicalSystem statement table, for the parse trees.
+     * @param allStatementsParsed true if all statements parsed successfully;
+     *            the parse trees are written only in that case.
+     * @param allProofsVerified true if all proofs verified successfully.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(final File file, final Map<String, Stmt> stmtTbl,
+        final boolean allStatementsParsed, final boolean allProofsVerified)
+        throws IOException
+    {
+        events.flush();
+
+        // build the parse tree section first, so that every label is in the
+        // string table before it is written.
+        final ByteArrayOutputStream treeBytes = new ByteArrayOutputStream();
+        final DataOutputStream trees = new DataOutputStream(treeBytes);
+        final boolean parsed = allStatementsParsed
+            && writeParseTrees(trees, stmtTbl);
+        trees.flush();
+
+        // written to a temporary file which is then moved into place, so an
+        // I/O error or crash never leaves a truncated snapshot behind.
+        final File dir = file.getAbsoluteFile().getParentFile();
+        final File tempFile = File.createTempFile(file.getName(), ".tmp", dir);
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile),
+                    MMIOConstants.SNAPSHOT_BUFFER_SIZE)))
+            {
+                out.writeLong(MMIOConstants.SNAPSHOT_MAGIC);
+                out.writeInt(MMIOConstants.SNAPSHOT_VERSION);
+                writeText(out, loadSettings);
+                out.writeInt(sourceFiles.size());
+                for (int i = 0; i < sourceFiles.size(); i++) {
+                    writeText(out, sourceFiles.get(i));
+                    out.write(sourceHashes.get(i));
+                }
+                out.writeBoolean(parsed);
+                out.writeBoolean(allProofsVerified);
+
+                out.writeInt(strings.size());
+                for (final String s : strings)
+                    writeText(out, s);
+
+                out.writeInt(assrts.size());
+                for (final Assrt assrt : assrts)
+                    writeText(out, assrt.getDescription());
+
+                out.writeInt(nbrEvents);
+                out.writeInt(eventBytes.size());
+                eventBytes.writeTo(out);
+
+                if (parsed)
+                    treeBytes.writeTo(out);
+            }
+            Files.move(tempFile.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Reads a snapshot, if it is current.
+     *
+     * @param file the snapshot file.
+     * @param mmFile the .mm file the snapshot must have been made from.
+     * @param loadSettings the current load settings.
+     * @return the snapshot, or null if the snapshot file does not exist or was
+     *         made from a different source file, source file contents, load
+     *         settings or snapshot format version.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static LogicalSystemSnapshot read(final File file,
+        final File mmFile, final String loadSettings) throws IOException
+    {
+        if (!file.exists())
+            return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+            new FileInputStream(file), MMIOConstants.SNAPSHOT_BUFFER_SIZE)))
+        {
+            if (in.readLong() != MMIOConstants.SNAPSHOT_MAGIC
+                || in.readInt() != MMIOConstants.SNAPSHOT_VERSION
+                || !loadSettings.equals(readText(in)))
+                return null;
+
+            final LogicalSystemSnapshot s = new LogicalSystemSnapshot(
+                loadSettings);
+            final int nbrFiles = in.readInt();
+            for (int i = 0; i < nbrFiles; i++) {
+                final File f = new File(readText(in));
+                final byte[] h = new byte[MMIOConstants.SNAPSHOT_HASH_LENGTH];
+                in.readFully(h);
+                if (i == 0 && !f.getAbsolutePath()
+                    .equals(mmFile.getAbsolutePath()))
+                    return null;
+                if (!f.exists() || !Arrays.equals(h, hash(f)))
+                    return null;
+                s.sourceFiles.add(f.getAbsolutePath());
+                s.sourceHashes.add(h);
+            }
+            if (nbrFiles == 0)
+                return null;
+            s.allStatementsParsed = in.readBoolean();
+            s.allProofsVerified = in.readBoolean();
+
+            final int nbrStrings = in.readInt();
+            for (int i = 0; i < nbrStrings; i++)
+                s.strings.add(readText(in));
+
+            s.descriptions = new String[in.readInt()];
+            for (int i = 0; i < s.descriptions.length; i++)
+                s.descriptions[i] = readText(in);
+
+            s.nbrEvents = in.readInt();
+            s.loadedEvents = new byte[in.readInt()];
+            in.readFully(s.loadedEvents);
+
+            if (s.allStatementsParsed) {
+                final int nbrTrees = in.readInt();
+                s.parseTreeRPNs = new LinkedHashMap<>(nbrTrees * 4 / 3 + 1);
+                for (int i = 0; i < nbrTrees; i++) {
+                    final String label = s.strings.get(in.readInt());
+                    final int[] rpn = new int[in.readInt()];
+                    for (int j = 0; j < rpn.length; j++)
+                        rpn[j] = in.readInt();
+                    s.parseTreeRPNs.put(label, rpn);
+                }
+            }
+            return s;
+        }
+    }
+
+    /**
+     * Loads the snapshot into a SystemLoader by replaying the recorded calls.
+     * <p>
+     * The snapshot becomes a recording of the new load, so it can be written
+     * again.
+     *
+     * @param systemLoader the SystemLoader (LogicalSystem) to load.
+     * @param messages for error reporting.
+     * @throws IOException if the snapshot data is corrupt.
+     */
+    public void load(final SystemLoader systemLoader, final Messages messages)
+        throws IOException
+    {
+        final DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(loadedEvents));
+        for (int i = 0; i < strings.size(); i++)
+            stringIndex.put(strings.get(i), i);
+
+        int assrtIndex = 0;
+        for (int i = 0; i < nbrEvents; i++) {
+            final byte op = in.readByte();
+            try {
+                switch (op) {
+                    case OP_CNST:
+                        systemLoader.addCnst(readString(in));
+                        break;
+                    case OP_VAR:
+                        systemLoader.addVar(readString(in));
+                        break;
+                    case OP_VAR_HYP:
+                        systemLoader.addVarHyp(readString(in), readString(in),
+                            readString(in));
+                        break;
+                    case OP_DJ_VARS:
+                        systemLoader.addDjVars(readString(in), readString(in));
+                        break;
+                    case OP_LOG_HYP:
+                        systemLoader.addLogHyp(readString(in), readString(in),
+                            readStringList(in));
+                        break;
+                    case OP_AXIOM: {
+                        final Axiom axiom = systemLoader.addAxiom(
+                            readString(in), readString(in), readStringList(in));
+                        setDescription(axiom, descriptions[assrtIndex++]);
+                        break;
+                    }
+                    case OP_THEOREM: {
+                        final Theorem theorem = systemLoader.addTheorem(
+                            readString(in), in.readInt(), readString(in),
+                            readStringList(in), readStringList(in), messages);
+                        setDescription(theorem, descriptions[assrtIndex++]);
+                        break;
+                    }
+                    case OP_THEOREM_COMPRESSED: {
+                        final String label = readString(in);
+                        final int column = in.readInt();
+                        final String typ = readString(in);
+                        final List<String> symList = readStringList(in);
+                        final List<String> proofList = readStringList(in);
+                        final BlockList blockList = new BlockList();
+                        blockList.addBlock(readText(in));
+                        final Theorem theorem = systemLoader.addTheorem(label,
+                            column, typ, symList, proofList, blockList,
+                            messages);
+                        setDescription(theorem, descriptions[assrtIndex++]);
+                        break;
+                    }
+                    case OP_BEGIN_SCOPE:
+                        systemLoader.beginScope();
+                        break;
+                    case OP_END_SCOPE:
+                        systemLoader.endScope();
+                        break;
+                    case OP_FINALIZE_EOF:
+                        systemLoader.finalizeEOF(messages, in.readBoolean());
+                        break;
+                    case OP_ABORT_LOAD:
+                        systemLoader.abortLoad(messages);
+                        break;
+                    case OP_CHAPTER:
+                        systemLoader.addNewChapter(readText(in));
+                        break;
+                    case OP_SECTION:
+                        systemLoader.addNewSection(readText(in));
+                        break;
+                    case OP_TYPESETTING:
+                        systemLoader.cacheTypesettingCommentForGMFF(
+                            readText(in));
+                        break;
+                    default:
+                        throw new IOException(new MMIOException(
+                            MMIOConstants.ERRMSG_SNAPSHOT_CORRUPT, op, i));
+                }
+            } catch (final MMJException e) {
+                messages.accumException(e);
+            }
+        }
+
+        // the replayed load is now the recording
+        events.write(loadedEvents);
+        loadedEvents = null;
+    }
+
+    private void setDescription(final Assrt assrt, final String description) {
+        if (assrt == null)
+            return;
+        assrts.add(assrt);
+        if (description != null)
+            assrt.setDescription(description);
+    }
+
+    /**
+     * Restores the statement parse trees saved in the snapshot.
+     * <p>
+     * The grammar must have been initialized first, which builds the parse
+     * trees of the variable hypotheses and syntax axioms; the snapshot holds
+     * the parse trees of all the other statements.
+     *
+     * @param stmtTbl the LogicalSystem statement table.
+     * @return true if the parse trees were restored, false if the snapshot has
+     *         none (the statements must be parsed).
+     */
+    public boolean restoreParseTrees(final Map<String, Stmt> stmtTbl) {
+        if (parseTreeRPNs == null)
+            return false;
+        for (final Map.Entry<String, int[]> e : parseTreeRPNs.entrySet()) {
+            final int[] code = e.getValue();
+            final RPNStep[] rpn = new RPNStep[code.length];
+            for (int i = 0; i < code.length; i++)
+                if (code[i] < 0) {
+                    rpn[i] = new RPNStep(null);
+                    rpn[i].backRef = -code[i];
+                }
+                else {
+                    rpn[i] = new RPNStep(
+                        stmtTbl.get(strings.get(code[i] >>> 1)));
+                    if ((code[i] & 1) != 0)
+                        rpn[i].backRef = -1;
+                }
+            stmtTbl.get(e.getKey()).setExprParseTree(new ParseTree(rpn));
+        }
+
+        // prime the cached values, as Grammar.parseAllFormulas() does (after
+        // all trees are set: an Assrt needs the trees of its LogHyps)
+        for (final String label : parseTreeRPNs.keySet()) {
+            final Stmt stmt = stmtTbl.get(label);
+            stmt.getExprParseTree().getMaxDepth();
+            stmt.getExprParseTree().getLevelOneTwo();
+            if (stmt instanceof Assrt) {
+                ((Assrt)stmt).getLogHypsMaxDepth();
+                ((Assrt)stmt).getLogHypsL1HiLoKey();
+            }
+        }
+        parseTreeRPNs = null;
+        return true;
+    }
+
+    private boolean writeParseTrees(final DataOutputStream out,
+        final Map<String, Stmt> stmtTbl) throws IOException
+    {
+        final List<Stmt> list = new ArrayList<>();
+        for (final Stmt stmt : stmtTbl.values())
+            if (!(stmt instanceof VarHyp)
+                && !(stmt instanceof Axiom && ((Axiom)stmt).getIsSyntaxAxiom()))
+            {
+                if (stmt.getExprParseTree() == null)
+                    return false;
+                list.add(stmt);
+            }
+        list.sort(MObj.SEQ);
+
+        out.writeInt(list.size());
+        for (final Stmt stmt : list) {
+            final RPNStep[] rpn = stmt.getExprParseTree().convertToRPN();
+            out.writeInt(intern(stmt.getLabel()));
+            out.writeInt(rpn.length);
+            for (final RPNStep step : rpn)
+                if (step.stmt != null)
+                    out.writeInt(
+                        intern(step.stmt.getLabel()) << 1 | (step.backRef < 0
+                            ? 1 : 0));
+                else if (step.backRef > 0)
+                    out.writeInt(-step.backRef);
+                else
+                    return false; // "?" step: not a real parse
+        }
+        return true;
+    }
+
+    private int intern(final String s) {
+        Integer i = stringIndex.get(s);
+        if (i == null) {
+            i = strings.size();
+            strings.add(s);
+            stringIndex.put(s, i);
+        }
+        return i;
+    }
+
+    private String readString(final DataInputStream in) throws IOException {
+        return strings.get(in.readInt());
+    }
+
+    private void writeString(final String s) throws IOException {
+        events.writeInt(intern(s));
+    }
+
+    private List<String> readStringList(final DataInputStream in)
+        throws IOException
+    {
+        final int n = in.readInt();
+        final List<String> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            list.add(strings.get(in.readInt()));
+        return list;
+    }
+
+    private void writeStringList(final List<String> list) throws IOException {
+        events.writeInt(list.size());
+        for (final String s : list)
+            events.writeInt(intern(s));
+    }
+
+    /** Writes a possibly long, possibly null, String without interning it. */
+    private static void writeText(final DataOutputStream out, final String s)
+        throws IOException
+    {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readText(final DataInputStream in)
+        throws IOException
+    {
+        final int n = in.readInt();
+        if (n < 0)
+            return null;
+        final byte[] b = new byte[n];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] hash(final File file) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest
+                .getInstance(MMIOConstants.SNAPSHOT_HASH_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            final byte[] buf = new byte[MMIOConstants.SNAPSHOT_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buf)) > 0)
+                md.update(buf, 0, n);
+        }
+        return md.digest();
+    }
+
+    /**
+     * SystemLoader which records each call and then forwards it to another
+     * SystemLoader.
+     * <p>
+     * A call is recorded whether or not it succeeds: a call that failed when
+     * the file was loaded fails again, with the same error message, when the
+     * snapshot is replayed, so the replayed load leaves the LogicalSystem (and
+     * its sequence numbers) in the same state as the original load.
+     */
+    private class Recorder implements SystemLoader {
+        private final SystemLoader systemLoader;
+
+        Recorder(final SystemLoader systemLoader) {
+            this.systemLoader = systemLoader;
+        }
+
+        private void op(final byte op) {
+            try {
+                events.writeByte(op);
+            } catch (final IOException e) {
+                throw recordError(e);
+            }
+            nbrEvents++;
+        }
+
+        private void string(final String s) {
+            try {
+                writeString(s);
+            } catch (final IOException e) {
+                throw recordError(e);
+            }
+        }
+
+        private void stringList(final List<String> list) {
+            try {
+                writeStringList(list);
+            } catch (final IOException e) {
+                throw recordError(e);
+            }
+        }
+
+        private void text(final String s) {
+            try {
+                writeText(events, s);
+            } catch (final IOException e) {
+                throw recordError(e);
+            }
+        }
+
+        private void number(final int i) {
+            try {
+                events.writeInt(i);
+            } catch (final IOException e) {
+                throw recordError(e);
+            }
+        }
+
+        private IllegalStateException recordError(final IOException e) {
+            // cannot happen: the events are written to memory
+            return new IllegalStateException(e);
+        }
+
+        public Cnst addCnst(final String id) throws MMJException {
+            op(OP_CNST);
+            string(id);
+            return systemLoader.addCnst(id);
+        }
+
+        public Var addVar(final String id) throws MMJException {
+            op(OP_VAR);
+            string(id);
+            return systemLoader.addVar(id);
+        }
+
+        public VarHyp addVarHyp(final String labelS, final String typS,
+            final String varS) throws MMJException
+        {
+            op(OP_VAR_HYP);
+            string(labelS);
+            string(typS);
+            string(varS);
+            return systemLoader.addVarHyp(labelS, typS, varS);
+        }
+
+        public DjVars addDjVars(final String djVar1S, final String djVar2S)
+            throws MMJException
+        {
+            op(OP_DJ_VARS);
+            string(djVar1S);
+            string(djVar2S);
+            return systemLoader.addDjVars(djVar1S, djVar2S);
+        }
+
+        public LogHyp addLogHyp(final String labelS, final String typS,
+            final List<String> symList) throws MMJException
+        {
+            op(OP_LOG_HYP);
+            string(labelS);
+            string(typS);
+            stringList(symList);
+            return systemLoader.addLogHyp(labelS, typS, symList);
+        }
+
+        public Axiom addAxiom(final String labelS, final String typS,
+            final List<String> symList) throws MMJException
+        {
+            op(OP_AXIOM);
+            string(labelS);
+            string(typS);
+            stringList(symList);
+            final Axiom a = systemLoader.addAxiom(labelS, typS, symList);
+            assrts.add(a);
+            return a;
+        }
+
+        public Theorem addTheorem(final String labelS, final int column,
+            final String typS, final List<String> symList,
+            final List<String> proofList, final Messages messages)
+            throws MMJException
+        {
+            op(OP_THEOREM);
+            string(labelS);
+            number(column);
+            string(typS);
+            stringList(symList);
+            stringList(proofList);
+            final Theorem t = systemLoader.addTheorem(labelS, column, typS,
+                symList, proofList, messages);
+            assrts.add(t);
+            return t;
+        }
+
+        public Theorem addTheorem(final String labelS, final int column,
+            final String typS, final List<String> symList,
+            final List<String> proofList, final BlockList proofBlockList,
+            final Messages messages) throws MMJException
+        {
+            op(OP_THEOREM_COMPRESSED);
+            string(labelS);
+            number(column);
+            string(typS);
+            stringList(symList);
+            stringList(proofList);
+            text(proofBlockList.toString());
+            final Theorem t = systemLoader.addTheorem(labelS, column, typS,
+                symList, proofList, proofBlockList, messages);
+            assrts.add(t);
+            return t;
+        }
+
+        public void beginScope() {
+            op(OP_BEGIN_SCOPE);
+            systemLoader.beginScope();
+        }
+
+        public void endScope() throws MMJException {
+            op(OP_END_SCOPE);
+            systemLoader.endScope();
+        }
+
+        public void finalizeEOF(final Messages messages,
+            final boolean prematureEOF) throws MMJException
+        {
+            op(OP_FINALIZE_EOF);
+            try {
+                events.writeBoolean(prematureEOF);
+            } catch (final IOException e) {
+                throw recordError(e);
+            }
+            systemLoader.finalizeEOF(messages, prematureEOF);
+        }
+
+        public void abortLoad(final Messages messages) {
+            op(OP_ABORT_LOAD);
+            systemLoader.abortLoad(messages);
+        }
+
+        public boolean isBookManagerEnabled() {
+            return systemLoader.isBookManagerEnabled();
+        }
+
+        public void addNewChapter(final String chapterTitle) {
+            op(OP_CHAPTER);
+            text(chapterTitle);
+            systemLoader.addNewChapter(chapterTitle);
+        }
+
+        public void addNewSection(final String sectionTitle) {
+            op(OP_SECTION);
+            text(sectionTitle);
+            systemLoader.addNewSection(sectionTitle);
+        }
+
+        public void cacheTypesettingCommentForGMFF(final String comment) {
+            op(OP_TYPESETTING);
+            text(comment);
+            systemLoader.cacheTypesettingCommentForGMFF(comment);
+        }
+    }
+}
@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * MMIOConstants.java  0.07 11/01/2011
+ * MMIOConstants.java  0.08 10/18/2026
  *
  * Sep-25-2005:
  *     ->Error message id's changed from "E-" TO "A-" because
@@ -53,6 +53,14 @@
  * Version 0.07 - Nov-01-2011:  comment update.
  *     -- Add MMIOConstants.TYPESETTING_COMMENT_ID_STRING
  *        for Systemizer.
+ *
+ * Version 0.08 - Oct-18-2026:
+ *     -- Add SNAPSHOT_* constants and messages for
+ *        LogicalSystemSnapshot.
+ *     -- Add TOKEN_TABLE_INITIAL_CAPACITY for the memory-mapped
+ *        Tokenizer and TokenTable.
+ *     -- Add LOAD_THREADS_DEFAULT, LOAD_QUEUE_CAPACITY and
+ *        LOAD_QUEUE_POLL_MILLIS for the pipelined Systemizer load.
  */
 
 package mmj.mmio;
@@ -140,6 +148,56 @@ public class MMIOConstants {
 
     public static final int READER_BUFFER_SIZE = 32768;
 
+    /**
+     * Initial capacity of the Statementizer TokenTable used to intern math
+     * symbols and labels (must be a power of 2).
+     */
+    public static final int TOKEN_TABLE_INITIAL_CAPACITY = 1 << 16;
+
+    /**
+     * Default number of threads used by Systemizer to load a file (1 = read
+     * and load on the caller's thread).
+     */
+    public static final int LOAD_THREADS_DEFAULT = 1;
+
+    /**
+     * Maximum number of SrcStmts the Systemizer's Statementizer thread may
+     * read ahead of the SystemLoader.
+     */
+    public static final int LOAD_QUEUE_CAPACITY = 256;
+
+    /**
+     * Milliseconds the Statementizer thread waits for room in a full queue
+     * before checking whether the load has been stopped.
+     */
+    public static final long LOAD_QUEUE_POLL_MILLIS = 100;
+
+    /**
+     * LogicalSystemSnapshot file header: "mmj2snap" in ASCII.
+     */
+    public static final long SNAPSHOT_MAGIC = 0x6D6D6A32736E6170L;
+
+    /**
+     * LogicalSystemSnapshot file format version. Increment whenever the format
+     * changes so that old snapshots are ignored.
+     */
+    public static final int SNAPSHOT_VERSION = 2;
+
+    /**
+     * LogicalSystemSnapshot source file hash algorithm.
+     */
+    public static final String SNAPSHOT_HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * LogicalSystemSnapshot source file hash length in bytes.
+     */
+    public static final int SNAPSHOT_HASH_LENGTH = 32;
+
+    /**
+     * LogicalSystemSnapshot file buffer size.
+     */
+    public static final int SNAPSHOT_BUFFER_SIZE = 65536;
+
     /**
      * Printable character. Contains all ASCII printable characters (character
      * codes 32-126), except for {@link #WHITE_SPACE} characters.
@@ -451,4 +509,10 @@ public class MMIOConstants {
 
     public static final ErrorCode ERRMSG_INCLUDE_FILE_ARRAY_EMPTY = of(
         "A-IO-0201 Ooops! IncludeFile array is empty: code bug!");
+
+    // from LogicalSystemSnapshot.java
+
+    public static final ErrorCode ERRMSG_SNAPSHOT_CORRUPT = of(
+        "E-IO-0301 Snapshot file is corrupt: invalid opcode %d"
+            + " at event number %d");
 }
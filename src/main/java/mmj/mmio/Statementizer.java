@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * Statementizer.java  0.08 1/01/2012
+ * Statementizer.java  0.09 10/18/2026
  *
  * Dec-22-2006
  * --> added charNbr to MMIOException
@@ -41,6 +41,13 @@
  *
  * Version 0.08 - Nov-01-2011:
  *    - optimize getTitleIfApplicable()
+ *
+ * Version 0.09 - Oct-18-2026:
+ *    - Tokens are now obtained as Strings interned in a
+ *      TokenTable (directly from the input buffer when the
+ *      Tokenizer is memory-mapped) instead of copying every
+ *      token through a StringBuilder. Comments are collected
+ *      without creating a String per comment word.
  */
 
 package mmj.mmio;
@@ -68,9 +75,11 @@ public class Statementizer implements Closeable {
 
     private int stmtNbr = 0;
 
-    private final StringBuilder nextToken = new StringBuilder();
+    private final TokenTable tokenTable;
+
+    private boolean internTokens = true;
 
-    private final int offset = 0;
+    private String nextToken = "";
 
     private String prevStmtComment = null;
 
@@ -230,7 +239,22 @@ public class Statementizer implements Closeable {
      * @param t input {@code Tokenizer} stream.
      */
     public Statementizer(final Tokenizer t) {
+        this(t, new TokenTable());
+    }
+
+    /**
+     * Construct a Statementizer from a Tokenizer and a TokenTable.
+     * <p>
+     * Math symbols and labels are interned in {@code table}, which may be
+     * shared by successive Statementizers (e.g. for multiple input files) so
+     * that every occurrence of a token is the same String instance.
+     *
+     * @param t input {@code Tokenizer} stream.
+     * @param table {@code TokenTable} used to intern tokens.
+     */
+    public Statementizer(final Tokenizer t, final TokenTable table) {
         tokenizer = t;
+        tokenTable = table;
     }
 
     @Override
@@ -344,7 +368,7 @@ public class Statementizer implements Closeable {
         SrcStmt x = null;
 
         while (x == null && getNextToken() > 0) {
-            x = new SrcStmt(++stmtNbr, nextToken.toString());
+            x = new SrcStmt(++stmtNbr, nextToken);
             if (nextToken.charAt(0) == MMIOConstants.MM_KEYWORD_1ST_CHAR)
                 switch (x.keyword) {
                     case MMIOConstants.MM_BEGIN_COMMENT_KEYWORD:
@@ -400,7 +424,7 @@ public class Statementizer implements Closeable {
                     raiseParseException(
                         MMIOConstants.ERRMSG_MISSING_KEYWORD_AFTER_LABEL,
                         x.label);
-                switch (x.keyword = nextToken.toString()) {
+                switch (x.keyword = nextToken) {
                     case MMIOConstants.MM_LOG_HYP_KEYWORD:
                         getLogHypSrcStmt(x);
                         break;
@@ -454,13 +478,11 @@ public class Statementizer implements Closeable {
         int xLen = getNextToken();
 
         commentStart: while (true)
-            if (nextToken.toString()
-                .equals(MMIOConstants.MM_BEGIN_COMMENT_KEYWORD))
+            if (nextToken.equals(MMIOConstants.MM_BEGIN_COMMENT_KEYWORD))
                 while (true) {
                     if ((xLen = getNextToken()) <= 0)
                         return xLen;
-                    if (nextToken.toString()
-                        .equals(MMIOConstants.MM_END_COMMENT_KEYWORD))
+                    if (nextToken.equals(MMIOConstants.MM_END_COMMENT_KEYWORD))
                     {
                         xLen = getNextToken();
                         continue commentStart;
@@ -471,12 +493,16 @@ public class Statementizer implements Closeable {
     }
 
     private int getNextToken() throws IOException {
-        nextToken.setLength(0);
-        return tokenizer.getToken(nextToken, offset);
+        nextToken = tokenizer.getToken(internTokens ? tokenTable : null);
+        if (nextToken == null) {
+            nextToken = "";
+            return -1;
+        }
+        return nextToken.length();
     }
 
     private String validateNextTokenLabel() throws MMIOException, IOException {
-        final String s = nextToken.toString();
+        final String s = nextToken;
         if (!isValidLabel(s))
             raiseParseException(MMIOConstants.ERRMSG_INV_LABEL, s);
         return s;
@@ -563,7 +589,7 @@ public class Statementizer implements Closeable {
         if (getNextNonCommentTokenLen() <= 0)
             raiseParseException(MMIOConstants.ERRMSG_STMT_PREMATURE_EOF,
                 x.keyword);
-        s = nextToken.toString();
+        s = nextToken;
         if (!isValidMathSymbol(s))
             if (s.equals(MMIOConstants.MM_END_STMT_KEYWORD))
                 raiseParseException(MMIOConstants.ERRMSG_STMT_MISSING_TYPE,
@@ -580,7 +606,7 @@ public class Statementizer implements Closeable {
         String s;
         x.symList = new ArrayList<>(40);
         while (getNextNonCommentTokenLen() > 0) {
-            s = nextToken.toString();
+            s = nextToken;
             if (isValidMathSymbol(s))
                 x.symList.add(s);
             else if (s.equals(MMIOConstants.MM_END_STMT_KEYWORD))
@@ -613,7 +639,7 @@ public class Statementizer implements Closeable {
         String s;
         x.symList = new ArrayList<>(40);
         while (getNextNonCommentTokenLen() > 0) {
-            s = nextToken.toString();
+            s = nextToken;
             if (isValidMathSymbol(s))
                 x.symList.add(s);
             else if (s.equals(MMIOConstants.MM_START_PROOF_KEYWORD))
@@ -640,7 +666,7 @@ public class Statementizer implements Closeable {
                 loadCompressedProof(x);
             else
                 do {
-                    s = nextToken.toString();
+                    s = nextToken;
                     if (isValidProofStep(s))
                         x.proofList.add(s);
                     else if (s.equals(MMIOConstants.MM_END_STMT_KEYWORD))
@@ -670,7 +696,7 @@ public class Statementizer implements Closeable {
                 loadCompressedProofBlockList(x);
                 break;
             }
-            s = nextToken.toString();
+            s = nextToken;
             if (isValidProofStep(s)) {
                 x.proofList.add(s);
                 continue;
@@ -697,12 +723,18 @@ public class Statementizer implements Closeable {
     private void loadCompressedProofBlockList(final SrcStmt x)
         throws MMIOException, IOException
     {
-        while (getNextNonCommentTokenLen() > 0) {
-            final String s = nextToken.toString();
-            if (s.equals(MMIOConstants.MM_END_STMT_KEYWORD))
-                break;
+        // compressed proof blocks are (nearly) all distinct: don't intern
+        internTokens = false;
+        try {
+            while (getNextNonCommentTokenLen() > 0) {
+                final String s = nextToken;
+                if (s.equals(MMIOConstants.MM_END_STMT_KEYWORD))
+                    break;
 
-            x.proofBlockList.addBlock(s);
+                x.proofBlockList.addBlock(s);
+            }
+        } finally {
+            internTokens = true;
         }
 
         if (x.proofBlockList.isEmpty())
@@ -718,28 +750,35 @@ public class Statementizer implements Closeable {
 
         prevStmtComment = null;
 
+        // whitespace and words are appended straight onto s, so no
+        // String is created per comment word.
         final StringBuilder s = new StringBuilder();
-        String workToken;
+        int start;
         while (true) {
-            nextToken.setLength(0);
-            if (tokenizer.getWhiteSpace(nextToken, offset) > 0)
-                s.append(nextToken);
-            if (getNextToken() > 0) {
-                workToken = nextToken.toString();
-                if (workToken.equals(MMIOConstants.MM_END_COMMENT_KEYWORD)) {
+            tokenizer.getWhiteSpace(s, s.length());
+            start = s.length();
+            nextToken = "";
+            if (tokenizer.getToken(s, start) > 0) {
+                if (s.length() - start == MMIOConstants.MM_END_COMMENT_KEYWORD
+                    .length()
+                    && s.indexOf(MMIOConstants.MM_END_COMMENT_KEYWORD,
+                        start) == start)
+                {
+                    s.setLength(start);
+                    nextToken = MMIOConstants.MM_END_COMMENT_KEYWORD;
                     x.comment = prevStmtComment = s.toString();
                     break;
                 }
-                s.append(workToken);
                 /**
                  * must not contain embedded $( or $) character sequences
                  */
-                if (workToken.indexOf(MMIOConstants.MM_END_COMMENT_KEYWORD) < 0
-                    && workToken
-                        .indexOf(MMIOConstants.MM_BEGIN_COMMENT_KEYWORD) < 0)
+                if (s.indexOf(MMIOConstants.MM_END_COMMENT_KEYWORD, start) < 0
+                    && s.indexOf(MMIOConstants.MM_BEGIN_COMMENT_KEYWORD,
+                        start) < 0)
                     continue;
+                nextToken = s.substring(start);
                 raiseParseException(MMIOConstants.ERRMSG_INV_COMMENT_CHAR_STR,
-                    workToken);
+                    nextToken);
             }
             else
                 raiseParseException(MMIOConstants.ERRMSG_PREMATURE_COMMENT_EOF);
@@ -753,14 +792,14 @@ public class Statementizer implements Closeable {
         if (getNextNonCommentTokenLen() <= 0)
             raiseParseException(
                 MMIOConstants.ERRMSG_PREMATURE_INCLUDE_STMT_EOF);
-        x.includeFileName = nextToken.toString();
+        x.includeFileName = nextToken;
         if (!isValidFileName(x.includeFileName))
             raiseParseException(MMIOConstants.ERRMSG_INV_INCLUDE_FILE_NAME,
                 x.includeFileName);
         if (getNextNonCommentTokenLen() <= 0)
             raiseParseException(
                 MMIOConstants.ERRMSG_PREMATURE_INCLUDE_STMT_EOF);
-        if (!nextToken.toString().equals(MMIOConstants.MM_END_FILE_KEYWORD))
+        if (!nextToken.equals(MMIOConstants.MM_END_FILE_KEYWORD))
             raiseParseException(MMIOConstants.ERRMSG_INV_INCLUDE_FILE_NAME);
     }
 
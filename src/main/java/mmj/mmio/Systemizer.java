@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * Systemizer.java  0.08 11/01/2011
+ * Systemizer.java  0.10 10/18/2026
  *
  * Sep-25-2005
  *     -> do finalizeEOF even if error messages found so that
@@ -48,16 +48,36 @@
  *     -> Modified loadComment() to grab $t comments for GMFF.
  *     -> Modified for mmj2 Paths Enhancement:
  *        -> add "path" argument to all load() methods.
+ *
+ * Oct-18-2026: Version 0.09:
+ *     -> load() by file name memory-maps the input file(s)
+ *        and interns tokens in a TokenTable shared by all
+ *        files loaded.
+ *
+ * Oct-18-2026: Version 0.10:
+ *     -> Add setLoadThreads(): with more than one load thread
+ *        the Statementizer runs on its own thread, feeding
+ *        SrcStmts to the SystemLoader through a bounded queue.
+ *
+ * Oct-18-2026: Version 0.11:
+ *     -> Record load metrics (see mmj.util.Metrics).
+ *     -> Call SystemLoader.abortLoad() when the load stops at
+ *        the maximum number of error messages.
  */
 
 package mmj.mmio;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import mmj.lang.*;
 import mmj.mmio.MMIOConstants.FileContext;
+import mmj.mmio.MMIOConstants.LineColumnContext;
 import mmj.pa.MMJException;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Counter;
+import mmj.util.Metrics.Timer;
 
 /**
  * Feed {@code SystemLoader} interface with {@code SrcStmt} objects from
@@ -71,6 +91,12 @@ import mmj.pa.MMJException;
  * condition.
  * <li>Has no concept of comment statements that are embedded inside other
  * statements -- if comments are ever to be used, this needs a redesign!
+ * <li>With more than one load thread (see {@code setLoadThreads()}) the
+ * Statementizer, including the switching of include files, runs on a
+ * separate thread which stays at most {@code LOAD_QUEUE_CAPACITY} statements
+ * ahead of {@code SystemLoader}. Statements, and any errors found while
+ * reading them, are still handed to {@code SystemLoader} one at a time in
+ * source order, so the messages are the same as with a single thread.
  * </ul>
  *
  * @see <a href="../../MetamathERNotes.html"> Nomenclature and
@@ -81,6 +107,14 @@ public class Systemizer {
     private Tokenizer tokenizer = null;
     private Statementizer statementizer = null;
 
+    private static final Timer LOAD_TIMER = Metrics.timer("load_seconds");
+    private static final Timer FINALIZE_EOF_TIMER = Metrics
+        .timer("load_finalize_eof_seconds");
+    private static final Counter LOAD_STATEMENTS = Metrics
+        .counter("load_statements_total");
+
+    private final TokenTable tokenTable = new TokenTable();
+
     private Messages messages;
 
     private SystemLoader systemLoader;
@@ -100,6 +134,12 @@ public class Systemizer {
     private final List<String> defaultProofList = new ArrayList<>(
         Arrays.asList(MMIOConstants.MISSING_PROOF_STEP));
 
+    private int loadThreads = MMIOConstants.LOAD_THREADS_DEFAULT;
+
+    private BlockingQueue<LoadItem> loadQueue = null;
+    private volatile boolean stopStatementizer = false;
+    private LoadItem currLoadItem = null;
+
     /**
      * Initialize (or re-initialize) a {@code Systemizer} from a
      * {@code Messages} object and a {@code SystemLoader} object.
@@ -130,6 +170,32 @@ public class Systemizer {
         this.loadProofs = loadProofs;
     }
 
+    /**
+     * Sets the number of threads used to load a file.
+     * <p>
+     * With 1 (the default) the file is read and loaded on the caller's thread.
+     * With more, the Statementizer runs on a thread of its own, ahead of the
+     * SystemLoader. (The SystemLoader may use the remaining threads itself --
+     * see {@code LogicalSystem.setLoadThreads()}.)
+     * <p>
+     * Files loaded with a load limit (endpoint statement number or label) are
+     * always read on the caller's thread.
+     *
+     * @param loadThreads number of load threads, 1 or more.
+     */
+    public void setLoadThreads(final int loadThreads) {
+        this.loadThreads = Math.max(1, loadThreads);
+    }
+
+    /**
+     * Get the number of threads used to load a file.
+     *
+     * @return number of load threads.
+     */
+    public int getLoadThreads() {
+        return loadThreads;
+    }
+
     /**
      * Get SystemLoader, as-is.
      *
@@ -148,6 +214,16 @@ public class Systemizer {
         return messages;
     }
 
+    /**
+     * Get the absolute paths of the source files loaded so far, including
+     * include files, in load order.
+     *
+     * @return List of absolute file paths.
+     */
+    public List<String> getFilesAlreadyLoaded() {
+        return Collections.unmodifiableList(filesAlreadyLoaded);
+    }
+
     /**
      * Loads MetaMath source file via {@code SystemLoader}.
      * <p>
@@ -169,13 +245,32 @@ public class Systemizer {
     public Messages load(final File filePath, final Reader readerIn,
         final String sourceId) throws IOException
     {
+        return load(filePath, new Tokenizer(readerIn, sourceId));
+    }
 
-        tokenizer = new Tokenizer(readerIn, sourceId);
-        statementizer = new Statementizer(tokenizer);
+    private Messages load(final File filePath, final Tokenizer tokenizerIn)
+        throws IOException
+    {
+        final long start = LOAD_TIMER.start();
+        try {
+            return loadFile(filePath, tokenizerIn);
+        } finally {
+            LOAD_TIMER.stop(start);
+        }
+    }
+
+    private Messages loadFile(final File filePath, final Tokenizer tokenizerIn)
+        throws IOException
+    {
+        tokenizer = tokenizerIn;
+        statementizer = new Statementizer(tokenizer, tokenTable);
 
         // init stack of include files
         fileList = new ArrayDeque<>();
 
+        if (loadThreads > 1 && !loadLimit.isLimitSet())
+            return loadPipelined(filePath);
+
         eofReached = false;
         getNextStmt();
         if (eofReached && messages.getErrorMessageCnt() == 0)
@@ -193,6 +288,53 @@ public class Systemizer {
             }
             if (eofReached == true)
                 finalizeEOF();
+            else
+                systemLoader.abortLoad(messages);
+        }
+        tokenizer.close();
+        return messages;
+    }
+
+    /**
+     * Load loop used with more than one load thread: the same as the loop in
+     * {@code load()} except that the statements come from the Statementizer
+     * thread.
+     *
+     * @param filePath the path to the .mm file
+     * @return {@code Messages} object
+     * @throws IOException if an error occurred
+     */
+    private Messages loadPipelined(final File filePath) throws IOException {
+        loadQueue = new ArrayBlockingQueue<>(
+            MMIOConstants.LOAD_QUEUE_CAPACITY);
+        stopStatementizer = false;
+        final Thread statementizerThread = new Thread(
+            () -> runStatementizer(filePath), "mmj2-statementizer");
+        statementizerThread.setDaemon(true);
+        statementizerThread.start();
+        try {
+            eofReached = false;
+            takeNextStmt();
+            if (eofReached && messages.getErrorMessageCnt() == 0)
+                handleParseException(
+                    new MMIOException(MMIOConstants.ERRMSG_INPUT_FILE_EMPTY));
+            else {
+                while (!eofReached && !messages.maxErrorMessagesReached()) {
+                    loadStmt(filePath);
+                    takeNextStmt();
+                }
+                if (eofReached == true) {
+                    joinStatementizer(statementizerThread);
+                    finalizeEOF();
+                }
+                else
+                    systemLoader.abortLoad(messages);
+            }
+        } finally {
+            joinStatementizer(statementizerThread);
+            currLoadItem = null;
+            currSrcStmt = null;
+            loadQueue = null;
         }
         tokenizer.close();
         return messages;
@@ -215,7 +357,7 @@ public class Systemizer {
     public Messages load(final File filePath, final String fileNameIn,
         final String sourceId) throws MMIOException
     {
-        Reader readerIn;
+        Tokenizer tokenizerIn;
         File f = new File(fileNameIn);
         try {
             f = isInFilesAlreadyLoaded(filesAlreadyLoaded, filePath,
@@ -224,16 +366,17 @@ public class Systemizer {
                 throw new MMIOException(MMIOConstants.ERRMSG_LOAD_REQ_FILE_DUP,
                     fileNameIn);
 
-            readerIn = new BufferedReader(
-                new InputStreamReader(new FileInputStream(f)),
-                MMIOConstants.READER_BUFFER_SIZE);
+            tokenizerIn = new Tokenizer(f, sourceId);
         } catch (final FileNotFoundException e) {
             throw new MMIOException(MMIOConstants.ERRMSG_LOAD_REQ_FILE_NOTFND,
                 f.getAbsolutePath());
+        } catch (final IOException e) {
+            throw new MMIOException(e, MMIOConstants.ERRMSG_LOAD_MISC_IO,
+                f.getAbsolutePath(), e.getMessage());
         }
 
         try {
-            return load(filePath, readerIn, sourceId);
+            return load(filePath, tokenizerIn);
         } catch (final IOException e) {
             throw new MMIOException(e, MMIOConstants.ERRMSG_LOAD_MISC_IO,
                 f.getAbsolutePath(), e.getMessage());
@@ -299,6 +442,110 @@ public class Systemizer {
             }
     }
 
+    /**
+     * Pipelined equivalent of {@code getNextStmt()}: takes the next SrcStmt
+     * read by the Statementizer thread, reporting the parse errors that were
+     * found ahead of it.
+     *
+     * @throws IOException if the Statementizer thread hit an I/O error
+     */
+    private void takeNextStmt() throws IOException {
+        currSrcStmt = null;
+        currLoadItem = null;
+        while (true) {
+            final LoadItem item;
+            try {
+                item = loadQueue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (item.failure instanceof IOException)
+                throw (IOException)item.failure;
+            if (item.failure instanceof RuntimeException)
+                throw (RuntimeException)item.failure;
+            if (item.failure instanceof Error)
+                throw (Error)item.failure;
+            if (item.parseException != null) {
+                handleParseException(item.parseException);
+                if (messages.maxErrorMessagesReached()) {
+                    eofReached = true;
+                    return;
+                }
+                continue;
+            }
+            if (item.srcStmt == null) {
+                eofReached = true;
+                return;
+            }
+            currLoadItem = item;
+            currSrcStmt = item.srcStmt;
+            return;
+        }
+    }
+
+    /**
+     * Body of the Statementizer thread: reads statements, switching include
+     * files as it goes, and queues them (or the errors found) for
+     * {@code takeNextStmt()} until end of file or until told to stop.
+     *
+     * @param filePath the path to the .mm file
+     */
+    private void runStatementizer(final File filePath) {
+        try {
+            while (!stopStatementizer)
+                try {
+                    final SrcStmt srcStmt = statementizer.getStmt();
+                    if (srcStmt == null) {
+                        if (fileList.isEmpty()) {
+                            putLoadItem(LoadItem.EOF);
+                            return;
+                        }
+                        termIncludeFile();
+                        continue;
+                    }
+                    final LoadItem item = new LoadItem(srcStmt, tokenizer);
+                    if (srcStmt.keyword
+                        .equals(MMIOConstants.MM_BEGIN_FILE_KEYWORD))
+                        try {
+                            initIncludeFile(filePath, srcStmt.includeFileName);
+                        } catch (final MMIOException e) {
+                            item.includeException = e;
+                        }
+                    putLoadItem(item);
+                } catch (final MMIOException e) {
+                    putLoadItem(LoadItem.parseError(e));
+                    statementizer.bypassErrorStmt();
+                }
+        } catch (final IOException | RuntimeException | Error e) {
+            putLoadItem(LoadItem.failure(e));
+        }
+    }
+
+    private void putLoadItem(final LoadItem item) {
+        try {
+            while (!stopStatementizer)
+                if (loadQueue.offer(item, MMIOConstants.LOAD_QUEUE_POLL_MILLIS,
+                    TimeUnit.MILLISECONDS))
+                    return;
+        } catch (final InterruptedException e) {
+            stopStatementizer = true;
+        }
+    }
+
+    private void joinStatementizer(final Thread statementizerThread) {
+        stopStatementizer = true;
+        boolean interrupted = false;
+        while (statementizerThread.isAlive())
+            try {
+                statementizerThread.join();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
     /**
      * Loads next SrcStmt from Statementizer into memory. The main quirk here is
      * that an unrecognized keyword indicates a programming error. None such
@@ -309,6 +556,7 @@ public class Systemizer {
      * @throws IOException if an error occurred
      */
     private void loadStmt(final File filePath) throws IOException {
+        LOAD_STATEMENTS.increment();
         try {
             switch (currSrcStmt.keyword) {
 
@@ -356,7 +604,10 @@ public class Systemizer {
                     break;
 
                 case MMIOConstants.MM_BEGIN_FILE_KEYWORD:
-                    initIncludeFile(filePath);
+                    if (currLoadItem == null)
+                        initIncludeFile(filePath, currSrcStmt.includeFileName);
+                    else if (currLoadItem.includeException != null)
+                        throw currLoadItem.includeException;
                     break;
 
                 default:
@@ -550,23 +801,23 @@ public class Systemizer {
      * tokenizer reference for use in error reporting.
      *
      * @param filePath the path to this .mm file (not the include)
+     * @param includeFileName the include file name from the statement
      * @throws MMIOException if an error occurred
      * @throws IOException if an error occurred
      */
-    private void initIncludeFile(final File filePath)
-        throws MMIOException, IOException
+    private void initIncludeFile(final File filePath,
+        final String includeFileName) throws MMIOException, IOException
     {
 
-        File f = new File(currSrcStmt.includeFileName);
+        File f = new File(includeFileName);
         try {
             f = isInFilesAlreadyLoaded(filesAlreadyLoaded, filePath,
-                currSrcStmt.includeFileName);
+                includeFileName);
             if (f == null)
-                raiseParseException(
-                    new MMIOException(MMIOConstants.ERRMSG_INCL_FILE_DUP,
-                        currSrcStmt.includeFileName));
+                raiseParseException(new MMIOException(
+                    MMIOConstants.ERRMSG_INCL_FILE_DUP, includeFileName));
             tokenizer = IncludeFile.initIncludeFile(fileList, f,
-                currSrcStmt.includeFileName, statementizer);
+                includeFileName, statementizer);
         } catch (final FileNotFoundException e) {
             raiseParseException(new MMIOException(
                 MMIOConstants.ERRMSG_INCL_FILE_NOTFND, f.getAbsolutePath()));
@@ -626,15 +877,19 @@ public class Systemizer {
     }
 
     private void finalizeEOF() {
+        final long start = FINALIZE_EOF_TIMER.start();
         try {
             systemLoader.finalizeEOF(messages, false); // !premature eof
         } catch (final MMJException e) {
             handleLangEOFException(e);
+        } finally {
+            FINALIZE_EOF_TIMER.stop(start);
         }
     }
 
     private void handleLangException(final MMJException e) {
-        messages.accumException(tokenizer.addContext(e));
+        messages.accumException(currLoadItem == null ? tokenizer.addContext(e)
+            : currLoadItem.addContext(e));
     }
 
     private void handleLangEOFException(final MMJException e) {
@@ -674,5 +929,61 @@ public class Systemizer {
             }
             return endpointReached;
         }
+
+        public boolean isLimitSet() {
+            return loadEndpointStmtNbr > 0 || loadEndpointStmtLabel != null;
+        }
+    }
+
+    /**
+     * A SrcStmt read by the Statementizer thread, with the Tokenizer position
+     * just after it (for error messages); or a parse error, end of file
+     * ({@code srcStmt == null}), or a hard failure of the thread.
+     */
+    private static class LoadItem {
+        static final LoadItem EOF = new LoadItem(null, null);
+
+        final SrcStmt srcStmt;
+        final String sourceId;
+        final long lineNbr;
+        final long columnNbr;
+        final long charNbr;
+        MMIOException includeException;
+        MMIOException parseException;
+        Throwable failure;
+
+        LoadItem(final SrcStmt srcStmt, final Tokenizer tokenizer) {
+            this.srcStmt = srcStmt;
+            if (tokenizer == null) {
+                sourceId = null;
+                lineNbr = columnNbr = charNbr = 0;
+            }
+            else {
+                sourceId = tokenizer.getSourceId();
+                lineNbr = tokenizer.getCurrentLineNbr();
+                columnNbr = tokenizer.getCurrentColumnNbr();
+                charNbr = tokenizer.getCurrentCharNbr();
+            }
+        }
+
+        static LoadItem parseError(final MMIOException e) {
+            final LoadItem item = new LoadItem(null, null);
+            item.parseException = e;
+            return item;
+        }
+
+        static LoadItem failure(final Throwable t) {
+            final LoadItem item = new LoadItem(null, null);
+            item.failure = t;
+            return item;
+        }
+
+        /** Same as {@code Tokenizer.addContext()} at this item's position. */
+        <T extends MMJException> T addContext(final T e) {
+            if (sourceId != null)
+                e.addContext(new FileContext(sourceId));
+            return MMJException.addContext(
+                new LineColumnContext(lineNbr, columnNbr, charNbr), e);
+        }
     }
 }
@@ -0,0 +1,173 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * TokenTable.java  0.01 10/18/2026
+ *
+ * Version 0.01 - Oct-18-2026:
+ *     -- New, interns Metamath tokens for the memory-mapped Tokenizer.
+ */
+
+package mmj.mmio;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Intern table for Metamath math symbols and labels.
+ * <p>
+ * A .mm file repeats a comparatively small set of math symbols and labels
+ * millions of times. {@code TokenTable} maps each distinct token to a single
+ * {@code String} instance, and can look tokens up directly from a slice of a
+ * (memory-mapped) {@code ByteBuffer}, so a token that has been seen before
+ * costs no allocation at all. Because the same instances become the keys of
+ * the {@code LogicalSystem} symbol and statement tables, their cached hash
+ * codes also speed up the subsequent table lookups.
+ * <p>
+ * Hash codes are computed exactly like {@code String.hashCode()} over the
+ * (7-bit ASCII) token bytes, so byte slices and Strings probe the same slots.
+ * The table uses open addressing with linear probing and is not thread-safe.
+ */
+public class TokenTable {
+
+    private String[] table;
+    private int size;
+
+    /**
+     * Constructs an empty TokenTable with the default initial capacity.
+     */
+    public TokenTable() {
+        this(MMIOConstants.TOKEN_TABLE_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty TokenTable.
+     *
+     * @param initialCapacity initial number of slots, rounded up to a power of
+     *            2.
+     */
+    public TokenTable(final int initialCapacity) {
+        table = new String[Integer.highestOneBit(Math.max(initialCapacity - 1,
+            1)) << 1];
+    }
+
+    /**
+     * Returns the number of distinct tokens interned so far.
+     *
+     * @return number of distinct tokens.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the canonical String for a token held in a CharSequence.
+     *
+     * @param s the token.
+     * @return the interned String equal to {@code s}.
+     */
+    public String intern(final CharSequence s) {
+        final int len = s.length();
+        int h = 0;
+        for (int i = 0; i < len; i++)
+            h = 31 * h + s.charAt(i);
+
+        final int mask = table.length - 1;
+        int slot = spread(h) & mask;
+        String e;
+        while ((e = table[slot]) != null) {
+            if (e.hashCode() == h && e.contentEquals(s))
+                return e;
+            slot = slot + 1 & mask;
+        }
+        return add(slot, s.toString());
+    }
+
+    /**
+     * Returns the canonical String for a token held in a slice of a
+     * ByteBuffer, creating it only if the token has not been seen before.
+     * <p>
+     * The buffer position is not changed.
+     *
+     * @param buf the buffer containing the token.
+     * @param offset absolute index of the first token byte in {@code buf}.
+     * @param len length of the token in bytes.
+     * @return the interned String for the token.
+     */
+    public String intern(final ByteBuffer buf, final int offset,
+        final int len)
+    {
+        int h = 0;
+        for (int i = 0; i < len; i++)
+            h = 31 * h + (buf.get(offset + i) & 0x00ff);
+
+        final int mask = table.length - 1;
+        int slot = spread(h) & mask;
+        String e;
+        while ((e = table[slot]) != null) {
+            if (e.hashCode() == h && equals(e, buf, offset, len))
+                return e;
+            slot = slot + 1 & mask;
+        }
+        return add(slot, toString(buf, offset, len));
+    }
+
+    /**
+     * Converts a slice of a ByteBuffer to a String without interning it.
+     * <p>
+     * Each byte becomes one char, matching the character handling of the
+     * Reader based {@code Tokenizer}.
+     *
+     * @param buf the buffer containing the token.
+     * @param offset absolute index of the first token byte in {@code buf}.
+     * @param len length of the token in bytes.
+     * @return new String.
+     */
+    public static String toString(final ByteBuffer buf, final int offset,
+        final int len)
+    {
+        final char[] c = new char[len];
+        for (int i = 0; i < len; i++)
+            c[i] = (char)(buf.get(offset + i) & 0x00ff);
+        return new String(c);
+    }
+
+    private static boolean equals(final String e, final ByteBuffer buf,
+        final int offset, final int len)
+    {
+        if (e.length() != len)
+            return false;
+        for (int i = 0; i < len; i++)
+            if (e.charAt(i) != (buf.get(offset + i) & 0x00ff))
+                return false;
+        return true;
+    }
+
+    private static int spread(final int h) {
+        return h ^ h >>> 16;
+    }
+
+    private String add(final int slot, final String s) {
+        table[slot] = s;
+        if (++size > table.length >> 1)
+            rehash();
+        return s;
+    }
+
+    private void rehash() {
+        final String[] old = table;
+        table = new String[old.length << 1];
+        final int mask = table.length - 1;
+        for (final String e : old)
+            if (e != null) {
+                int slot = spread(e.hashCode()) & mask;
+                while (table[slot] != null)
+                    slot = slot + 1 & mask;
+                table[slot] = e;
+            }
+    }
+}
@@ -7,13 +7,17 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * @(#)Tokenizer.java  0.03 08/01/2008
+ * @(#)Tokenizer.java  0.04 10/18/2026
  *
  * Dec-22-2006
  * --> added charNbr to MMIOError
  *
  * Version 0.03 -- 08/01/2008
  * --> Modified close() to mask IOException for ease of use.
+ *
+ * Version 0.04 -- 10/18/2026
+ * --> Added memory-mapped File constructor, token slices
+ *     (getTokenSlice/getTokenOffset) and getToken(TokenTable).
  */
 
 package mmj.mmio;
@@ -21,6 +25,10 @@ package mmj.mmio;
 import static mmj.mmio.MMIOConstants.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 
 import mmj.mmio.MMIOConstants.FileContext;
 import mmj.mmio.MMIOConstants.LineColumnContext;
@@ -64,6 +72,15 @@ import mmj.pa.MMJException;
  * different file name:
  * <p>
  * {@code metamath.exe "r myset.mm" "v proof *" "sa p *" "w s expmyset.mm" "exit" >> expmyset.txt}
+ * <p>
+ * A Tokenizer constructed from a {@code File} memory-maps the file and reads
+ * it as a {@code ByteBuffer} instead of going through a {@code Reader}. Tokens
+ * can then be obtained as slices of the buffer ({@code getTokenSlice} and
+ * {@code getTokenOffset}) or interned directly from the buffer via
+ * {@code getToken(TokenTable)}, which avoids building a new String for every
+ * token. Line, column and character numbers are maintained identically for
+ * both kinds of input. (Only pure ASCII files are memory-mapped; see
+ * {@link #Tokenizer(File, String)}.)
  *
  * @see <a href="../../MetamathERNotes.html"> Nomenclature and
  *      Entity-Relationship Notes</a>
@@ -71,6 +88,9 @@ import mmj.pa.MMJException;
 public class Tokenizer implements Closeable {
 
     private Reader reader = null;
+    private ByteBuffer buffer = null;
+    private final StringBuilder tokenBuf = new StringBuilder();
+    private int tokenOffset = -1;
     private String sourceId = null;
 
     private long lineNbr = 1;
@@ -102,6 +122,70 @@ public class Tokenizer implements Closeable {
             nextChar &= 0x00ff;
     }
 
+    /**
+     * Constructs Tokenizer by memory-mapping a File.
+     * <p>
+     * The buffer is read a byte at a time, which decodes the file the same way
+     * as the {@code Reader} of the platform's default character set only if
+     * the file is pure 7-bit ASCII. Files containing other bytes (UTF-8
+     * characters in comments, for example), and files too large to map into a
+     * single buffer, are read through a {@code Reader} instead, so that
+     * characters and the line, column and character numbers are the same as
+     * for a Tokenizer constructed from a Reader.
+     *
+     * @param f the input file.
+     * @param s Source Id Text, such as filename or test ID. May be empty string
+     *            if N/A. Used solely for diagnostic messages.
+     * @throws FileNotFoundException if the file does not exist.
+     * @throws IOException if I/O error
+     */
+    public Tokenizer(final File f, final String s) throws IOException {
+
+        sourceId = s;
+
+        try (FileChannel channel = FileChannel.open(f.toPath(),
+            StandardOpenOption.READ))
+        {
+            final long size = channel.size();
+            if (size <= Integer.MAX_VALUE) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (!isAscii(buffer))
+                    buffer = null;
+            }
+        } catch (final NoSuchFileException e) {
+            throw new FileNotFoundException(f.getPath());
+        }
+        if (buffer == null)
+            reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(f)),
+                READER_BUFFER_SIZE);
+
+        nextChar = read();
+        if (nextChar == -1)
+            lineNbr = 0;
+    }
+
+    /**
+     * Constructs Tokenizer by memory-mapping a File, with "skipahead n", where
+     * n = nbrCharsToBypass.
+     *
+     * @param f the input file.
+     * @param s Source Id Text, such as filename or test ID. May be empty string
+     *            if N/A. Used solely for diagnostic messages.
+     * @param nbrCharsToBypass Used to reposition the tokenizer with previously
+     *            returned charNbr from {@code getCurrentCharNbr} method.
+     * @throws IOException if I/O error
+     * @throws MMIOException if I/O error
+     * @throws IllegalArgumentException if {@code nbrCharsToBypass} is less than
+     *             zero.
+     */
+    public Tokenizer(final File f, final String s, final long nbrCharsToBypass)
+        throws IOException, MMIOException
+    {
+        this(f, s);
+        skipAhead(nbrCharsToBypass);
+    }
+
     /**
      * Constructs Tokenizer from a Reader, with "skipahead n", where n =
      * nbrCharsToBypass.
@@ -121,6 +205,28 @@ public class Tokenizer implements Closeable {
         final long nbrCharsToBypass) throws IOException, MMIOException
     {
         this(r, s);
+        skipAhead(nbrCharsToBypass);
+    }
+
+    /**
+     * Returns true if every byte in the buffer is a 7-bit ASCII character.
+     * Eight bytes are checked at a time.
+     */
+    private static boolean isAscii(final ByteBuffer b) {
+        final int limit = b.limit();
+        int i = 0;
+        for (; i + 8 <= limit; i += 8)
+            if ((b.getLong(i) & 0x8080808080808080L) != 0)
+                return false;
+        for (; i < limit; i++)
+            if (b.get(i) < 0)
+                return false;
+        return true;
+    }
+
+    private void skipAhead(final long nbrCharsToBypass)
+        throws IOException, MMIOException
+    {
         if (nbrCharsToBypass < 0)
             throw new IllegalArgumentException();
 
@@ -129,7 +235,94 @@ public class Tokenizer implements Closeable {
         if (nbrCharsToBypass != charNbr)
             throw addContext(
                 new MMIOException(ERRMSG_SKIP_AHEAD_FAILED, charNbr));
-        return;
+    }
+
+    /**
+     * Returns true if this Tokenizer reads a memory-mapped file, in which
+     * case token slices are available.
+     *
+     * @return true if memory-mapped.
+     */
+    public boolean isMapped() {
+        return buffer != null;
+    }
+
+    /**
+     * Returns the memory-mapped input buffer, or null if this Tokenizer reads
+     * from a Reader. Token slices index into this buffer.
+     *
+     * @return the input buffer or null.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the absolute offset in {@code getBuffer()} of the token most
+     * recently returned by {@code getTokenSlice}.
+     *
+     * @return token offset, or -1 if no token slice has been returned.
+     */
+    public int getTokenOffset() {
+        return tokenOffset;
+    }
+
+    /**
+     * Gets next MetaMath token from a memory-mapped input file as a slice of
+     * the input buffer: the token occupies {@code getTokenOffset()} through
+     * {@code getTokenOffset() + length - 1} of {@code getBuffer()}.
+     *
+     * @return length of token, or -1 if EOF reached.
+     * @throws IOException if I/O error
+     * @throws IllegalStateException if this Tokenizer is not memory-mapped.
+     */
+    public int getTokenSlice() throws IOException {
+        if (buffer == null)
+            throw new IllegalStateException();
+
+        int x;
+        while ((x = peekNextChar()) != -1
+            && (VALID_CHAR_ARRAY[x] & WHITE_SPACE) != 0)
+            getChar();
+
+        if (x == -1)
+            return -1;
+
+        // nextChar has already been read from the buffer
+        tokenOffset = buffer.position() - 1;
+        int len = 0;
+        do {
+            getChar();
+            len++;
+        } while ((x = peekNextChar()) != -1
+            && (VALID_CHAR_ARRAY[x] & PRINTABLE) != 0);
+
+        return len;
+    }
+
+    /**
+     * Gets next MetaMath token as a String, interning it in {@code table}.
+     * <p>
+     * For a memory-mapped file the token is looked up directly from the input
+     * buffer, so no String is created for a token already in the table.
+     *
+     * @param table the TokenTable used to intern the token, or null to return
+     *            a new (uninterned) String.
+     * @return the token, or null if EOF reached.
+     * @throws IOException if I/O error
+     */
+    public String getToken(final TokenTable table) throws IOException {
+        if (buffer != null) {
+            final int len = getTokenSlice();
+            if (len < 0)
+                return null;
+            return table == null ? TokenTable.toString(buffer, tokenOffset, len)
+                : table.intern(buffer, tokenOffset, len);
+        }
+        tokenBuf.setLength(0);
+        if (getToken(tokenBuf, 0) < 0)
+            return null;
+        return table == null ? tokenBuf.toString() : table.intern(tokenBuf);
     }
 
     /**
@@ -264,10 +457,22 @@ public class Tokenizer implements Closeable {
         return sourceId;
     }
 
+    /**
+     * Closes the Reader, if any.
+     * <p>
+     * A memory-mapped file is only dereferenced: Java has no call to unmap a
+     * buffer, so the mapping is released when the buffer is garbage collected.
+     * The file itself is not held open (its channel is closed as soon as it
+     * is mapped), but on some systems a mapped file cannot be deleted or
+     * truncated until the mapping is released.
+     *
+     * @throws IOException if I/O error
+     */
     @Override
     public void close() throws IOException {
         if (reader != null)
             reader.close();
+        buffer = null;
     }
 
     /**
@@ -311,9 +516,7 @@ public class Tokenizer implements Closeable {
         if (nextChar == -1)
             return -1;
         currChar = nextChar;
-        nextChar = reader.read();
-        if (nextChar != -1)
-            nextChar &= 0x00ff;
+        nextChar = read();
 
         columnNbr++;
         charNbr++;
@@ -330,6 +533,19 @@ public class Tokenizer implements Closeable {
         return currChar;
     }
 
+    /**
+     * Reads the next raw character from the Reader or memory-mapped buffer.
+     *
+     * @return next character masked to 8 bits, or -1 if EOF reached.
+     * @throws IOException if I/O error
+     */
+    private int read() throws IOException {
+        if (buffer != null)
+            return buffer.hasRemaining() ? buffer.get() & 0x00ff : -1;
+        final int c = reader.read();
+        return c == -1 ? -1 : c & 0x00ff;
+    }
+
     /**
      * Non-destructive "peek" at next character in the file.
      *
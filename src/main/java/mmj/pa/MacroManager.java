@@ -7,10 +7,15 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * MacroBoss.java  0.01 11/13/2015
+ * MacroBoss.java  0.02 10/18/2026
  *
  * Version 0.01: 11/13/2015
  *     - New.
+ *
+ * Version 0.02: 10/18/2026
+ *     - Compile macro files once and cache them by file and
+ *       modification time; record macro execution times in
+ *       mmj.util.Metrics ("macro_<name>_seconds").
  */
 
 package mmj.pa;
@@ -21,6 +26,8 @@ import java.util.function.Supplier;
 
 import javax.script.*;
 
+import mmj.util.Metrics;
+import mmj.util.Metrics.Timer;
 import mmj.util.UtilConstants;
 
 /**
@@ -44,6 +51,21 @@ public class MacroManager {
     public Setting<File> prepMacro;
     private final Supplier<ProofAsst> proofAsst;
     private final Map<CallbackType, Runnable> callbacks;
+    private final Map<File, CachedScript> scripts;
+
+    /**
+     * A compiled macro file, with the modification time of the file it was
+     * compiled from.
+     */
+    private static class CachedScript {
+        final long lastModified;
+        final CompiledScript script;
+
+        CachedScript(final long lastModified, final CompiledScript script) {
+            this.lastModified = lastModified;
+            this.script = script;
+        }
+    }
 
     /**
      * Constructor from settings storage and message output.
@@ -56,6 +78,7 @@ public class MacroManager {
     {
         this.proofAsst = proofAsst;
         callbacks = new HashMap<>();
+        scripts = new HashMap<>();
 
         macroFolder = store.addFileSetting(PFX + "folder", "macros");
         macroFolder.addListener((o, value) -> value != null);
@@ -147,10 +170,8 @@ public class MacroManager {
             set("executionMode", mode);
             set("args", args);
             final File prep = prepMacro.get();
-            if (prep != null) {
-                set(ScriptEngine.FILENAME, prep.getName());
-                engine.eval(new FileReader(prep));
-            }
+            if (prep != null)
+                eval(prep);
             runMacroRaw(args[0]);
         } catch (final ScriptException e) {
             e.printStackTrace();
@@ -211,16 +232,71 @@ public class MacroManager {
     public synchronized void runMacroRaw(final String name)
         throws IllegalArgumentException
     {
+        final Timer timer = Metrics
+            .timer("macro_" + name.replaceAll("\\W", "_") + "_seconds");
+        final long start = timer.start();
         try {
-            final File file = getMacroFile(name);
-            set(ScriptEngine.FILENAME, file.getName());
-            engine.eval(new FileReader(file));
+            eval(getMacroFile(name));
         } catch (final FileNotFoundException e) {
             throw new IllegalArgumentException(e);
         } catch (final ScriptException e) {
             e.printStackTrace();
             throw new IllegalArgumentException(
                 "Error in macro " + name + ":\n" + e.getMessage(), e);
+        } finally {
+            timer.stop(start);
+        }
+    }
+
+    /**
+     * Evaluates a macro file.
+     * <p>
+     * If the script engine is {@link Compilable} the file is compiled only the
+     * first time it is run, and again when it is modified; the compiled script
+     * is cached by file. The cache entry is dropped if the file no longer
+     * exists (its modification time is then 0).
+     *
+     * @param file the macro file.
+     * @return the return value of the evaluation
+     * @throws FileNotFoundException if the file cannot be read
+     * @throws ScriptException if an error occurred
+     */
+    private Object eval(final File file)
+        throws FileNotFoundException, ScriptException
+    {
+        set(ScriptEngine.FILENAME, file.getName());
+        if (!(engine instanceof Compilable))
+            return evalFile(file);
+
+        final long lastModified = file.lastModified();
+        if (lastModified == 0) {
+            scripts.remove(file);
+            return evalFile(file);
+        }
+        CachedScript cached = scripts.get(file);
+        if (cached == null || cached.lastModified != lastModified) {
+            try (Reader reader = new FileReader(file)) {
+                cached = new CachedScript(lastModified,
+                    ((Compilable)engine).compile(reader));
+            } catch (final FileNotFoundException e) {
+                throw e;
+            } catch (final IOException e) {
+                throw new ScriptException(e);
+            }
+            scripts.put(file, cached);
+        }
+        return cached.script.eval();
+    }
+
+    private Object evalFile(final File file)
+        throws FileNotFoundException, ScriptException
+    {
+        try (Reader reader = new FileReader(file)) {
+            return engine.eval(reader);
+        } catch (final FileNotFoundException e) {
+            throw e;
+        } catch (final IOException e) {
+            throw new ScriptException(e);
         }
     }
 
@@ -244,11 +320,10 @@ public class MacroManager {
     public ScriptEngine getEngine(final String initMacro) {
         if (engine == null) {
             engine = factory.getScriptEngine();
+            scripts.clear();
             try {
                 set("proofAsst", proofAsst.get());
-                final File file = getMacroFile(initMacro);
-                set(ScriptEngine.FILENAME, file.getName());
-                engine.eval(new FileReader(file));
+                eval(getMacroFile(initMacro));
             } catch (final FileNotFoundException e) {
 
             } catch (final ScriptException e) {
@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * PaConstants.java  0.10 11/01/2011
+ * PaConstants.java  0.11 10/18/2026
  *
  * Version 0.02
  * -- added new constants for Proof Assistant "Derive" Feature,
@@ -106,6 +106,16 @@
  *           - set PA_GUI_DEFAULT_FILE_NAME_SUFFIX to
  *             .mmp (PA_GUI_FILE_CHOOSER_FILE_SUFFIX_MMP2);
  *             was .txt (PA_GUI_FILE_CHOOSER_FILE_SUFFIX_TXT2);
+ *
+ * Version 0.11 - Oct-18-2026:
+ *           - Added PA_BATCH_TEST_THREADS_DEFAULT,
+ *             PA_BATCH_TEST_SHARD_MIN_LEN and
+ *             PA_BATCH_TEST_PROGRESS_WAIT_MILLIS.
+ *           - Added PROOF_ASST_AUTO_UNIFY_DELAY_DEFAULT, _MIN and _MAX
+ *             for background unification in ProofAsstGUI.
+ *           - Added UNIFIER_STEP_CACHE_SIZE for ProofUnifier's
+ *             memo of empty-Ref step unification results.
+ *           - Added STEP_PARSE_CACHE_SIZE for StepParseCache.
  */
 
 package mmj.pa;
@@ -253,6 +263,26 @@ public class PaConstants {
      * ProofAsstBatchTest testing.
      */
     public static final int PA_TESTMSG_THEOREM_TIME_TOP_NUMBER = 10;
+
+    /**
+     * Default number of threads used by ProofAsstBatchTest when testing
+     * theorems from memory (1 = single-threaded).
+     */
+    public static final int PA_BATCH_TEST_THREADS_DEFAULT = 1;
+
+    /**
+     * Multi-threaded ProofAsstBatchTest hands out theorems to the threads in
+     * runs of at most this many, which are tested with one ProofAsst.
+     */
+    public static final int PA_BATCH_TEST_SHARD_MIN_LEN = 4;
+
+    /**
+     * Multi-threaded ProofAsstBatchTest: maximum time, in milliseconds, the
+     * progress display waits for the next theorem before checking whether the
+     * test has failed.
+     */
+    public static final long PA_BATCH_TEST_PROGRESS_WAIT_MILLIS = 100;
+
     // ----------------------------------------------------------
     // Constants for ProofAsstCursor.java
     // ----------------------------------------------------------
@@ -290,6 +320,24 @@ public class PaConstants {
 
     public static final int UNIFIER_MAX_VAR_HYPS = 500;
 
+    /**
+     * UNIFIER_STEP_CACHE_SIZE = 4096
+     * <p>
+     * Maximum number of derivation steps whose unifying assertion is
+     * remembered by ProofUnifier between unification runs (least recently
+     * used entries are dropped first).
+     */
+    public static final int UNIFIER_STEP_CACHE_SIZE = 4096;
+
+    /**
+     * STEP_PARSE_CACHE_SIZE = 4096
+     * <p>
+     * Maximum number of proof step formula parse trees remembered by
+     * StepParseCache between unification runs (least recently used entries
+     * are dropped first).
+     */
+    public static final int STEP_PARSE_CACHE_SIZE = 4096;
+
     /**
      * DOT_STEP_CAPTION = ".Step"
      * <p>
@@ -855,6 +903,21 @@ public class PaConstants {
      */
     public static final boolean HIGHLIGHTING_ENABLED_DEFAULT = true;
 
+    /**
+     * Default value for ProofAsstAutoUnifyDelay RunParm.
+     * <p>
+     * Milliseconds after the user stops typing before the Proof Assistant GUI
+     * unifies the worksheet in the background; 0 disables background
+     * unification.
+     * <p>
+     * PROOF_ASST_AUTO_UNIFY_DELAY_DEFAULT = 0
+     */
+    public static final int PROOF_ASST_AUTO_UNIFY_DELAY_DEFAULT = 0;
+
+    public static final int PROOF_ASST_AUTO_UNIFY_DELAY_MIN = 0;
+
+    public static final int PROOF_ASST_AUTO_UNIFY_DELAY_MAX = 60000;
+
     /**
      * Default Foreground Color.
      * <p>
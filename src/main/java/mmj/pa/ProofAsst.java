@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * ProofAsst.java  0.11 11/01/2011
+ * ProofAsst.java  0.12 10/18/2026
  *
  * Version 0.03
  *     - fix vol test bug 3/27 (no qed step null pointer)
@@ -69,6 +69,18 @@
  *       cases the proof worksheet may be invalid.)
  *     - Rewrote incompleteStepCursorPositioning() to
  *       fix "AsIs" cursor positioning bug.
+ *
+ * Version 0.12 - Oct-18-2026:
+ *     - Added multi-threaded volume test,
+ *       importFromMemoryAndUnifyManyTheorems(..., nbrThreads),
+ *       which prints its progress as the threads go.
+ *     - optimizeTheoremSearch() counts constant frequencies in an
+ *       int[] indexed by Sym table index instead of a HashMap.
+ *     - Added newWorkerProofAsst() for the mmj.svc.SvcServer
+ *       request threads.
+ *     - Added newTheoremExporter() for the GMFF export threads.
+ *     - unify() parses only the step formulas not seen by an
+ *       earlier unification (see StepParseCache).
  */
 
 package mmj.pa;
@@ -77,10 +89,13 @@ import static mmj.pa.ProofWorksheet.addLabelContext;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import mmj.gmff.GMFFException;
 import mmj.lang.*;
 import mmj.lang.ParseTree.RPNStep;
+import mmj.lang.VarHyp.PaSubstThread;
 import mmj.mmio.MMIOConstants.LineColumnContext;
 import mmj.mmio.MMIOException;
 import mmj.pa.MacroManager.CallbackType;
@@ -117,11 +132,59 @@ public class ProofAsst implements TheoremLoaderCommitListener {
     private Messages messages;
     private final TheoremLoader theoremLoader;
     public final MacroManager macroManager;
+    private final StepParseCache stepParseCache = new StepParseCache();
 
     // -----------------------------------------------------------------
     // -------------------------LOCAL CLASSES---------------------------
     // -----------------------------------------------------------------
 
+    /**
+     * Exports theorems to Proof Worksheet text on a worker thread (see
+     * newTheoremExporter()). The ProofAsstPreferences and LogicalSystem are
+     * shared: exporting only reads them.
+     */
+    public static class TheoremExporter {
+        private final ProofAsstPreferences proofAsstPreferences;
+        private final LogicalSystem logicalSystem;
+        private final Grammar grammar;
+        private final VerifyProofs verifyProofs = new VerifyProofs();
+        private final Messages messages;
+
+        private TheoremExporter(
+            final ProofAsstPreferences proofAsstPreferences,
+            final LogicalSystem logicalSystem, final Grammar grammar,
+            final Messages messages)
+        {
+            this.proofAsstPreferences = proofAsstPreferences;
+            this.logicalSystem = logicalSystem;
+            this.grammar = grammar;
+            this.messages = messages;
+        }
+
+        /**
+         * @return the Messages the exporter reports errors in.
+         */
+        public Messages getMessages() {
+            return messages;
+        }
+
+        /**
+         * Exports one theorem, as ProofAsst.exportOneTheorem(Theorem) does.
+         *
+         * @param theorem the theorem to export.
+         * @return the Proof Worksheet text, or null if the proof could not be
+         *         verified (see getMessages()).
+         */
+        public String exportOneTheorem(final Theorem theorem) {
+            return getExportedProofText(getExportedProofWorksheet(theorem,
+                true, // exportFormatUnified
+                HypsOrder.Correct, // hypsRandomized
+                false, // deriveFormulas
+                proofAsstPreferences, logicalSystem, grammar, verifyProofs,
+                messages));
+        }
+    }
+
     /** Information about theorem unification. */
     private static class TheoremTestResult {
         public final StopWatch stopWatch;
@@ -148,6 +211,102 @@ public class ProofAsst implements TheoremLoaderCommitListener {
         public int nbrTestTheoremsProcessed = 0;
         public int nbrTestNotProvedPerfectly = 0;
         public int nbrTestProvedDifferently = 0;
+
+        public void add(final VolumeTestStats stats) {
+            nbrTestTheoremsProcessed += stats.nbrTestTheoremsProcessed;
+            nbrTestNotProvedPerfectly += stats.nbrTestNotProvedPerfectly;
+            nbrTestProvedDifferently += stats.nbrTestProvedDifferently;
+        }
+    }
+
+    /**
+     * A ProofAsst used by one thread at a time in the multi-threaded volume
+     * test, with its slowest-theorem list.
+     */
+    private static class VolumeTestWorker {
+        public final ProofAsst proofAsst;
+        public final TheoremTestResult[] timeTop = new TheoremTestResult[PaConstants.PA_TESTMSG_THEOREM_TIME_TOP_NUMBER];
+
+        public VolumeTestWorker(final ProofAsst proofAsst) {
+            this.proofAsst = proofAsst;
+        }
+    }
+
+    /** The output of one theorem of the multi-threaded volume test. */
+    private static class VolumeTestOutput {
+        public final VolumeTestStats stats = new VolumeTestStats();
+        public String[] errorMessages;
+        public String[] infoMessages;
+        public String updatedProofText;
+    }
+
+    private static class VolumeTestShard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Theorem> list;
+        private final AtomicReferenceArray<VolumeTestOutput> outputs;
+        private final Queue<VolumeTestWorker> workers;
+        private final boolean printProof;
+        private final boolean asciiRetest;
+        private final boolean smallTest;
+        private final int lo;
+        private final int hi;
+
+        VolumeTestShard(final List<Theorem> list,
+            final AtomicReferenceArray<VolumeTestOutput> outputs,
+            final Queue<VolumeTestWorker> workers, final boolean printProof,
+            final boolean asciiRetest, final boolean smallTest, final int lo,
+            final int hi)
+        {
+            this.list = list;
+            this.outputs = outputs;
+            this.workers = workers;
+            this.printProof = printProof;
+            this.asciiRetest = asciiRetest;
+            this.smallTest = smallTest;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > PaConstants.PA_BATCH_TEST_SHARD_MIN_LEN) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(
+                    new VolumeTestShard(list, outputs, workers, printProof,
+                        asciiRetest, smallTest, lo, mid),
+                    new VolumeTestShard(list, outputs, workers, printProof,
+                        asciiRetest, smallTest, mid, hi));
+                return;
+            }
+            final VolumeTestWorker worker = workers.poll();
+            try {
+                final Messages messages = worker.proofAsst.messages;
+                for (int i = lo; i < hi; i++) {
+                    final VolumeTestOutput output = new VolumeTestOutput();
+                    output.stats.nbrTestTheoremsProcessed++;
+                    final String updatedProofText = worker.proofAsst
+                        .volumeTestOneTheorem(list.get(i), output.stats,
+                            smallTest ? null : worker.timeTop, asciiRetest,
+                            smallTest);
+                    if (printProof)
+                        output.updatedProofText = updatedProofText;
+                    output.errorMessages = Arrays.copyOf(
+                        messages.getErrorMessageArray(),
+                        messages.getErrorMessageCnt());
+                    output.infoMessages = Arrays.copyOf(
+                        messages.getInfoMessageArray(),
+                        messages.getInfoMessageCnt());
+                    messages.clearMessages();
+                    outputs.set(i, output);
+                    synchronized (outputs) {
+                        outputs.notifyAll();
+                    }
+                }
+            } finally {
+                workers.add(worker);
+            }
+        }
     }
 
     // -----------------------------------------------------------------
@@ -253,6 +412,7 @@ public class ProofAsst implements TheoremLoaderCommitListener {
     public boolean initializeLookupTables(final Messages messages) {
         this.messages = messages;
         initializedOK = proofUnifier.initializeLookupTables(messages);
+        stepParseCache.clear();
         proofAsstPreferences.getSearchMgr().initOtherEnvAreas(this,
             logicalSystem, grammar, verifyProofs, messages);
         logicalSystem.bookManager.getDirectSectionDependencies(logicalSystem);
@@ -283,6 +443,7 @@ public class ProofAsst implements TheoremLoaderCommitListener {
 
         proofUnifier
             .mergeListOfAssrtAddsSortedBySeq(listOfAssrtAddsSortedBySeq);
+        stepParseCache.clear();
     }
 
     /**
@@ -728,6 +889,30 @@ public class ProofAsst implements TheoremLoaderCommitListener {
     public void importFromMemoryAndUnify(final Messages messages,
         final int selectorCount, final Theorem selectorTheorem,
         final OutputBoss outputBoss, final boolean asciiRetest)
+    {
+        importFromMemoryAndUnify(messages, selectorCount, selectorTheorem,
+            outputBoss, asciiRetest, 1);
+    }
+
+    /**
+     * Import Theorem proofs from memory and unifies, using several threads
+     * if many theorems are tested.
+     * <p>
+     * This is a simulation routine for testing purposes.
+     *
+     * @param messages Messages object for output messages.
+     * @param selectorCount use to restrict the number of theorems present.
+     * @param selectorTheorem just process one theorem, ignore selectorCount.
+     * @param outputBoss mmj.util.OutputBoss object, if not null means, please
+     *            print the proof test.
+     * @param asciiRetest instructs program to re-unify the output Proof
+     *            Worksheet text after unification.
+     * @param nbrThreads number of threads for testing many theorems.
+     */
+    public void importFromMemoryAndUnify(final Messages messages,
+        final int selectorCount, final Theorem selectorTheorem,
+        final OutputBoss outputBoss, final boolean asciiRetest,
+        final int nbrThreads)
     {
         this.messages = messages;
 
@@ -736,7 +921,7 @@ public class ProofAsst implements TheoremLoaderCommitListener {
                 asciiRetest);
         else
             importFromMemoryAndUnifyManyTheorems(selectorCount, outputBoss,
-                asciiRetest);
+                asciiRetest, nbrThreads);
     }
 
     /**
@@ -823,14 +1008,6 @@ public class ProofAsst implements TheoremLoaderCommitListener {
     public void importFromMemoryAndUnifyManyTheorems(final int selectorCount,
         final OutputBoss outputBoss, final boolean asciiRetest)
     {
-        final boolean unifiedFormat = proofAsstPreferences.exportFormatUnified
-            .get();
-        final HypsOrder hypsOrder = proofAsstPreferences.exportHypsOrder.get();
-        final boolean deriveFormulas = proofAsstPreferences.exportDeriveFormulas
-            .get();
-        final boolean verifierRecheck = proofAsstPreferences.recheckProofAsstUsingProofVerifier
-            .get();
-
         final VolumeTestStats stats = new VolumeTestStats();
 
         final List<Theorem> theoremList = getSortedTheoremList(0);
@@ -852,69 +1029,368 @@ public class ProofAsst implements TheoremLoaderCommitListener {
             // This whole function is needed for debug and regression tests.
             // The biggest test is set.mm which consumes a lot of time.
             // So, I think, it will be good to watch the progress dynamically.
-            if (outputBoss != null)
-                try {
-                    outputBoss.printException(new ProofAsstException(
-                        PaConstants.ERRMSG_PA_TESTMSG_PROGRESS,
-                        numberProcessed + 1, numberToProcess,
-                        theorem.getLabel()));
-                } catch (final IOException e) {}
+            printVolumeTestProgress(outputBoss, numberProcessed,
+                numberToProcess, theorem);
 
             stats.nbrTestTheoremsProcessed++;
-            final String proofText = exportOneTheorem(null, theorem,
-                unifiedFormat, hypsOrder, deriveFormulas);
-            if (proofText != null) {
-                if (asciiRetest)
-                    proofAsstPreferences.recheckProofAsstUsingProofVerifier
-                        .set(false);
-                // for Volume Testing
+            final String updatedProofText = volumeTestOneTheorem(theorem,
+                stats, timeTop, asciiRetest, smallTest);
+            printProof(outputBoss, theorem.getLabel(), updatedProofText);
+            numberProcessed++;
+        }
+        System.err.println(); // for debug reasons
+        wholeTestSuiteTime.stop();
 
-                final StopWatch testStopWatch = new StopWatch(true);
-                final ProofWorksheet proofWorksheet = unify(false, // no renum
-                    true, // don't convert work vars
-                    proofText, null, // no preprocess
-                    null, // no step request
-                    null, // no TL request
-                    -1, // inputCursorPos
-                    smallTest); // printOkMessages
-                testStopWatch.stop();
+        printVolumeTestStats(stats, wholeTestSuiteTime, timeTop);
+    }
 
-                if (asciiRetest)
-                    proofAsstPreferences.recheckProofAsstUsingProofVerifier
-                        .set(verifierRecheck);
+    /**
+     * Import Theorem proofs from memory and unifies, using several threads.
+     * <p>
+     * Each thread gets its own ProofAsst -- with its own ProofUnifier, work
+     * variables, Grammar parser, etc. -- over the shared (and here read-only)
+     * LogicalSystem, and the messages, statistics and slowest-theorem list of
+     * the workers are merged in theorem order, so the output is the same as
+     * for {@link #importFromMemoryAndUnifyManyTheorems(int, OutputBoss,
+     * boolean)}, apart from the timings.
+     * <p>
+     * Falls back to the single-threaded test if {@code nbrThreads} is less
+     * than 2, if ImportUpdateDJs is on (the worksheets update the Theorems'
+     * DJs, which the later theorems read) or if the Grammar parser cannot be
+     * copied. Macros are not run for the worker ProofAsst objects.
+     *
+     * @param selectorCount use to restrict the number of theorems present.
+     * @param outputBoss mmj.util.OutputBoss object, if not null means, please
+     *            print the proof test.
+     * @param asciiRetest instructs program to re-unify the output Proof
+     *            Worksheet text after unification.
+     * @param nbrThreads number of threads.
+     */
+    public void importFromMemoryAndUnifyManyTheorems(final int selectorCount,
+        final OutputBoss outputBoss, final boolean asciiRetest,
+        final int nbrThreads)
+    {
+        if (nbrThreads < 2 || proofAsstPreferences.importUpdateDJs.get()) {
+            importFromMemoryAndUnifyManyTheorems(selectorCount, outputBoss,
+                asciiRetest);
+            return;
+        }
 
-                final TheoremTestResult result = new TheoremTestResult(
-                    testStopWatch, proofWorksheet, theorem);
+        // One worker per thread: the shards run only on the pool's
+        // PaSubstThreads (see below).
+        final Queue<VolumeTestWorker> workers = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < nbrThreads; i++) {
+            final VolumeTestWorker worker = newVolumeTestWorker();
+            if (worker == null) {
+                importFromMemoryAndUnifyManyTheorems(selectorCount,
+                    outputBoss, asciiRetest);
+                return;
+            }
+            workers.add(worker);
+        }
 
-                addResultToVolumeTestTimeTop(timeTop, result);
+        final VolumeTestStats stats = new VolumeTestStats();
 
-                volumeTestOutputRoutine(result, stats, smallTest);
-                final String updatedProofText = proofWorksheet
-                    .getOutputProofText();
+        final List<Theorem> theoremList = getSortedTheoremList(0);
 
-                // retest
-                if (updatedProofText != null && asciiRetest)
-                    unify(false, // no renum
-                        true, // don't convert work vars
-                        updatedProofText, null, // no preprocess request
-                        null, // no step request
-                        null, // no TL request
-                        -1, // inputCursorPos
-                        smallTest); // printOkMessages
+        final int numberToProcess = Math.min(selectorCount, theoremList.size());
+        int numberProcessed = 0;
 
-                if (updatedProofText != null) {
-                    printProof(outputBoss, proofWorksheet, updatedProofText);
-                    checkAndCompareUpdateDJs(proofWorksheet);
+        final boolean smallTest = numberToProcess < PaConstants.PA_TESTMSG_THEOREM_NUMBER_THRESHOLD;
+
+        final TheoremTestResult[] timeTop = smallTest ? null
+            : new TheoremTestResult[PaConstants.PA_TESTMSG_THEOREM_TIME_TOP_NUMBER];
+
+        final AtomicReferenceArray<VolumeTestOutput> outputs = new AtomicReferenceArray<>(
+            numberToProcess);
+
+        final List<VarHyp> varHyps = new ArrayList<>();
+        for (final Stmt stmt : logicalSystem.getStmtTbl().values())
+            if (stmt instanceof VarHyp)
+                varHyps.add((VarHyp)stmt);
+
+        final StopWatch wholeTestSuiteTime = new StopWatch(true);
+        final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < nbrThreads; i++)
+            freeSlots.add(i);
+        for (final VarHyp varHyp : varHyps)
+            varHyp.setPaSubstSlots(nbrThreads);
+        final ForkJoinPool pool = new ForkJoinPool(nbrThreads, p -> {
+            final Integer slot = freeSlots.poll();
+            return slot == null ? null : new PaSubstThread(p, slot) {
+                @Override
+                protected void onTermination(final Throwable exception) {
+                    freeSlots.add(slot);
+                    super.onTermination(exception);
                 }
+            };
+        }, null, false);
+        final VolumeTestShard root = new VolumeTestShard(theoremList, outputs,
+            workers, outputBoss != null, asciiRetest, smallTest, 0,
+            numberToProcess);
+        try {
+            // This thread never runs a shard -- it is not a PaSubstThread, so
+            // it would use the paSubst shared with the serial code. Instead it
+            // merges the outputs, in theorem order, as they are produced, so
+            // the progress messages are printed while the test runs.
+            pool.execute(root);
+            while (numberProcessed < numberToProcess
+                && !messages.maxErrorMessagesReached())
+            {
+                final VolumeTestOutput output = awaitVolumeTestOutput(outputs,
+                    numberProcessed, root);
+                if (output == null)
+                    break; // the test failed: see root.join() below
+
+                printVolumeTestProgress(outputBoss, numberProcessed,
+                    numberToProcess, theoremList.get(numberProcessed));
+
+                stats.add(output.stats);
+                for (final String s : output.errorMessages)
+                    messages.accumErrorMessage(s);
+                for (final String s : output.infoMessages)
+                    messages.accumInfoMessage(s);
+                printProof(outputBoss,
+                    theoremList.get(numberProcessed).getLabel(),
+                    output.updatedProofText);
+                numberProcessed++;
             }
-            numberProcessed++;
+            pool.shutdown();
+            awaitTermination(pool);
+            root.join();
+        } finally {
+            pool.shutdown();
+            for (final VarHyp varHyp : varHyps)
+                varHyp.setPaSubstSlots(0);
+        }
+
+        if (timeTop != null) {
+            final List<TheoremTestResult> top = new ArrayList<>();
+            for (final VolumeTestWorker worker : workers)
+                for (final TheoremTestResult result : worker.timeTop)
+                    if (result != null && numberProcessed > 0
+                        && result.theorem.getSeq() <= theoremList
+                            .get(numberProcessed - 1).getSeq())
+                        top.add(result);
+            Collections.sort(top, (r1, r2) -> MObj.SEQ.compare(r1.theorem,
+                r2.theorem));
+            for (final TheoremTestResult result : top)
+                addResultToVolumeTestTimeTop(timeTop, result);
         }
-        System.err.println(); // for debug reasons
         wholeTestSuiteTime.stop();
 
         printVolumeTestStats(stats, wholeTestSuiteTime, timeTop);
     }
 
+    /**
+     * Waits for the output of the i-th theorem of the multi-threaded volume
+     * test.
+     *
+     * @param outputs the outputs, stored by the shards.
+     * @param i the index of the theorem.
+     * @param root the root shard.
+     * @return the output, or null if the test failed before producing it.
+     */
+    private static VolumeTestOutput awaitVolumeTestOutput(
+        final AtomicReferenceArray<VolumeTestOutput> outputs, final int i,
+        final ForkJoinTask<?> root)
+    {
+        boolean interrupted = false;
+        VolumeTestOutput output;
+        synchronized (outputs) {
+            while ((output = outputs.get(i)) == null && !root.isDone())
+                try {
+                    outputs.wait(PaConstants.PA_BATCH_TEST_PROGRESS_WAIT_MILLIS);
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        return output;
+    }
+
+    /**
+     * Waits, without helping to run its tasks, until a pool that has been
+     * shut down has finished.
+     *
+     * @param pool the pool.
+     */
+    private static void awaitTermination(final ForkJoinPool pool) {
+        boolean interrupted = false;
+        while (!pool.isTerminated())
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Creates a ProofAsst for one thread of the multi-threaded volume test.
+     *
+     * @return the worker, or null if the Grammar cannot be copied.
+     */
+    private VolumeTestWorker newVolumeTestWorker() {
+        final ProofAsst proofAsst = newWorkerProofAsst();
+        return proofAsst == null ? null : new VolumeTestWorker(proofAsst);
+    }
+
+    /**
+     * Creates a ProofAsst which can unify worksheets on another thread,
+     * concurrently with this one.
+     * <p>
+     * The worker shares the LogicalSystem and TMFF preferences, and copies
+     * everything that unification updates (Grammar, Work Variables, etc.). It
+     * has no TheoremLoader or GUI, and must be run on a
+     * {@link PaSubstThread} while the VarHyp paSubst slots are allocated.
+     * <p>
+     * Error messages are reported in this ProofAsst's Messages.
+     *
+     * @return the worker, or null if the Grammar cannot be copied.
+     */
+    public ProofAsst newWorkerProofAsst() {
+        final Grammar workerGrammar = grammar.newWorkerGrammar();
+        if (workerGrammar == null)
+            return null;
+
+        final ProofAsstPreferences workerPreferences = proofAsstPreferences
+            .newWorkerPreferences();
+        final WorkVarManager workVarManager = new WorkVarManager(
+            proofAsstPreferences.getWorkVarManager());
+        try {
+            workVarManager.declareWorkVars(workerGrammar, logicalSystem);
+        } catch (final VerifyException e) {
+            messages.accumException(e);
+            return null;
+        }
+        workerPreferences.setWorkVarManager(workVarManager);
+
+        final ProofAsst proofAsst = new ProofAsst(workerPreferences,
+            logicalSystem, workerGrammar, new VerifyProofs(), null, null);
+        final Messages workerMessages = new Messages(
+            messages.getErrorMessageArray().length,
+            messages.getInfoMessageArray().length);
+        proofAsst.messages = workerMessages;
+        proofAsst.initializedOK = proofAsst.proofUnifier
+            .initializeLookupTables(workerMessages);
+        workerPreferences.getSearchMgr().initOtherEnvAreas(proofAsst,
+            logicalSystem, workerGrammar, proofAsst.verifyProofs,
+            workerMessages);
+        final TransformationManager trManager = proofUnifier
+            .getTransformationManager();
+        proofAsst.initAutotransformations(trManager != null,
+            trManager != null && trManager.dbg,
+            trManager == null || trManager.supportImplicationPrefix);
+        workerMessages.clearMessages();
+        return proofAsst;
+    }
+
+    /**
+     * Creates a TheoremExporter which can export theorems as
+     * exportOneTheorem(Theorem) does on another thread, concurrently with this
+     * ProofAsst.
+     * <p>
+     * Exporting only derives the proof steps (VerifyProofs) and parses their
+     * formulas (Grammar), so the exporter gets its own VerifyProofs, Grammar
+     * copy and Messages, and none of the unification set-up done by
+     * newWorkerProofAsst().
+     *
+     * @return the exporter, or null if the Grammar cannot be copied.
+     */
+    public TheoremExporter newTheoremExporter() {
+        final Grammar workerGrammar = grammar.newWorkerGrammar();
+        if (workerGrammar == null)
+            return null;
+        return new TheoremExporter(proofAsstPreferences, logicalSystem,
+            workerGrammar, new Messages(messages.getErrorMessageArray().length,
+                messages.getInfoMessageArray().length));
+    }
+
+    /**
+     * Exports one theorem, unifies it and reports the result for the volume
+     * test.
+     *
+     * @param theorem the theorem to test.
+     * @param stats the statistics to update.
+     * @param timeTop the slowest theorems so far, or null.
+     * @param asciiRetest instructs program to re-unify the output Proof
+     *            Worksheet text after unification.
+     * @param smallTest print detailed messages for every theorem.
+     * @return the updated proof text, or null.
+     */
+    private String volumeTestOneTheorem(final Theorem theorem,
+        final VolumeTestStats stats, final TheoremTestResult[] timeTop,
+        final boolean asciiRetest, final boolean smallTest)
+    {
+        final boolean unifiedFormat = proofAsstPreferences.exportFormatUnified
+            .get();
+        final HypsOrder hypsOrder = proofAsstPreferences.exportHypsOrder.get();
+        final boolean deriveFormulas = proofAsstPreferences.exportDeriveFormulas
+            .get();
+        final boolean verifierRecheck = proofAsstPreferences.recheckProofAsstUsingProofVerifier
+            .get();
+
+        final String proofText = exportOneTheorem(null, theorem, unifiedFormat,
+            hypsOrder, deriveFormulas);
+        if (proofText == null)
+            return null;
+
+        if (asciiRetest)
+            proofAsstPreferences.recheckProofAsstUsingProofVerifier.set(false);
+        // for Volume Testing
+
+        final StopWatch testStopWatch = new StopWatch(true);
+        final ProofWorksheet proofWorksheet = unify(false, // no renum
+            true, // don't convert work vars
+            proofText, null, // no preprocess
+            null, // no step request
+            null, // no TL request
+            -1, // inputCursorPos
+            smallTest); // printOkMessages
+        testStopWatch.stop();
+
+        if (asciiRetest)
+            proofAsstPreferences.recheckProofAsstUsingProofVerifier
+                .set(verifierRecheck);
+
+        final TheoremTestResult result = new TheoremTestResult(testStopWatch,
+            proofWorksheet, theorem);
+
+        addResultToVolumeTestTimeTop(timeTop, result);
+
+        volumeTestOutputRoutine(result, stats, smallTest);
+        final String updatedProofText = proofWorksheet.getOutputProofText();
+
+        // retest
+        if (updatedProofText != null && asciiRetest)
+            unify(false, // no renum
+                true, // don't convert work vars
+                updatedProofText, null, // no preprocess request
+                null, // no step request
+                null, // no TL request
+                -1, // inputCursorPos
+                smallTest); // printOkMessages
+
+        if (updatedProofText != null)
+            checkAndCompareUpdateDJs(proofWorksheet);
+        return updatedProofText;
+    }
+
+    private void printVolumeTestProgress(final OutputBoss outputBoss,
+        final int numberProcessed, final int numberToProcess,
+        final Theorem theorem)
+    {
+        if (outputBoss != null)
+            try {
+                outputBoss.printException(new ProofAsstException(
+                    PaConstants.ERRMSG_PA_TESTMSG_PROGRESS, numberProcessed + 1,
+                    numberToProcess, theorem.getLabel()));
+            } catch (final IOException e) {}
+    }
+
     /**
      * Perform the optimizations for theorem search during "parallel"
      * unification
@@ -922,7 +1398,7 @@ public class ProofAsst implements TheoremLoaderCommitListener {
     public void optimizeTheoremSearch() {
         final List<Theorem> theoremList = getSortedTheoremList(0);
 
-        final Map<Cnst, Integer> frequency = new HashMap<>();
+        final int[] frequency = new int[logicalSystem.getSymCnt()];
 
         final Set<Formula> formulaList = new LinkedHashSet<>();
 
@@ -935,23 +1411,19 @@ public class ProofAsst implements TheoremLoaderCommitListener {
         for (final Formula formula : formulaList)
             formula.collectConstFrequenceAndInitConstList(frequency);
 
+        // constants not seen (frequency 0) sort after all the others
         final Comparator<Cnst> comp = new Comparator<Cnst>() {
             public int compare(final Cnst o1, final Cnst o2) {
-                final Integer i1 = frequency.get(o1);
-                final Integer i2 = frequency.get(o2);
-
-                if (i1 == i2)
-                    return o1.getSeq() - o2.getSeq();
-
-                if (i1 == null)
-                    return 1;
-                if (i2 == null)
-                    return -1;
+                final int i1 = getFrequency(o1);
+                final int i2 = getFrequency(o2);
+                if (i1 != i2)
+                    return i1 == 0 ? 1 : i2 == 0 ? -1 : i1 - i2;
+                return o1.getSeq() - o2.getSeq();
+            }
 
-                if (i1.intValue() != i2.intValue())
-                    return i1 - i2;
-                else
-                    return o1.getSeq() - o2.getSeq();
+            private int getFrequency(final Cnst c) {
+                final int idx = c.getTblIdx();
+                return idx >= 0 && idx < frequency.length ? frequency[idx] : 0;
             }
         };
 
@@ -1389,6 +1861,7 @@ public class ProofAsst implements TheoremLoaderCommitListener {
                 grammar, messages, macroManager))
         {
 
+            proofWorksheetParser.setStepParseCache(stepParseCache);
             proofWorksheet = proofWorksheetParser.next(inputCursorPos,
                 stepRequest);
 
@@ -1632,17 +2105,9 @@ public class ProofAsst implements TheoremLoaderCommitListener {
 
         final ProofWorksheet proofWorksheet = getExportedProofWorksheet(theorem,
             exportFormatUnified, hypsOrder, deriveFormulas);
+        final String proofText = getExportedProofText(proofWorksheet);
 
-        if (proofWorksheet == null)
-            return null;
-
-        final String proofText = proofWorksheet.getOutputProofText();
-
-        if (proofText == null)
-            throw new IllegalArgumentException(addLabelContext(proofWorksheet,
-                PaConstants.ERRMSG_PA_EXPORT_STRUCT_ERROR));
-
-        if (exportWriter != null)
+        if (proofText != null && exportWriter != null)
             try {
                 exportWriter.write(proofText);
                 exportWriter.write('\n');
@@ -1656,10 +2121,36 @@ public class ProofAsst implements TheoremLoaderCommitListener {
         return proofText;
     }
 
+    private static String getExportedProofText(
+        final ProofWorksheet proofWorksheet)
+    {
+        if (proofWorksheet == null)
+            return null;
+
+        final String proofText = proofWorksheet.getOutputProofText();
+
+        if (proofText == null)
+            throw new IllegalArgumentException(addLabelContext(proofWorksheet,
+                PaConstants.ERRMSG_PA_EXPORT_STRUCT_ERROR));
+        return proofText;
+    }
+
     private ProofWorksheet getExportedProofWorksheet(final Theorem theorem,
         final boolean exportFormatUnified, final HypsOrder hypsOrder,
         final boolean deriveFormulas)
     {
+        return getExportedProofWorksheet(theorem, exportFormatUnified,
+            hypsOrder, deriveFormulas, proofAsstPreferences, logicalSystem,
+            grammar, verifyProofs, messages);
+    }
+
+    private static ProofWorksheet getExportedProofWorksheet(
+        final Theorem theorem, final boolean exportFormatUnified,
+        final HypsOrder hypsOrder, final boolean deriveFormulas,
+        final ProofAsstPreferences proofAsstPreferences,
+        final LogicalSystem logicalSystem, final Grammar grammar,
+        final VerifyProofs verifyProofs, final Messages messages)
+    {
 
         ProofWorksheet proofWorksheet = null;
         List<ProofDerivationStepEntry> proofDerivationStepList;
@@ -1667,7 +2158,7 @@ public class ProofAsst implements TheoremLoaderCommitListener {
         try {
             proofDerivationStepList = verifyProofs.getProofDerivationSteps(
                 theorem, exportFormatUnified, hypsOrder,
-                getProvableLogicStmtTyp());
+                grammar.getProvableLogicStmtTypArray()[0]);
 
             proofWorksheet = new ProofWorksheet(theorem,
                 proofDerivationStepList, deriveFormulas, proofAsstPreferences,
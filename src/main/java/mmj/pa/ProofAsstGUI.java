@@ -89,6 +89,11 @@
  *
  * Version 0.11 - Aug-11-2013:
  * ==> Add Maximization on startup.
+ *
+ * Version 0.12 - Oct-18-2026:
+ * ==> Add background unification after typing pauses (see
+ *     ProofAsstPreferences.autoUnifyDelay); Unify reuses the
+ *     background result when the text has not changed.
  */
 
 package mmj.pa;
@@ -103,8 +108,7 @@ import java.util.function.Supplier;
 
 import javax.swing.*;
 import javax.swing.UIManager.LookAndFeelInfo;
-import javax.swing.event.ListSelectionEvent;
-import javax.swing.event.ListSelectionListener;
+import javax.swing.event.*;
 import javax.swing.text.*;
 import javax.swing.undo.CannotRedoException;
 import javax.swing.undo.CannotUndoException;
@@ -175,6 +179,18 @@ public class ProofAsstGUI {
 
     private RequestThreadStuff requestThreadStuff;
 
+    /** Fires a background unification when typing pauses. */
+    private Timer autoUnifyTimer;
+
+    /** The proof text as of the last unification displayed. */
+    private String lastUnifiedText;
+
+    /** The last background unification, reusable by Unify. */
+    private volatile AutoUnifyRequest autoUnifyResult;
+
+    /** Thread of a cancelled background unification, maybe still running. */
+    private Thread cancelledBackgroundThread;
+
     private Font proofFont;
 
     private RequestMessagesGUI requestMessagesGUI;
@@ -453,6 +469,18 @@ public class ProofAsstGUI {
         proofTextPane = proofDocument.getTextPane();
         proofDocument.setTextProgrammatic(newProofText, null, false, true);
 
+        autoUnifyTimer = new Timer(0, e -> startAutoUnify());
+        autoUnifyTimer.setRepeats(false);
+        proofDocument.addDocumentListener(new DocumentListener() {
+            public void insertUpdate(final DocumentEvent e) {
+                restartAutoUnifyTimer();
+            }
+            public void removeUpdate(final DocumentEvent e) {
+                restartAutoUnifyTimer();
+            }
+            public void changedUpdate(final DocumentEvent e) {}
+        });
+
         buildProofFont();
 
         proofTextPane.setFont(proofFont);
@@ -2113,14 +2141,30 @@ public class ProofAsstGUI {
         final boolean noConvertWV, final PreprocessRequest preprocessRequest,
         final StepRequest stepRequest, final TLRequest tlRequest)
     {
+        final boolean plainUnify = !renumReq && !noConvertWV
+            && preprocessRequest == null && stepRequest == null
+            && tlRequest == null;
         return new Request() {
             ProofWorksheet w;
 
+            @Override
+            boolean reusesAutoUnify() {
+                return plainUnify;
+            }
+
             @Override
             void send() throws InterruptedException {
-                w = proofAsst.unify(renumReq, noConvertWV,
-                    getProofTextAreaText(), preprocessRequest, stepRequest,
-                    tlRequest, proofTextPane.getCaretPosition() + 1, true);
+                final String proofText = getProofTextAreaText();
+                final int inputCursorPos = proofTextPane.getCaretPosition() + 1;
+                final AutoUnifyRequest r = plainUnify ? autoUnifyResult
+                    : null;
+                if (r != null && r.inputCursorPos == inputCursorPos
+                    && r.proofText.equals(proofText))
+                    w = r.w;
+                else
+                    w = proofAsst.unify(renumReq, noConvertWV, proofText,
+                        preprocessRequest, stepRequest, tlRequest,
+                        inputCursorPos, true);
             }
 
             @Override
@@ -2229,6 +2273,58 @@ public class ProofAsstGUI {
         }
         void send() throws InterruptedException {}
         abstract void receive();
+
+        /**
+         * @return true if the request is a plain Unify, which can use the
+         *         result of a background unification of the same text.
+         */
+        boolean reusesAutoUnify() {
+            return false;
+        }
+    }
+
+    /**
+     * Background unification of the proof text, started when typing pauses.
+     * The unified worksheet is kept for a following Unify request; only the
+     * messages are displayed, and only if the text has not changed meanwhile.
+     * <p>
+     * Like any unification, it parses only the step formulas not seen before
+     * (see StepParseCache), and confirms unchanged empty-Ref steps with the
+     * assertion found for them last time instead of searching again (see
+     * ProofUnifier).
+     */
+    class AutoUnifyRequest extends Request {
+        private static final long serialVersionUID = 1L;
+
+        final String proofText;
+        final int inputCursorPos;
+        ProofWorksheet w;
+        String messageText;
+
+        AutoUnifyRequest(final String proofText, final int inputCursorPos) {
+            this.proofText = proofText;
+            this.inputCursorPos = inputCursorPos;
+        }
+
+        @Override
+        void send() {
+            w = proofAsst.unify(false, // no renum
+                false, // convert work vars
+                proofText, null, // no preprocess request
+                null, // no Step Request
+                null, // no TL Request
+                inputCursorPos, true);
+            messageText = w.getOutputMessageText();
+            autoUnifyResult = this;
+        }
+
+        @Override
+        void receive() {
+            if (!proofText.equals(getProofTextAreaText()))
+                return; // typed meanwhile: the timer is running again
+            lastUnifiedText = proofText;
+            displayRequestMessages(messageText);
+        }
     }
 
     class WorksheetRequest extends Request {
@@ -2264,6 +2360,24 @@ public class ProofAsstGUI {
         /** Thread used for Unification of proof. */
         private Thread requestThread;
 
+        /** Request is a background unification. */
+        private final boolean background;
+
+        /** Thread of a cancelled background request, to be waited for. */
+        private final Thread previousThread;
+
+        /**
+         * Cancel the Thread used in the RequestThreadStuff object if it exists
+         * (not null), remembering it if it is a background unification, which
+         * cannot be stopped and must finish before the next request.
+         */
+        private void cancel() {
+            final Thread t = requestThread;
+            if (background && t != null)
+                cancelledBackgroundThread = t;
+            cancelRequestThread();
+        }
+
         /**
          * Cancel the Thread used in the RequestThreadStuff object if it exists
          * (not null).
@@ -2282,15 +2396,37 @@ public class ProofAsstGUI {
          * @param r Request object reference
          */
         public RequestThreadStuff(final Request r) {
+            this(r, false, null);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param r Request object reference
+         * @param background true for a background unification
+         * @param previousThread thread of a cancelled background request
+         *            (still using ProofAsst) to wait for, or null
+         */
+        RequestThreadStuff(final Request r, final boolean background,
+            final Thread previousThread)
+        {
             request = r;
+            this.background = background;
+            this.previousThread = previousThread;
             (requestThread = new Thread(this)).start();
         }
 
         public void run() {
             try {
+                if (previousThread != null)
+                    previousThread.join();
+                if (!request.reusesAutoUnify())
+                    autoUnifyResult = null;
                 request.send();
                 if (!Thread.interrupted())
                     EventQueue.invokeLater(() -> {
+                        if (getRequestThreadStuff() != this)
+                            return; // cancelled meanwhile
                         try {
                             request.receive();
                         } finally {
@@ -2314,10 +2450,16 @@ public class ProofAsstGUI {
     }
 
     public synchronized boolean startRequestAction(final Request r) {
-        if (getRequestThreadStuff() != null)
-            return false;
+        final RequestThreadStuff k = getRequestThreadStuff();
+        if (k != null) {
+            if (!k.background)
+                return false;
+            // user requests take precedence over background unification
+            k.cancel();
+        }
 
-        setRequestThreadStuff(new RequestThreadStuff(r));
+        setRequestThreadStuff(
+            new RequestThreadStuff(r, false, cancelledBackgroundThread));
 
         cancelRequestItem.setEnabled(true);
         getMainFrame()
@@ -2330,11 +2472,40 @@ public class ProofAsstGUI {
         final RequestThreadStuff k = getRequestThreadStuff();
         if (k == null)
             return false;
-        k.cancelRequestThread();
+        k.cancel();
         tidyUpRequestStuff();
         return true;
     }
 
+    private synchronized boolean startBackgroundRequest(final Request r) {
+        if (getRequestThreadStuff() != null || cancelledBackgroundThread != null
+            && cancelledBackgroundThread.isAlive())
+            return false;
+        setRequestThreadStuff(new RequestThreadStuff(r, true, null));
+        return true;
+    }
+
+    private void restartAutoUnifyTimer() {
+        if (proofDocument.isProgrammatic())
+            return;
+        final int delay = proofAsstPreferences.autoUnifyDelay.get();
+        if (delay > 0) {
+            autoUnifyTimer.setInitialDelay(delay);
+            autoUnifyTimer.restart();
+        }
+        else
+            autoUnifyTimer.stop();
+    }
+
+    private void startAutoUnify() {
+        final String proofText = getProofTextAreaText();
+        if (proofText.equals(lastUnifiedText))
+            return;
+        if (!startBackgroundRequest(new AutoUnifyRequest(proofText,
+            proofTextPane.getCaretPosition() + 1)))
+            autoUnifyTimer.restart(); // busy, try again later
+    }
+
     private void tidyUpRequestStuff() {
         setRequestThreadStuff(null);
         cancelRequestItem.setEnabled(false);
@@ -2368,6 +2539,7 @@ public class ProofAsstGUI {
 
         setProofTextAreaCursorPos(w);
         displayRequestMessages(w.getOutputMessageText());
+        lastUnifiedText = getProofTextAreaText();
     }
 
     private void displayRequestMessages(final String s) {
@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * ProofAsstPreferences.java  0.09 08/01/2008
+ * ProofAsstPreferences.java  0.10 10/18/2026
  *
  * Version 0.02:
  *     - added new items for the Proof Assistant "Derive"
@@ -48,6 +48,11 @@
  *
  * Varsion 0.09 - 08/01/2008
  *     - Add "ProofAsstAssrtListFreespace"          RunParm
+ *
+ * Version 0.10 - 10/18/2026
+ *     - Add newWorkerPreferences() for the multi-threaded
+ *       Proof Assistant batch test.
+ *     - Add "ProofAsstAutoUnifyDelay"              RunParm
  */
 
 package mmj.pa;
@@ -58,11 +63,13 @@ import java.awt.*;
 import java.io.File;
 import java.util.*;
 import java.util.List;
+import java.util.Map.Entry;
 
 import javax.swing.text.AttributeSet;
 import javax.swing.text.SimpleAttributeSet;
 
 import mmj.lang.WorkVarManager;
+import mmj.pa.BaseSetting.JSONSerializable;
 import mmj.pa.PaConstants.*;
 import mmj.search.SearchMgr;
 import mmj.tmff.TMFFPreferences;
@@ -235,6 +242,12 @@ public class ProofAsstPreferences {
     /** Syntax highlighting for Proof Asst GUI. */
     public Setting<Boolean> highlightingEnabled;
 
+    /**
+     * Milliseconds of typing inactivity after which the Proof Asst GUI unifies
+     * the worksheet in the background, or 0 for no background unification.
+     */
+    public Setting<Integer> autoUnifyDelay;
+
     public Map<String, SimpleAttributeSet> highlighting = null;
 
     /** Foreground color for Proof Asst GUI. */
@@ -392,6 +405,12 @@ public class ProofAsstPreferences {
         if (highlightingEnabled.get())
             PaConstants.doStyleDefaults(highlighting = new HashMap<>());
 
+        autoUnifyDelay = setIntBound(
+            store.addSetting(PFX + "autoUnifyDelay",
+                PaConstants.PROOF_ASST_AUTO_UNIFY_DELAY_DEFAULT),
+            PaConstants.PROOF_ASST_AUTO_UNIFY_DELAY_MIN,
+            PaConstants.PROOF_ASST_AUTO_UNIFY_DELAY_MAX);
+
         foregroundColor = store.addSetting(PFX + "foregroundColor",
             PaConstants.DEFAULT_FOREGROUND_COLOR);
         backgroundColor = store.addSetting(PFX + "backgroundColor",
@@ -435,6 +454,34 @@ public class ProofAsstPreferences {
         setSearchMgr(null);
     }
 
+    /**
+     * Returns a copy of these preferences for a worker thread of the
+     * multi-threaded Proof Assistant batch test.
+     * <p>
+     * The setting values are copied, so that a worker can change its own
+     * (AsciiRetest turns off RecheckProofAsstUsingProofVerifier, for
+     * example), while the TMFFPreferences, which unification only reads, are
+     * shared. The WorkVarManager, StepUnifier and SearchMgr are not copied:
+     * each worker needs its own.
+     *
+     * @return new ProofAsstPreferences with the same settings.
+     */
+    public ProofAsstPreferences newWorkerPreferences() {
+        final ProofAsstPreferences p = new ProofAsstPreferences();
+        p.tmffPreferences = tmffPreferences;
+        for (final Entry<String, JSONSerializable> e : p.store.settings
+            .entrySet())
+        {
+            final JSONSerializable from = store.settings.get(e.getKey());
+            if (from instanceof Setting && e.getValue() instanceof Setting) {
+                @SuppressWarnings("unchecked")
+                final Setting<Object> to = (Setting<Object>)e.getValue();
+                to.set(((Setting<?>)from).get());
+            }
+        }
+        return p;
+    }
+
     public SessionStore getStore() {
         return store;
     }
@@ -294,7 +294,7 @@ public abstract class ProofStepStmt extends ProofWorkStmt {
         int wvCnt = 0;
         for (int i = 0; i < workVarList.size(); i++) {
             workVar = workVarList.get(i);
-            substNode = ((WorkVarHyp)workVar.getActiveVarHyp()).paSubst;
+            substNode = ((WorkVarHyp)workVar.getActiveVarHyp()).getPaSubst();
             if (substNode == null)
                 continue;
             wvArray[wvCnt] = workVar.getId();
@@ -624,9 +624,7 @@ public abstract class ProofStepStmt extends ProofWorkStmt {
 
     // on existing formulas we retrieve parse tree from Stmt
     protected void getNewFormulaStepParseTree() throws ProofAsstException {
-        formulaParseTree = w.grammar.parseFormulaWithoutSafetyNet(formula,
-            w.comboFrame.hypArray, // is array, confusingly...
-            w.getMaxSeq());
+        formulaParseTree = w.parseStepFormula(formula);
         if (formulaParseTree == null)
             w.triggerLoadStructureException(
                 (int)w.proofTextTokenizer.getCurrentCharNbr() + 1
@@ -60,6 +60,12 @@
  *       parameter, and added update of it for TheoremLoader
  *       updates (saving total rebuilds for each TheoremLoader
  *       update.)
+ *
+ * Oct-18-2026
+ *     - Remember the assertion found for each empty-Ref step
+ *       (stepUnifyCache) so that repeated unifications of an
+ *       unchanged step only need to re-check that assertion.
+ *     - Record unification metrics (see mmj.util.Metrics).
  */
 
 package mmj.pa;
@@ -74,6 +80,10 @@ import mmj.pa.MacroManager.CallbackType;
 import mmj.pa.PaConstants.*;
 import mmj.pa.StepRequest.StepRequestType;
 import mmj.transforms.TransformationManager;
+import mmj.util.MergeSortedArrayLists;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Counter;
+import mmj.util.Metrics.Timer;
 import mmj.verify.*;
 
 /**
@@ -140,6 +150,17 @@ import mmj.verify.*;
  */
 public class ProofUnifier {
 
+    private static final Timer UNIFY_TIMER = Metrics
+        .timer("unify_worksheet_seconds");
+    private static final Counter UNIFY_CANDIDATES = Metrics
+        .counter("unify_candidates_total");
+    private static final Counter UNIFY_ATTEMPTS = Metrics
+        .counter("unify_attempts_total");
+    private static final Counter UNIFY_SUCCESSES = Metrics
+        .counter("unify_successes_total");
+    private static final Counter UNIFY_CACHE_HITS = Metrics
+        .counter("unify_step_cache_hits_total");
+
     private final ProofAsstPreferences proofAsstPreferences;
     private final LogicalSystem logicalSystem;
     private final Grammar grammar;
@@ -151,8 +172,27 @@ public class ProofUnifier {
 
     private Cnst provableLogicStmtTyp;
 
-    // only one lookup table for now - sorted by MObj.seq
-    private List<Assrt> unifySearchList = null;
+    // sorted by MObj.seq
+    private ArrayList<Assrt> unifySearchList = null;
+
+    // unifySearchList indexed by assertion formula parse tree
+    private DiscriminationTree<Assrt> unifySearchIndex = null;
+
+    // empty-Ref step key (see getStepUnifyCacheKey()) to the assertion
+    // which unified with the step, least recently used first. Cleared
+    // whenever unifySearchList changes.
+    private final LinkedHashMap<String, Assrt> stepUnifyCache = new LinkedHashMap<String, Assrt>(
+        16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<String, Assrt> eldest)
+        {
+            return size() > PaConstants.UNIFIER_STEP_CACHE_SIZE;
+        }
+    };
 
     public List<Assrt> getUnifySearchListByMObjSeq() {
         return unifySearchList;
@@ -256,6 +296,9 @@ public class ProofUnifier {
      * <li>LogicalSystem.stmtTbl is sorted into ascending database sequence
      * (MObj.seq) in an ArrayList (only Theorems and Axioms with the Provable
      * Logic Statment Type (i.e. "|-" are included.)</li>
+     * <li>The same assertions are loaded into a DiscriminationTree keyed by
+     * their formula parse trees, used to narrow down the search for steps
+     * without a Ref.</li>
      * </ol>
      *
      * @param messages the mmj.lang.Messages object used to store error and
@@ -304,8 +347,15 @@ public class ProofUnifier {
 
         Collections.sort(unifySearchList, MObj.SEQ);
 
+        unifySearchIndex = new DiscriminationTree<>();
+        for (final Assrt a : unifySearchList)
+            unifySearchIndex.add(a.getExprParseTree().getRoot(), a);
+
         stepSelectorSearch = new StepSelectorSearch(proofAsstPreferences,
-            verifyProofs, provableLogicStmtTyp, unifySearchList);
+            verifyProofs, provableLogicStmtTyp, unifySearchList,
+            unifySearchIndex);
+
+        stepUnifyCache.clear();
 
         return tablesInitialized = true;
     }
@@ -315,8 +365,8 @@ public class ProofUnifier {
 
     /**
      * Merges a list of added Assrt objects sorted by MObj seq into the
-     * unifySearchList and passes the list on to the StepSelectorSearch for its
-     * updates.
+     * unifySearchList and its index, and passes the list on to the
+     * StepSelectorSearch for its updates.
      *
      * @param listOfAssrtAddsSortedBySeq List of Assrt sorted by MObj.seq
      *            representing new assertions which were added to the
@@ -326,9 +376,21 @@ public class ProofUnifier {
         final List<Theorem> listOfAssrtAddsSortedBySeq)
     {
 
-        // new MergeSortedArrayLists(
-        // unifySearchList, listOfAssrtAddsSortedBySeq, MObj.SEQ, true); //
-        // abortIfDupsFound
+        final List<Assrt> addList = new ArrayList<>(
+            listOfAssrtAddsSortedBySeq.size());
+        for (final Theorem t : listOfAssrtAddsSortedBySeq)
+            if (t.getFormula().getTyp() == provableLogicStmtTyp
+                && !t.isExcluded())
+            {
+                addList.add(t);
+                unifySearchIndex.add(t.getExprParseTree().getRoot(), t);
+            }
+
+        new MergeSortedArrayLists<>(unifySearchList, addList,
+            MObj.SEQ::compare, true); // abortIfDupsFound
+
+        // a new assertion may now be found ahead of a remembered one
+        stepUnifyCache.clear();
 
         stepSelectorSearch
             .mergeListOfAssrtAddsSortedBySeq(listOfAssrtAddsSortedBySeq);
@@ -362,6 +424,18 @@ public class ProofUnifier {
         final ProofWorksheet proofWorksheet, final Messages messages,
         final boolean noConvertWV) throws VerifyException
     {
+        final long start = UNIFY_TIMER.start();
+        try {
+            unifyAllSteps(proofWorksheet, messages, noConvertWV);
+        } finally {
+            UNIFY_TIMER.stop(start);
+        }
+    }
+
+    private void unifyAllSteps(final ProofWorksheet proofWorksheet,
+        final Messages messages, final boolean noConvertWV)
+            throws VerifyException
+    {
 
         if (!getTablesInitialized())
             throw new IllegalStateException(new ProofAsstException(
@@ -629,7 +703,11 @@ public class ProofUnifier {
 
         final Map<DerivationStep, UnifyResult> autoBestResults = new HashMap<>();
 
-        for (final Assrt a : unifySearchList) {
+        final Map<DerivationStep, Set<Assrt>> stepCandidates = new HashMap<>();
+        final List<Assrt> searchList = buildCandidateSearchList(autoDerivSteps,
+            autoDerivStepsCount, stepCandidates);
+
+        for (final Assrt a : searchList) {
             if (a.getSeq() >= maxSeq)
                 // halt the scan -- the list is sorted!!!
                 break;
@@ -645,6 +723,9 @@ public class ProofUnifier {
                 derivStep = autoDerivSteps[i];
                 assert derivStep.isAutoStep();
 
+                if (!isCandidate(stepCandidates, derivStep, assrt))
+                    continue;
+
                 if (derivStep.getRef() != null)
                     if (assrt != derivStep.getRef())
                         continue;
@@ -742,7 +823,30 @@ public class ProofUnifier {
         final int maxSeq = proofWorksheet.getMaxSeq();
         int nbrCompleted = 0;
 
-        for (final Assrt a : unifySearchList) {
+        final Map<DerivationStep, String> stepKeys = new HashMap<>();
+        for (int i = 0; i < derivStepsWithEmptyRefCount; i++) {
+            final String key = getStepUnifyCacheKey(maxSeq,
+                derivStepsWithEmptyRef[i]);
+            if (key != null)
+                stepKeys.put(derivStepsWithEmptyRef[i], key);
+        }
+
+        replayStepUnifyCache(stepKeys);
+        if (derivStepsWithEmptyRefCount == 0)
+            return;
+
+        // steps which unified with an assertion having $d errors before
+        // they were done: their result is not the first unification found
+        final Set<DerivationStep> djErrorSteps = new HashSet<>();
+
+        final Map<DerivationStep, Set<Assrt>> stepCandidates = new HashMap<>();
+        final List<Assrt> searchList = buildCandidateSearchList(
+            derivStepsWithEmptyRef, derivStepsWithEmptyRefCount,
+            stepCandidates);
+        int nbrAttempts = 0;
+        int nbrSuccesses = 0;
+
+        for (final Assrt a : searchList) {
             if (a.getSeq() >= maxSeq)
                 // halt the scan -- the list is sorted!!!
                 break;
@@ -758,16 +862,26 @@ public class ProofUnifier {
                 derivStep = derivStepsWithEmptyRef[i];
                 assert !derivStep.isAutoStep();
 
-                if (derivStep.getHypNumber() == assrtNbrLogHyps) {
+                if (derivStep.getHypNumber() == assrtNbrLogHyps
+                    && isCandidate(stepCandidates, derivStep, assrt))
+                {
                     // this property could be changed after the next call, so
                     // save it
                     final UnifyResult res = unifyStepWithoutWorkVars();
+                    nbrAttempts++;
                     if (res.proper())
                         if (derivStep.djVarsErrorStatus == DjVarsErrorStatus.None) {
                             // stick fork in it, this one is done!
+                            final String key = stepKeys.get(derivStep);
+                            if (key != null
+                                && !djErrorSteps.contains(derivStep))
+                                stepUnifyCache.put(key, assrt);
                             derivStepsWithEmptyRef[i] = null;
                             nbrCompleted++;
+                            nbrSuccesses++;
                         }
+                        else
+                            djErrorSteps.add(derivStep);
                 }
                 continue;
             }
@@ -784,7 +898,141 @@ public class ProofUnifier {
                 continue;
             break;
         }
+
+        UNIFY_CANDIDATES.add(searchList.size());
+        UNIFY_ATTEMPTS.add(nbrAttempts);
+        UNIFY_SUCCESSES.add(nbrSuccesses);
+    }
+
+    /**
+     * Unifies empty-Ref steps with the assertion remembered for them in the
+     * stepUnifyCache.
+     * <p>
+     * The remembered assertion is simply unified again with the step, which
+     * confirms the result without scanning the unifySearchList. Steps which
+     * unify without $d errors are removed from derivStepsWithEmptyRef; the
+     * others are left for the full search (an assertion which is seen again
+     * there as the step's Ref is bypassed by markStepUnified()).
+     *
+     * @param stepKeys map of empty-Ref step to its stepUnifyCache key
+     * @throws VerifyException if an error occurs
+     */
+    private void replayStepUnifyCache(
+        final Map<DerivationStep, String> stepKeys) throws VerifyException
+    {
+        int nbrCompleted = 0;
+        for (int i = 0; i < derivStepsWithEmptyRefCount; i++) {
+            derivStep = derivStepsWithEmptyRef[i];
+            final String key = stepKeys.get(derivStep);
+            if (key == null)
+                continue;
+            final Assrt a = stepUnifyCache.get(key);
+            if (a == null)
+                continue;
+
+            assrt = a;
+            assrtNbrLogHyps = assrt.getLogHypArrayLength();
+            if (derivStep.getHypNumber() == assrtNbrLogHyps
+                && unifyStepWithoutWorkVars().proper()
+                && derivStep.djVarsErrorStatus == DjVarsErrorStatus.None)
+            {
+                derivStepsWithEmptyRef[i] = null;
+                nbrCompleted++;
+            }
+            else
+                stepUnifyCache.remove(key);
+        }
+
+        if (nbrCompleted > 0) {
+            shiftEmptyElements(derivStepsWithEmptyRef,
+                derivStepsWithEmptyRefCount);
+            derivStepsWithEmptyRefCount -= nbrCompleted;
+            UNIFY_CACHE_HITS.add(nbrCompleted);
+        }
     }
+
+    /**
+     * Builds the stepUnifyCache key of an empty-Ref step: the worksheet's
+     * maxSeq followed by the step formula and its hyps' formulas, in order.
+     * <p>
+     * Steps whose result depends on more than these -- steps with derived
+     * formulas or hyps, or with Work Variables -- are not remembered.
+     *
+     * @param maxSeq the worksheet's maxSeq
+     * @param d the derivation step
+     * @return the key, or null if the step is not to be remembered.
+     */
+    private static String getStepUnifyCacheKey(final int maxSeq,
+        final DerivationStep d)
+    {
+        if (d.getRef() != null || d.getFormula() == null
+            || d.hasDeriveStepFormula() || d.hasDeriveStepHyps()
+            || d.hasWorkVarsInStepOrItsHyps())
+            return null;
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append(maxSeq).append('\n').append(d.getFormula());
+        for (int i = 0; i < d.getHypNumber(); i++) {
+            final ProofStepStmt h = d.getHyp(i);
+            if (h == null || h.getFormula() == null)
+                return null;
+            sb.append('\n').append(h.getFormula());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds the list of assertions to be scanned for a set of steps.
+     * <p>
+     * The unifySearchIndex is used to find, for each step, the assertions
+     * whose formula is structurally compatible with the step formula. Other
+     * assertions cannot unify with the step, so there is no need to try them.
+     * The returned list is the union of the steps' candidates in MObj.seq
+     * order -- so that each step is tried against its candidates in the same
+     * order as the full unifySearchList scan -- and the candidates of each
+     * step are stored in the stepCandidates map.
+     * <p>
+     * A step whose formula is to be derived (or has not been parsed) can
+     * unify with anything, so if there is one the whole unifySearchList is
+     * returned and the step is left out of the stepCandidates map.
+     *
+     * @param steps array of steps to be unified
+     * @param stepsCount number of used entries in steps
+     * @param stepCandidates output map of step to its candidate assertions
+     * @return List of assertions sorted by MObj.seq.
+     */
+    private List<Assrt> buildCandidateSearchList(final DerivationStep[] steps,
+        final int stepsCount,
+        final Map<DerivationStep, Set<Assrt>> stepCandidates)
+    {
+        boolean searchAll = false;
+        final Set<Assrt> union = new HashSet<>();
+        for (int i = 0; i < stepsCount; i++) {
+            final DerivationStep d = steps[i];
+            if (d.hasDeriveStepFormula() || d.formulaParseTree == null) {
+                searchAll = true;
+                continue;
+            }
+            final Set<Assrt> candidates = unifySearchIndex.getCandidates(
+                d.formulaParseTree.getRoot(), d.workVarList != null);
+            stepCandidates.put(d, candidates);
+            union.addAll(candidates);
+        }
+        if (searchAll)
+            return unifySearchList;
+        final List<Assrt> searchList = new ArrayList<>(union);
+        Collections.sort(searchList, MObj.SEQ);
+        return searchList;
+    }
+
+    private static boolean isCandidate(
+        final Map<DerivationStep, Set<Assrt>> stepCandidates,
+        final DerivationStep d, final Assrt a)
+    {
+        final Set<Assrt> candidates = stepCandidates.get(d);
+        return candidates == null || candidates.contains(a);
+    }
+
     private boolean buildProofsAndErrorUnUnifiedSteps() {
         // ok, finish: error un-unified steps and
         // build proofs for the unified steps!
@@ -2536,7 +2784,7 @@ public class ProofUnifier {
         ParseNode substNode;
         for (int i = 0; i < updatedWorkVarList.size(); i++) {
             workVar = updatedWorkVarList.get(i);
-            substNode = ((WorkVarHyp)workVar.getActiveVarHyp()).paSubst;
+            substNode = ((WorkVarHyp)workVar.getActiveVarHyp()).getPaSubst();
             if (substNode == null)
                 throw new IllegalArgumentException(getException(
                     PaConstants.ERRMSG_UPD_WV_ASSIGNED_NULL_VALUE));
@@ -2774,9 +3022,9 @@ public class ProofUnifier {
                             proofWorksheet.getTheorem().getLabel(), typ,
                             typUnusedOptionalVarHyps.size());
 
-                    vH.paSubst = // this is a really key step :-)
+                    vH.setPaSubst( // this is a really key step :-)
                         new ParseNode(
-                            (VarHyp)typUnusedOptionalVarHyps.get(next++));
+                            (VarHyp)typUnusedOptionalVarHyps.get(next++)));
                 }
             }
         }
@@ -2986,6 +3234,10 @@ public class ProofUnifier {
         this.trManager = trManager;
     }
 
+    public TransformationManager getTransformationManager() {
+        return trManager;
+    }
+
     public <T extends MMJException> T addStepContext(final T e) {
         return ProofWorksheet.addLabelContext(proofWorksheet, StepContext
             .addStepContext(derivStep == null ? null : derivStep.getStep(), e));
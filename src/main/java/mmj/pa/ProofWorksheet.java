@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * ProofWorksheet.java  0.10 11/01/2011
+ * ProofWorksheet.java  0.11 10/18/2026
  * <code>
  * Version 0.02:
  *     - See extended "Derive" Feature notes below
@@ -104,6 +104,10 @@
  *
  * Nov-01-2011 Version 0.10
  *           - minor re-writing of cursor handling code.
+ *
+ * Oct-18-2026 Version 0.11
+ *           - Added stepParseCache and parseStepFormula(), so that
+ *             unchanged step formulas are not parsed again.
  */
 
 package mmj.pa;
@@ -194,6 +198,9 @@ public class ProofWorksheet {
     public StringBuilder tmffFormulaSB;
     public MacroManager macroManager;
 
+    /** Parse trees of earlier unifications, or null to always parse. */
+    public StepParseCache stepParseCache;
+
     public StepSelectorResults stepSelectorResults = null;
     public StepRequest stepRequest = null;
 
@@ -496,6 +503,21 @@ public class ProofWorksheet {
         return maxSeq;
     }
 
+    /**
+     * Parses a step formula in the worksheet's combo frame, using the
+     * stepParseCache if there is one.
+     *
+     * @param formula the step formula.
+     * @return the ParseTree, or null if the formula does not parse.
+     */
+    public ParseTree parseStepFormula(final Formula formula) {
+        if (stepParseCache != null)
+            return stepParseCache.parse(grammar, formula, comboFrame.hypArray,
+                getMaxSeq());
+        return grammar.parseFormulaWithoutSafetyNet(formula,
+            comboFrame.hypArray, getMaxSeq());
+    }
+
     public void setMaxSeq(final int maxSeq) {
         this.maxSeq = maxSeq;
     }
@@ -2033,8 +2055,7 @@ public class ProofWorksheet {
             }
 
             if (e.formulaParseTree == null)
-                e.formulaParseTree = grammar.parseFormulaWithoutSafetyNet(
-                    e.formula, comboFrame.hypArray, getMaxSeq());
+                e.formulaParseTree = parseStepFormula(e.formula);
 
             if (e.isHyp) {
                 hypStepCnt++;
@@ -7,13 +7,16 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * ProofWorksheetParser.java  0.03 03/01/2008
+ * ProofWorksheetParser.java  0.04 10/18/2026
  *
  * Feb-1-2008 Version 0.02:
  *     - add inputCursorPos argument to next() method.
  *
  * Mar-1-2008 Version 0.03:
  *     - add stepRequest argument to next() method.
+ *
+ * Oct-18-2026 Version 0.04:
+ *     - add setStepParseCache().
  */
 
 package mmj.pa;
@@ -49,6 +52,7 @@ public class ProofWorksheetParser implements Closeable {
     private final Grammar grammar;
     private final Messages messages;
     private final MacroManager macroManager;
+    private StepParseCache stepParseCache;
 
     private String nextToken;
     private final Tokenizer proofTextTokenizer;
@@ -162,6 +166,15 @@ public class ProofWorksheetParser implements Closeable {
             return false;
     }
 
+    /**
+     * Sets the StepParseCache given to the ProofWorksheets returned by next().
+     *
+     * @param stepParseCache the StepParseCache, or null to always parse.
+     */
+    public void setStepParseCache(final StepParseCache stepParseCache) {
+        this.stepParseCache = stepParseCache;
+    }
+
     /**
      * Returns the next ProofWorksheet from the input source for situations when
      * input cursor position not available.
@@ -196,6 +209,7 @@ public class ProofWorksheetParser implements Closeable {
         final ProofWorksheet proofWorksheet = new ProofWorksheet(
             proofTextTokenizer, proofAsstPreferences, logicalSystem, grammar,
             messages, macroManager);
+        proofWorksheet.stepParseCache = stepParseCache;
 
         /*
          * loadWorksheet() returns next token *after* this
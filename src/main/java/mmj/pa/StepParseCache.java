@@ -0,0 +1,132 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * StepParseCache.java  0.01 10/18/2026
+ *
+ * Version 0.01:
+ *     --> new.
+ */
+
+package mmj.pa;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import mmj.lang.*;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Counter;
+import mmj.verify.Grammar;
+
+/**
+ * Remembers the parse trees of proof step formulas between unifications, so
+ * that only the steps whose text changed are parsed again.
+ * <p>
+ * A parse tree is remembered under the worksheet's maxSeq and the formula,
+ * with each variable replaced by the label of the VarHyp it is parsed with.
+ * The cache keeps its own copy of each tree and hands out copies, because
+ * worksheets may update their trees in place.
+ * <p>
+ * The cache is not thread safe: it belongs to one ProofAsst, and is cleared
+ * when the ProofAsst lookup tables are rebuilt or the TheoremLoader adds
+ * statements.
+ */
+public class StepParseCache {
+
+    private static final Counter HITS = Metrics
+        .counter("step_parse_cache_hits_total");
+
+    // key (see getKey()) to parse tree, least recently used first
+    private final LinkedHashMap<String, ParseTree> cache = new LinkedHashMap<String, ParseTree>(
+        16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<String, ParseTree> eldest)
+        {
+            return size() > PaConstants.STEP_PARSE_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Parses a proof step formula, or returns a copy of the remembered parse
+     * tree of the same formula.
+     *
+     * @param grammar the Grammar, used for formulas not in the cache.
+     * @param formula the step formula.
+     * @param hypArray the worksheet's combo frame hyps, as for
+     *            {@code Grammar.parseFormulaWithoutSafetyNet()}.
+     * @param maxSeq the worksheet's maxSeq.
+     * @return the ParseTree, or null if the formula does not parse.
+     */
+    public ParseTree parse(final Grammar grammar, final Formula formula,
+        final Hyp[] hypArray, final int maxSeq)
+    {
+        final String key = getKey(formula, hypArray, maxSeq);
+        if (key == null)
+            return grammar.parseFormulaWithoutSafetyNet(formula, hypArray,
+                maxSeq);
+
+        final ParseTree cached = cache.get(key);
+        if (cached != null) {
+            HITS.increment();
+            return cached.deepClone();
+        }
+
+        final ParseTree parseTree = grammar
+            .parseFormulaWithoutSafetyNet(formula, hypArray, maxSeq);
+        if (parseTree != null)
+            cache.put(key, parseTree.deepClone());
+        return parseTree;
+    }
+
+    /** Forgets all parse trees. */
+    public void clear() {
+        cache.clear();
+    }
+
+    /** @return the number of parse trees remembered. */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Builds the cache key of a formula: maxSeq, then the formula symbols,
+     * each Var replaced by "$" and the label of its VarHyp (labels cannot
+     * contain "$").
+     *
+     * @param formula the step formula.
+     * @param hypArray the worksheet's combo frame hyps.
+     * @param maxSeq the worksheet's maxSeq.
+     * @return the key, or null if a Var has no VarHyp (the parse fails).
+     */
+    private static String getKey(final Formula formula, final Hyp[] hypArray,
+        final int maxSeq)
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(maxSeq);
+        final Sym[] syms = formula.getSym();
+        for (int i = 0; i < formula.getCnt(); i++) {
+            final Sym sym = syms[i];
+            sb.append(' ');
+            if (sym instanceof Var) {
+                VarHyp vH = ((Var)sym).getVarHyp(hypArray);
+                if (vH == null && sym instanceof WorkVar)
+                    vH = ((Var)sym).getActiveVarHyp();
+                if (vH == null)
+                    return null;
+                sb.append('$').append(vH.getLabel());
+            }
+            else
+                sb.append(sym.getId());
+        }
+        return sb.toString();
+    }
+}
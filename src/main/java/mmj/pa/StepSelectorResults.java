@@ -11,6 +11,9 @@
  *
  * Version 0.01:
  * ==> New.
+ *
+ * Oct-18-2026:
+ * ==> Added getters for use outside the ProofAsstGUI.
  */
 
 package mmj.pa;
@@ -45,4 +48,26 @@ public class StepSelectorResults {
         this.refArray = refArray;
         this.selectionArray = selectionArray;
     }
+
+    /**
+     * @return step for which the Step Selector was run.
+     */
+    public String getStep() {
+        return step;
+    }
+
+    /**
+     * @return the candidate assertions plus a null entry at the end of the
+     *         array.
+     */
+    public Assrt[] getRefArray() {
+        return refArray;
+    }
+
+    /**
+     * @return the preformatted selection strings, parallel to the refArray.
+     */
+    public String[] getSelectionArray() {
+        return selectionArray;
+    }
 }
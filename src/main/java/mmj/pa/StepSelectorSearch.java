@@ -19,6 +19,13 @@
  * ==> fixed bug in binary search by changing
  *        "mid = (low + high) / 2;"
  *     to "mid = low + ((high - low) / 2);"
+ *
+ * Version 0.03:
+ * ==> use DiscriminationTree indexes of assertion conclusions and
+ *     logical hypotheses to skip assertions that cannot unify.
+ *
+ * Version 0.04:
+ * ==> record search time metrics (see mmj.util.Metrics).
  */
 
 package mmj.pa;
@@ -27,6 +34,8 @@ import java.util.*;
 
 import mmj.lang.*;
 import mmj.util.MergeSortedArrayLists;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Timer;
 import mmj.verify.VerifyException;
 import mmj.verify.VerifyProofs;
 
@@ -36,6 +45,9 @@ import mmj.verify.VerifyProofs;
  */
 public class StepSelectorSearch {
 
+    private static final Timer SEARCH_TIMER = Metrics
+        .timer("step_selector_search_seconds");
+
     private final ProofAsstPreferences proofAsstPreferences;
     private final VerifyProofs verifyProofs;
     private final Cnst provableLogicStmtTyp;
@@ -47,6 +59,16 @@ public class StepSelectorSearch {
 //  private Assrt[]                assrtArray;
     private final ArrayList<Assrt> assrtAList;
 
+    /*
+     * assertion conclusion index, shared with (and maintained by) ProofUnifier
+     */
+    private final DiscriminationTree<Assrt> conclusionIndex;
+
+    /*
+     * assertion logical hypothesis index, one entry per LogHyp
+     */
+    private final DiscriminationTree<Assrt> logHypIndex;
+
     /*
      * these instance variables are "global" work items
      * stored here for convenience.
@@ -67,10 +89,13 @@ public class StepSelectorSearch {
      * @param verifyProofs the VerifyProofs object
      * @param provableLogicStmtTyp a Provable Logic Stmt Type Code
      * @param unifySearchList the unification search list
+     * @param conclusionIndex index of the unifySearchList assertions by their
+     *            formula parse trees (maintained by the caller)
      */
     public StepSelectorSearch(final ProofAsstPreferences proofAsstPreferences,
         final VerifyProofs verifyProofs, final Cnst provableLogicStmtTyp,
-        final List<Assrt> unifySearchList)
+        final List<Assrt> unifySearchList,
+        final DiscriminationTree<Assrt> conclusionIndex)
     {
 
         this.proofAsstPreferences = proofAsstPreferences;
@@ -93,6 +118,16 @@ public class StepSelectorSearch {
         assrtAList.addAll(unifySearchList);
 
         Collections.sort(assrtAList, Assrt.NBR_LOG_HYP_SEQ);
+
+        this.conclusionIndex = conclusionIndex;
+        logHypIndex = new DiscriminationTree<>();
+        for (final Assrt a : assrtAList)
+            addToLogHypIndex(a);
+    }
+
+    private void addToLogHypIndex(final Assrt a) {
+        for (final LogHyp h : a.getLogHypArray())
+            logHypIndex.add(h.getExprParseTree().getRoot(), a);
     }
 
     public void mergeListOfAssrtAddsSortedBySeq(
@@ -106,6 +141,9 @@ public class StepSelectorSearch {
 
         new MergeSortedArrayLists<>(assrtAList, addList, Assrt.NBR_LOG_HYP_SEQ,
             true); // abortIfDupsFound
+
+        for (final Assrt a : addList)
+            addToLogHypIndex(a);
     }
 
     /**
@@ -124,6 +162,7 @@ public class StepSelectorSearch {
         final DerivationStep derivStep) throws VerifyException
     {
 
+        final long start = SEARCH_TIMER.start();
         boolean storeOverflow = false;
 
         this.derivStep = derivStep;
@@ -154,6 +193,10 @@ public class StepSelectorSearch {
         final ProofStepStmt[] derivStepSortedHypArray = derivStep
             .getSortedHypArray();
 
+        /* Prune the search using the conclusion and hypothesis indexes
+         */
+        final Set<Assrt> candidates = computeCandidates();
+
         /*  Binary search for 1st Assrt w/correct number of log hyps.
          */
         int assrtIndex = computeSearchStart(nbrDerivStepHyps);
@@ -189,7 +232,8 @@ public class StepSelectorSearch {
                         hypIndex++;
                         continue hypLoop;
                     }
-                    if (isAssrtUnifiable())
+                    if ((candidates == null || candidates.contains(assrt))
+                        && isAssrtUnifiable())
                         if (addAssrtToStore(store)) { // isFull()
                             storeOverflow = true;
                             break hypLoop;
@@ -206,6 +250,7 @@ public class StepSelectorSearch {
             break;
         }
 
+        SEARCH_TIMER.stop(start);
         return store.createStepSelectorResults(derivStep.getStep(),
             storeOverflow);
     }
@@ -268,6 +313,35 @@ public class StepSelectorSearch {
         return ++mid;
     }
 
+    /**
+     * Computes the set of assertions which might unify with derivStep.
+     * <p>
+     * An assertion is a candidate only if its conclusion might unify with the
+     * step formula (if there is one) and, for each step hypothesis that is
+     * present, at least one of its logical hypotheses might unify with that
+     * hypothesis. Work Variables in the step match anything.
+     *
+     * @return Set of candidate assertions, or null if every assertion is a
+     *         candidate.
+     */
+    private Set<Assrt> computeCandidates() {
+        Set<Assrt> candidates = null;
+        if (derivStep.formulaParseTree != null)
+            candidates = conclusionIndex
+                .getCandidates(derivStep.formulaParseTree.getRoot(), true);
+        for (final ProofStepStmt hyp : derivStep.getHypList()) {
+            if (hyp == null)
+                continue;
+            final Set<Assrt> hypCandidates = logHypIndex
+                .getCandidates(hyp.formulaParseTree.getRoot(), true);
+            if (candidates == null)
+                candidates = hypCandidates;
+            else
+                candidates.retainAll(hypCandidates);
+        }
+        return candidates;
+    }
+
     private boolean isAssrtUnifiable() throws VerifyException {
 
         if (unifyStepFormulaWithWorkVars()) {
@@ -217,7 +217,7 @@ public class StepUnifier {
     private void loadAssrtSubst(final ParseNode[] assrtSubst) {
         for (int i = 0; i < assrtHypArray.length; i++)
             if (assrtHypArray[i] instanceof VarHyp) {
-                assrtSubst[i] = ((VarHyp)assrtHypArray[i]).paSubst;
+                assrtSubst[i] = ((VarHyp)assrtHypArray[i]).getPaSubst();
                 if (assrtSubst[i].hasUpdatedWorkVar())
                     assrtSubst[i] = assrtSubst[i]
                         .cloneResolvingUpdatedWorkVars();
@@ -288,7 +288,7 @@ public class StepUnifier {
         // initializeTargetVarHypPASubst
         for (int i = 0; i < assrtHypArray.length; i++)
             if (assrtHypArray[i] instanceof VarHyp)
-                ((VarHyp)assrtHypArray[i]).paSubst = null;
+                ((VarHyp)assrtHypArray[i]).setPaSubst(null);
 
         // allocateNewProofStepStuff
         appliedCnt = 0;
@@ -545,7 +545,7 @@ public class StepUnifier {
                 continue;
 
             sourceVarHyp = (VarHyp)assrtHypArray[i];
-            if (sourceVarHyp.paSubst != null)
+            if (sourceVarHyp.getPaSubst() != null)
                 continue;
 
             workVarHyp = workVarManager.allocWorkVarHyp(sourceVarHyp.getTyp());
@@ -555,10 +555,11 @@ public class StepUnifier {
                     true), // generatedDuringAccum
                 F_LEVEL_NBR); // fLevel
 
-            sourceVarHyp.paSubst = new ParseNode(workVarHyp);
+            sourceVarHyp.setPaSubst(new ParseNode(workVarHyp));
 
             addToAppliedArray(
-                new UnifySubst(sourceVarHyp, sourceVarHyp.paSubst, true), // generatedDuringAccum
+                new UnifySubst(sourceVarHyp, sourceVarHyp.getPaSubst(),
+                    true), // generatedDuringAccum
                 F_LEVEL_NBR); // fLevel
         }
     }
@@ -576,8 +577,8 @@ public class StepUnifier {
                 sourceNode, // toNode
                 false); // generatedDuringAccum
 
-            if (currLevel == F_LEVEL_NBR && targetVarHyp.paSubst == null) {
-                targetVarHyp.paSubst = sourceNode;
+            if (currLevel == F_LEVEL_NBR && targetVarHyp.getPaSubst() == null) {
+                targetVarHyp.setPaSubst(sourceNode);
                 addToAppliedArray(targetSubst, F_LEVEL_NBR); // fLevel index
             }
             else
@@ -609,7 +610,7 @@ public class StepUnifier {
             if (!curr.generatedDuringAccum)
                 toParseNode = curr.toNode.cloneTargetToSourceVars();
 
-            if (curr.fromHyp.paSubst == null) {
+            if (curr.fromHyp.getPaSubst() == null) {
                 final int returnCode = toParseNode
                     .checkWorkVarHasOccursIn((WorkVarHyp)curr.fromHyp);
 
@@ -621,13 +622,13 @@ public class StepUnifier {
             }
         }
 
-        if (curr.fromHyp.paSubst == null) {
-            curr.fromHyp.paSubst = toParseNode;
+        if (curr.fromHyp.getPaSubst() == null) {
+            curr.fromHyp.setPaSubst(toParseNode);
             addToAppliedArray(curr, currLevel);
             return true;
         }
 
-        return subunify(curr.fromHyp.paSubst, toParseNode);
+        return subunify(curr.fromHyp.getPaSubst(), toParseNode);
     }
 
     // clone of mergeSubst()
@@ -640,7 +641,7 @@ public class StepUnifier {
             if (!currGeneratedDuringAccum)
                 toParseNode = currToNode.cloneTargetToSourceVars();
 
-            if (currFromHyp.paSubst == null) {
+            if (currFromHyp.getPaSubst() == null) {
                 final int returnCode = toParseNode
                     .checkWorkVarHasOccursIn((WorkVarHyp)currFromHyp);
 
@@ -652,14 +653,14 @@ public class StepUnifier {
             }
         }
 
-        if (currFromHyp.paSubst == null) {
-            currFromHyp.paSubst = toParseNode;
+        if (currFromHyp.getPaSubst() == null) {
+            currFromHyp.setPaSubst(toParseNode);
             addToAppliedArray(new UnifySubst(currFromHyp, currToNode,
                 currGeneratedDuringAccum), currLevel);
             return true;
         }
 
-        return subunify(currFromHyp.paSubst, toParseNode);
+        return subunify(currFromHyp.getPaSubst(), toParseNode);
     }
 
     /**
@@ -749,7 +750,7 @@ public class StepUnifier {
             // apply a substitution value more than once per
             // variable during unification -- so if the VarHyp
             // is mentioned in array "applied", erase .paSubst.
-            appliedSubst.fromHyp.paSubst = null;
+            appliedSubst.fromHyp.setPaSubst(null);
 
             if (appliedSubst.fromHyp instanceof WorkVarHyp
                 && appliedSubst.toNode == null)
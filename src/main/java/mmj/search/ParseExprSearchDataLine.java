@@ -25,7 +25,8 @@ public class ParseExprSearchDataLine extends SearchDataLine {
     {
         super(csa, i, searchDataGetter);
         searchUnifier = null;
-        searchUnifier = csa.searchMgr.getSearchUnifier();
+        // not shared: each search shard has its own SearchDataLines
+        searchUnifier = new SearchUnifier();
         if (csa.searchOutput.searchReturnCode == 0)
             parseSearchTerms(csa);
     }
@@ -24,6 +24,10 @@ public class SearchConstants {
     public static final int SEARCH_RETURN_CODE_EXECUTION_ERROR = 4;
     public static final int SEARCH_RETURN_CODE_FATAL_ERROR = 16;
     public static final String SEARCH_FONT_FAMILY = "Monospaced";
+    /** minimum number of assertions scanned by one search shard */
+    public static final int SEARCH_SHARD_MIN_LEN = 256;
+    /** number of search shards per pool thread, for load balancing */
+    public static final int SEARCH_SHARDS_PER_THREAD = 4;
     public static final String SEARCH_OPTIONS_NEW_STMT_LABEL_PROMPT = ""
         + "Statement label, or a blank?";
     public static final String SEARCH_OPTIONS_NEW_STMT_LABEL_PROMPT_2 = ""
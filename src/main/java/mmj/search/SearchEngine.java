@@ -11,21 +11,33 @@
  *
  * Version 0.01:
  * Aug-09-2013: new from decompilation.
+ *
+ * Version 0.02:
+ * Oct-18-2026: - Scan assrtAList in parallel shards on a shared pool instead
+ *                of a new single thread executor per search.
+ *              - searchMaxTime and searchMaxResults apply to the whole search.
+ *
+ * Version 0.03:
+ * Oct-18-2026: - Record search time metrics (see mmj.util.Metrics).
  */
 
 package mmj.search;
 
-import java.util.BitSet;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import mmj.lang.*;
 import mmj.pa.*;
 import mmj.verify.VerifyException;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Timer;
 import mmj.verify.VerifyProofs;
 
 public class SearchEngine {
 
+    private static final Timer SEARCH_TIMER = Metrics.timer("search_seconds");
+
     private final SearchMgr searchMgr;
     private SearchArgs searchArgs;
     private CompiledSearchArgs compiledSearchArgs = null;
@@ -40,14 +52,12 @@ public class SearchEngine {
     private List<Assrt> assrtAList;
     private DerivationStep derivStep = null;
     private ProofStepStmt[] derivStepHypArray = null;
-    private Assrt assrt = null;
-    private int assrtNbrLogHyps = 0;
-    private Hyp[] assrtHypArray = null;
-    private LogHyp[] assrtLogHypArray = null;
-    private ParseNode[] assrtSubst = null;
     private boolean stepSearchMode = false;
     private boolean substitutions = false;
 
+    /** pool shared by all searches, created on first use */
+    private static ForkJoinPool searchPool;
+
     public SearchEngine(final SearchMgr searchMgr, final ProofAsst proofAsst,
         final ProofAsstPreferences proofAsstPreferences,
         final BookManager bookManager, final VerifyProofs verifyProofs,
@@ -67,6 +77,7 @@ public class SearchEngine {
     }
 
     public SearchOutput execSearch() {
+        final long start = SEARCH_TIMER.start();
         searchOutput = searchMgr.getSearchOutput();
         searchArgs = searchMgr.getSearchArgs();
         stepSearchMode = searchArgs.stepSearchMode;
@@ -77,46 +88,31 @@ public class SearchEngine {
         compiledSearchArgs = searchArgs.compile(searchMgr, bookManager,
             searchOutput, proofAsst, proofAsstPreferences, verifyProofs,
             provableLogicStmtTyp);
-        if (searchOutput.searchReturnCode == 0) {
-            final FutureTask<SearchOutput> search = new FutureTask<>(
-                new Callable<SearchOutput>()
-            {
-                    public SearchOutput call() throws Exception {
-                        return searchTask();
-                    }
-                });
-            Executors.newSingleThreadExecutor().execute(search);
-            try {
-                searchOutput = search.get(compiledSearchArgs.searchMaxTime,
-                    TimeUnit.SECONDS);
-            } catch (final InterruptedException interruptedexception) {
-                searchOutput.storeError(3, 30,
-                    SearchConstants.ERRMSG_SEARCH_TASK_INTERRUPTED_1
-                        + interruptedexception.getMessage());
-            } catch (final ExecutionException executionexception) {
-                searchOutput.storeError(4, 30,
-                    SearchConstants.ERRMSG_SEARCH_TASK_EXECUTION_1
-                        + executionexception.getCause() + " "
-                        + executionexception.getMessage());
-                throw new IllegalArgumentException(
-                    "Rethrowing ExecutionException", executionexception);
-            } catch (final TimeoutException timeoutexception) {
-                searchOutput.storeError(2, 30,
-                    SearchConstants.ERRMSG_SEARCH_TASK_TIMEOUT_1
-                        + timeoutexception.getMessage());
-            }
-        }
+        if (searchOutput.searchReturnCode == 0)
+            searchOutput = searchTask();
         searchOutput.finalize(compiledSearchArgs, bookManager,
             proofAsst.getMessages());
+        SEARCH_TIMER.stop(start);
         return searchOutput;
     }
 
+    /**
+     * Runs the search, scanning the assertion list in parallel on the shared
+     * search pool.
+     * <p>
+     * searchMaxTime is applied to the search as a whole: when it expires the
+     * remaining shards are cancelled and a timeout error is stored.
+     *
+     * @return the SearchOutput
+     */
     public SearchOutput searchTask() {
         substitutions = compiledSearchArgs.searchSubstitutions;
         store = new SearchOutputStore(compiledSearchArgs.searchMaxResults,
             compiledSearchArgs.searchOutputSortNbr);
+        final long deadline = System.nanoTime()
+            + TimeUnit.SECONDS.toNanos(compiledSearchArgs.searchMaxTime);
         try {
-            loadSearchOutput();
+            loadSearchOutput(deadline);
             if (searchOutput.searchReturnCode == 0
                 && compiledSearchArgs.searchResultsChecked > 0)
             {
@@ -127,6 +123,17 @@ public class SearchEngine {
             searchOutput.storeError(3, 30,
                 SearchConstants.ERRMSG_SEARCH_TASK_INTERRUPTED_1
                     + interruptedexception.getMessage());
+        } catch (final ExecutionException executionexception) {
+            searchOutput.storeError(4, 30,
+                SearchConstants.ERRMSG_SEARCH_TASK_EXECUTION_1
+                    + executionexception.getCause() + " "
+                    + executionexception.getMessage());
+            throw new IllegalArgumentException(
+                "Rethrowing ExecutionException", executionexception);
+        } catch (final TimeoutException timeoutexception) {
+            searchOutput.storeError(2, 30,
+                SearchConstants.ERRMSG_SEARCH_TASK_TIMEOUT_1
+                    + timeoutexception.getMessage());
         }
         return searchOutput;
     }
@@ -146,102 +153,225 @@ public class SearchEngine {
         }
     }
 
-    private void loadSearchOutput() throws InterruptedException {
-        ProofStepStmt[] aproofStepStmt = null;
-        boolean full = false;
-        final int minSeq = compiledSearchArgs.searchMinSeq;
-        final int maxSeq = compiledSearchArgs.searchMaxSeq;
-        final int nbrDerivStepHyps = compiledSearchArgs.nbrDerivStepHyps;
-        final int minHyps = compiledSearchArgs.searchMinHyps;
-        final int maxHyps = compiledSearchArgs.searchMaxHyps;
-        final int minProofRefs = compiledSearchArgs.searchMinProofRefs;
+    /**
+     * Scans the assertion list and loads the search output.
+     * <p>
+     * The part of assrtAList within the MinHyps/MaxHyps range is split into
+     * contiguous shards which are scanned in parallel, each with its own
+     * SearchDataLines and SearchOutputStore. The shard results are then merged
+     * in list order, so the merged store holds exactly the items a sequential
+     * scan would have found, and SearchOutputStore applies the output sort to
+     * the merged result. Once the merged store is full the remaining shards
+     * are cancelled.
+     * <p>
+     * In step search mode the shards only apply the filters that do not
+     * involve unification; the unification itself updates the shared Work
+     * Variables and so is done here, in list order, on the surviving
+     * candidates.
+     *
+     * @param deadline System.nanoTime() value after which the search times out
+     * @throws InterruptedException if the thread is interrupted
+     * @throws ExecutionException if a shard throws an exception
+     * @throws TimeoutException if the search runs past the deadline
+     */
+    private void loadSearchOutput(final long deadline)
+        throws InterruptedException, ExecutionException, TimeoutException
+    {
         String step;
         if (stepSearchMode) {
             derivStep = searchArgs.stepSearchStmt;
-            aproofStepStmt = derivStep.getSortedHypArray();
             step = derivStep.getStep();
         }
         else {
             derivStep = null;
-            aproofStepStmt = null;
-            derivStepHypArray = null;
             step = "";
         }
-        int k1 = computeSearchStart(minHyps);
-        hypLoop: for (int hyp = minHyps; hyp <= maxHyps; hyp++) {
-            if (stepSearchMode) {
-                derivStepHypArray = new ProofStepStmt[hyp];
-                for (int j2 = 0; j2 < nbrDerivStepHyps; j2++)
-                    derivStepHypArray[j2] = aproofStepStmt[j2];
+        derivStepHypArray = null;
+
+        final int start = computeSearchStart(compiledSearchArgs.searchMinHyps);
+        final int end = compiledSearchArgs.searchMaxHyps == Integer.MAX_VALUE
+            ? assrtAList.size()
+            : Math.min(
+                computeSearchStart(compiledSearchArgs.searchMaxHyps + 1),
+                assrtAList.size());
 
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final List<Future<SearchShard>> futures = new ArrayList<>();
+        final ForkJoinPool pool = getSearchPool();
+        if (start < end) {
+            final int nbrShards = Math.min(
+                pool.getParallelism() * SearchConstants.SEARCH_SHARDS_PER_THREAD,
+                (end - start + SearchConstants.SEARCH_SHARD_MIN_LEN - 1)
+                    / SearchConstants.SEARCH_SHARD_MIN_LEN);
+            int lo = start;
+            for (int i = 0; i < nbrShards; i++) {
+                final int hi = start
+                    + (int)((long)(end - start) * (i + 1) / nbrShards);
+                futures.add(pool.submit(new SearchShard(lo, hi,
+                    i == 0 ? compiledSearchArgs.searchDataLines
+                        : compiledSearchArgs.searchDataLines == null ? null
+                            : new SearchDataLines(compiledSearchArgs),
+                    cancelled)));
+                lo = hi;
             }
-            for (; k1 < assrtAList.size(); k1++) {
+        }
+
+        boolean full = false;
+        try {
+            for (final Future<SearchShard> future : futures) {
                 checkForInterrupt();
+                final SearchShard shard = future.get(
+                    Math.max(0L, deadline - System.nanoTime()),
+                    TimeUnit.NANOSECONDS);
+                searchOutput.accumStats(shard.stats);
                 if (searchOutput.searchReturnCode != 0)
                     break;
-                assrt = assrtAList.get(k1);
-                searchOutput.statsNbrInputAssrtGets++;
-                final int i2 = assrt.getSeq();
-                if (i2 >= maxSeq) {
-                    searchOutput.statsNbrRejectGEMaxSeq++;
-                    k1 = computeSearchStart(hyp + 1);
-                    continue hypLoop;
+                if (stepSearchMode ? unifyCandidates(shard.candidates,
+                    deadline) : store.addAll(shard.store))
+                {
+                    full = true;
+                    break;
                 }
-                if (i2 <= minSeq) {
-                    searchOutput.statsNbrRejectLEMinSeq++;
-                    k1++;
+            }
+        } finally {
+            cancelled.set(true);
+        }
+        store.loadSearchOutput(searchOutput, step, full);
+    }
+
+    /**
+     * Unifies the step search candidates of one shard, in list order, adding
+     * the unifiable ones to the store.
+     *
+     * @param candidates assertions which passed the other search criteria
+     * @param deadline System.nanoTime() value after which the search times out
+     * @return true if the store is full
+     * @throws InterruptedException if the thread is interrupted
+     * @throws TimeoutException if the search runs past the deadline
+     */
+    private boolean unifyCandidates(final List<Assrt> candidates,
+        final long deadline) throws InterruptedException, TimeoutException
+    {
+        for (final Assrt assrt : candidates) {
+            checkForInterrupt();
+            if (System.nanoTime() - deadline > 0)
+                throw new TimeoutException();
+            final ParseNode[] assrtSubst = isAssrtUnifiable(assrt);
+            if (assrtSubst == null) {
+                searchOutput.statsNbrRejectFailUnify++;
+                continue;
+            }
+            searchOutput.statsNbrSelected++;
+            if (addAssrtToStore(store, assrt, computeScore(),
+                substitutions ? assrtSubst : null))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * A contiguous part of assrtAList, scanned on the search pool.
+     * <p>
+     * Each shard has its own SearchDataLines (which hold per-assertion state)
+     * and its own statistics, store and step search candidate list, which are
+     * merged into the search output by loadSearchOutput().
+     */
+    private class SearchShard implements Callable<SearchShard> {
+        private final int lo;
+        private final int hi;
+        private final SearchDataLines searchDataLines;
+        private final AtomicBoolean cancelled;
+
+        final SearchOutput stats = new SearchOutput(null);
+        final SearchOutputStore store = new SearchOutputStore(
+            compiledSearchArgs.searchMaxResults,
+            compiledSearchArgs.searchOutputSortNbr);
+        final List<Assrt> candidates = new ArrayList<>();
+
+        SearchShard(final int lo, final int hi,
+            final SearchDataLines searchDataLines,
+            final AtomicBoolean cancelled)
+        {
+            this.lo = lo;
+            this.hi = hi;
+            this.searchDataLines = searchDataLines;
+            this.cancelled = cancelled;
+        }
+
+        public SearchShard call() {
+            final int minSeq = compiledSearchArgs.searchMinSeq;
+            final int maxSeq = compiledSearchArgs.searchMaxSeq;
+            final int minProofRefs = compiledSearchArgs.searchMinProofRefs;
+            int prevHyps = -1;
+            for (int k = lo; k < hi; k++) {
+                if (cancelled.get())
+                    break;
+                final Assrt assrt = assrtAList.get(k);
+                stats.statsNbrInputAssrtGets++;
+                final int hyps = assrt.getLogHypArrayLength();
+                if (hyps != prevHyps) {
+                    if (prevHyps != -1)
+                        stats.statsNbrRejectGTHypIndex++;
+                    prevHyps = hyps;
+                }
+                final int seq = assrt.getSeq();
+                if (seq >= maxSeq) {
+                    // the rest of this hyp group is past maxSeq too
+                    stats.statsNbrRejectGEMaxSeq++;
+                    k = computeSearchStart(hyps + 1) - 1;
                     continue;
                 }
-                assrtNbrLogHyps = assrt.getLogHypArrayLength();
-                if (assrtNbrLogHyps != hyp) {
-                    searchOutput.statsNbrRejectGTHypIndex++;
-                    continue hypLoop;
+                if (seq <= minSeq) {
+                    stats.statsNbrRejectLEMinSeq++;
+                    continue;
                 }
                 if (assrt.getNbrProofRefs() < minProofRefs) {
-                    searchOutput.statsNbrRejectLTMinProofRefs++;
-                    k1++;
+                    stats.statsNbrRejectLTMinProofRefs++;
+                    continue;
+                }
+                if (!evaluateOtherExclusionCriteria(assrt, stats)) {
+                    stats.statsNbrRejectOtherExclCriteria++;
                     continue;
                 }
-                assrtLogHypArray = assrt.getLogHypArray();
-                assrtHypArray = assrt.getMandFrame().hypArray;
-                if (evaluateOtherExclusionCriteria()) {
-                    if (stepSearchMode && !isAssrtUnifiable()) {
-                        searchOutput.statsNbrRejectFailUnify++;
-                        k1++;
-                        continue;
-                    }
-                    if (evaluateSearchDataLines()) {
-                        if (searchOutput.searchReturnCode != 0)
-                            break;
-                        searchOutput.statsNbrSelected++;
-                        if (addAssrtToStore(computeScore())) {
-                            full = true;
-                            break;
-                        }
-                    }
-                    else
-                        searchOutput.statsNbrRejectFailSearchData++;
+                if (searchDataLines != null
+                    && !searchDataLines.evaluate(assrt, compiledSearchArgs))
+                {
+                    stats.statsNbrRejectFailSearchData++;
+                    continue;
+                }
+                if (stepSearchMode)
+                    candidates.add(assrt);
+                else {
+                    stats.statsNbrSelected++;
+                    if (addAssrtToStore(store, assrt, computeScore(), null))
+                        break;
                 }
-                else
-                    searchOutput.statsNbrRejectOtherExclCriteria++;
             }
+            return this;
         }
-        store.loadSearchOutput(searchOutput, step, full);
-        return;
+    }
+
+    private static synchronized ForkJoinPool getSearchPool() {
+        if (searchPool == null)
+            searchPool = new ForkJoinPool(
+                Runtime.getRuntime().availableProcessors());
+        return searchPool;
     }
 
     private void doExtendedSearch() throws InterruptedException {
         checkForInterrupt();
     }
 
-    private boolean evaluateOtherExclusionCriteria() {
+    private boolean evaluateOtherExclusionCriteria(final Assrt assrt,
+        final SearchOutput stats)
+    {
         final String s = assrt.getLabel();
         final int i = compiledSearchArgs.searchExclLabelsPattern.length;
         for (int j = 0; j < i; j++)
             if (compiledSearchArgs.searchExclLabelsPattern[j].matcher(s)
                 .matches())
             {
-                searchOutput.statsNbrRejectExclLabels++;
+                stats.statsNbrRejectExclLabels++;
                 return false;
             }
 
@@ -257,14 +387,6 @@ public class SearchEngine {
         return true;
     }
 
-    private boolean evaluateSearchDataLines() {
-        if (compiledSearchArgs.searchDataLines != null)
-            return compiledSearchArgs.searchDataLines.evaluate(assrt,
-                compiledSearchArgs);
-        else
-            return true;
-    }
-
     private int computeSearchStart(final int minHyps) {
         if (assrtAList.get(0).getLogHypArrayLength() >= minHyps)
             return 0;
@@ -285,27 +407,50 @@ public class SearchEngine {
         return ++l;
     }
 
-    private boolean isAssrtUnifiable() {
+    /**
+     * Unifies the derivation step with an assertion.
+     *
+     * @param assrt the assertion
+     * @return the assertion substitutions, or null if not unifiable
+     */
+    private ParseNode[] isAssrtUnifiable(final Assrt assrt) {
         try {
-            if (unifyStepFormulaWithWorkVars()) {
-                if (assrtNbrLogHyps == 0) {
-                    assrtSubst = stepUnifier.finalizeAndLoadAssrtSubst();
-                    return true;
-                }
-                if ((assrtSubst = stepUnifier.unifyAndMergeHypsSorted(
-                    assrt.getSortedLogHypArray(), derivStepHypArray)) != null)
-                    return true;
+            if (unifyStepFormulaWithWorkVars(assrt)) {
+                final int assrtNbrLogHyps = assrt.getLogHypArrayLength();
+                if (assrtNbrLogHyps == 0)
+                    return stepUnifier.finalizeAndLoadAssrtSubst();
+                return stepUnifier.unifyAndMergeHypsSorted(
+                    assrt.getSortedLogHypArray(),
+                    getDerivStepHypArray(assrtNbrLogHyps));
             }
         } catch (final VerifyException verifyException) {
             throw new IllegalArgumentException(
                 " A work var problem: alloc more via RunParms? "
                     + verifyException.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Returns the derivation step hyps padded with nulls (wildcards) to the
+     * given number of hyps.
+     *
+     * @param hyps the number of hyps of the assertion
+     * @return the derivation step hyp array
+     */
+    private ProofStepStmt[] getDerivStepHypArray(final int hyps) {
+        if (derivStepHypArray == null || derivStepHypArray.length != hyps) {
+            final ProofStepStmt[] sortedHyps = derivStep.getSortedHypArray();
+            derivStepHypArray = new ProofStepStmt[hyps];
+            for (int i = 0; i < compiledSearchArgs.nbrDerivStepHyps; i++)
+                derivStepHypArray[i] = sortedHyps[i];
+        }
+        return derivStepHypArray;
     }
 
-    private boolean unifyStepFormulaWithWorkVars() throws VerifyException {
-        assrt.getExprParseTree().getRoot();
+    private boolean unifyStepFormulaWithWorkVars(final Assrt assrt)
+        throws VerifyException
+    {
         ParseNode parseNode = null;
         if (derivStep.formulaParseTree != null)
             parseNode = derivStep.formulaParseTree.getRoot();
@@ -321,7 +466,11 @@ public class SearchEngine {
             return 50;
     }
 
-    private boolean addAssrtToStore(final int score) {
+    private boolean addAssrtToStore(final SearchOutputStore store,
+        final Assrt assrt, final int score, final ParseNode[] assrtSubst)
+    {
+        final int assrtNbrLogHyps = assrt.getLogHypArrayLength();
+        final LogHyp[] assrtLogHypArray = assrt.getLogHypArray();
         String s;
         if (score == 100)
             s = SearchConstants.COMPLETED_ITEM_OUTPUT_LITERAL;
@@ -339,12 +488,14 @@ public class SearchEngine {
         int k = 0;
         final Formula[] aformula = new Formula[assrtNbrLogHyps];
         Formula formula;
-        if (stepSearchMode && substitutions) {
+        if (assrtSubst != null) {
+            final Hyp[] assrtHypArray = assrt.getMandFrame().hypArray;
             formula = buildSearchSelectionSubstFormula(
-                assrt.getExprParseTree());
+                assrt.getExprParseTree(), assrtHypArray, assrtSubst);
             for (int l = 0; l < assrtNbrLogHyps; l++)
                 aformula[l] = buildSearchSelectionSubstFormula(
-                    assrtLogHypArray[l].getExprParseTree());
+                    assrtLogHypArray[l].getExprParseTree(), assrtHypArray,
+                    assrtSubst);
 
         }
         else {
@@ -388,7 +539,8 @@ public class SearchEngine {
         return store.add(assrt, selection, score);
     }
     private Formula buildSearchSelectionSubstFormula(
-        final ParseTree parseTree)
+        final ParseTree parseTree, final Hyp[] assrtHypArray,
+        final ParseNode[] assrtSubst)
     {
         final ParseTree parseTree1 = parseTree
             .deepCloneApplyingAssrtSubst(assrtHypArray, assrtSubst);
@@ -60,6 +60,25 @@ public class SearchOutput {
             dumpStats(csa, bookManager, messages);
     }
 
+    /**
+     * Adds the statistics counters of another SearchOutput to this one.
+     *
+     * @param s the SearchOutput holding the counts to add
+     */
+    public void accumStats(final SearchOutput s) {
+        statsNbrInputAssrtGets += s.statsNbrInputAssrtGets;
+        statsNbrSelected += s.statsNbrSelected;
+        statsNbrCompletedSearchResults += s.statsNbrCompletedSearchResults;
+        statsNbrRejectGEMaxSeq += s.statsNbrRejectGEMaxSeq;
+        statsNbrRejectGTHypIndex += s.statsNbrRejectGTHypIndex;
+        statsNbrRejectLTMinProofRefs += s.statsNbrRejectLTMinProofRefs;
+        statsNbrRejectLEMinSeq += s.statsNbrRejectLEMinSeq;
+        statsNbrRejectOtherExclCriteria += s.statsNbrRejectOtherExclCriteria;
+        statsNbrRejectExclLabels += s.statsNbrRejectExclLabels;
+        statsNbrRejectFailUnify += s.statsNbrRejectFailUnify;
+        statsNbrRejectFailSearchData += s.statsNbrRejectFailSearchData;
+    }
+
     public void dumpStats(final CompiledSearchArgs args,
         final BookManager bookManager, final Messages messages)
     {
@@ -11,6 +11,9 @@
  *
  * Version 0.01:
  * Aug-09-2013: new from decompilation.
+ *
+ * Version 0.02:
+ * Oct-18-2026: add addAll() to merge the stores of parallel search shards.
  */
 
 package mmj.search;
@@ -72,6 +75,22 @@ public class SearchOutputStore {
         return isFull();
     }
 
+    /**
+     * Appends the items of another store, in order, until this store is full.
+     *
+     * @param other the store to merge into this one
+     * @return true if this store is full
+     */
+    public boolean addAll(final SearchOutputStore other) {
+        for (final SearchSelectionItem item : other.storeList) {
+            if (isFull())
+                break;
+            storeList.add(item);
+            cntResults++;
+        }
+        return isFull();
+    }
+
     public boolean isFull() {
         return cntResults >= maxResults;
     }
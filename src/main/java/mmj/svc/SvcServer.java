@@ -0,0 +1,686 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * SvcServer.java  0.01 10/18/2026
+ *
+ * Oct-18-2026:
+ *     --> new!
+ *     --> "metrics" op.
+ *     --> "store" requests are off unless enabled.
+ *     --> every request must carry the token from the owner-only
+ *         token file; malformed and HTTP requests close the
+ *         connection, and connections are limited in number.
+ *     --> request threads apply TheoremLoader commits to their
+ *         ProofAsst instead of rebuilding it after each store.
+ */
+
+package mmj.svc;
+
+import static mmj.util.UtilConstants.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.json.*;
+
+import mmj.lang.*;
+import mmj.lang.VarHyp.PaSubstThread;
+import mmj.pa.*;
+import mmj.pa.StepRequest.StepRequestType;
+import mmj.tl.*;
+import mmj.util.Metrics;
+import mmj.util.OutputBoss;
+import mmj.verify.*;
+
+/**
+ * SvcServer keeps a loaded LogicalSystem resident and serves requests from
+ * other programs on a local socket, so that they do not pay for loading,
+ * verifying and parsing the .mm file on every call.
+ * <p>
+ * SvcServer is a SvcCallback: it is started by the "SvcServe" RunParm (see
+ * {@code mmj.util.SvcBoss}) or, in "callee" mode, by
+ * "SvcCallbackClass,mmj.svc.SvcServer" with "SvcArg,Port,..." (and
+ * optionally "SvcArg,Threads,...") followed by "SvcCall". {@code go()}
+ * returns when a "shutdown" request is received.
+ * <p>
+ * The server listens on the loopback address only, and serves at most
+ * {@code SVC_SERVER_MAX_CONNECTIONS} connections at a time. Each line
+ * received on a connection is one JSON request object, and is answered by
+ * one line holding a JSON response object; a line which is not a JSON
+ * object is answered with a failure and the connection is closed.
+ * <p>
+ * At startup the server writes a random token to a file readable only by its
+ * owner (see {@code SVC_SERVER_TOKEN_FILE_NAME}), and every request must
+ * carry that token in its "token" field, so that other local users (and web
+ * pages posting to the port) cannot use the server. Requests have an "op"
+ * field, the "token", an optional "id" field which is copied to the
+ * response, and these other fields:
+ * <ul>
+ * <li>{@code unify}: "text" (Proof Worksheet), optional "renumber",
+ * "noConvertWV" and "cursor" (caret offset). The response holds the unified
+ * "text" and "proved".
+ * <li>{@code verify}: "label" of a Theorem. The response holds "verified".
+ * <li>{@code stepSelect}: "text" and "cursor", with optional "choice" (a
+ * selection number). Without "choice" the response holds the "step" and the
+ * "selections" (objects with "ref" and "text"); with it, the worksheet
+ * unified with that choice, as for unify.
+ * <li>{@code search}: "text", optional "max". The response holds the
+ * "assertions" (objects with "label" and "formula") whose label or
+ * description contains the text.
+ * <li>{@code gmffExport}: "text" (Proof Worksheet).
+ * <li>{@code store}: "text" (Proof Worksheet), optional "mmtOnly". The
+ * worksheet is unified and stored by the TheoremLoader in the MMT Folder
+ * and, unless mmtOnly, in the LogicalSystem. The response is as for unify.
+ * Store requests are refused unless the server was started with store
+ * enabled.
+ * <li>{@code metrics}: the response holds the "metrics" (see
+ * {@link Metrics#toJSON()}).
+ * <li>{@code shutdown}: stops the server.
+ * </ul>
+ * Every response holds "ok" (false if the request itself was invalid, the
+ * reason being in "error"), and the "errors" and "info" messages produced
+ * while processing the request.
+ * <p>
+ * Requests are run by a pool of PaSubstThreads, each with its own ProofAsst
+ * (see {@link ProofAsst#newWorkerProofAsst()}), so each request works with
+ * its own worksheet and Work Variables. Requests from different connections
+ * run concurrently; a "store" request, which updates the LogicalSystem, waits
+ * for the others to finish and runs alone, and the new assertions are then
+ * merged into the request threads' ProofAsst objects (as
+ * {@link ProofAsst#commit} does for the main one).
+ */
+public class SvcServer implements SvcCallback {
+
+    private static final List<String> OPS = Arrays.asList("unify", "verify",
+        "stepSelect", "search", "gmffExport", "store", "metrics", "shutdown");
+
+    // the start of an HTTP request line, "METHOD "
+    private static final Pattern HTTP_REQUEST_LINE = Pattern.compile(
+        "(GET|HEAD|POST|PUT|DELETE|CONNECT|OPTIONS|TRACE|PATCH) ");
+
+    private int port;
+    private int nbrThreads;
+    private boolean storeEnabled;
+    private File svcFolder;
+    private File tokenFile;
+    private byte[] token;
+
+    private Messages messages;
+    private OutputBoss outputBoss;
+    private LogicalSystem logicalSystem;
+    private ProofAsst proofAsst;
+    private TheoremLoader theoremLoader;
+
+    // "store" requests hold the write lock, all others the read lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object gmffLock = new Object();
+
+    // one ProofAsst per PaSubstThread slot, built on the slot's first
+    // request
+    private ProofAsst[] workers;
+
+    // merges TheoremLoader commits into the workers (store requests run
+    // alone, so the workers are idle)
+    private final TheoremLoaderCommitListener workerCommitListener = mmtTheoremSet -> {
+        for (final ProofAsst worker : workers)
+            if (worker != null)
+                worker.commit(mmtTheoremSet);
+    };
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private ForkJoinPool pool;
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Default constructor, for "callee" mode: the port number and number of
+     * threads are taken from the SvcArgs.
+     */
+    public SvcServer() {
+        this(0, SVC_SERVER_THREADS_DEFAULT, false);
+    }
+
+    /**
+     * Construct SvcServer with port number and number of request threads.
+     *
+     * @param port port number, 1 thru 65535.
+     * @param nbrThreads number of request threads, or 0 for one per
+     *            available processor.
+     * @param storeEnabled true to accept "store" requests.
+     */
+    public SvcServer(final int port, final int nbrThreads,
+        final boolean storeEnabled)
+    {
+        this.port = port;
+        this.nbrThreads = nbrThreads;
+        this.storeEnabled = storeEnabled;
+    }
+
+    @Override
+    public void go(final Messages messages, final OutputBoss outputBoss,
+        final LogicalSystem logicalSystem, final VerifyProofs verifyProofs,
+        final Grammar grammar, final WorkVarManager workVarManager,
+        final ProofAsstPreferences proofAsstPreferences,
+        final ProofAsst proofAsst, final TlPreferences tlPreferences,
+        final TheoremLoader theoremLoader, final File svcFolder,
+        final Map<String, String> svcArgs)
+    {
+        port = getArg(svcArgs, SVC_SERVER_ARG_PORT, port, 1,
+            SVC_SERVER_PORT_MAX);
+        nbrThreads = getArg(svcArgs, SVC_SERVER_ARG_THREADS, nbrThreads, 0,
+            Integer.MAX_VALUE);
+        if (nbrThreads == 0)
+            nbrThreads = Runtime.getRuntime().availableProcessors();
+        final String store = svcArgs.get(SVC_SERVER_ARG_STORE);
+        if (store != null)
+            if (store.trim().equalsIgnoreCase(RUNPARM_OPTION_YES))
+                storeEnabled = true;
+            else if (store.trim().equalsIgnoreCase(RUNPARM_OPTION_NO))
+                storeEnabled = false;
+            else
+                throw new IllegalArgumentException(
+                    ERRMSG_SVC_SERVER_STORE_ARG_ERROR
+                        .message(SVC_SERVER_ARG_STORE, store));
+        this.svcFolder = svcFolder;
+
+        this.messages = messages;
+        this.outputBoss = outputBoss;
+        this.logicalSystem = logicalSystem;
+        this.proofAsst = proofAsst;
+        this.theoremLoader = theoremLoader;
+
+        serve();
+    }
+
+    private static int getArg(final Map<String, String> svcArgs,
+        final String key, final int defaultValue, final int min, final int max)
+    {
+        final String s = svcArgs.get(key);
+        int n = defaultValue;
+        if (s != null)
+            try {
+                n = Integer.parseInt(s.trim());
+            } catch (final NumberFormatException e) {
+                n = min - 1;
+            }
+        if (n < min || n > max)
+            throw new IllegalArgumentException(
+                ERRMSG_SVC_SERVER_ARG_ERROR.message(key, s, min, max));
+        return n;
+    }
+
+    /**
+     * Accepts connections until a "shutdown" request is received.
+     */
+    private void serve() {
+        workers = new ProofAsst[nbrThreads];
+
+        final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < nbrThreads; i++)
+            freeSlots.add(i);
+        allocatePaSubstSlots(nbrThreads);
+        pool = new ForkJoinPool(nbrThreads, p -> {
+            final Integer slot = freeSlots.poll();
+            return slot == null ? null : new PaSubstThread(p, slot) {
+                @Override
+                protected void onTermination(final Throwable exception) {
+                    freeSlots.add(slot);
+                    super.onTermination(exception);
+                }
+            };
+        }, null, false);
+
+        // at most SVC_SERVER_MAX_CONNECTIONS connections are served at once;
+        // the others are refused
+        final ThreadPoolExecutor connections = new ThreadPoolExecutor(0,
+            SVC_SERVER_MAX_CONNECTIONS, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), r -> {
+                final Thread t = new Thread(r, "SvcServer-connection");
+                t.setDaemon(true);
+                return t;
+            });
+
+        try (ServerSocket ss = new ServerSocket(port, 0,
+            InetAddress.getLoopbackAddress()))
+        {
+            serverSocket = ss;
+            messages.accumMessage(ERRMSG_SVC_SERVER_STARTED, port,
+                nbrThreads);
+            writeTokenFile();
+            messages.accumMessage(ERRMSG_SVC_SERVER_TOKEN_FILE,
+                tokenFile.toPath().toAbsolutePath().normalize());
+            if (storeEnabled) {
+                logicalSystem
+                    .accumTheoremLoaderCommitListener(workerCommitListener);
+                messages.accumMessage(ERRMSG_SVC_SERVER_STORE_ENABLED);
+            }
+            outputBoss.printAndClearMessages();
+
+            while (true) {
+                final Socket socket;
+                try {
+                    socket = ss.accept();
+                } catch (final SocketException e) {
+                    if (ss.isClosed())
+                        break; // shutdown
+                    throw e;
+                }
+                try {
+                    connections.execute(() -> serveConnection(socket));
+                } catch (final RejectedExecutionException e) {
+                    refuseConnection(socket);
+                }
+            }
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(
+                ERRMSG_SVC_SERVER_IO_ERROR.message(port, e.getMessage()), e);
+        } finally {
+            connections.shutdown();
+            pool.shutdown();
+            lock.writeLock().lock();
+            try {
+                allocatePaSubstSlots(0);
+                logicalSystem
+                    .removeTheoremLoaderCommitListener(workerCommitListener);
+                if (tokenFile != null)
+                    tokenFile.delete();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        messages.accumMessage(ERRMSG_SVC_SERVER_STOPPED, requestCount.get());
+    }
+
+    /**
+     * Writes a new random token to the token file, which only the owner can
+     * read (where the file system supports POSIX permissions).
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeTokenFile() throws IOException {
+        token = new byte[SVC_SERVER_TOKEN_BYTES];
+        new SecureRandom().nextBytes(token);
+        final StringBuilder sb = new StringBuilder();
+        for (final byte b : token)
+            sb.append(String.format("%02x", b & 0xff));
+        token = sb.toString().getBytes(StandardCharsets.US_ASCII);
+
+        tokenFile = new File(svcFolder,
+            String.format(SVC_SERVER_TOKEN_FILE_NAME, port));
+        final Path path = tokenFile.toPath();
+        Files.deleteIfExists(path);
+        if (FileSystems.getDefault().supportedFileAttributeViews()
+            .contains("posix"))
+            Files.createFile(path, PosixFilePermissions
+                .asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        else {
+            Files.createFile(path);
+            tokenFile.setReadable(false, false);
+            tokenFile.setReadable(true, true);
+        }
+        Files.write(path, token);
+    }
+
+    private boolean isValidToken(final String s) {
+        return token != null && s != null && MessageDigest.isEqual(token,
+            s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void allocatePaSubstSlots(final int nbrSlots) {
+        for (final Stmt stmt : logicalSystem.getStmtTbl().values())
+            if (stmt instanceof VarHyp)
+                ((VarHyp)stmt).setPaSubstSlots(nbrSlots);
+    }
+
+    /**
+     * Answers the request lines of a connection until it is closed.
+     * <p>
+     * The connection is closed after the first line which is not a JSON
+     * object, so that another protocol (a browser's HTTP POST, say) cannot
+     * smuggle a request in after lines that merely fail; and a first line
+     * which starts with an HTTP method is refused outright.
+     *
+     * @param socket the connection.
+     */
+    private void serveConnection(final Socket socket) {
+        try (Socket s = socket;
+            BufferedReader in = new BufferedReader(new InputStreamReader(
+                s.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(
+                s.getOutputStream(), StandardCharsets.UTF_8)))
+        {
+            String line;
+            boolean first = true;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().isEmpty())
+                    continue;
+                if (first && HTTP_REQUEST_LINE.matcher(line).lookingAt()) {
+                    writeResponse(out,
+                        failure(ERRMSG_SVC_SERVER_HTTP_REQUEST.message()));
+                    return;
+                }
+                first = false;
+
+                final JSONObject request;
+                try {
+                    request = new JSONObject(line);
+                } catch (final JSONException e) {
+                    writeResponse(out, failure(
+                        ERRMSG_SVC_SERVER_BAD_REQUEST.message(e.getMessage())));
+                    return;
+                }
+                writeResponse(out, handle(request));
+            }
+        } catch (final IOException e) {
+            // connection dropped: there is no one left to answer
+        }
+    }
+
+    /**
+     * Answers a connection beyond the SVC_SERVER_MAX_CONNECTIONS limit with
+     * a failure, and closes it.
+     *
+     * @param socket the connection.
+     */
+    private static void refuseConnection(final Socket socket) {
+        try (Socket s = socket;
+            Writer out = new BufferedWriter(new OutputStreamWriter(
+                s.getOutputStream(), StandardCharsets.UTF_8)))
+        {
+            writeResponse(out, failure(ERRMSG_SVC_SERVER_TOO_MANY_CONNECTIONS
+                .message(SVC_SERVER_MAX_CONNECTIONS)));
+        } catch (final IOException e) {
+            // the client is gone already
+        }
+    }
+
+    private static void writeResponse(final Writer out,
+        final JSONObject response) throws IOException
+    {
+        out.write(response.toString());
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Checks the token of one request and runs the request on the pool.
+     *
+     * @param request JSON request object.
+     * @return JSON response object.
+     */
+    private JSONObject handle(final JSONObject request) {
+        final String op = request.optString("op");
+        JSONObject response;
+        if (!isValidToken(request.optString("token", null)))
+            response = failure(ERRMSG_SVC_SERVER_TOKEN.message());
+        else if (!OPS.contains(op))
+            response = failure(ERRMSG_SVC_SERVER_UNKNOWN_OP.message(op, OPS));
+        else if (op.equals("shutdown"))
+            response = shutdown();
+        else if (op.equals("metrics"))
+            response = new JSONObject().put("ok", true).put("metrics",
+                Metrics.toJSON());
+        else
+            try {
+                response = pool.submit(() -> process(request, op)).get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response = failure(ERRMSG_SVC_SERVER_REQUEST_FAILED.message(op,
+                    e.toString()));
+            } catch (final ExecutionException e) {
+                response = failure(ERRMSG_SVC_SERVER_REQUEST_FAILED.message(op,
+                    e.getCause().toString()));
+            } catch (final RejectedExecutionException e) {
+                response = failure(ERRMSG_SVC_SERVER_REQUEST_FAILED.message(op,
+                    e.toString()));
+            }
+        final Object id = request.opt("id");
+        if (id != null)
+            response.put("id", id);
+        return response;
+    }
+
+    private JSONObject shutdown() {
+        try {
+            serverSocket.close();
+        } catch (final IOException e) {
+            return failure(ERRMSG_SVC_SERVER_IO_ERROR.message(port,
+                e.getMessage()));
+        }
+        return new JSONObject().put("ok", true);
+    }
+
+    private static JSONObject failure(final String error) {
+        return new JSONObject().put("ok", false).put("error", error);
+    }
+
+    /**
+     * Runs one request on a PaSubstThread of the pool.
+     *
+     * @param request the JSON request.
+     * @param op the request op.
+     * @return JSON response object.
+     */
+    private JSONObject process(final JSONObject request, final String op) {
+        final boolean store = op.equals("store");
+        if (store && !storeEnabled)
+            return failure(ERRMSG_SVC_SERVER_STORE_DISABLED.message());
+        final Lock l = store ? lock.writeLock() : lock.readLock();
+        l.lock();
+        try {
+            requestCount.incrementAndGet();
+
+            final ProofAsst pa = store ? proofAsst : getWorker();
+            if (pa == null)
+                return failure(ERRMSG_SVC_SERVER_WORKER_ERROR.message());
+            final Messages m = pa.getMessages();
+            m.clearMessages();
+
+            final JSONObject response = new JSONObject().put("ok", true);
+            switch (op) {
+                case "unify":
+                    putWorksheet(response,
+                        pa.unify(request.optBoolean("renumber"),
+                            request.optBoolean("noConvertWV"),
+                            getField(request, op, "text"), null, null, null,
+                            getCursorPos(request), true));
+                    break;
+                case "verify":
+                    verify(pa, request, response);
+                    break;
+                case "stepSelect":
+                    stepSelect(pa, request, response);
+                    break;
+                case "search":
+                    search(pa, request, response);
+                    break;
+                case "gmffExport":
+                    synchronized (gmffLock) {
+                        pa.exportViaGMFF(getField(request, op, "text"));
+                    }
+                    break;
+                case "store":
+                    store(request, response);
+                    break;
+            }
+            putMessages(response, m);
+            return response;
+        } catch (final IllegalArgumentException e) {
+            return failure(e.getMessage());
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Returns the ProofAsst of the current request thread, building it if
+     * this is the thread's first request.
+     *
+     * @return the ProofAsst, or null if it could not be built.
+     */
+    private ProofAsst getWorker() {
+        final int slot = ((PaSubstThread)Thread.currentThread()).slot;
+        if (workers[slot] == null)
+            synchronized (this) { // the main ProofAsst is not thread-safe
+                workers[slot] = proofAsst.newWorkerProofAsst();
+            }
+        return workers[slot];
+    }
+
+    private static String getField(final JSONObject request, final String op,
+        final String key)
+    {
+        final String s = request.optString(key, null);
+        if (s == null)
+            throw new IllegalArgumentException(
+                ERRMSG_SVC_SERVER_FIELD_MISSING.message(op, key));
+        return s;
+    }
+
+    // ProofAsst wants the caret offset plus one, or -1
+    private static int getCursorPos(final JSONObject request) {
+        final int cursor = request.optInt("cursor", -1);
+        return cursor < 0 ? -1 : cursor + 1;
+    }
+
+    private static void putWorksheet(final JSONObject response,
+        final ProofWorksheet proofWorksheet)
+    {
+        response.put("text", proofWorksheet.getOutputProofText());
+        response.put("proved", proofWorksheet.getGeneratedProofStmt() != null);
+    }
+
+    private static void putMessages(final JSONObject response,
+        final Messages m)
+    {
+        response.put("errors", new JSONArray(Arrays.asList(
+            m.getErrorMessageArray()).subList(0, m.getErrorMessageCnt())));
+        response.put("info", new JSONArray(Arrays.asList(
+            m.getInfoMessageArray()).subList(0, m.getInfoMessageCnt())));
+        m.clearMessages();
+    }
+
+    private void verify(final ProofAsst pa, final JSONObject request,
+        final JSONObject response)
+    {
+        final String label = getField(request, "verify", "label");
+        final Stmt stmt = logicalSystem.getStmtTbl().get(label);
+        if (!(stmt instanceof Theorem)) {
+            pa.getMessages().accumMessage(ERRMSG_SVC_SERVER_THEOREM_NOTFND,
+                label);
+            response.put("verified", false);
+            return;
+        }
+        final VerifyException e = pa.getVerifyProofs()
+            .verifyOneProof((Theorem)stmt);
+        if (e != null)
+            pa.getMessages().accumException(e);
+        response.put("verified", e == null);
+    }
+
+    private void stepSelect(final ProofAsst pa, final JSONObject request,
+        final JSONObject response)
+    {
+        final String text = getField(request, "stepSelect", "text");
+        getField(request, "stepSelect", "cursor");
+        final int cursorPos = getCursorPos(request);
+
+        final ProofWorksheet proofWorksheet = pa.unify(false, false, text,
+            null, new StepRequest(StepRequestType.SelectorSearch), null,
+            cursorPos, true);
+        final StepSelectorResults results = proofWorksheet.stepSelectorResults;
+        if (results == null) {
+            pa.getMessages()
+                .accumMessage(ERRMSG_SVC_SERVER_NO_SELECTOR_RESULTS);
+            return;
+        }
+
+        final Assrt[] refArray = results.getRefArray();
+        final String[] selectionArray = results.getSelectionArray();
+        if (!request.has("choice")) {
+            final JSONArray selections = new JSONArray();
+            for (int i = 0; i < selectionArray.length; i++)
+                selections.put(new JSONObject()
+                    .put("ref",
+                        refArray[i] == null ? null : refArray[i].getLabel())
+                    .put("text", selectionArray[i]));
+            response.put("step", results.getStep());
+            response.put("selections", selections);
+            return;
+        }
+
+        final int choice = request.optInt("choice", -1);
+        if (choice < 0 || choice >= refArray.length
+            || refArray[choice] == null)
+        {
+            pa.getMessages().accumMessage(
+                PaConstants.ERRMSG_STEP_SELECTOR_BATCH_TEST_INV_CHOICE, choice,
+                selectionArray.length - 1);
+            return;
+        }
+        putWorksheet(response,
+            pa.unify(false, false, text, null,
+                new StepRequest(StepRequestType.SelectorChoice,
+                    results.getStep(), refArray[choice]),
+                null, cursorPos, true));
+    }
+
+    private void search(final ProofAsst pa, final JSONObject request,
+        final JSONObject response)
+    {
+        final String text = getField(request, "search", "text");
+        final int max = request.optInt("max", SVC_SERVER_SEARCH_MAX_DEFAULT);
+
+        final JSONArray assertions = new JSONArray();
+        for (final Assrt assrt : pa.proofUnifier
+            .getUnifySearchListByMObjSeq())
+        {
+            if (assertions.length() >= max)
+                break;
+            if (assrt.getLabel().contains(text)
+                || assrt.getDescription() != null
+                    && assrt.getDescriptionForSearch().contains(text))
+                assertions.put(new JSONObject().put("label", assrt.getLabel())
+                    .put("formula", assrt.getFormula().toString()));
+        }
+        response.put("assertions", assertions);
+    }
+
+    private void store(final JSONObject request, final JSONObject response) {
+        final String text = getField(request, "store", "text");
+        final boolean mmtOnly = request.optBoolean("mmtOnly");
+        final Messages m = proofAsst.getMessages();
+        try {
+            putWorksheet(response,
+                mmtOnly
+                    ? theoremLoader.unifyPlusStoreInMMTFolder(text,
+                        logicalSystem, m, proofAsst, "SvcServer")
+                    : theoremLoader.unifyPlusStoreInLogSysAndMMTFolder(text,
+                        logicalSystem, m, proofAsst, "SvcServer"));
+        } catch (final TheoremLoaderException e) {
+            m.accumException(e);
+        }
+        if (!mmtOnly)
+            // new statements need paSubst slots (the workers got the new
+            // assertions from workerCommitListener)
+            allocatePaSubstSlots(nbrThreads);
+    }
+}
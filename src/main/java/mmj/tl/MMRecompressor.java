@@ -0,0 +1,375 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * MMRecompressor.java  0.01 10/18/2026
+ *
+ * Version 0.01:
+ *     --> new.
+ */
+
+package mmj.tl;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import mmj.lang.*;
+import mmj.mmio.MMIOConstants;
+import mmj.mmio.Tokenizer;
+
+/**
+ * Recompresses the proof of every Theorem in the Logical System and writes a
+ * Metamath .mm file with the new proofs.
+ * <p>
+ * {@link #recompressMMFile} copies the loaded .mm file, replacing the proof
+ * of each Theorem (the text from the start of proof keyword through the end
+ * of statement keyword) with the recompressed proof, so that the output is a
+ * complete database. {@link #recompressTheorems} writes only the Theorems,
+ * each one formatted as the Theorem Loader formats a theorem for the MMT
+ * Folder (see {@link MMTTheoremExportFormatter}).
+ * <p>
+ * Proofs are formatted according to the Theorem Loader Preferences. Each
+ * proof is first "squished" so that the output does not depend on whether
+ * the proof was compressed in the input file, or how.
+ * <p>
+ * The Theorems are recompressed in database order in batches, each batch
+ * sharded across a fork-join pool, and the output lines of a batch are
+ * written in order once it is done. Each thread uses its own
+ * ProofCompression and MMTTheoremExportFormatter, so the output is the same
+ * whatever the number of threads.
+ */
+public class MMRecompressor {
+
+    private final TlPreferences tlPreferences;
+
+    private final int threads;
+
+    /**
+     * Constructor for MMRecompressor.
+     *
+     * @param tlPreferences TlPreferences object.
+     * @param threads number of worker threads; 1 or less recompresses
+     *            serially.
+     */
+    public MMRecompressor(final TlPreferences tlPreferences,
+        final int threads)
+    {
+        this.tlPreferences = tlPreferences;
+        this.threads = threads;
+    }
+
+    /**
+     * Copies a Metamath .mm file to the output file, replacing the proof of
+     * every Theorem with its recompressed proof.
+     * <p>
+     * The file must be the one the Logical System was loaded from. Comments,
+     * white space and other statements are copied as they are, and so are
+     * included files' "$[ ... $]" statements: the proofs in included files
+     * are not rewritten. A "$p" statement whose label is not a Theorem in the
+     * Logical System (one beyond the load endpoint, for example) is copied
+     * unchanged, and Theorems that are not in the file (such as those added
+     * by the Theorem Loader) are not written.
+     * <p>
+     * A proof that cannot be compressed is written in normal format, with an
+     * info message.
+     *
+     * @param logicalSystem LogicalSystem object.
+     * @param mmFile the Metamath .mm file the Logical System was loaded from.
+     * @param w output file Writer, which is not closed.
+     * @param fileName output file name, for messages.
+     * @param messages Messages object.
+     * @return the number of proofs rewritten.
+     * @throws TheoremLoaderException if there is an I/O error while reading
+     *             the .mm file or writing the output file.
+     */
+    public int recompressMMFile(final LogicalSystem logicalSystem,
+        final File mmFile, final BufferedWriter w, final String fileName,
+        final Messages messages) throws TheoremLoaderException
+    {
+        final Batches batches = new Batches(getTheorems(logicalSystem), true);
+        int n = 0;
+        try (Tokenizer tokenizer = new Tokenizer(mmFile, mmFile.getPath())) {
+            final StringBuilder sb = new StringBuilder();
+            String prevToken = null;
+            String label = null;
+            boolean inComment = false;
+            boolean inProof = false;
+            while (true) {
+                sb.setLength(0);
+                if (tokenizer.getWhiteSpace(sb, 0) < 0)
+                    break;
+                if (!inProof)
+                    w.append(sb);
+
+                sb.setLength(0);
+                if (tokenizer.getToken(sb, 0) < 0)
+                    break;
+                final String token = sb.toString();
+
+                if (inComment) {
+                    if (token.equals(MMIOConstants.MM_END_COMMENT_KEYWORD))
+                        inComment = false;
+                }
+                else if (token.equals(MMIOConstants.MM_BEGIN_COMMENT_KEYWORD))
+                    inComment = true;
+                else if (inProof) {
+                    if (token.equals(MMIOConstants.MM_END_STMT_KEYWORD)) {
+                        inProof = false;
+                        continue;
+                    }
+                }
+                else if (token
+                    .equals(MMIOConstants.MM_PROVABLE_ASSRT_KEYWORD))
+                    label = prevToken;
+                else if (token.equals(MMIOConstants.MM_START_PROOF_KEYWORD)
+                    && label != null)
+                {
+                    final Output output = batches.get(logicalSystem, label);
+                    label = null;
+                    if (output != null) {
+                        w.append(token);
+                        write(w, output, messages);
+                        inProof = true;
+                        n++;
+                        continue;
+                    }
+                }
+                if (!inProof)
+                    w.append(sb);
+                prevToken = token;
+            }
+            w.flush();
+        } catch (final IOException e) {
+            throw new TheoremLoaderException(e,
+                TlConstants.ERRMSG_RECOMPRESS_IO_ERROR, mmFile.getPath(),
+                fileName, e.getMessage());
+        } finally {
+            batches.shutdown();
+        }
+        return n;
+    }
+
+    /**
+     * Recompresses every Theorem in the Logical System and writes only the
+     * Theorems to the output file, each one with its scope, "$d" and "$e"
+     * statements, description and "$p" statement.
+     * <p>
+     * A proof that cannot be compressed is written in normal format, with an
+     * info message.
+     *
+     * @param logicalSystem LogicalSystem object.
+     * @param w output file Writer, which is not closed.
+     * @param fileName output file name, for messages.
+     * @param messages Messages object.
+     * @return the number of Theorems written.
+     * @throws TheoremLoaderException if there is an I/O error while writing
+     *             the output file.
+     */
+    public int recompressTheorems(final LogicalSystem logicalSystem,
+        final BufferedWriter w, final String fileName,
+        final Messages messages) throws TheoremLoaderException
+    {
+        final List<Theorem> theorems = getTheorems(logicalSystem);
+        final Batches batches = new Batches(theorems, false);
+        try {
+            for (int i = 0; i < theorems.size(); i++) {
+                write(w, batches.get(i), messages);
+                w.newLine(); // extra line containing just end-of-line
+            }
+            w.flush();
+        } catch (final IOException e) {
+            throw new TheoremLoaderException(e,
+                TlConstants.ERRMSG_RECOMPRESS_WRITE_IO_ERROR, fileName,
+                e.getMessage());
+        } finally {
+            batches.shutdown();
+        }
+        return theorems.size();
+    }
+
+    private static List<Theorem> getTheorems(
+        final LogicalSystem logicalSystem)
+    {
+        final List<Theorem> theorems = new ArrayList<>();
+        for (final Stmt stmt : logicalSystem.getStmtTbl().values())
+            if (stmt instanceof Theorem)
+                theorems.add((Theorem)stmt);
+        Collections.sort(theorems, MObj.SEQ);
+        return theorems;
+    }
+
+    /*
+       Writes the lines of an Output. Proof lines follow the start of
+       proof keyword, so each one starts a new line instead of ending
+       one: the text after the end of statement keyword is copied
+       from the input file.
+     */
+    private static void write(final BufferedWriter w, final Output output,
+        final Messages messages) throws IOException
+    {
+        if (output.errorMessage != null)
+            messages.accumMessage(
+                TlConstants.ERRMSG_RECOMPRESS_PROOF_NOT_COMPRESSED,
+                output.label, output.errorMessage);
+        for (final StringBuilder sb : output.lines) {
+            if (output.proofOnly)
+                w.newLine();
+            w.append(sb);
+            if (!output.proofOnly)
+                w.newLine();
+        }
+    }
+
+    /**
+     * The Theorems in database order, recompressed a batch at a time when
+     * their Outputs are requested (in database order, or nearly so.)
+     */
+    private class Batches {
+        private final List<Theorem> theorems;
+        private final ThreadLocal<Worker> workers;
+        private final ForkJoinPool pool;
+        private int lo = -1;
+        private Output[] outputs;
+
+        Batches(final List<Theorem> theorems, final boolean proofOnly) {
+            this.theorems = theorems;
+            workers = ThreadLocal
+                .withInitial(() -> new Worker(tlPreferences, proofOnly));
+            pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        }
+
+        /**
+         * @param logicalSystem LogicalSystem object.
+         * @param label a statement label.
+         * @return the Output of the Theorem with this label, or null if the
+         *         label is not a Theorem's.
+         */
+        Output get(final LogicalSystem logicalSystem, final String label) {
+            final Stmt stmt = logicalSystem.getStmtTbl().get(label);
+            if (!(stmt instanceof Theorem))
+                return null;
+            final int i = Collections.binarySearch(theorems, (Theorem)stmt,
+                MObj.SEQ);
+            return i < 0 ? null : get(i);
+        }
+
+        Output get(final int i) {
+            final int batchLo = i - i % TlConstants.RECOMPRESS_BATCH_LEN;
+            if (batchLo != lo) {
+                final List<Theorem> batch = theorems.subList(batchLo,
+                    Math.min(batchLo + TlConstants.RECOMPRESS_BATCH_LEN,
+                        theorems.size()));
+                outputs = new Output[batch.size()];
+                final RecompressShard shard = new RecompressShard(batch,
+                    outputs, workers, 0, outputs.length);
+                if (pool == null)
+                    shard.recompress();
+                else
+                    pool.invoke(shard);
+                lo = batchLo;
+            }
+            return outputs[i - lo];
+        }
+
+        void shutdown() {
+            if (pool != null)
+                pool.shutdown();
+        }
+    }
+
+    /**
+     * The per-thread state of a recompression.
+     */
+    private static class Worker {
+        final ProofCompression proofCompression = new ProofCompression();
+        final MMTTheoremExportFormatter formatter;
+        final boolean proofOnly;
+
+        Worker(final TlPreferences tlPreferences, final boolean proofOnly) {
+            formatter = new MMTTheoremExportFormatter(tlPreferences);
+            this.proofOnly = proofOnly;
+        }
+
+        Output recompress(final Theorem theorem) {
+            final Output output = new Output(theorem.getLabel(), proofOnly);
+            try {
+                output.lines = format(theorem, proofCompression);
+            } catch (final RuntimeException e) {
+                output.errorMessage = e.getMessage() != null ? e.getMessage()
+                    : e.toString();
+                output.lines = format(theorem, null);
+            }
+            return output;
+        }
+
+        private List<StringBuilder> format(final Theorem theorem,
+            final ProofCompression proofCompression)
+        {
+            return proofOnly
+                ? formatter.buildProofLineList(theorem, proofCompression)
+                : formatter.buildStringBuilderLineList(theorem,
+                    proofCompression);
+        }
+    }
+
+    private static class Output {
+        final String label;
+        final boolean proofOnly;
+        List<StringBuilder> lines;
+        String errorMessage;
+
+        Output(final String label, final boolean proofOnly) {
+            this.label = label;
+            this.proofOnly = proofOnly;
+        }
+    }
+
+    /**
+     * A contiguous range of a batch of Theorems, recompressed by one fork-join
+     * task. Results are stored in the parallel outputs array.
+     */
+    private static class RecompressShard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Theorem> list;
+        private final Output[] outputs;
+        private final ThreadLocal<Worker> workers;
+        private final int lo;
+        private final int hi;
+
+        RecompressShard(final List<Theorem> list, final Output[] outputs,
+            final ThreadLocal<Worker> workers, final int lo, final int hi)
+        {
+            this.list = list;
+            this.outputs = outputs;
+            this.workers = workers;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > TlConstants.RECOMPRESS_SHARD_MIN_LEN) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(
+                    new RecompressShard(list, outputs, workers, lo, mid),
+                    new RecompressShard(list, outputs, workers, mid, hi));
+                return;
+            }
+            recompress();
+        }
+
+        void recompress() {
+            final Worker worker = workers.get();
+            for (int i = lo; i < hi; i++)
+                outputs[i] = worker.recompress(list.get(i));
+        }
+    }
+}
@@ -11,12 +11,16 @@
  *
  * Version 0.01:
  *     --> new.
+ *
+ * Version 0.02 - Oct-18-2026:
+ *     --> Add buildStringBuilderLineList(Theorem, ProofCompression)
+ *         to output a Theorem with a compressed proof, and
+ *         buildProofLineList() to output just its proof.
  */
 
 package mmj.tl;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
 import mmj.lang.*;
 import mmj.lang.ParseTree.RPNStep;
@@ -67,6 +71,26 @@ public class MMTTheoremExportFormatter {
      */
     public List<StringBuilder> buildStringBuilderLineList(
         final Theorem theorem)
+    {
+        return buildStringBuilderLineList(theorem, null);
+    }
+
+    /**
+     * Converts a Theorem in the LogicalSystem into a list of StringBuilder
+     * lines formatted into Metamath format, with a compressed proof.
+     * <p>
+     * The proof is "squished" (repeated subproofs are referenced rather than
+     * repeated) and then compressed, so that the output does not depend on the
+     * format of the proof in the input file.
+     *
+     * @param theorem Theorem in the Logical System.
+     * @param proofCompression ProofCompression object used to compress the
+     *            proof, or null to output the proof in normal (RPN) format.
+     * @return LinkedList of StringBuilder objects each containing one line of
+     *         text in Metamath-format (without newlines.)
+     */
+    public List<StringBuilder> buildStringBuilderLineList(
+        final Theorem theorem, final ProofCompression proofCompression)
     {
         init(theorem);
 
@@ -86,7 +110,10 @@ public class MMTTheoremExportFormatter {
 
         outputConclusionLine(theorem);
 
-        outputProofLine(theorem);
+        if (proofCompression == null)
+            outputProofLine(theorem);
+        else
+            outputCompressedProofLines(theorem, proofCompression);
 
         if (needScopeLines)
             outputEndScope();
@@ -94,6 +121,32 @@ public class MMTTheoremExportFormatter {
         return list;
     }
 
+    /**
+     * Converts the proof of a Theorem in the LogicalSystem into a list of
+     * StringBuilder lines formatted into Metamath format: the lines that
+     * follow the start of proof keyword in
+     * {@link #buildStringBuilderLineList(Theorem, ProofCompression)}, ending
+     * with the end of statement keyword.
+     *
+     * @param theorem Theorem in the Logical System.
+     * @param proofCompression ProofCompression object used to compress the
+     *            proof, or null to output the proof in normal (RPN) format.
+     * @return LinkedList of StringBuilder objects each containing one line of
+     *         text in Metamath-format (without newlines.)
+     */
+    public List<StringBuilder> buildProofLineList(final Theorem theorem,
+        final ProofCompression proofCompression)
+    {
+        init(theorem);
+
+        if (proofCompression == null)
+            outputProofLine(theorem);
+        else
+            outputCompressedProofLines(theorem, proofCompression);
+
+        return list;
+    }
+
     /**
      * Converts a ProofWorksheet into a list of StringBuilder lines formatted
      * into Metamath format.
@@ -504,6 +557,94 @@ public class MMTTheoremExportFormatter {
         outputProof(proofWorksheet.getQedStepProofRPN(), leftOffset, rightCol);
     }
 
+    private void outputCompressedProofLines(final Theorem theorem,
+        final ProofCompression proofCompression)
+    {
+        int leftOffset = indentAmt;
+        if (needScopeLines)
+            leftOffset += indentAmt;
+        leftOffset += indentAmt;
+
+        RPNStep[] rpn = theorem.getProof();
+        try {
+            rpn = new ParseTree(rpn).squishTree().convertToRPN(false);
+        } catch (final RuntimeException e) {
+            // an invalid (or incomplete) proof is compressed as it is
+        }
+
+        final List<VarHyp> optHypList = new ArrayList<>();
+        for (final Hyp hyp : theorem.getOptFrame().hypArray)
+            if (hyp instanceof VarHyp)
+                optHypList.add((VarHyp)hyp);
+
+        final StringBuilder letters = new StringBuilder();
+        final List<Stmt> parenList = proofCompression.compress(
+            theorem.getLabel(), rightCol - leftOffset + 1,
+            Arrays.asList(theorem.getMandFrame().hypArray), optHypList, rpn,
+            letters);
+
+        outputCompressedProof(parenList, letters, leftOffset, rightCol);
+    }
+
+    /*
+       Same layout as a compressed proof in a Proof Worksheet's
+       GeneratedProofStmt: the parenthesized labels, then the
+       letters broken at the right column, then the end of
+       statement keyword.
+     */
+    private void outputCompressedProof(final List<Stmt> parenList,
+        final StringBuilder letters, final int left, final int right)
+    {
+        StringBuilder sb = startNewLine(left);
+        sb.append('(');
+        int col = left + 1;
+        for (int i = 0; i <= parenList.size(); i++) {
+            final String label = i == parenList.size() ? ")"
+                : parenList.get(i).getLabel();
+            if (col + label.length() < right) {
+                sb.append(' ');
+                col++;
+            }
+            else {
+                list.add(sb);
+                sb = startNewLine(left);
+                col = left;
+            }
+            sb.append(label);
+            col += label.length();
+        }
+        if (col + 1 < right) {
+            sb.append(' ');
+            col++;
+        }
+        else {
+            list.add(sb);
+            sb = startNewLine(left);
+            col = left;
+        }
+        int lIndex = 0;
+        while (true) {
+            final int avail = right - col;
+            if (lIndex + avail >= letters.length()) {
+                sb.append(letters, lIndex, letters.length());
+                col += letters.length() - lIndex;
+                break;
+            }
+            sb.append(letters, lIndex, lIndex += avail);
+            list.add(sb);
+            sb = startNewLine(left);
+            col = left;
+        }
+        if (col + MMIOConstants.MM_END_STMT_KEYWORD.length() < right)
+            sb.append(' ');
+        else {
+            list.add(sb);
+            sb = startNewLine(left);
+        }
+        sb.append(MMIOConstants.MM_END_STMT_KEYWORD);
+        list.add(sb);
+    }
+
     private void outputProof(final RPNStep[] proof, final int left,
         final int right)
     {
@@ -11,10 +11,15 @@
  *
  * Version 0.01:
  *     - new.
+ *
+ * Version 0.02 - Oct-18-2026:
+ *     - Add recompressMMFile() and recompressTheoremsToMMFile().
  */
 
 package mmj.tl;
 
+import java.io.BufferedWriter;
+import java.io.File;
 import java.util.List;
 
 import mmj.lang.*;
@@ -217,6 +222,57 @@ public class TheoremLoader {
             mmtTheoremLines);
     }
 
+    /**
+     * Copies the Metamath .mm file the Logical System was loaded from to
+     * another .mm file, replacing the proof of every Theorem with its
+     * recompressed proof.
+     * <p>
+     * See {@link MMRecompressor}.
+     *
+     * @param logicalSystem LogicalSystem object.
+     * @param mmFile the Metamath .mm file the Logical System was loaded from.
+     * @param w output file Writer, which is not closed.
+     * @param fileName output file name, for messages.
+     * @param threads number of worker threads; 1 or less recompresses
+     *            serially.
+     * @param messages Messages object.
+     * @return the number of proofs rewritten.
+     * @throws TheoremLoaderException if there is an I/O error while reading
+     *             the .mm file or writing the output file.
+     */
+    public int recompressMMFile(final LogicalSystem logicalSystem,
+        final File mmFile, final BufferedWriter w, final String fileName,
+        final int threads, final Messages messages)
+        throws TheoremLoaderException
+    {
+        return new MMRecompressor(tlPreferences, threads)
+            .recompressMMFile(logicalSystem, mmFile, w, fileName, messages);
+    }
+
+    /**
+     * Recompresses the proof of every Theorem in the Logical System and
+     * writes only the Theorems, in database order, to a Metamath .mm file.
+     * <p>
+     * See {@link MMRecompressor}.
+     *
+     * @param logicalSystem LogicalSystem object.
+     * @param w output file Writer, which is not closed.
+     * @param fileName output file name, for messages.
+     * @param threads number of worker threads; 1 or less recompresses
+     *            serially.
+     * @param messages Messages object.
+     * @return the number of Theorems written.
+     * @throws TheoremLoaderException if there is an I/O error while writing
+     *             the output file.
+     */
+    public int recompressTheoremsToMMFile(final LogicalSystem logicalSystem,
+        final BufferedWriter w, final String fileName, final int threads,
+        final Messages messages) throws TheoremLoaderException
+    {
+        return new MMRecompressor(tlPreferences, threads)
+            .recompressTheorems(logicalSystem, w, fileName, messages);
+    }
+
     /**
      * Unifies an mmj2 Proof Text area.
      *
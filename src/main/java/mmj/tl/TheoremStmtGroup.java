@@ -7,10 +7,13 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * TheoremStmtGroup.java  0.01 08/01/2008
+ * TheoremStmtGroup.java  0.02 10/18/2026
  *
  * Version 0.01:
  *     --> new.
+ *
+ * Version 0.02:
+ *     --> added getOldProof() for ProofDependencyGraph.
  */
 
 package mmj.tl;
@@ -356,6 +359,16 @@ public class TheoremStmtGroup {
         return wasTheoremUpdated;
     }
 
+    /**
+     * Gets the proof the theorem had before it was updated, or null if the
+     * theorem was not updated.
+     *
+     * @return previous proof or null.
+     */
+    public RPNStep[] getOldProof() {
+        return wasTheoremUpdated ? oldProof : null;
+    }
+
     /**
      * Gets the wasTheoremInserted flag.
      *
@@ -13,6 +13,9 @@
  * -- new.
  *
  * Version 0.02 - Nov-01-2011:  comment update.
+ *
+ * Version 0.03 - Oct-18-2026:
+ * -- Add constants and messages for MMRecompressor.java
  */
 
 package mmj.tl;
@@ -97,6 +100,22 @@ public class TlConstants {
      */
     public static final int FILE_WRITER_BUFFER_SIZE = 4096;
 
+    // ----------------------------------------------------------
+    // Constants from MMRecompressor.java
+    // ----------------------------------------------------------
+
+    /**
+     * Number of Theorems recompressed before their lines are written to the
+     * output file, bounding the memory used by a parallel recompression.
+     */
+    public static final int RECOMPRESS_BATCH_LEN = 4096;
+
+    /**
+     * Number of Theorems below which a parallel recompression shard is not
+     * split any further.
+     */
+    public static final int RECOMPRESS_SHARD_MIN_LEN = 64;
+
     // ----------------------------------------------------------
     // Constants from TheoremStmtGroup.java
     // ----------------------------------------------------------
@@ -508,4 +527,28 @@ public class TlConstants {
 
     public static final ErrorCode ERRMSG_STORE_IN_MMT_FOLDER_OK = of(
         "I-TL-0901 Theorem stored in MMT Folder");
+
+    // ----------------------------------------------------------
+    // Messages from mmj.tl.MMRecompressor.java
+    // ----------------------------------------------------------
+
+    public static final ErrorCode ERRMSG_RECOMPRESS_WRITE_IO_ERROR = of(
+        "E-TL-1001 An I/O error was encountered while writing the recompressed"
+            + " theorems to file %s. Detailed I/O error Message follows: %s");
+
+    public static final ErrorCode ERRMSG_RECOMPRESS_PROOF_NOT_COMPRESSED = of(
+        "I-TL-1002 The proof of theorem %s could not be compressed and is"
+            + " written in normal format. Message = %s");
+
+    public static final ErrorCode ERRMSG_RECOMPRESS_OK = of(
+        "I-TL-1003 %d theorems recompressed and written to file %s");
+
+    public static final ErrorCode ERRMSG_RECOMPRESS_IO_ERROR = of(
+        "E-TL-1004 An I/O error was encountered while copying file %s with"
+            + " recompressed proofs to file %s. Detailed I/O error Message"
+            + " follows: %s");
+
+    public static final ErrorCode ERRMSG_RECOMPRESS_OUTPUT_IS_INPUT = of(
+        "E-TL-1005 The recompressed proofs cannot be written to file %s,"
+            + " which is the loaded Metamath file.");
 }
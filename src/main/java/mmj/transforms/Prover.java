@@ -23,6 +23,17 @@ public interface Prover {
      */
     public abstract ProverResult prove(WorksheetInfo info, ParseNode root);
 
+    /**
+     * Returns the syntax axiom that must be at the root of every goal this
+     * prover can prove, so that provers can be looked up by goal. The default
+     * is {@code null}, meaning that the prover may prove goals with any root.
+     *
+     * @return the root syntax axiom of the goals, or null
+     */
+    public default Stmt getGoalRootStmt() {
+        return null;
+    }
+
     public static class ProverResult {
         public Assrt assrt;
         public ParseNode[] subst;
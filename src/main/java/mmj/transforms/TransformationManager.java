@@ -70,6 +70,44 @@ public class TransformationManager {
 
     public final List<Prover> provers;
 
+    /** The same list as {@link #provers} */
+    private final ProverList proverList;
+
+    /**
+     * The provers by {@link Prover#getGoalRootStmt()}, in {@link #provers}
+     * order; the provers which may prove any goal are in every list and in
+     * {@link #anyGoalProvers}.
+     */
+    private Map<Stmt, List<Prover>> proverIndex;
+
+    private List<Prover> anyGoalProvers;
+
+    /** The version of {@link #provers} when {@link #proverIndex} was built */
+    private int proverIndexVersion = -1;
+
+    /**
+     * The list of provers, with a version number which changes whenever the
+     * list is modified -- including when a prover is replaced -- so that the
+     * prover index can tell when it must be rebuilt.
+     */
+    private static class ProverList extends ArrayList<Prover> {
+        private static final long serialVersionUID = 1L;
+
+        private int replacements;
+
+        @Override
+        public Prover set(final int index, final Prover element) {
+            replacements++;
+            return super.set(index, element);
+        }
+
+        /** @return the version number of the list */
+        int getVersion() {
+            // modCount counts the other modifications
+            return modCount + replacements;
+        }
+    }
+
     public final ProofAsst proofAsst;
 
     /**
@@ -116,7 +154,7 @@ public class TransformationManager {
 
         comInfo = new CommutativeInfo(eqInfo, clInfo, assrtList, output, dbg);
 
-        provers = new ArrayList<>();
+        provers = proverList = new ProverList();
 
         setUpProvers(assrtList);
     }
@@ -161,13 +199,22 @@ public class TransformationManager {
                         continue assrtLoop;
                 extraProvers.add(new Provers.UseWhenPossible(assrt));
             }
-        final Map<Assrt, List<AssrtProver>> map = new HashMap<>();
+        // A prover can only prove a conclusion with its own root, so
+        // compare provers only within those groups.
+        final Map<Stmt, List<AssrtProver>> byRoot = new HashMap<>();
         for (final AssrtProver p : extraProvers)
-            for (final AssrtProver p2 : extraProvers)
+            byRoot.computeIfAbsent(p.assrt.getExprParseTree().getRoot().stmt,
+                k -> new ArrayList<>()).add(p);
+        final Map<Assrt, List<AssrtProver>> map = new HashMap<>();
+        for (final AssrtProver p : extraProvers) {
+            final Stmt root = p.getGoalRootStmt();
+            for (final AssrtProver p2 : root == null ? extraProvers
+                : byRoot.get(root))
                 if (p2 != p && p.prove(null,
                     p2.assrt.getExprParseTree().getRoot()) != null)
                     map.computeIfAbsent(p.assrt, k -> new ArrayList<>())
                         .add(p2);
+        }
 
         final TopologicalSorter<AssrtProver> sorter = new TopologicalSorter<>(
             extraProvers,
@@ -365,7 +412,7 @@ public class TransformationManager {
                 info.derivStep.setLocalRef(stmt);
             return stmt;
         }
-        for (final Prover p : provers) {
+        for (final Prover p : getProvers(root)) {
             final ProverResult result = p.prove(info, root);
             if (result == null
                 || result.assrt.getSeq() >= info.proofWorksheet.getMaxSeq())
@@ -391,6 +438,37 @@ public class TransformationManager {
         return badStep;
     }
 
+    /**
+     * Returns the provers which may prove a goal, in {@link #provers} order.
+     * <p>
+     * The index is rebuilt when the provers have changed (macros add and
+     * replace them in {@link #provers} directly).
+     *
+     * @param root the goal
+     * @return the provers to try
+     */
+    private List<Prover> getProvers(final ParseNode root) {
+        if (proverIndexVersion != proverList.getVersion()) {
+            proverIndex = new HashMap<>();
+            anyGoalProvers = new ArrayList<>();
+            for (final Prover p : provers) {
+                final Stmt stmt = p.getGoalRootStmt();
+                if (stmt == null) {
+                    anyGoalProvers.add(p);
+                    for (final List<Prover> list : proverIndex.values())
+                        list.add(p);
+                }
+                else
+                    proverIndex
+                        .computeIfAbsent(stmt,
+                            k -> new ArrayList<>(anyGoalProvers))
+                        .add(p);
+            }
+            proverIndexVersion = proverList.getVersion();
+        }
+        return proverIndex.getOrDefault(root.stmt, anyGoalProvers);
+    }
+
     /**
      * The main entry point transformation function. This function tries to find
      * the transformation which leads to the derivation step from earlier steps.
@@ -11,6 +11,9 @@
  *
  * Version 0.01:
  * Nov-01-2011: new.
+ *
+ * Version 0.02:
+ * Oct-18-2026: - Added GMFFExportThreads RunParm.
  */
 
 package mmj.util;
@@ -30,6 +33,8 @@ public class GMFFBoss extends Boss {
 
     protected GMFFManager gmffManager;
 
+    protected int exportThreads = EXPORT_THREADS_DEFAULT;
+
     /**
      * Constructor with BatchFramework for access to environment.
      *
@@ -48,8 +53,12 @@ public class GMFFBoss extends Boss {
 
             return false; // not "consumed"
         };
-        putCommand(RUNPARM_CLEAR, clear);
+        putCommand(RUNPARM_CLEAR, () -> {
+            exportThreads = EXPORT_THREADS_DEFAULT;
+            return clear.getAsBoolean();
+        });
         putCommand(RUNPARM_LOAD_FILE, clear);
+        putCommand(RUNPARM_LOAD_SNAPSHOT, clear);
 
         putCommand(RUNPARM_GMFF_INITIALIZE, this::doGMFFInitialize);
         putCommand(RUNPARM_GMFF_EXPORT_PARMS, this::doRunParmGMFFExportParms);
@@ -62,6 +71,7 @@ public class GMFFBoss extends Boss {
         putCommand(RUNPARM_GMFF_EXPORT_FROM_FOLDER,
             this::doGMFFExportFromFolder);
         putCommand(RUNPARM_GMFF_EXPORT_THEOREM, this::doGMFFExportTheorem);
+        putCommand(RUNPARM_GMFF_EXPORT_THREADS, this::editGMFFExportThreads);
     }
 
     /**
@@ -178,6 +188,7 @@ public class GMFFBoss extends Boss {
 
         try {
             require(4);
+            getGMFFManager().setExportThreads(exportThreads);
             getGMFFManager().exportFromFolder(get(1), get(2), get(3), get(4),
                 opt(5));
         } catch (final GMFFException e) {
@@ -197,6 +208,7 @@ public class GMFFBoss extends Boss {
             if (proofAsst == null)
                 throw error(ERRMSG_GMFF_PROOF_ASST_MISSING);
 
+            getGMFFManager().setExportThreads(exportThreads);
             getGMFFManager().exportTheorem(get(1), get(2), opt(3), proofAsst);
         } catch (final Exception e) {
             accumException(
@@ -206,4 +218,18 @@ public class GMFFBoss extends Boss {
         batchFramework.outputBoss.printAndClearMessages();
         return;
     }
+
+    /**
+     * Validate GMFFExportThreads RunParm.
+     * <p>
+     * Must be a non-negative integer; zero means one thread per available
+     * processor.
+     *
+     * @throws IllegalArgumentException if an error occurred
+     */
+    public void editGMFFExportThreads() {
+        final int n = getNonnegInt(1);
+        exportThreads = n == 0 ? Runtime.getRuntime().availableProcessors()
+            : n;
+    }
 }
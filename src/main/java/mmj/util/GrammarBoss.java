@@ -29,14 +29,25 @@
  *        inevitable "Parse,*" RunParm later.)
  *     -->Totally initialize after "LoadFile" RunParm,
  *        just like "Clear".
+ *
+ * Version 0.06 10/18/2026
+ *     -->"Parse,*" restores the parse trees from the
+ *        LoadSnapshot snapshot, when it has them.
+ *     -->Added ParseThreads RunParm for multi-threaded
+ *        "Parse,*".
+ *     -->Added ParseTableFile RunParm.
+ *     -->Added ShareParseTrees RunParm (see ParseNodeFactory).
  */
 
 package mmj.util;
 
 import static mmj.util.UtilConstants.*;
 
+import java.io.File;
+
 import mmj.lang.*;
 import mmj.lang.ParseTree.RPNStep;
+import mmj.mmio.LogicalSystemSnapshot;
 import mmj.verify.*;
 
 /**
@@ -78,6 +89,12 @@ public class GrammarBoss extends Boss {
 
     protected Class<? extends GrammaticalParser> parserPrototype;
 
+    protected int parseThreads = GrammarConstants.PARSE_THREADS_DEFAULT;
+
+    protected File parseTableFile;
+
+    protected boolean shareParseTrees = GrammarConstants.SHARE_PARSE_TREES_DEFAULT;
+
     /**
      * Constructor with BatchFramework for access to environment.
      *
@@ -89,8 +106,14 @@ public class GrammarBoss extends Boss {
         grammarAmbiguityParm = GrammarConstants.DEFAULT_COMPLETE_GRAMMAR_AMBIG_EDITS;
         statementAmbiguityParm = GrammarConstants.DEFAULT_COMPLETE_STATEMENT_AMBIG_EDITS;
 
-        putCommand(RUNPARM_CLEAR, this::clear);
+        putCommand(RUNPARM_CLEAR, () -> {
+            parseThreads = GrammarConstants.PARSE_THREADS_DEFAULT;
+            parseTableFile = null;
+            shareParseTrees = GrammarConstants.SHARE_PARSE_TREES_DEFAULT;
+            return clear();
+        });
         putCommand(RUNPARM_LOAD_FILE, this::clear);
+        putCommand(RUNPARM_LOAD_SNAPSHOT, this::clear);
 
 //PATCH 2008-08-01: MOVE TO LogicalSystemBoss
 //        putCommand(RUNPARM_PROVABLE_LOGIC_STMT_TYPE,
@@ -109,6 +132,12 @@ public class GrammarBoss extends Boss {
         putCommand(RUNPARM_INITIALIZE_GRAMMAR, this::doInitializeGrammar);
 
         putCommand(RUNPARM_PARSE, this::doParse);
+
+        putCommand(RUNPARM_PARSE_THREADS, this::editParseThreads);
+
+        putCommand(RUNPARM_PARSE_TABLE_FILE, this::editParseTableFile);
+
+        putCommand(RUNPARM_SHARE_PARSE_TREES, this::editShareParseTrees);
     }
 
     private boolean clear() {
@@ -199,6 +228,9 @@ public class GrammarBoss extends Boss {
             throw error(e);
         }
         grammar.setStore(batchFramework.storeBoss.getStore());
+        grammar.setParseTableFile(parseTableFile);
+        if (shareParseTrees)
+            grammar.setParseNodeFactory(new ParseNodeFactory());
 
         return grammar;
     }
@@ -247,10 +279,26 @@ public class GrammarBoss extends Boss {
         }
 
         if (get(1).equals(RUNPARM_OPTION_VALUE_ALL)) {
-            grammar.parseAllFormulas(messages, logicalSystem.getSymTbl(),
-                logicalSystem.getStmtTbl());
-            allStatementsParsedSuccessfully = messages
-                .getErrorMessageCnt() == 0;
+            final LogicalSystemSnapshot snapshot = batchFramework.logicalSystemBoss
+                .getLoadedSnapshot();
+            if (snapshot != null
+                && snapshot.restoreParseTrees(logicalSystem.getStmtTbl()))
+            {
+                messages.accumMessage(ERRMSG_PARSE_FROM_SNAPSHOT);
+                allStatementsParsedSuccessfully = true;
+                if (grammar.getParseNodeFactory() != null)
+                    grammar.getParseNodeFactory().internExprParseTrees(
+                        logicalSystem.getStmtTbl().values());
+            }
+            else {
+                grammar.parseAllFormulas(messages, logicalSystem.getSymTbl(),
+                    logicalSystem.getStmtTbl(), parseThreads);
+                allStatementsParsedSuccessfully = messages
+                    .getErrorMessageCnt() == 0;
+            }
+            if (grammar.getParseNodeFactory() != null)
+                messages.accumMessage(ERRMSG_PARSE_TREES_SHARED,
+                    grammar.getParseNodeFactory().size());
         }
         else {
             final Stmt stmt = getStmt(1, logicalSystem);
@@ -273,6 +321,42 @@ public class GrammarBoss extends Boss {
         batchFramework.outputBoss.printAndClearMessages();
     }
 
+    /**
+     * Validate ParseThreads RunParm.
+     * <p>
+     * Must be a non-negative integer; zero means one thread per available
+     * processor.
+     *
+     * @throws IllegalArgumentException if an error occurred
+     */
+    protected void editParseThreads() {
+        final int n = getNonnegInt(1);
+        parseThreads = n == 0 ? Runtime.getRuntime().availableProcessors() : n;
+    }
+
+    /**
+     * Validate ParseTableFile RunParm: the file in which the LR parser keeps
+     * its parse table, relative to the Metamath path unless absolute.
+     */
+    protected void editParseTableFile() {
+        final File file = new File(getFileName(1));
+        final File metamathPath = batchFramework.paths.getMetamathPath();
+        parseTableFile = metamathPath == null || file.isAbsolute() ? file
+            : new File(metamathPath, file.getPath());
+        if (grammar != null)
+            grammar.setParseTableFile(parseTableFile);
+    }
+
+    /**
+     * Validate ShareParseTrees RunParm.
+     */
+    protected void editShareParseTrees() {
+        shareParseTrees = getYesNo(1);
+        if (grammar != null)
+            grammar.setParseNodeFactory(
+                shareParseTrees ? new ParseNodeFactory() : null);
+    }
+
     /**
      * An initializeGrammar subroutine.
      */
@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * LogicalSystemBoss.java  0.05 1/01/2012
+ * LogicalSystemBoss.java  0.09 10/18/2026
  *
  * Version 0.04 08/01/2008
  * --> Moved processing of ProvableLogicStmtType and
@@ -18,12 +18,29 @@
  *
  * Version 0.05 - Nov-01-2011:
  *     - Added GMFFManager stuff
+ *
+ * Version 0.06 - Oct-18-2026:
+ *     - Added LoadSnapshot and WriteSnapshot RunParms
+ *       (see mmj.mmio.LogicalSystemSnapshot).
+ *
+ * Version 0.07 - Oct-18-2026:
+ *     - Added LazyProofDecompression RunParm (see mmj.lang.ProofCache).
+ *
+ * Version 0.08 - Oct-18-2026:
+ *     - Added LoadThreads RunParm (pipelined Systemizer load and
+ *       parallel proof decompression).
+ *
+ * Version 0.09 - Oct-18-2026:
+ *     - Added getMMFile(), for RecompressTheoremsToMMFile.
  */
 
 package mmj.util;
 
 import static mmj.util.UtilConstants.*;
 
+import java.io.File;
+import java.io.IOException;
+
 import mmj.gmff.GMFFManager;
 import mmj.lang.*;
 import mmj.mmio.*;
@@ -63,6 +80,8 @@ public class LogicalSystemBoss extends Boss {
 
     protected boolean loadComments;
     protected boolean loadProofs;
+    protected int proofCacheSizeParm;
+    protected int loadThreadsParm;
 
     protected LogicalSystem logicalSystem;
 
@@ -70,6 +89,12 @@ public class LogicalSystemBoss extends Boss {
 
     protected boolean logicalSystemLoaded;
 
+    protected File mmFile;
+
+    protected LogicalSystemSnapshot snapshot;
+    protected File snapshotFile;
+    protected boolean loadedFromSnapshot;
+
     /**
      * Constructor with BatchFramework for access to environment.
      *
@@ -92,6 +117,9 @@ public class LogicalSystemBoss extends Boss {
             this::editLoadEndpointStmtNbr);
         putCommand(RUNPARM_LOAD_COMMENTS, this::editLoadComments);
         putCommand(RUNPARM_LOAD_PROOFS, this::editLoadProofs);
+        putCommand(RUNPARM_LAZY_PROOF_DECOMPRESSION,
+            this::editLazyProofDecompression);
+        putCommand(RUNPARM_LOAD_THREADS, this::editLoadThreads);
 
         putCommand(RUNPARM_PROVABLE_LOGIC_STMT_TYPE,
             this::editProvableLogicStmtType);
@@ -107,6 +135,20 @@ public class LogicalSystemBoss extends Boss {
             this::editSeqAssignerIntervalTblInitialSize);
 
         putCommand(RUNPARM_LOAD_FILE, this::doLoadFile);
+
+        putCommand(RUNPARM_LOAD_SNAPSHOT, this::doLoadSnapshot);
+
+        putCommand(RUNPARM_WRITE_SNAPSHOT, this::doWriteSnapshot);
+    }
+
+    /**
+     * Returns the Metamath .mm file named on the last LoadFile (or
+     * LoadSnapshot) RunParm.
+     *
+     * @return the .mm file, or null if none was loaded.
+     */
+    public File getMMFile() {
+        return mmFile;
     }
 
     /**
@@ -127,9 +169,16 @@ public class LogicalSystemBoss extends Boss {
         loadEndpointStmtLabelParm = null;
         logicalSystem = null;
         systemizer = null;
+        mmFile = null;
+
+        snapshot = null;
+        snapshotFile = null;
+        loadedFromSnapshot = false;
 
         loadComments = MMIOConstants.LOAD_COMMENTS_DEFAULT;
         loadProofs = MMIOConstants.LOAD_PROOFS_DEFAULT;
+        proofCacheSizeParm = LangConstants.PROOF_CACHE_SIZE_DEFAULT;
+        loadThreadsParm = MMIOConstants.LOAD_THREADS_DEFAULT;
 
         provableLogicStmtTypeParm = GrammarConstants.DEFAULT_PROVABLE_LOGIC_STMT_TYP_CODES[0];
 
@@ -164,6 +213,18 @@ public class LogicalSystemBoss extends Boss {
         throw error(ERRMSG_MM_FILE_NOT_LOADED, RUNPARM_LOAD_FILE);
     }
 
+    /**
+     * Returns the snapshot the LogicalSystem was loaded from, if the
+     * LoadSnapshot RunParm found an up-to-date snapshot file and the snapshot
+     * still describes the LogicalSystem (there has been no Theorem Loader
+     * commit since).
+     *
+     * @return LogicalSystemSnapshot or null.
+     */
+    public LogicalSystemSnapshot getLoadedSnapshot() {
+        return loadedFromSnapshot && snapshot.isValid() ? snapshot : null;
+    }
+
     /**
      * Execute the LoadFile command: validates RunParm, loads the Metamath file,
      * prints any error messages and keeps a reference to the loaded
@@ -181,8 +242,42 @@ public class LogicalSystemBoss extends Boss {
 
         require(1);
 
+        snapshot = null;
+        loadedFromSnapshot = false;
+
         final Messages messages = batchFramework.outputBoss.getMessages();
 
+        initLogicalSystem(messages);
+
+        if (systemizer == null)
+            systemizer = new Systemizer();
+        systemizer.init(messages, logicalSystem, loadEndpointStmtNbrParm,
+            loadEndpointStmtLabelParm, loadComments, loadProofs);
+        systemizer.setLoadThreads(loadThreadsParm);
+
+        final File metamathPath = batchFramework.paths.getMetamathPath();
+        mmFile = new File(get(1));
+        if (metamathPath != null && !mmFile.isAbsolute())
+            mmFile = new File(metamathPath, get(1));
+
+        try {
+            systemizer.load(metamathPath, get(1));
+        } catch (final MMIOException e) {
+            throw error(e);
+        }
+
+        if (messages.getErrorMessageCnt() == 0)
+            logicalSystemLoaded = true;
+
+        batchFramework.outputBoss.printAndClearMessages();
+    }
+
+    /**
+     * Builds the LogicalSystem, or reinitializes it for another load.
+     *
+     * @param messages the Messages object for GMFFManager.
+     */
+    protected void initLogicalSystem(final Messages messages) {
         if (logicalSystem == null) {
 
             if (gmffManager == null)
@@ -216,24 +311,142 @@ public class LogicalSystemBoss extends Boss {
             logicalSystem.setProofVerifier(null);
             logicalSystem.clearTheoremLoaderCommitListenerList();
         }
+        logicalSystem.setProofCacheSize(proofCacheSizeParm);
+        logicalSystem.setLoadThreads(loadThreadsParm);
+    }
 
-        if (systemizer == null)
-            systemizer = new Systemizer();
-        systemizer.init(messages, logicalSystem, loadEndpointStmtNbrParm,
-            loadEndpointStmtLabelParm, loadComments, loadProofs);
+    /**
+     * Execute the LoadSnapshot command: loads the LogicalSystem from a snapshot
+     * file if it is up to date, otherwise loads the Metamath file as LoadFile
+     * does while recording the load so that WriteSnapshot can refresh the
+     * snapshot file.
+     */
+    public void doLoadSnapshot() {
+
+        logicalSystemLoaded = false;
+
+        require(2);
+
+        if (logicalSystem != null)
+            throw error(ERRMSG_SNAPSHOT_NOT_FIRST_LOAD, runParm.name);
+
+        final Messages messages = batchFramework.outputBoss.getMessages();
+
+        final File metamathPath = batchFramework.paths.getMetamathPath();
+        snapshotFile = getSnapshotFile(metamathPath, get(1));
+        mmFile = getExistingFile(metamathPath, 2);
+        final String loadSettings = getSnapshotLoadSettings();
+
+        initLogicalSystem(messages);
 
         try {
-            systemizer.load(batchFramework.paths.getMetamathPath(), get(1));
-        } catch (final MMIOException e) {
-            throw error(e);
+            snapshot = LogicalSystemSnapshot.read(snapshotFile, mmFile,
+                loadSettings);
+            if (snapshot != null) {
+                snapshot.load(logicalSystem, messages);
+                loadedFromSnapshot = true;
+                messages.accumMessage(ERRMSG_SNAPSHOT_LOADED,
+                    snapshotFile.getAbsolutePath());
+            }
+            else {
+                messages.accumMessage(ERRMSG_SNAPSHOT_STALE,
+                    snapshotFile.getAbsolutePath(), mmFile.getAbsolutePath());
+                snapshot = new LogicalSystemSnapshot(loadSettings);
+
+                systemizer = new Systemizer();
+                systemizer.init(messages, snapshot.record(logicalSystem),
+                    loadEndpointStmtNbrParm, loadEndpointStmtLabelParm,
+                    loadComments, loadProofs);
+                systemizer.setLoadThreads(loadThreadsParm);
+                try {
+                    systemizer.load(metamathPath, mmFile.getAbsolutePath());
+                } catch (final MMIOException e) {
+                    throw error(e);
+                }
+                for (final String f : systemizer.getFilesAlreadyLoaded())
+                    snapshot.addSourceFile(new File(f));
+            }
+        } catch (final IOException e) {
+            throw error(e, ERRMSG_SNAPSHOT_IO, snapshotFile.getAbsolutePath(),
+                e.getMessage());
         }
 
+        // a Theorem Loader commit changes the LogicalSystem, so the
+        // snapshot no longer describes it.
+        final LogicalSystemSnapshot s = snapshot;
+        logicalSystem.accumTheoremLoaderCommitListener(t -> s.invalidate());
+
         if (messages.getErrorMessageCnt() == 0)
             logicalSystemLoaded = true;
 
         batchFramework.outputBoss.printAndClearMessages();
     }
 
+    /**
+     * Execute the WriteSnapshot command: writes the snapshot recorded by
+     * LoadSnapshot, including parse trees if all statements have been parsed.
+     */
+    public void doWriteSnapshot() {
+
+        final LogicalSystem logicalSystem = getLogicalSystem();
+
+        if (snapshot == null || !snapshot.isValid())
+            throw error(ERRMSG_SNAPSHOT_NOT_AVAILABLE, runParm.name,
+                RUNPARM_LOAD_SNAPSHOT);
+
+        final Messages messages = batchFramework.outputBoss.getMessages();
+
+        final File file = opt(1) == null ? snapshotFile
+            : getSnapshotFile(batchFramework.paths.getMetamathPath(), get(1));
+
+        final boolean allStatementsParsed = batchFramework.grammarBoss
+            .getAllStatementsParsedSuccessfully();
+        final boolean allProofsVerified = batchFramework.verifyProofBoss
+            .getAllProofsVerifiedSuccessfully();
+
+        // rewriting the snapshot just loaded gains nothing unless parsing or
+        // proof verification has been completed since it was written
+        if (loadedFromSnapshot && file.equals(snapshotFile)
+            && (snapshot.getAllStatementsParsed() || !allStatementsParsed)
+            && (snapshot.getAllProofsVerified() || !allProofsVerified))
+            messages.accumMessage(ERRMSG_SNAPSHOT_UP_TO_DATE,
+                file.getAbsolutePath());
+        else
+            try {
+                snapshot.write(file, logicalSystem.getStmtTbl(),
+                    allStatementsParsed, allProofsVerified);
+                messages.accumMessage(ERRMSG_SNAPSHOT_WRITTEN,
+                    file.getAbsolutePath());
+            } catch (final IOException e) {
+                throw error(e, ERRMSG_SNAPSHOT_IO, file.getAbsolutePath(),
+                    e.getMessage());
+            }
+
+        batchFramework.outputBoss.printAndClearMessages();
+    }
+
+    private File getSnapshotFile(final File filePath, final String fileName) {
+        final File file = new File(fileName);
+        if (filePath == null || file.isAbsolute())
+            return file;
+        return new File(filePath, fileName);
+    }
+
+    /**
+     * Returns the RunParm settings that affect the loaded LogicalSystem and
+     * which must therefore match for a snapshot to be reused.
+     *
+     * @return load settings String.
+     */
+    protected String getSnapshotLoadSettings() {
+        return "loadComments=" + loadComments + ",loadProofs=" + loadProofs
+            + ",endpointStmtNbr=" + loadEndpointStmtNbrParm
+            + ",endpointStmtLabel=" + loadEndpointStmtLabelParm
+            + ",provableLogicStmtType=" + provableLogicStmtTypeParm
+            + ",logicStmtType=" + logicStmtTypeParm + ",bookManagerEnabled="
+            + bookManagerEnabledParm;
+    }
+
     /**
      * Returns the current value of the LoadProofs RunParm or its default
      * setting.
@@ -298,6 +511,32 @@ public class LogicalSystemBoss extends Boss {
         loadProofs = getYesNo(1);
     }
 
+    /**
+     * Validate Lazy Proof Decompression Parameter.
+     * <p>
+     * Must be a number greater than or equal to zero: the number of
+     * decompressed proofs to keep, or 0 to decompress proofs when loaded.
+     *
+     * @throws IllegalArgumentException if an error occurred
+     */
+    protected void editLazyProofDecompression() {
+        proofCacheSizeParm = getNonnegInt(1);
+    }
+
+    /**
+     * Validate Load Threads Parameter.
+     * <p>
+     * Must be a non-negative integer; zero means one thread per available
+     * processor.
+     *
+     * @throws IllegalArgumentException if an error occurred
+     */
+    protected void editLoadThreads() {
+        final int n = getNonnegInt(1);
+        loadThreadsParm = n == 0 ? Runtime.getRuntime().availableProcessors()
+            : n;
+    }
+
     /**
      * Validate Statement Table Initial Size Parameter.
      *
@@ -0,0 +1,355 @@
+//*****************************************************************************/
+//* Copyright (C) 2026                                                        */
+//* MEL O'CAT  X178G243 (at) yahoo (dot) com                                  */
+//* License terms: GNU General Public License Version 2                       */
+//*                or any later version                                       */
+//*****************************************************************************/
+//*456789012345678 (80-character line to adjust editor window) 456789012345678*/
+
+/*
+ * Metrics.java  0.01 10/18/2026
+ *
+ * Oct-18-2026:
+ *     --> new!
+ */
+
+package mmj.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.*;
+import java.util.function.Function;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Metrics is the registry of named performance counters, histograms and
+ * timers used to see where the time goes in mmj2.
+ * <p>
+ * A metric is registered on first use and kept for the life of the JVM; the
+ * instrumented classes hold theirs in static fields, so that recording a
+ * value is just an atomic update. Names follow the Prometheus conventions
+ * (lower case, underscores, "_total" for counters and "_seconds" for
+ * timers) and are exported with the {@link UtilConstants#METRICS_PREFIX}
+ * prefix.
+ * <p>
+ * A Histogram counts its values in power-of-two buckets: bucket {@code i}
+ * holds the values {@code v} with {@code 2^(i-1) <= v < 2^i} (bucket 0
+ * holds 0). A Timer is a Histogram of elapsed nanoseconds, exported in
+ * seconds.
+ * <p>
+ * The metrics are printed by the "PrintMetrics" and "PrintMetricsAtEnd"
+ * RunParms (see {@link OutputBoss}), in Prometheus text format or as JSON.
+ */
+public class Metrics {
+
+    private static final Map<String, Metric> registry = new ConcurrentSkipListMap<>();
+
+    private Metrics() {}
+
+    /**
+     * Returns the Counter with the given name, registering it if need be.
+     *
+     * @param name the metric name.
+     * @return the Counter.
+     */
+    public static Counter counter(final String name) {
+        return register(name, Counter.class, Counter::new);
+    }
+
+    /**
+     * Returns the Histogram with the given name, registering it if need be.
+     *
+     * @param name the metric name.
+     * @return the Histogram.
+     */
+    public static Histogram histogram(final String name) {
+        return register(name, Histogram.class, Histogram::new);
+    }
+
+    /**
+     * Returns the Timer with the given name, registering it if need be.
+     *
+     * @param name the metric name.
+     * @return the Timer.
+     */
+    public static Timer timer(final String name) {
+        return register(name, Timer.class, Timer::new);
+    }
+
+    private static <M extends Metric> M register(final String name,
+        final Class<M> type, final Function<String, M> constructor)
+    {
+        final Metric m = registry.computeIfAbsent(name, constructor);
+        if (m.getClass() != type)
+            throw new IllegalArgumentException(
+                UtilConstants.ERRMSG_METRIC_TYPE_CONFLICT.message(name,
+                    m.getClass().getSimpleName(), type.getSimpleName()));
+        return type.cast(m);
+    }
+
+    /**
+     * Sets all registered metrics back to zero.
+     */
+    public static void reset() {
+        for (final Metric m : registry.values())
+            m.reset();
+    }
+
+    /**
+     * Formats the registered metrics in the Prometheus text exposition
+     * format.
+     *
+     * @return the metrics, one sample per line.
+     */
+    public static String toPrometheus() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Metric m : registry.values())
+            m.appendPrometheus(sb, UtilConstants.METRICS_PREFIX + m.name);
+        return sb.toString();
+    }
+
+    /**
+     * Formats the registered metrics as a JSON object, keyed by metric name.
+     *
+     * @return the metrics.
+     */
+    public static JSONObject toJSON() {
+        final JSONObject o = new JSONObject();
+        for (final Metric m : registry.values())
+            o.put(m.name, m.toJSON());
+        return o;
+    }
+
+    /**
+     * A named metric.
+     */
+    public abstract static class Metric {
+        /** the metric name */
+        public final String name;
+
+        Metric(final String name) {
+            this.name = name;
+        }
+
+        abstract void reset();
+
+        abstract void appendPrometheus(StringBuilder sb, String fullName);
+
+        abstract JSONObject toJSON();
+    }
+
+    /**
+     * A count of events.
+     */
+    public static class Counter extends Metric {
+        private final LongAdder count = new LongAdder();
+
+        Counter(final String name) {
+            super(name);
+        }
+
+        /**
+         * Adds one to the count.
+         */
+        public void increment() {
+            count.increment();
+        }
+
+        /**
+         * Adds to the count.
+         *
+         * @param n the number of events.
+         */
+        public void add(final long n) {
+            count.add(n);
+        }
+
+        /**
+         * @return the count.
+         */
+        public long get() {
+            return count.sum();
+        }
+
+        @Override
+        void reset() {
+            count.reset();
+        }
+
+        @Override
+        void appendPrometheus(final StringBuilder sb, final String fullName) {
+            sb.append("# TYPE ").append(fullName).append(" counter\n");
+            sb.append(fullName).append(' ').append(get()).append('\n');
+        }
+
+        @Override
+        JSONObject toJSON() {
+            return new JSONObject().put("type", "counter").put("value", get());
+        }
+    }
+
+    /**
+     * A distribution of non-negative values.
+     */
+    public static class Histogram extends Metric {
+        private static final int NBR_BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(
+            NBR_BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram(final String name) {
+            super(name);
+        }
+
+        /**
+         * Records one value (negative values are recorded as 0).
+         *
+         * @param value the value.
+         */
+        public void record(final long value) {
+            final long v = Math.max(value, 0);
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(v));
+            count.increment();
+            sum.add(v);
+            max.accumulate(v);
+        }
+
+        /**
+         * @return the number of values recorded.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the sum of the values recorded.
+         */
+        public long getSum() {
+            return sum.sum();
+        }
+
+        /**
+         * @return the largest value recorded, or 0.
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Scale of the exported values: 1 for plain values.
+         *
+         * @return the multiplier applied to exported values.
+         */
+        double getScale() {
+            return 1;
+        }
+
+        String getType() {
+            return "histogram";
+        }
+
+        private int getTopBucket() {
+            int top = NBR_BUCKETS - 1;
+            while (top > 0 && buckets.get(top) == 0)
+                top--;
+            return top;
+        }
+
+        // inclusive upper bound of bucket i, scaled
+        private double getUpperBound(final int i) {
+            return (Math.scalb(1.0, i) - 1) * getScale();
+        }
+
+        @Override
+        void reset() {
+            for (int i = 0; i < NBR_BUCKETS; i++)
+                buckets.set(i, 0);
+            count.reset();
+            sum.reset();
+            max.reset();
+        }
+
+        @Override
+        void appendPrometheus(final StringBuilder sb, final String fullName) {
+            sb.append("# TYPE ").append(fullName).append(" histogram\n");
+            long cumulative = 0;
+            for (int i = 0; i <= getTopBucket(); i++) {
+                cumulative += buckets.get(i);
+                sb.append(fullName).append("_bucket{le=\"")
+                    .append(getUpperBound(i)).append("\"} ").append(cumulative)
+                    .append('\n');
+            }
+            sb.append(fullName).append("_bucket{le=\"+Inf\"} ")
+                .append(getCount()).append('\n');
+            sb.append(fullName).append("_sum ").append(getSum() * getScale())
+                .append('\n');
+            sb.append(fullName).append("_count ").append(getCount())
+                .append('\n');
+        }
+
+        @Override
+        JSONObject toJSON() {
+            final JSONArray b = new JSONArray();
+            for (int i = 0; i <= getTopBucket(); i++)
+                if (buckets.get(i) != 0)
+                    b.put(new JSONObject().put("le", getUpperBound(i))
+                        .put("count", buckets.get(i)));
+            return new JSONObject().put("type", getType())
+                .put("count", getCount()).put("sum", getSum() * getScale())
+                .put("max", getMax() * getScale()).put("buckets", b);
+        }
+    }
+
+    /**
+     * A distribution of elapsed times, recorded in nanoseconds and exported
+     * in seconds.
+     * <p>
+     * Usage:
+     *
+     * <pre>
+     * final long start = TIMER.start();
+     * ...
+     * TIMER.stop(start);
+     * </pre>
+     */
+    public static class Timer extends Histogram {
+
+        Timer(final String name) {
+            super(name);
+        }
+
+        /**
+         * @return the start time, to be passed to {@link #stop(long)}.
+         */
+        public long start() {
+            return System.nanoTime();
+        }
+
+        /**
+         * Records the time elapsed since {@code start}.
+         *
+         * @param start the value returned by {@link #start()}.
+         * @return the elapsed time in nanoseconds.
+         */
+        public long stop(final long start) {
+            final long elapsed = System.nanoTime() - start;
+            record(elapsed);
+            return elapsed;
+        }
+
+        @Override
+        double getScale() {
+            return 1e-9;
+        }
+
+        @Override
+        String getType() {
+            return "timer";
+        }
+    }
+}
@@ -37,6 +37,9 @@
                   editSysOutFile() to pass mmj2Path as filePath
  *       argument to Boss.editPrintWriterRunParm().
  *     -->add setDefaults() routine.
+ *
+ * Oct-18-2026:
+ *     -->Add PrintMetrics and PrintMetricsAtEnd.
  */
 
 package mmj.util;
@@ -82,6 +85,8 @@ public class OutputBoss extends Boss {
 
     protected int outputVerbosityParm;
 
+    protected String printMetricsAtEndParm;
+
     /**
      * Constructor with BatchFramework for access to environment.
      *
@@ -119,6 +124,10 @@ public class OutputBoss extends Boss {
         putCommand(RUNPARM_STOP_INSTRUMENTATION_TIMER,
             this::editStopInstrumentationTimer);
 
+        putCommand(RUNPARM_PRINT_METRICS, this::doPrintMetrics);
+
+        putCommand(RUNPARM_PRINT_METRICS_AT_END, this::editPrintMetricsAtEnd);
+
         putCommand(RUNPARM_PRINT_BOOK_MANAGER_CHAPTERS,
             this::doPrintBookManagerChapters);
 
@@ -289,9 +298,14 @@ public class OutputBoss extends Boss {
     }
 
     /**
-     * Close SysOut and SysErr.
+     * Close SysOut and SysErr, first printing the metrics if requested by
+     * the PrintMetricsAtEnd RunParm.
      */
     public void close() {
+        if (printMetricsAtEndParm != null)
+            try {
+                printMetrics(printMetricsAtEndParm);
+            } catch (final IOException e) {}
         closeSysOut();
         closeSysErr();
     }
@@ -502,6 +516,52 @@ public class OutputBoss extends Boss {
         printAndClearMessages();
     }
 
+    /**
+     * Executes the PrintMetrics command.
+     */
+    protected void doPrintMetrics() {
+        final String format = getMetricsFormat(opt(1));
+        final String option = opt(2);
+        try {
+            printMetrics(format);
+        } catch (final IOException e) {
+            throw error(e, ERRMSG_SYSOUT_PRINT_WRITER_IO_ERROR);
+        }
+        if (option != null && option.equalsIgnoreCase(METRICS_OPTION_RESET))
+            Metrics.reset();
+    }
+
+    /**
+     * Validate PrintMetricsAtEnd Runparm.
+     */
+    protected void editPrintMetricsAtEnd() {
+        final String format = get(1);
+        printMetricsAtEndParm = format.equalsIgnoreCase(RUNPARM_OPTION_NO)
+            ? null : getMetricsFormat(format);
+    }
+
+    private String getMetricsFormat(final String format) {
+        if (format == null || format.equalsIgnoreCase(METRICS_FORMAT_PROMETHEUS))
+            return METRICS_FORMAT_PROMETHEUS;
+        if (format.equalsIgnoreCase(METRICS_FORMAT_JSON))
+            return METRICS_FORMAT_JSON;
+        throw error(ERRMSG_METRICS_FORMAT_ERROR, format,
+            METRICS_FORMAT_PROMETHEUS, METRICS_FORMAT_JSON);
+    }
+
+    /**
+     * Prints the metrics to SysOut.
+     *
+     * @param format METRICS_FORMAT_PROMETHEUS or METRICS_FORMAT_JSON.
+     * @throws IOException if an error occurred
+     */
+    public void printMetrics(final String format) throws IOException {
+        if (format.equals(METRICS_FORMAT_JSON))
+            sysOutPrintln(Metrics.toJSON().toString(2));
+        else
+            sysOutPrint(Metrics.toPrometheus());
+    }
+
     /**
      * Checks to see if BookManager is initialized and enabled.
      * <p>
@@ -617,6 +677,8 @@ public class OutputBoss extends Boss {
 
         outputVerbosityParm = OUTPUT_VERBOSITY_DEFAULT;
 
+        printMetricsAtEndParm = null;
+
         return false;
     }
 }
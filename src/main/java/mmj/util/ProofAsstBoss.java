@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * ProofAsstBoss.java  0.12 11/01/2011
+ * ProofAsstBoss.java  0.13 10/18/2026
  *
  * Version 0.02:
  *     - New RunParms to support Proof Assistant "Derive" feature:
@@ -67,6 +67,10 @@
  *
  * Version 0.12 - Aug-11-2013:
  *     - Add "ProofAsstLookAndFeel"                 RunParm
+ *
+ * Version 0.13 - Oct-18-2026:
+ *     - Add "ProofAsstBatchTestThreads"            RunParm
+ *     - Add "ProofAsstAutoUnifyDelay"              RunParm
  */
 
 package mmj.util;
@@ -106,6 +110,8 @@ public class ProofAsstBoss extends Boss {
 
     private ProofAsstPreferences proofAsstPreferences;
 
+    private int proofAsstBatchTestThreads = PaConstants.PA_BATCH_TEST_THREADS_DEFAULT;
+
     /**
      * Constructor with BatchFramework for access to environment.
      *
@@ -117,10 +123,12 @@ public class ProofAsstBoss extends Boss {
         final BooleanSupplier clear = () -> {
             proofAsst = null;
             proofAsstPreferences = null;
+            proofAsstBatchTestThreads = PaConstants.PA_BATCH_TEST_THREADS_DEFAULT;
             return false; // not "consumed"
         };
         putCommand(RUNPARM_CLEAR, clear);
         putCommand(RUNPARM_LOAD_FILE, clear);
+        putCommand(RUNPARM_LOAD_SNAPSHOT, clear);
 
         putCommand(RUNPARM_PROOF_ASST_LOOK_AND_FEEL,
             this::editProofAsstLookAndFeel);
@@ -137,6 +145,9 @@ public class ProofAsstBoss extends Boss {
         putCommand(RUNPARM_PROOF_ASST_HIGHLIGHTING_ENABLED,
             this::editProofAsstHighlightingEnabled);
 
+        putCommand(RUNPARM_PROOF_ASST_AUTO_UNIFY_DELAY,
+            this::editProofAsstAutoUnifyDelay);
+
         putCommand(RUNPARM_PROOF_ASST_HIGHLIGHTING_STYLE,
             this::editProofAsstHighlightingStyle);
 
@@ -241,6 +252,9 @@ public class ProofAsstBoss extends Boss {
 
         putCommand(RUNPARM_PROOF_ASST_BATCH_TEST, this::doProofAsstBatchTest);
 
+        putCommand(RUNPARM_PROOF_ASST_BATCH_TEST_THREADS,
+            this::editProofAsstBatchTestThreads);
+
         putCommand(RUNPARM_PROOF_ASST_OPTIMIZE_THEOREM_SEARCH,
             this::doProofAsstTheoremSearchOptimization);
 
@@ -379,6 +393,13 @@ public class ProofAsstBoss extends Boss {
         getProofAsstPreferences().highlightingEnabled.set(getYesNo(1));
     }
 
+    /**
+     * Validate ProofAsstAutoUnifyDelay RunParm.
+     */
+    protected void editProofAsstAutoUnifyDelay() {
+        getProofAsstPreferences().autoUnifyDelay.set(getNonnegInt(1));
+    }
+
     /**
      * Validate ProofAsstHighlightingEnabled RunParm.
      */
@@ -639,6 +660,20 @@ public class ProofAsstBoss extends Boss {
         getProofAsstPreferences().excludeDiscouraged.set(getYesNo(1));
     }
 
+    /**
+     * Validate ProofAsstBatchTestThreads RunParm.
+     * <p>
+     * Must be a non-negative integer; zero means one thread per available
+     * processor.
+     *
+     * @throws IllegalArgumentException if an error occurred
+     */
+    protected void editProofAsstBatchTestThreads() {
+        final int n = getNonnegInt(1);
+        proofAsstBatchTestThreads = n == 0
+            ? Runtime.getRuntime().availableProcessors() : n;
+    }
+
     /**
      * Exports currently loaded theorem proofs to an export file.
      */
@@ -726,7 +761,8 @@ public class ProofAsstBoss extends Boss {
 
             if (importReader == null)
                 proofAsst.importFromMemoryAndUnify(messages, selectorCount,
-                    selectorTheorem, outputBoss, asciiRetest);
+                    selectorTheorem, outputBoss, asciiRetest,
+                    proofAsstBatchTestThreads);
             else
                 proofAsst.importFromFileAndUnify(importReader, messages,
                     selectorCount, selectorTheorem, outputBoss, asciiRetest);
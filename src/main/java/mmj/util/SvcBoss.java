@@ -15,6 +15,9 @@
  *     -->Modified for mmj2 Paths Enhancement:
  *        added svcPath argument to editExistingFolderRunParm()
  *        call in editSvcFolder().
+ * Oct-18-2026 -
+ *     -->Added "SvcServe" RunParm, which runs mmj.svc.SvcServer.
+ *     -->"SvcServe" Value3 enables SvcServer "store" requests.
  */
 
 package mmj.util;
@@ -29,6 +32,7 @@ import mmj.lang.*;
 import mmj.pa.ProofAsst;
 import mmj.pa.ProofAsstPreferences;
 import mmj.svc.SvcCallback;
+import mmj.svc.SvcServer;
 import mmj.tl.TheoremLoader;
 import mmj.tl.TlPreferences;
 import mmj.verify.Grammar;
@@ -72,6 +76,8 @@ public class SvcBoss extends Boss {
         putCommand(RUNPARM_SVC_ARG, this::editSvcArg);
 
         putCommand(RUNPARM_SVC_CALL, this::editSvcCall);
+
+        putCommand(RUNPARM_SVC_SERVE, this::editSvcServe);
     }
 
     /**
@@ -132,6 +138,29 @@ public class SvcBoss extends Boss {
      * Call the designated SvcCallback object.
      */
     protected void editSvcCall() {
+        callSvcCallback(svcCallback);
+    }
+
+    /**
+     * Run the SvcServer, serving requests until it is shut down.
+     */
+    protected void editSvcServe() {
+        final int port = getPosInt(1);
+        if (port > SVC_SERVER_PORT_MAX)
+            throw error(ERRMSG_SVC_SERVER_ARG_ERROR, SVC_SERVER_ARG_PORT,
+                port, 1, SVC_SERVER_PORT_MAX);
+        final int nbrThreads = opt(2) == null ? SVC_SERVER_THREADS_DEFAULT
+            : getNonnegInt(2);
+        final boolean storeEnabled = opt(3) != null && getYesNo(3);
+        callSvcCallback(new SvcServer(port, nbrThreads, storeEnabled));
+    }
+
+    /**
+     * Call a SvcCallback object with the mmj2 objects.
+     *
+     * @param callback the SvcCallback to call.
+     */
+    private void callSvcCallback(final SvcCallback callback) {
 
         final Messages messages = batchFramework.outputBoss.getMessages();
 
@@ -166,7 +195,7 @@ public class SvcBoss extends Boss {
         final TlPreferences tlPreferences = batchFramework.theoremLoaderBoss
             .getTlPreferences();
 
-        svcCallback.go(messages, outputBoss, logicalSystem, verifyProofs,
+        callback.go(messages, outputBoss, logicalSystem, verifyProofs,
             grammar, workVarManager, proofAsstPreferences, proofAsst,
             tlPreferences, theoremLoader, svcFolder, svcArgs);
     }
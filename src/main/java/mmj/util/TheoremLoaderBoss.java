@@ -16,14 +16,16 @@
  *     -->Modified for mmj2 Paths Enhancement
  *        added mmj2Path to setMMTFolder() call
  *        in editTheoremLoaderMMTFolder()
+ *
+ * Oct-18-2026 - Version 0.03
+ *     -->Added RecompressTheoremsToMMFile RunParm.
  */
 
 package mmj.util;
 
 import static mmj.util.UtilConstants.*;
 
-import java.io.IOException;
-import java.io.Reader;
+import java.io.*;
 import java.util.function.BooleanSupplier;
 
 import mmj.lang.*;
@@ -57,6 +59,7 @@ public class TheoremLoaderBoss extends Boss {
         };
         putCommand(RUNPARM_CLEAR, clear);
         putCommand(RUNPARM_LOAD_FILE, clear);
+        putCommand(RUNPARM_LOAD_SNAPSHOT, clear);
 
         putCommand(RUNPARM_THEOREM_LOADER_DJ_VARS_OPTION,
             this::editTheoremLoaderDjVarsOption);
@@ -87,6 +90,9 @@ public class TheoremLoaderBoss extends Boss {
 
         putCommand(RUNPARM_UNIFY_PLUS_STORE_IN_MMT_FOLDER,
             this::editUnifyPlusStoreInMMTFolder);
+
+        putCommand(RUNPARM_RECOMPRESS_THEOREMS_TO_MM_FILE,
+            this::editRecompressTheoremsToMMFile);
     }
 
     /**
@@ -294,6 +300,76 @@ public class TheoremLoaderBoss extends Boss {
         }
     }
 
+    /**
+     * Recompress every theorem's proof and write a .mm file with the new
+     * proofs: a copy of the loaded .mm file (the default), or only the
+     * theorems.
+     * <p>
+     * The number of threads is optional; zero (the default) means one thread
+     * per available processor.
+     */
+    protected void editRecompressTheoremsToMMFile() {
+        final String fileName = getFileName(1);
+        final String fileUsage = getFileUsage(2);
+        int threads = opt(3) == null ? 0 : getNonnegInt(3);
+        if (threads == 0)
+            threads = Runtime.getRuntime().availableProcessors();
+        final boolean theoremsOnly = getRecompressTheoremsOnly(4);
+
+        final LogicalSystem logicalSystem = batchFramework.logicalSystemBoss
+            .getLogicalSystem();
+        final File mmFile = batchFramework.logicalSystemBoss.getMMFile();
+
+        final File mmj2Path = batchFramework.paths.getMMJ2Path();
+        if (!theoremsOnly) {
+            File outFile = new File(fileName);
+            if (mmj2Path != null && !outFile.isAbsolute())
+                outFile = new File(mmj2Path, fileName);
+            try {
+                if (outFile.exists() && outFile.getCanonicalFile()
+                    .equals(mmFile.getCanonicalFile()))
+                    throw error(TlConstants.ERRMSG_RECOMPRESS_OUTPUT_IS_INPUT,
+                        outFile.getAbsolutePath());
+            } catch (final IOException e) {
+                throw error(e, TlConstants.ERRMSG_RECOMPRESS_IO_ERROR,
+                    mmFile.getAbsolutePath(), fileName, e.getMessage());
+            }
+        }
+
+        final Messages messages = batchFramework.outputBoss.getMessages();
+
+        try (BufferedWriter w = buildBufferedFileWriter(fileName, fileUsage,
+            mmj2Path))
+        {
+            final int n = theoremsOnly
+                ? getTheoremLoader().recompressTheoremsToMMFile(logicalSystem,
+                    w, fileName, threads, messages)
+                : getTheoremLoader().recompressMMFile(logicalSystem, mmFile,
+                    w, fileName, threads, messages);
+
+            messages.accumMessage(TlConstants.ERRMSG_RECOMPRESS_OK, n,
+                fileName);
+        } catch (final TheoremLoaderException e) {
+            throw error(e);
+        } catch (final IOException e) {
+            throw error(e, TlConstants.ERRMSG_RECOMPRESS_WRITE_IO_ERROR,
+                fileName, e.getMessage());
+        }
+        batchFramework.outputBoss.printAndClearMessages();
+    }
+
+    private boolean getRecompressTheoremsOnly(final int valueFieldNbr) {
+        final String option = opt(valueFieldNbr);
+        if (option == null || option
+            .equalsIgnoreCase(RUNPARM_OPTION_RECOMPRESS_SOURCE))
+            return false;
+        if (option.equalsIgnoreCase(RUNPARM_OPTION_RECOMPRESS_THEOREMS))
+            return true;
+        throw error(ERRMSG_BOOLEAN_UNRECOG, valueFieldNbr,
+            RUNPARM_OPTION_RECOMPRESS_SOURCE,
+            RUNPARM_OPTION_RECOMPRESS_THEOREMS, option);
+    }
+
     private String getProofWorksheetText(final int valueFieldNbr,
         final int optionNbr)
     {
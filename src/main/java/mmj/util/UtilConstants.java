@@ -209,8 +209,11 @@ import mmj.verify.*;
  *      Clear
  *      GarbageCollection
  *      LoadFile
+ *      LoadSnapshot
+ *      WriteSnapshot
  *      LoadTheoremsFromMMTFolder
  *      VerifyProof
+ *      VerifyChangedProofs
  *      VerifyParse
  *      Parse
  *      InitializeGrammar
@@ -707,6 +710,47 @@ public class UtilConstants {
             + "  ID String = Identifier in StartInstrumentationTimer\n"
             + "              RunParm -- must match.\n" + " </pre>\n" + "\n");
 
+    public static final BatchCommand RUNPARM_PRINT_METRICS = new BatchCommand(
+        "PrintMetrics",
+        " PrintMetrics\n" + " <p>\n" + " \n" + " <pre>\n"
+            + " \"PrintMetrics\": prints the performance metrics\n"
+            + "  (timers, counters and histograms, see mmj.util.Metrics)\n"
+            + "  collected so far.\n" + " \n"
+            + "  - Value1 = format, \"Prometheus\" (text exposition\n"
+            + "             format, the default) or \"JSON\".\n"
+            + "  - Value2 = \"Reset\" to set the metrics back to zero\n"
+            + "             after printing. Optional.\n" + " </pre>\n"
+            + "\n");
+
+    public static final BatchCommand RUNPARM_PRINT_METRICS_AT_END = new BatchCommand(
+        "PrintMetricsAtEnd",
+        " PrintMetricsAtEnd\n" + " <p>\n" + " \n" + " <pre>\n"
+            + " \"PrintMetricsAtEnd\": prints the performance metrics\n"
+            + "  when the RunParm file is finished.\n" + " \n"
+            + "  - Value1 = format, \"Prometheus\" or \"JSON\" (as for\n"
+            + "             PrintMetrics), or \"No\" to cancel.\n"
+            + " </pre>\n" + "\n");
+
+    /**
+     * Prefix of the exported metric names, "mmj2_".
+     */
+    public static final String METRICS_PREFIX = "mmj2_";
+
+    /**
+     * PrintMetrics format "Prometheus".
+     */
+    public static final String METRICS_FORMAT_PROMETHEUS = "Prometheus";
+
+    /**
+     * PrintMetrics format "JSON".
+     */
+    public static final String METRICS_FORMAT_JSON = "JSON";
+
+    /**
+     * PrintMetrics option "Reset".
+     */
+    public static final String METRICS_OPTION_RESET = "Reset";
+
     // ----------------------------------------------------------
     // Commands for mmj.mmio.Systemizer.java
     // ----------------------------------------------------------
@@ -717,6 +761,36 @@ public class UtilConstants {
             + " \"LoadFile\": value1 = qual/unqual filename (varies by OS!)\n"
             + " </pre>\n" + "\n");
 
+    public static final BatchCommand RUNPARM_LOAD_SNAPSHOT = new BatchCommand(
+        "LoadSnapshot",
+        " LoadSnapshot.\n" + " \n"
+            + " Alternative to LoadFile: loads the Metamath file from a\n"
+            + " binary snapshot file written by a previous WriteSnapshot\n"
+            + " RunParm, skipping tokenizing and, if the snapshot holds them,\n"
+            + " parsing (Parse,*) and proof verification (VerifyProof,*).\n"
+            + " The snapshot is used only if it was written from the same\n"
+            + " Metamath file (and include files), with unchanged contents,\n"
+            + " and with the same load RunParms (LoadProofs, LoadComments,\n"
+            + " etc.); otherwise the Metamath file is loaded as by LoadFile\n"
+            + " and a subsequent WriteSnapshot refreshes the snapshot.\n"
+            + " Must be the first load after startup or Clear.\n" + " \n"
+            + " <pre>\n"
+            + " \"LoadSnapshot\": value1 = qual/unqual snapshot filename\n"
+            + "                 value2 = qual/unqual Metamath filename\n"
+            + " </pre>\n" + "\n");
+
+    public static final BatchCommand RUNPARM_WRITE_SNAPSHOT = new BatchCommand(
+        "WriteSnapshot",
+        " WriteSnapshot.\n" + " \n"
+            + " Writes a binary snapshot of the LogicalSystem loaded by\n"
+            + " LoadSnapshot. Put it after Parse,* and VerifyProof,* so that\n"
+            + " the parse trees and verification status are saved too.\n"
+            + " Nothing is written if the LogicalSystem was loaded from an\n"
+            + " up-to-date snapshot.\n" + " \n" + " <pre>\n"
+            + " \"WriteSnapshot\": value1 = qual/unqual snapshot filename\n"
+            + "                  (optional, default = LoadSnapshot value1)\n"
+            + " </pre>\n" + "\n");
+
     public static final BatchCommand RUNPARM_LOAD_ENDPOINT_STMT_NBR = new BatchCommand(
         "LoadEndpointStmtNbr",
         " LoadEndpointStmtNbr.\n" + " \n" + " <pre>\n"
@@ -768,6 +842,43 @@ public class UtilConstants {
             + "                          warning message is produced though.\n"
             + " </pre>\n" + "\n");
 
+    public static final BatchCommand RUNPARM_LAZY_PROOF_DECOMPRESSION = new BatchCommand(
+        "LazyProofDecompression",
+        " LazyProofDecompression\n" + " \n" + " <pre>\n"
+            + " \"LazyProofDecompression\": value1 = cache size (default = 0)\n"
+            + "                          0 = decompress compressed proofs\n"
+            + "                          when the .mm file is loaded.\n"
+            + " \n"
+            + "                          Otherwise keep compressed proofs in\n"
+            + "                          compressed form and decompress each\n"
+            + "                          on first use, keeping at most\n"
+            + "                          value1 decompressed proofs in memory\n"
+            + "                          (least recently used proofs are\n"
+            + "                          discarded).\n" + " \n"
+            + "                          Use to conserve memory and shorten\n"
+            + "                          start-up time with large files.\n"
+            + "                          Compressed proof errors are then\n"
+            + "                          reported by \"VerifyProof\" instead\n"
+            + "                          of \"LoadFile\".\n" + " \n"
+            + "                          Must precede \"LoadFile\".\n"
+            + " </pre>\n" + "\n");
+
+    /**
+     * LoadThreads.
+     */
+    public static final BatchCommand RUNPARM_LOAD_THREADS = new BatchCommand(
+        "LoadThreads", // 0 or positive integer
+        " LoadThreads.\n" + " \n"
+            + " Number of threads used by \"LoadFile\". Default is 1\n"
+            + " (serial load); 0 means use one thread per available\n"
+            + " processor. With more than one thread the .mm file is read\n"
+            + " on a separate thread, a bounded number of statements ahead\n"
+            + " of the load, and compressed proofs are decompressed in\n"
+            + " parallel at end of file (unless LazyProofDecompression is\n"
+            + " on). Error messages are reported in statement order.\n"
+            + " Must precede \"LoadFile\".\n" + " \n" + " <pre>\n"
+            + " \"LoadThreads\": 0 -> 999...\n" + " </pre>\n" + "\n");
+
     // ----------------------------------------------------------
     // Commands for mmj.lang.Messages.java
     // ----------------------------------------------------------
@@ -889,6 +1000,26 @@ public class UtilConstants {
             + " \"VerifyProof\": \"*\" or Stmt.label\n" + " </pre>\n" + "\n");
     // Stmt.label
 
+    public static final BatchCommand RUNPARM_VERIFY_PROOF_THREADS = new BatchCommand(
+        "VerifyProofThreads", // 0 or positive integer
+        " VerifyProofThreads.\n" + " \n"
+            + " Number of threads used by \"VerifyProof,*\". Default is 1\n"
+            + " (serial verification); 0 means use one thread per available\n"
+            + " processor. Error messages are reported in statement order\n"
+            + " regardless of the number of threads.\n" + " \n" + " <pre>\n"
+            + " \"VerifyProofThreads\": 0 -> 999...\n" + " </pre>\n" + "\n");
+
+    public static final BatchCommand RUNPARM_VERIFY_CHANGED_PROOFS = new BatchCommand(
+        "VerifyChangedProofs", // no option values
+        " VerifyChangedProofs.\n" + " \n"
+            + " Re-verifies only the theorems added or updated by the\n"
+            + " Theorem Loader since the last \"VerifyProof,*\" or\n"
+            + " \"VerifyChangedProofs\", plus every theorem whose proof\n"
+            + " depends on them, directly or transitively. Uses\n"
+            + " \"VerifyProofThreads\" threads.\n" + " \n" + " <pre>\n"
+            + " \"VerifyChangedProofs\": no option values\n" + " </pre>\n"
+            + "\n");
+
     public static final BatchCommand RUNPARM_VERIFY_PARSE = new BatchCommand(
         "VerifyParse", // "*" or
         " VerifyParse.\n" + " \n" + " <pre>\n"
@@ -911,6 +1042,38 @@ public class UtilConstants {
         " Parse.\n" + " \n" + " <pre>\n" + " \"Parse\": \"*\" or Stmt.label\n"
             + " </pre>\n" + "\n");
 
+    public static final BatchCommand RUNPARM_PARSE_THREADS = new BatchCommand(
+        "ParseThreads", // 0 or positive integer
+        " ParseThreads.\n" + " \n"
+            + " Number of threads used by \"Parse,*\". Default is 1\n"
+            + " (serial parsing); 0 means use one thread per available\n"
+            + " processor. Each thread uses its own parser. Error messages\n"
+            + " are reported in statement order regardless of the number of\n"
+            + " threads.\n" + " \n" + " <pre>\n"
+            + " \"ParseThreads\": 0 -> 999...\n" + " </pre>\n" + "\n");
+
+    public static final BatchCommand RUNPARM_PARSE_TABLE_FILE = new BatchCommand(
+        "ParseTableFile", // file name
+        " ParseTableFile.\n" + " \n"
+            + " File in which the LR parser (see SetParser) keeps its parse\n"
+            + " table, relative to the MetamathPath unless absolute. The\n"
+            + " file is read if it was written for the same grammar, and\n"
+            + " the table is built and the file rewritten otherwise, so it\n"
+            + " can be shared by several jobs using the same database.\n"
+            + " Without this RunParm the table is kept with the session\n"
+            + " settings.\n" + " \n" + " <pre>\n"
+            + " \"ParseTableFile\": file name\n" + " </pre>\n" + "\n");
+
+    public static final BatchCommand RUNPARM_SHARE_PARSE_TREES = new BatchCommand(
+        "ShareParseTrees", // yes or no
+        " ShareParseTrees.\n" + " \n"
+            + " \"yes\" makes \"Parse,*\" intern (hash-cons) the statement\n"
+            + " parse trees, so that each distinct subterm is held only once\n"
+            + " and shared by every statement using it. Saves memory and\n"
+            + " speeds up parse tree comparisons on large databases. Default\n"
+            + " is \"no\".\n" + " \n" + " <pre>\n"
+            + " \"ShareParseTrees\": yes or no\n" + " </pre>\n" + "\n");
+
     public static final BatchCommand RUNPARM_INITIALIZE_GRAMMAR = new BatchCommand(
         "InitializeGrammar", // no
         " InitializeGrammar.\n" + " \n" + " <pre>\n"
@@ -986,6 +1149,18 @@ public class UtilConstants {
             + " \"ProofAsstHighlightingEnabled\": Yes or No\n" + " \n"
             + " Optional, default is Yes (enabled).\n" + " </pre>\n" + "\n");
 
+    public static final BatchCommand RUNPARM_PROOF_ASST_AUTO_UNIFY_DELAY = new BatchCommand(
+        "ProofAsstAutoUnifyDelay", // 0 -> 60000
+        " ProofAsstAutoUnifyDelay\n" + " \n" + " <pre>\n"
+            + " \"ProofAsstAutoUnifyDelay\": 0 -> 60000\n" + " \n"
+            + " Milliseconds after typing stops before the Proof\n"
+            + " Assistant GUI unifies the worksheet in the background\n"
+            + " and shows the resulting messages. The worksheet text\n"
+            + " is not changed; a following Unify (Ctrl-U) of the\n"
+            + " same text uses the background result at once.\n"
+            + " Optional, default is 0 (no background unification).\n"
+            + " </pre>\n" + "\n");
+
     public static final BatchCommand RUNPARM_PROOF_ASST_HIGHLIGHTING_STYLE = new BatchCommand(
         "ProofAsstHighlightingStyle",
         " ProofAsstHighlightingStyle\n" + " \n" + " <pre>\n"
@@ -1504,6 +1679,19 @@ public class UtilConstants {
     // optional
     // file
     // name.
+
+    public static final BatchCommand RUNPARM_PROOF_ASST_BATCH_TEST_THREADS = new BatchCommand(
+        "ProofAsstBatchTestThreads", // 0 or positive integer
+        " ProofAsstBatchTestThreads.\n" + " \n"
+            + " Number of threads used by \"ProofAsstBatchTest\" when it\n"
+            + " tests many theorems from memory. Default is 1 (serial\n"
+            + " testing); 0 means use one thread per available processor.\n"
+            + " Messages are reported in theorem order regardless of the\n"
+            + " number of threads. Testing with \"UpdateDJs\" is always\n"
+            + " serial.\n" + " \n" + " <pre>\n"
+            + " \"ProofAsstBatchTestThreads\": 0 -> 999...\n" + " </pre>\n"
+            + "\n");
+
     public static final BatchCommand RUNPARM_STEP_SELECTOR_BATCH_TEST = new BatchCommand(
         "StepSelectorBatchTest", // all
         " StepSelectorBatchTest\n" + " <p>\n" + " \n" + " <pre>\n"
@@ -1830,6 +2018,83 @@ public class UtilConstants {
             + "         *234567890123456789012345678901234567890\n"
             + "         SvcCall\n" + " </pre>\n" + "\n");
 
+    public static final BatchCommand RUNPARM_SVC_SERVE = new BatchCommand(
+        "SvcServe",
+        " SvcServe\n" + " <p>\n" + " \n" + " <pre>\n"
+            + " \"SvcServe\": Command to run mmj.svc.SvcServer, which\n"
+            + "              serves JSON requests (unify, verify,\n"
+            + "              stepSelect, search, gmffExport, store)\n"
+            + "              on a local socket using the loaded\n"
+            + "              LogicalSystem, until a \"shutdown\"\n"
+            + "              request is received.\n" + " \n"
+            + "  - Value1 = port number (1 -> 65535).\n" + " \n"
+            + "  - Value2 = number of request threads. Optional,\n"
+            + "             0 (the default) means one thread per\n"
+            + "             available processor.\n" + " \n"
+            + "  - Value3 = \"yes\" to accept \"store\" requests,\n"
+            + "             which update the LogicalSystem and the\n"
+            + "             MMT Folder. Optional, default \"no\".\n"
+            + " \n"
+            + "  Every request must carry the \"token\" written to the\n"
+            + "  owner-only file SvcServer-<port>.token in the SvcFolder\n"
+            + "  (or the current directory).\n" + " \n"
+            + "      - Examples:\n"
+            + "         *       1         2         3         4\n"
+            + "         *234567890123456789012345678901234567890\n"
+            + "         SvcServe,7377,4\n"
+            + "         SvcServe,7377,0,yes\n" + " </pre>\n" + "\n");
+
+    // ----------------------------------------------------------
+    // Constants mmj.svc.SvcServer
+    // ----------------------------------------------------------
+
+    /**
+     * SvcArg key of the SvcServer port number, "Port".
+     */
+    public static final String SVC_SERVER_ARG_PORT = "Port";
+
+    /**
+     * SvcArg key of the number of SvcServer request threads, "Threads".
+     */
+    public static final String SVC_SERVER_ARG_THREADS = "Threads";
+
+    /**
+     * SvcArg key of the SvcServer "store" switch, "Store" ("yes" or "no").
+     */
+    public static final String SVC_SERVER_ARG_STORE = "Store";
+
+    /**
+     * Name of the file, in the SvcFolder, holding the token which SvcServer
+     * requests must carry; %s is the port number.
+     */
+    public static final String SVC_SERVER_TOKEN_FILE_NAME = "SvcServer-%s.token";
+
+    /**
+     * Number of random bytes in the SvcServer request token.
+     */
+    public static final int SVC_SERVER_TOKEN_BYTES = 32;
+
+    /**
+     * Maximum number of connections SvcServer serves at a time.
+     */
+    public static final int SVC_SERVER_MAX_CONNECTIONS = 16;
+
+    /**
+     * Default number of SvcServer request threads, 0 meaning one per
+     * available processor.
+     */
+    public static final int SVC_SERVER_THREADS_DEFAULT = 0;
+
+    /**
+     * Maximum port number accepted by SvcServer.
+     */
+    public static final int SVC_SERVER_PORT_MAX = 65535;
+
+    /**
+     * Default maximum number of assertions returned by a "search" request.
+     */
+    public static final int SVC_SERVER_SEARCH_MAX_DEFAULT = 100;
+
     // ----------------------------------------------------------
     // Commands for mmj.util.GMFFBoss interface
     // ----------------------------------------------------------
@@ -2164,6 +2429,21 @@ public class UtilConstants {
             + "         GMFFExportTheorem,syl,100,Test20110915a\n" + " </pre>\n"
             + "\n");
 
+    public static final BatchCommand RUNPARM_GMFF_EXPORT_THREADS = new BatchCommand(
+        "GMFFExportThreads", // 0 or positive integer
+        " GMFFExportThreads.\n" + " \n"
+            + " Number of threads used by \"GMFFExportTheorem\" and\n"
+            + " \"GMFFExportFromFolder\" to export a range of proofs.\n"
+            + " Default is 1 (serial export); 0 means use one thread per\n"
+            + " available processor. Each thread uses its own copy of the\n"
+            + " exporters (and, for theorems, of the proof verifier and\n"
+            + " grammar), sharing the typesetting definitions and model\n"
+            + " files. Messages are reported in export order regardless of\n"
+            + " the number of threads. Exports to an Append File Name are\n"
+            + " always serial.\n"
+            + " \n" + " <pre>\n" + " \"GMFFExportThreads\": 0 -> 999...\n"
+            + " </pre>\n" + "\n");
+
     // ----------------------------------------------------------
     // Commands for mmj.util.MacroBoss
     // ----------------------------------------------------------
@@ -2290,6 +2570,39 @@ public class UtilConstants {
     public static final BatchCommand RUNPARM_THEOREM_LOADER_STORE_MM_RIGHT_COL = new BatchCommand(
         "TheoremLoaderStoreMMRightCol");
 
+    public static final BatchCommand RUNPARM_RECOMPRESS_THEOREMS_TO_MM_FILE = new BatchCommand(
+        "RecompressTheoremsToMMFile",
+        " RecompressTheoremsToMMFile.\n" + " \n"
+            + " Recompresses the proof of every theorem in the database\n"
+            + " and writes a Metamath .mm file with the new proofs.\n"
+            + " Repeated subproofs are reused before compressing, so the\n"
+            + " output does not depend on the proof format of the input.\n"
+            + " \n"
+            + " With \"source\" (the default) the output is a copy of the\n"
+            + " .mm file named on the LoadFile RunParm in which the text\n"
+            + " from each theorem's $= through its $. is replaced by the\n"
+            + " recompressed proof; everything else, including $[ $]\n"
+            + " include statements, is copied as it is (the proofs in\n"
+            + " included files are not rewritten.) The output file must\n"
+            + " not be the loaded file.\n"
+            + " \n"
+            + " With \"theorems\" only the theorems are written, in\n"
+            + " database order: each one with its scope, $d and $e\n"
+            + " statements, description and $p statement, formatted as\n"
+            + " for the MMT Folder (see \"TheoremLoaderStoreMMIndentAmt\"\n"
+            + " and \"TheoremLoaderStoreMMRightCol\"). This output is not\n"
+            + " a complete database.\n"
+            + " \n"
+            + " The theorems are recompressed in parallel, using the given\n"
+            + " number of threads (default 0 = one per available\n"
+            + " processor); the output is the same for any number.\n"
+            + " \n" + " <pre>\n"
+            + " Param 1: file name, relative to the mmj2 path or absolute\n"
+            + " Param 2: \"new\" (default) or \"update\"\n"
+            + " Param 3: number of threads, 0 -> 999... (optional)\n"
+            + " Param 4: \"source\" (default) or \"theorems\" (optional)\n"
+            + " </pre>\n" + "\n");
+
     public static final int THEOREM_LOADER_BOSS_FILE_BUFFER_SIZE = 32768;
 
     // =========================================================
@@ -2335,6 +2648,21 @@ public class UtilConstants {
      */
     public static final String OPTION_FILE_OUT_USAGE_DEFAULT = "new";
 
+    /**
+     * Option Value 4 "source" for RecompressTheoremsToMMFile RunParm.
+     * <p>
+     * Means that the loaded .mm file is copied with recompressed proofs. This
+     * is the default.
+     */
+    public static final String RUNPARM_OPTION_RECOMPRESS_SOURCE = "source";
+
+    /**
+     * Option Value 4 "theorems" for RecompressTheoremsToMMFile RunParm.
+     * <p>
+     * Means that only the theorems are written, with recompressed proofs.
+     */
+    public static final String RUNPARM_OPTION_RECOMPRESS_THEOREMS = "theorems";
+
     /**
      * MAX_STATEMENT_PRINT_COUNT_DEFAULT = 9999.
      */
@@ -2744,6 +3072,13 @@ public class UtilConstants {
     // Messages from GrammarBoss.java
     // ----------------------------------------------------------
 
+    public static final ErrorCode ERRMSG_PARSE_FROM_SNAPSHOT = of(
+        "I-UT-0061 Parse,* skipped: parse trees restored from the"
+            + " LoadSnapshot snapshot file.");
+
+    public static final ErrorCode ERRMSG_PARSE_TREES_SHARED = of(
+        "I-UT-0062 Statement parse trees share %d distinct parse nodes.");
+
     public static final ErrorCode ERRMSG_PARSE_RPN = of(
         "I-UT-0031 Parse RPN for Statement %s = %s");
 
@@ -2780,6 +3115,30 @@ public class UtilConstants {
             + " the '%2$s' RunParm command and the enabled/disabled"
             + " status cannot be changed after %2$s is executed!");
 
+    public static final ErrorCode ERRMSG_SNAPSHOT_NOT_FIRST_LOAD = of(
+        "A-UT-0205 The %s RunParm must be the first load after"
+            + " startup or the Clear RunParm.");
+
+    public static final ErrorCode ERRMSG_SNAPSHOT_LOADED = of(
+        "I-UT-0206 LogicalSystem loaded from snapshot file %s");
+
+    public static final ErrorCode ERRMSG_SNAPSHOT_STALE = of(
+        "I-UT-0207 Snapshot file %s is missing or out of date,"
+            + " loading Metamath file %s");
+
+    public static final ErrorCode ERRMSG_SNAPSHOT_WRITTEN = of(
+        "I-UT-0208 Snapshot file %s written");
+
+    public static final ErrorCode ERRMSG_SNAPSHOT_UP_TO_DATE = of(
+        "I-UT-0209 Snapshot file %s is up to date, not rewritten");
+
+    public static final ErrorCode ERRMSG_SNAPSHOT_NOT_AVAILABLE = of(
+        "A-UT-0210 The %s RunParm requires a successful %s RunParm"
+            + " and no Theorem Loader updates since.");
+
+    public static final ErrorCode ERRMSG_SNAPSHOT_IO = of(
+        "A-UT-0211 I/O error on snapshot file %s: %s");
+
     // ----------------------------------------------------------
     // Messages from Dump.java
     // ----------------------------------------------------------
@@ -2806,6 +3165,13 @@ public class UtilConstants {
     public static final ErrorCode ERRMSG_BOOK_MANAGER_SECTION_NBR_NOT_FOUND = of(
         "A-UT-0037 BookManager Section Number %d not found");
 
+    public static final ErrorCode ERRMSG_METRICS_FORMAT_ERROR = of(
+        "A-UT-0038 OutputBoss found invalid metrics format = %s. Must be"
+            + " %s or %s.");
+
+    public static final ErrorCode ERRMSG_METRIC_TYPE_CONFLICT = of(
+        "A-UT-0039 Metric %s is already registered as a %s, not a %s.");
+
     // ----------------------------------------------------------
     // Messages from ProofAsstBoss.java
     // ----------------------------------------------------------
@@ -2878,6 +3244,14 @@ public class UtilConstants {
         "I-UT-0701 VerifyProof RunParm request ignored because"
             + " 'LoadProofs' RunParm 'no' input.");
 
+    public static final ErrorCode ERRMSG_VERIFY_PROOF_FROM_SNAPSHOT = of(
+        "I-UT-0702 VerifyProof,* skipped: all proofs were verified"
+            + " when the LoadSnapshot snapshot file was written.");
+
+    public static final ErrorCode ERRMSG_VERIFY_CHANGED_PROOFS = of(
+        "I-UT-0703 VerifyChangedProofs: %d theorem(s) changed by the"
+            + " Theorem Loader, %d theorem(s) re-verified.");
+
     // ----------------------------------------------------------
     // Messages from WorkVarBoss.java
     // ----------------------------------------------------------
@@ -2923,6 +3297,74 @@ public class UtilConstants {
         "A-UT-0905" + " Unable to initialize TheoremLoader object."
             + " Check previous error messages (for clues :-)");
 
+    // ----------------------------------------------------------
+    // Messages from SvcServer.java
+    // ----------------------------------------------------------
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_ARG_ERROR = of(
+        "A-UT-0906 SvcServer argument %s = %s is invalid. It must be an"
+            + " integer from %s to %s.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_STARTED = of(
+        "I-UT-0907 SvcServer listening on port %s with %s request"
+            + " threads.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_IO_ERROR = of(
+        "A-UT-0908 SvcServer I/O error on port %s: %s");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_STOPPED = of(
+        "I-UT-0909 SvcServer stopped after %s requests.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_BAD_REQUEST = of(
+        "E-UT-0910 SvcServer request is not a valid JSON object: %s");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_UNKNOWN_OP = of(
+        "E-UT-0911 SvcServer request op = %s is not one of: %s.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_FIELD_MISSING = of(
+        "E-UT-0912 SvcServer %s request has no \"%s\" field.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_THEOREM_NOTFND = of(
+        "E-UT-0913 SvcServer verify request: %s is not a Theorem.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_WORKER_ERROR = of(
+        "E-UT-0914 SvcServer was unable to set up a ProofAsst for its"
+            + " request thread (the Grammar could not be copied, or Work"
+            + " Variables could not be declared).");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_NO_SELECTOR_RESULTS = of(
+        "E-UT-0915 SvcServer stepSelect request: no Step Selector results"
+            + " (check the cursor position and the error messages).");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_REQUEST_FAILED = of(
+        "E-UT-0916 SvcServer %s request failed: %s");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_STORE_ENABLED = of(
+        "I-UT-0917 SvcServer accepts store requests.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_STORE_DISABLED = of(
+        "E-UT-0918 SvcServer store requests are disabled (see the"
+            + " SvcServe RunParm).");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_TOKEN = of(
+        "E-UT-0919 SvcServer request has no \"token\" field, or not the"
+            + " one in the token file.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_STORE_ARG_ERROR = of(
+        "A-UT-0920 SvcServer argument %s = %s is invalid. It must be"
+            + " yes or no.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_TOKEN_FILE = of(
+        "I-UT-0921 SvcServer requests must carry the token in %s.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_HTTP_REQUEST = of(
+        "E-UT-0922 SvcServer does not serve HTTP requests; the connection"
+            + " is closed.");
+
+    public static final ErrorCode ERRMSG_SVC_SERVER_TOO_MANY_CONNECTIONS = of(
+        "E-UT-0923 SvcServer already serves %s connections; the connection"
+            + " is refused.");
+
     // ----------------------------------------------------------
     // Messages from MergeSortedArrayLists.java
     // ----------------------------------------------------------
@@ -7,7 +7,7 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * VerifyProofBoss.java  0.04 08/01/2008
+ * VerifyProofBoss.java  0.06 10/18/2026
  *
  * Dec-03-2005
  * --> Added getVerifyProofs() for Proof Assistant's usage.
@@ -17,15 +17,33 @@
  *     after VerifyProof has been performed -- then
  *     new theorem adds, via TheoremLoader, will know
  *     to do VerifyProof.
+ *
+ * --> Added VerifyProofThreads RunParm for multi-threaded
+ *     "VerifyProof,*".
+ *
+ * --> "VerifyProof,*" is skipped when the LoadSnapshot
+ *     snapshot records that all proofs were verified.
+ *
+ * Version 0.05 -- 10/18/2026
+ * --> Added VerifyChangedProofs RunParm, which re-verifies
+ *     only the theorems changed by the Theorem Loader and
+ *     their dependents (see mmj.lang.ProofDependencyGraph).
+ *
+ * Version 0.06 -- 10/18/2026
+ * --> Report compressed proof errors found by lazy proof
+ *     decompression (see mmj.lang.ProofCache) after verifying.
  */
 
 package mmj.util;
 
 import static mmj.util.UtilConstants.*;
 
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
 import mmj.lang.*;
-import mmj.verify.VerifyException;
-import mmj.verify.VerifyProofs;
+import mmj.mmio.LogicalSystemSnapshot;
+import mmj.verify.*;
 
 /**
  * Responsible for building, loading, maintaining and fetching ProofVerifier,
@@ -48,6 +66,8 @@ public class VerifyProofBoss extends Boss {
 
     protected boolean allStatementsParsedSuccessfully;
 
+    protected int verifyProofThreads = ProofConstants.PROOF_VERIFY_THREADS_DEFAULT;
+
     /**
      * Constructor with BatchFramework for access to environment.
      *
@@ -60,15 +80,20 @@ public class VerifyProofBoss extends Boss {
             verifyProofs = null;
             allProofsVerifiedSuccessfully = false;
             allStatementsParsedSuccessfully = false;
+            verifyProofThreads = ProofConstants.PROOF_VERIFY_THREADS_DEFAULT;
             return false; // not "consumed"
         });
-        putCommand(RUNPARM_LOAD_FILE, () -> {
+        final BooleanSupplier load = () -> {
             allProofsVerifiedSuccessfully = false;
             allStatementsParsedSuccessfully = false;
             return false; // not "consumed"
-        });
+        };
+        putCommand(RUNPARM_LOAD_FILE, load);
+        putCommand(RUNPARM_LOAD_SNAPSHOT, load);
 
         putCommand(RUNPARM_VERIFY_PROOF, this::doVerifyProof);
+        putCommand(RUNPARM_VERIFY_PROOF_THREADS, this::editVerifyProofThreads);
+        putCommand(RUNPARM_VERIFY_CHANGED_PROOFS, this::doVerifyChangedProofs);
         putCommand(RUNPARM_VERIFY_PARSE, this::doVerifyParse);
 
     }
@@ -116,8 +141,19 @@ public class VerifyProofBoss extends Boss {
         if (!batchFramework.logicalSystemBoss.getLoadProofs())
             messages.accumMessage(ERRMSG_IGNORING_VERIFY_PROOF_RUNPARM);
         else if (get(1).equals(RUNPARM_OPTION_VALUE_ALL)) {
-            verifyProofs.verifyAllProofs(messages, logicalSystem.getStmtTbl());
-            allProofsVerifiedSuccessfully = messages.getErrorMessageCnt() == 0;
+            final LogicalSystemSnapshot snapshot = batchFramework.logicalSystemBoss
+                .getLoadedSnapshot();
+            if (snapshot != null && snapshot.getAllProofsVerified()) {
+                messages.accumMessage(ERRMSG_VERIFY_PROOF_FROM_SNAPSHOT);
+                allProofsVerifiedSuccessfully = true;
+            }
+            else {
+                verifyProofs.verifyAllProofs(messages,
+                    logicalSystem.getStmtTbl(), verifyProofThreads);
+                allProofsVerifiedSuccessfully = messages
+                    .getErrorMessageCnt() == 0;
+            }
+            logicalSystem.getProofDependencyGraph().clearChangedTheorems();
         }
         else {
             final Theorem theorem = getTheorem(1, logicalSystem);
@@ -128,12 +164,69 @@ public class VerifyProofBoss extends Boss {
             }
         }
 
+        final ProofCache proofCache = logicalSystem.getProofCache();
+        if (proofCache != null)
+            proofCache.reportDecompressionErrors(messages);
+
         logicalSystem.setProofVerifier(verifyProofs);
 
         batchFramework.outputBoss.printAndClearMessages();
 
     }
 
+    /**
+     * Executes the VerifyChangedProofs command: re-verifies the theorems
+     * changed by the Theorem Loader since the last full or incremental
+     * verification, along with their transitive dependents.
+     */
+    public void doVerifyChangedProofs() {
+
+        final LogicalSystem logicalSystem = batchFramework.logicalSystemBoss
+            .getLogicalSystem();
+
+        initializeVerifyProofsIfNeeded();
+
+        final Messages messages = batchFramework.outputBoss.getMessages();
+
+        if (!batchFramework.logicalSystemBoss.getLoadProofs())
+            messages.accumMessage(ERRMSG_IGNORING_VERIFY_PROOF_RUNPARM);
+        else {
+            final ProofDependencyGraph graph = logicalSystem
+                .getProofDependencyGraph();
+            final int nbrChanged = graph.getChangedTheorems().size();
+            final List<Theorem> list = graph.getChangedTheoremsAndDependents();
+            final int errorCnt = messages.getErrorMessageCnt();
+            verifyProofs.verifyProofs(messages, list, verifyProofThreads);
+            if (messages.getErrorMessageCnt() > errorCnt)
+                allProofsVerifiedSuccessfully = false;
+            graph.clearChangedTheorems();
+            messages.accumMessage(ERRMSG_VERIFY_CHANGED_PROOFS, nbrChanged,
+                list.size());
+        }
+
+        final ProofCache proofCache = logicalSystem.getProofCache();
+        if (proofCache != null)
+            proofCache.reportDecompressionErrors(messages);
+
+        logicalSystem.setProofVerifier(verifyProofs);
+
+        batchFramework.outputBoss.printAndClearMessages();
+    }
+
+    /**
+     * Validate VerifyProofThreads RunParm.
+     * <p>
+     * Must be a non-negative integer; zero means one thread per available
+     * processor.
+     *
+     * @throws IllegalArgumentException if an error occurred
+     */
+    protected void editVerifyProofThreads() {
+        final int n = getNonnegInt(1);
+        verifyProofThreads = n == 0 ? Runtime.getRuntime().availableProcessors()
+            : n;
+    }
+
     /**
      * Executes the VerifyParse command, prints any messages, etc.
      */
@@ -29,6 +29,9 @@
  *     - Added a check of "notationRule.getMaxSeqNbr() <= highestSeq"
  *       when picking off Cnst symbols in the input expression
  *       in order to obey the contract of parseExpr().
+ *
+ * Version 0.05 - 10/18/2026
+ *     - Added newWorkerParser() for multi-threaded "Parse,*".
  */
 
 package mmj.verify;
@@ -172,6 +175,10 @@ public class EarleyParser implements GrammaticalParser {
     private int rulesTypCnt;
     private Cnst[][] ruleTypAndFIRSTTyp;
 
+    // true once the Cnst earleyRules and earleyFIRST have been loaded, by
+    // this parser or by the parser that created it (see newWorkerParser()).
+    private boolean earleyTablesLoaded;
+
     /**
      * Construct using reference to Grammar and a parameter signifying the
      * maximum length of a formula in the database.
@@ -202,6 +209,24 @@ public class EarleyParser implements GrammaticalParser {
         // defer array building until reInitArrays(0) in parseExpr
     }
 
+    /**
+     * Returns a new EarleyParser sharing the earleyRules and earleyFIRST
+     * tables which this parser loads into the grammar's Cnsts; each parser
+     * keeps its own work arrays.
+     *
+     * @return new EarleyParser.
+     */
+    @Override
+    public GrammaticalParser newWorkerParser() {
+        if (!earleyTablesLoaded) {
+            loadEarleyFIRSTandRules();
+            earleyTablesLoaded = true;
+        }
+        final EarleyParser worker = new EarleyParser(grammar, pMax - 1);
+        worker.earleyTablesLoaded = true;
+        return worker;
+    }
+
     /**
      * parseExpr - returns 'n' = the number of ParseTree objects generated for
      * the input formula and stored in parseTreeArray.
@@ -282,8 +307,11 @@ public class EarleyParser implements GrammaticalParser {
                     throw new IllegalStateException(new VerifyException(
                         GrammarConstants.ERRMSG_MAX_RETRIES_EXCEEDED,
                         GrammarConstants.MAX_PARSE_RETRIES));
-                grammar.getMessages().accumException(new VerifyException(e,
-                    GrammarConstants.ERRMSG_RETRY_TO_BE_INITIATED, e));
+                final Messages messages = grammar.getMessages();
+                synchronized (messages) { // worker parsers share it
+                    messages.accumException(new VerifyException(e,
+                        GrammarConstants.ERRMSG_RETRY_TO_BE_INITIATED, e));
+                }
                 reInitArrays(retryCnt);
             }
 
@@ -939,7 +967,10 @@ public class EarleyParser implements GrammaticalParser {
     private void reInitArrays(final int retry) throws VerifyException {
         if (retryCnt == -1) {
             retryCnt = 0;
-            loadEarleyFIRSTandRules();
+            if (!earleyTablesLoaded) {
+                loadEarleyFIRSTandRules();
+                earleyTablesLoaded = true;
+            }
             initArrays(pMax, pItemSetMax, pCompletedItemSetMax,
                 pBringForwardTypMax, pPredictorTypMax);
             return;
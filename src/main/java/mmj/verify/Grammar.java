@@ -35,16 +35,34 @@
  *                symTbl and stmtTbl data will remain constant
  *                (unless add/upd/del capabilities are added
  *                later.)
+ *
+ * Version 0.07 -- 18-Oct-2026
+ *              - Added parseAllFormulas() variant using multiple
+ *                threads, one GrammaticalParser per thread.
+ *              - Added newWorkerGrammar() for the multi-threaded
+ *                Proof Assistant batch test.
+ *              - Added parseTableFile (see LRParser).
+ *              - Added parseNodeFactory for sharing the
+ *                subterms of statement parse trees.
+ *              - Record parseAllFormulas() metrics (see
+ *                mmj.util.Metrics).
  */
 
 package mmj.verify;
 
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 import mmj.lang.*;
 import mmj.pa.ErrorCode;
+import mmj.pa.MMJException;
 import mmj.pa.SessionStore;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Counter;
+import mmj.util.Metrics.Timer;
 import mmj.verify.GrammarConstants.LabelContext;
 
 /**
@@ -119,6 +137,11 @@ import mmj.verify.GrammarConstants.LabelContext;
  */
 public class Grammar implements SyntaxVerifier {
 
+    private static final Timer PARSE_ALL_FORMULAS_TIMER = Metrics
+        .timer("grammar_parse_all_formulas_seconds");
+    private static final Counter STMTS_PARSED = Metrics
+        .counter("grammar_statements_parsed_total");
+
     private final String[] provableLogicStmtTypCodes;
 
     private final String[] logicStmtTypCodes;
@@ -174,6 +197,8 @@ public class Grammar implements SyntaxVerifier {
     public Map<String, Stmt> stmtTbl;
     private Messages messages;
     private SessionStore store;
+    private File parseTableFile;
+    private ParseNodeFactory parseNodeFactory;
 
     private int lastGrammarRuleNbr = 0;
 
@@ -314,10 +339,104 @@ public class Grammar implements SyntaxVerifier {
 
     }
 
+    /**
+     * Construct a worker view of an initialized Grammar.
+     * <p>
+     * The view shares the grammar tables (and the LogicalSystem's symTbl and
+     * stmtTbl) with {@code grammar}, but has its own GrammaticalParser and
+     * Messages, so that it can parse formulas on another thread.
+     *
+     * @param grammar the initialized Grammar.
+     * @param parser a worker parser of the Grammar's parser.
+     */
+    private Grammar(final Grammar grammar, final GrammaticalParser parser) {
+        provableLogicStmtTypCodes = grammar.provableLogicStmtTypCodes;
+        logicStmtTypCodes = grammar.logicStmtTypCodes;
+        doCompleteGrammarAmbiguityEdits = grammar.doCompleteGrammarAmbiguityEdits;
+        parseTreeMax = grammar.parseTreeMax;
+        grammarInitialized = grammar.grammarInitialized;
+        provableLogicStmtTypArray = grammar.provableLogicStmtTypArray;
+        logicStmtTypArray = grammar.logicStmtTypArray;
+        varHypTypSet = grammar.varHypTypSet;
+        syntaxAxiomTypSet = grammar.syntaxAxiomTypSet;
+        nullsPermittedTypSet = grammar.nullsPermittedTypSet;
+        nullsPermittedGRList = grammar.nullsPermittedGRList;
+        typeConversionGRList = grammar.typeConversionGRList;
+        notationGRSet = grammar.notationGRSet;
+        notationGRGimmeMatchCnt = grammar.notationGRGimmeMatchCnt;
+        symTbl = grammar.symTbl;
+        stmtTbl = grammar.stmtTbl;
+        messages = new Messages();
+        store = grammar.store;
+        parseTableFile = grammar.parseTableFile;
+        lastGrammarRuleNbr = grammar.lastGrammarRuleNbr;
+        grammaticalParser = parser;
+        parserPrototype = grammar.parserPrototype;
+        parseNodeFactory = grammar.parseNodeFactory;
+        maxFormulaCnt = grammar.maxFormulaCnt;
+        derivedRuleQueue = grammar.derivedRuleQueue;
+    }
+
+    /**
+     * Returns a view of this Grammar for parsing formulas on a worker thread.
+     * <p>
+     * The view shares this Grammar's tables, which must not be updated while
+     * the view is in use, and has its own GrammaticalParser (see
+     * {@link GrammaticalParser#newWorkerParser()}).
+     *
+     * @return worker Grammar, or null if the Grammar is not initialized or
+     *         its parser does not support worker parsers.
+     */
+    public Grammar newWorkerGrammar() {
+        if (!grammarInitialized)
+            return null;
+        final GrammaticalParser parser = grammaticalParser.newWorkerParser();
+        return parser == null ? null : new Grammar(this, parser);
+    }
+
     public void setStore(final SessionStore store) {
         this.store = store;
     }
 
+    /**
+     * Returns the file in which the GrammaticalParser keeps its parse table,
+     * if it has one (see {@link LRParser}).
+     *
+     * @return parse table file, or null to keep the parse table with the
+     *         session settings.
+     */
+    public File getParseTableFile() {
+        return parseTableFile;
+    }
+
+    /**
+     * Set the parse table file.
+     *
+     * @param parseTableFile parse table file, or null.
+     */
+    public void setParseTableFile(final File parseTableFile) {
+        this.parseTableFile = parseTableFile;
+    }
+
+    /**
+     * Returns the ParseNodeFactory used to intern the statement parse trees
+     * built by parseAllFormulas(), if any.
+     *
+     * @return ParseNodeFactory, or null if the parse trees are not shared.
+     */
+    public ParseNodeFactory getParseNodeFactory() {
+        return parseNodeFactory;
+    }
+
+    /**
+     * Set the ParseNodeFactory used to intern statement parse trees.
+     *
+     * @param parseNodeFactory ParseNodeFactory, or null.
+     */
+    public void setParseNodeFactory(final ParseNodeFactory parseNodeFactory) {
+        this.parseNodeFactory = parseNodeFactory;
+    }
+
     /**
      * Return grammarInitialized flag.
      *
@@ -574,8 +693,9 @@ public class Grammar implements SyntaxVerifier {
             // return stmt.getExprRPN();
             return stmt.getExprParseTree();
 
-        return grammaticalParseOneFormula(stmt.getFormula(),
-            stmt.getMandVarHypArray(), stmt.getSeq(), stmt.getLabel());
+        return grammaticalParseOneFormula(grammaticalParser,
+            stmt.getFormula(), stmt.getMandVarHypArray(), stmt.getSeq(),
+            stmt.getLabel(), messages::accumException);
 
     }
 
@@ -617,8 +737,10 @@ public class Grammar implements SyntaxVerifier {
             if (!grammarInitialized)
                 return null;
         }
-        return grammaticalParseOneFormula(formula, varHypArray, highestSeq,
-            defaultStmt == null ? null : defaultStmt.getLabel());
+        return grammaticalParseOneFormula(grammaticalParser, formula,
+            varHypArray, highestSeq,
+            defaultStmt == null ? null : defaultStmt.getLabel(),
+            messages::accumException);
     }
 
     /**
@@ -643,38 +765,223 @@ public class Grammar implements SyntaxVerifier {
                 return;
         }
 
+        final long start = PARSE_ALL_FORMULAS_TIMER.start();
         final Set<Stmt> stmtTblBySeq = new TreeSet<>(MObj.SEQ);
         stmtTblBySeq.addAll(stmtTbl.values());
 
+        int nbrParsed = 0;
         for (final Stmt stmt : stmtTblBySeq) {
             if (messages.maxErrorMessagesReached())
                 break;
-            final VarHyp[] varHypArray = stmt.getMandVarHypArray();
             if (stmt instanceof VarHyp
                 || stmt instanceof Axiom && ((Axiom)stmt).getIsSyntaxAxiom())
                 // already done during initializeGrammarTables()
                 continue;
-            ParseTree exprParseTree = grammaticalParseOneFormula(
-                stmt.getFormula(), varHypArray, stmt.getSeq(), stmt.getLabel());
-            if (exprParseTree == null)
-                exprParseTree = buildDefaultExprParseTree(stmt, varHypArray);
-            stmt.setExprParseTree(exprParseTree);
-
-//            System.out.println(stmt.getLabel() + " $"
-//                + (stmt instanceof LogHyp ? "e"
-//                    : stmt instanceof Axiom ? "a" : "p")
-//                + " " + exprParseTree.getRoot().asLisp());
-
-            // Prime these values so they aren't computed later
-            // (and so that the buffers don't get dirtied later).
-            // The "get" routines cache results...so...
-            exprParseTree.getMaxDepth();
-            exprParseTree.getLevelOneTwo();
-            if (stmt instanceof Assrt) {
-                final Assrt assrt = (Assrt)stmt;
-                assrt.getLogHypsMaxDepth();
-                assrt.getLogHypsL1HiLoKey();
+            parseStmt(grammaticalParser, stmt, messages::accumException);
+            primeAssrt(stmt);
+            nbrParsed++;
+        }
+        STMTS_PARSED.add(nbrParsed);
+        PARSE_ALL_FORMULAS_TIMER.stop(start);
+    }
+
+    /**
+     * Parse all Statement Formulas and update stmtTbl with results, using a
+     * pool of worker threads.
+     * <p>
+     * The statements are sorted by sequence number and sharded across a
+     * fork-join pool. A GrammaticalParser cannot be shared, so each worker
+     * thread uses its own parser (see
+     * {@link GrammaticalParser#newWorkerParser()}); the parse trees are stored
+     * into the statements by the workers. The cached parse tree values are
+     * primed by the workers too, but an assertion's logical hypothesis values
+     * are primed in a second parallel pass since its logical hypotheses may be
+     * parsed by another worker. The messages are accumulated in statement
+     * sequence order after all shards have finished, so the output is the
+     * same as that of the single-threaded
+     * {@link #parseAllFormulas(Messages, Map, Map)} (except that every
+     * statement is parsed even if MaxErrorMessages is reached.)
+     *
+     * @param messages Messages object for error/info messages.
+     * @param symTblParam Symbol Table (Map).
+     * @param stmtTblParam Statement Table (Map).
+     * @param nbrThreads number of worker threads; 1 or less parses serially on
+     *            the calling thread, as does a parser that does not support
+     *            worker parsers.
+     */
+    public void parseAllFormulas(final Messages messages,
+        final Map<String, Sym> symTblParam,
+        final Map<String, Stmt> stmtTblParam, final int nbrThreads)
+    {
+        checkVerifySyntaxParams(messages, symTblParam, stmtTblParam);
+        if (!grammarInitialized) {
+            try {
+                initializeGrammarTables();
+            } catch (final VerifyException e) {
+                messages.accumException(e);
             }
+            if (!grammarInitialized)
+                return;
+        }
+
+        final GrammaticalParser firstWorker;
+        if (nbrThreads <= 1
+            || (firstWorker = grammaticalParser.newWorkerParser()) == null)
+        {
+            parseAllFormulas(messages, symTblParam, stmtTblParam);
+            return;
+        }
+
+        final long start = PARSE_ALL_FORMULAS_TIMER.start();
+        final List<Stmt> list = new ArrayList<>();
+        for (final Stmt stmt : stmtTbl.values())
+            if (!(stmt instanceof VarHyp
+                || stmt instanceof Axiom && ((Axiom)stmt).getIsSyntaxAxiom()))
+                list.add(stmt);
+        Collections.sort(list, MObj.SEQ);
+
+        // the worker parsers are built here, on the thread that owns the
+        // grammatical parser (see newWorkerParser()), one per thread.
+        final BlockingQueue<GrammaticalParser> parsers = new ArrayBlockingQueue<>(
+            nbrThreads);
+        parsers.add(firstWorker);
+        while (parsers.remainingCapacity() > 0)
+            parsers.add(grammaticalParser.newWorkerParser());
+
+        final MMJException[] errMsgs = new MMJException[list.size()];
+        final ForkJoinPool pool = new ForkJoinPool(nbrThreads);
+        try {
+            pool.invoke(new ParseShard(list, errMsgs, parsers, 0,
+                errMsgs.length));
+            pool.invoke(new ParseShard(list, null, null, 0, errMsgs.length));
+        } finally {
+            pool.shutdown();
+        }
+
+        STMTS_PARSED.add(list.size());
+        PARSE_ALL_FORMULAS_TIMER.stop(start);
+
+        for (final MMJException errMsg : errMsgs) {
+            if (messages.maxErrorMessagesReached())
+                break;
+            if (errMsg != null)
+                messages.accumException(errMsg);
+        }
+    }
+
+    /**
+     * A contiguous range of the (sequence-ordered) statement list, parsed by
+     * one fork-join task. Messages are stored in the parallel errMsgs array.
+     * If errMsgs is null the statements have been parsed and the task primes
+     * the assertions' logical hypothesis values.
+     */
+    private class ParseShard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Stmt> list;
+        private final MMJException[] errMsgs;
+        private final BlockingQueue<GrammaticalParser> parsers;
+        private final int lo;
+        private final int hi;
+
+        ParseShard(final List<Stmt> list, final MMJException[] errMsgs,
+            final BlockingQueue<GrammaticalParser> parsers, final int lo,
+            final int hi)
+        {
+            this.list = list;
+            this.errMsgs = errMsgs;
+            this.parsers = parsers;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GrammarConstants.PARSE_SHARD_MIN_LEN) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(new ParseShard(list, errMsgs, parsers, lo, mid),
+                    new ParseShard(list, errMsgs, parsers, mid, hi));
+                return;
+            }
+            if (errMsgs == null) {
+                for (int i = lo; i < hi; i++)
+                    primeAssrt(list.get(i));
+                return;
+            }
+            final GrammaticalParser parser = takeParser();
+            for (int i = lo; i < hi; i++) {
+                final int j = i;
+                parseStmt(parser, list.get(i), e -> errMsgs[j] = e);
+            }
+            parsers.add(parser);
+        }
+
+        /**
+         * Takes a worker parser from the queue. There is one per pool thread,
+         * but the pool may add threads while others wait in a join, so this
+         * may have to wait for another shard to return its parser.
+         */
+        private GrammaticalParser takeParser() {
+            boolean interrupted = false;
+            try {
+                while (true)
+                    try {
+                        return parsers.take();
+                    } catch (final InterruptedException e) {
+                        interrupted = true;
+                    }
+            } finally {
+                if (interrupted)
+                    Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Parses one statement's formula, storing the parse tree -- or the default
+     * parse tree if the parse fails -- into the statement and priming the
+     * parse tree's cached values.
+     *
+     * @param parser the GrammaticalParser to use.
+     * @param stmt the Stmt to parse.
+     * @param errors receives the error/info message, if any.
+     */
+    private void parseStmt(final GrammaticalParser parser, final Stmt stmt,
+        final Consumer<MMJException> errors)
+    {
+        final VarHyp[] varHypArray = stmt.getMandVarHypArray();
+        ParseTree exprParseTree = grammaticalParseOneFormula(parser,
+            stmt.getFormula(), varHypArray, stmt.getSeq(), stmt.getLabel(),
+            errors);
+        if (exprParseTree == null)
+            exprParseTree = buildDefaultExprParseTree(stmt, varHypArray);
+        else if (parseNodeFactory != null)
+            exprParseTree = parseNodeFactory.intern(exprParseTree);
+        stmt.setExprParseTree(exprParseTree);
+
+//        System.out.println(stmt.getLabel() + " $"
+//            + (stmt instanceof LogHyp ? "e"
+//                : stmt instanceof Axiom ? "a" : "p")
+//            + " " + exprParseTree.getRoot().asLisp());
+
+        // Prime these values so they aren't computed later
+        // (and so that the buffers don't get dirtied later).
+        // The "get" routines cache results...so...
+        exprParseTree.getMaxDepth();
+        exprParseTree.getLevelOneTwo();
+    }
+
+    /**
+     * Primes an assertion's cached logical hypothesis values, which requires
+     * the logical hypotheses to have been parsed.
+     *
+     * @param stmt the Stmt, ignored unless it is an Assrt.
+     */
+    private static void primeAssrt(final Stmt stmt) {
+        if (stmt instanceof Assrt) {
+            final Assrt assrt = (Assrt)stmt;
+            assrt.getLogHypsMaxDepth();
+            assrt.getLogHypsL1HiLoKey();
         }
     }
 
@@ -782,41 +1089,42 @@ public class Grammar implements SyntaxVerifier {
         return exprParseTree;
     }
 
-    private ParseTree grammaticalParseOneFormula(final Formula formula,
+    private ParseTree grammaticalParseOneFormula(
+        final GrammaticalParser parser, final Formula formula,
         final VarHyp[] varHypArray, final int highestSeq,
-        final String defaultStmtLabel)
+        final String defaultStmtLabel, final Consumer<MMJException> errors)
     {
         ParseTree exprParseTree = null;
 
         final ParseTree[] parseTreeArray = new ParseTree[parseTreeMax];
         int parseTreeCnt;
         try {
-            parseTreeCnt = grammaticalParser.parseExpr(parseTreeArray,
+            parseTreeCnt = parser.parseExpr(parseTreeArray,
                 formula.getTyp(), formula.getParseNodeHolderExpr(varHypArray),
                 highestSeq);
             if (parseTreeCnt < 0)
-                messages.accumMessage(
+                errors.accept(new MMJException(
                     GrammarConstants.ERRMSG_PARSE_FAILED_AT_POS,
-                    defaultStmtLabel, -parseTreeCnt);
+                    defaultStmtLabel, -parseTreeCnt));
             else
                 switch (parseTreeCnt) {
                     case 1:
                         exprParseTree = parseTreeArray[0];
                         break;
                     case 0:
-                        messages.accumMessage(
+                        errors.accept(new MMJException(
                             GrammarConstants.ERRMSG_PARSE_FAILED,
-                            defaultStmtLabel);
+                            defaultStmtLabel));
                         break;
                     case 2:
                         /**
                          * return 1st parse tree of n
                          */
                         exprParseTree = parseTreeArray[0];
-                        messages.accumMessage(
+                        errors.accept(new MMJException(
                             GrammarConstants.ERRMSG_2_PARSE_TREES,
                             defaultStmtLabel, parseTreeArray[0],
-                            parseTreeArray[1]);
+                            parseTreeArray[1]));
                         break;
                     default:
                         /**
@@ -828,14 +1136,13 @@ public class Grammar implements SyntaxVerifier {
                             s.append(ErrorCode.format(
                                 GrammarConstants.ERRMSG_N_PARSE_TREES_2, i,
                                 parseTreeArray[i]));
-                        messages.accumMessage(
+                        errors.accept(new MMJException(
                             GrammarConstants.ERRMSG_N_PARSE_TREES,
-                            defaultStmtLabel, s);
+                            defaultStmtLabel, s));
                         break;
                 }
         } catch (final VerifyException e) {
-            messages.accumException(
-                e.addContext(new LabelContext(defaultStmtLabel)));
+            errors.accept(e.addContext(new LabelContext(defaultStmtLabel)));
         }
         return exprParseTree;
     }
@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * GrammarConstants.java  0.06 11/01/2011
+ * GrammarConstants.java  0.07 10/18/2026
  *
  * Aug-30-2005: misc. message typos fixed.
  * Sep-25-2005: - add comment, I-GR-0017 is not triggered with
@@ -25,6 +25,10 @@
  *                there is an ambiguity.)
  * Sep-02-2006:  comment update for TMFF project messages.
  * Nov-01-2011:  comment update.
+ * Oct-18-2026:  - add PARSE_THREADS_DEFAULT, PARSE_SHARD_MIN_LEN.
+ *               - add LR parse table file constants and
+ *                 I-GR-0053 thru I-GR-0055.
+ *               - add SHARE_PARSE_TREES_DEFAULT.
  */
 
 package mmj.verify;
@@ -170,6 +174,40 @@ public class GrammarConstants {
      */
     public static final int MAX_PARSE_RETRIES = 20;
 
+    /**
+     * Default number of threads used by Parse "*" (1 = serial).
+     */
+    public static final int PARSE_THREADS_DEFAULT = 1;
+
+    /**
+     * Number of statements below which a parallel parse shard is not split
+     * any further.
+     */
+    public static final int PARSE_SHARD_MIN_LEN = 64;
+
+    /**
+     * Default for the ShareParseTrees RunParm: statement parse trees are not
+     * interned (see ParseNodeFactory).
+     */
+    public static final boolean SHARE_PARSE_TREES_DEFAULT = false;
+
+    /**
+     * First word of an LRParser parse table file ("MMLR").
+     */
+    public static final int LR_PARSE_TABLE_MAGIC = 0x4D4D4C52;
+
+    /**
+     * Format version of LRParser parse table files.
+     */
+    public static final int LR_PARSE_TABLE_VERSION = 1;
+
+    /**
+     * Number of LRParser states below which the states of one generation are
+     * developed serially, and below which a parallel shard of them is not
+     * split any further.
+     */
+    public static final int LR_DEVELOP_SHARD_MIN_LEN = 16;
+
     /**
      * Minimum initial allocation size for Earley Parser Itemset Array.
      * <p>
@@ -499,5 +537,15 @@ public class GrammarConstants {
     public static final ErrorCode ERRMSG_REDUCE_REDUCE = of(
         "E-GR-0052 Reduce/reduce conflict in grammar: %s => \"%s\" / \"%s\"");
 
+    public static final ErrorCode ERRMSG_PARSE_TABLE_LOADED = of(
+        "I-GR-0053 LR parse table loaded from %s (%d states).");
+
+    public static final ErrorCode ERRMSG_PARSE_TABLE_WRITTEN = of(
+        "I-GR-0054 LR parse table built (%d states) and written to %s.");
+
+    public static final ErrorCode ERRMSG_PARSE_TABLE_WRITE_ERROR = of(
+        "I-GR-0055 LR parse table built (%d states) but it could not be"
+            + " written to %s: %s");
+
     public static final Class<? extends GrammaticalParser> DEFAULT_PARSER_PROTOTYPE = EarleyParser.class;
 }
@@ -50,4 +50,19 @@ public interface GrammaticalParser {
      * @param store The setting storage
      */
     default void addSettings(final SessionStore store) {}
+
+    /**
+     * Returns a new parser for the same Grammar, sharing this parser's parse
+     * tables, for use on another thread: a parser instance is not thread-safe
+     * but several instances may parse concurrently.
+     * <p>
+     * The tables are built by this call if necessary, so it must be made on
+     * the thread that owns this parser before the new parsers are used.
+     *
+     * @return a new parser, or null if this parser does not support
+     *         concurrent parsing.
+     */
+    default GrammaticalParser newWorkerParser() {
+        return null;
+    }
 }
@@ -6,14 +6,24 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * LRParser.java  0.01 1/06/2016
+ * LRParser.java  0.02 10/18/2026
+ *
+ * Version 0.02:
+ *     - Added newWorkerParser() for multi-threaded "Parse,*".
+ *     - Added binary parse table files (Grammar.getParseTableFile())
+ *       and parallel development of the parse table states.
  */
 
 package mmj.verify;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -21,10 +31,23 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import mmj.lang.*;
+import mmj.lang.ParseTree.RPNStep;
 import mmj.pa.*;
 
 /**
  * LR Parser
+ * <p>
+ * The parse table is built the first time it is needed. It is kept with the
+ * session settings (see {@link #addSettings(SessionStore)}), or, if the
+ * Grammar has a parse table file (see {@link Grammar#getParseTableFile()}),
+ * in that file, in a compact binary format keyed by a hash of the notation
+ * rules. The file is memory-mapped and loaded if its key matches the Grammar,
+ * and rebuilt and rewritten otherwise, so one file can be shared by several
+ * users and batch jobs working on the same database.
+ * <p>
+ * When the table is built, each generation of new states is developed in
+ * parallel; the states are then numbered serially, in the same order as a
+ * serial build.
  */
 public class LRParser implements GrammaticalParser {
     private static final String PFX = "~LRParser.";
@@ -40,6 +63,9 @@ public class LRParser implements GrammaticalParser {
     private Map<String, Integer> startStates;
     private List<ParseTableRow> rows;
 
+    /** Number of notation rules when the table was read from the file */
+    private int tableFileRuleCnt = -1;
+
     private final List<ParseSet> sets = new ArrayList<>();
     private final Map<ParseSet, Integer> setLookup = new HashMap<>();
     private final Map<Cnst, List<NotationRule>> rulesByTyp = new HashMap<>();
@@ -84,6 +110,27 @@ public class LRParser implements GrammaticalParser {
                 .addListener((o, value) -> o == rowDef || value == rowDef);
     }
 
+    /**
+     * Returns a new LRParser sharing this parser's parse table, which is
+     * loaded or built first if necessary. The parse table is not modified by
+     * parseExpr().
+     *
+     * @return new LRParser.
+     */
+    @Override
+    public GrammaticalParser newWorkerParser() {
+        load(true);
+        final LRParser worker = new LRParser(grammar, 0);
+        worker.store = store;
+        worker.grammarHash = grammarHash;
+        worker.startStatesSetting = startStatesSetting;
+        worker.rowsSetting = rowsSetting;
+        worker.startStates = startStates;
+        worker.rows = rows;
+        worker.tableFileRuleCnt = tableFileRuleCnt;
+        return worker;
+    }
+
     private void initialize() {
         startStates = new HashMap<>();
         rows = new ArrayList<>();
@@ -146,8 +193,7 @@ public class LRParser implements GrammaticalParser {
         }
 
         // Explore the state space until fixpoint.
-        while (!stateQueue.isEmpty())
-            developState(stateQueue.pop());
+        developStates();
 
         // Cleaning up conflicts. This is what makes the KLR parser different
         // from a LR(0) parser. A conflict is a state that contains a
@@ -353,8 +399,7 @@ public class LRParser implements GrammaticalParser {
                     // Explore the state space until fixpoint again.
                     // This can cause more conflicts to be flagged, so we start
                     // over in the big loop clearing conflicts until fixpoint.
-                    while (!stateQueue.isEmpty())
-                        developState(stateQueue.pop());
+                    developStates();
                 }
             }
         }
@@ -369,13 +414,6 @@ public class LRParser implements GrammaticalParser {
         backtrack.clear();
         newRules.clear();
         ParseState.clearCache();
-
-        grammarHash.reset();
-        grammarHash.set(grammar.getNotationGRSet().size());
-        startStatesSetting.reset();
-        startStatesSetting.set(startStates);
-        rowsSetting.reset();
-        rowsSetting.set(rows);
     }
 
     private Integer getState(final ParseSet set) {
@@ -392,36 +430,127 @@ public class LRParser implements GrammaticalParser {
         return index;
     }
 
-    private void developState(final Integer index) {
-        final ParseSet set = sets.get(index);
-        final ParseTableRow row = rows.get(index);
-        row.setReduction(
-            set.reduce(null, (NotationRule reduce, final ParseState e) -> {
+    /**
+     * Develops the queued states, and the states they lead to, until the queue
+     * is empty.
+     * <p>
+     * The queue is processed a generation at a time: the transitions of the
+     * states of one generation are computed in parallel (see
+     * {@link #develop(ParseSet)}), then added to the table in queue order,
+     * which queues the next generation. The states are thus numbered as by a
+     * serial breadth-first development.
+     */
+    private void developStates() {
+        while (!stateQueue.isEmpty()) {
+            final Integer[] generation = stateQueue
+                .toArray(new Integer[stateQueue.size()]);
+            stateQueue.clear();
+            final DevelopedState[] developed = new DevelopedState[generation.length];
+            if (generation.length > GrammarConstants.LR_DEVELOP_SHARD_MIN_LEN)
+                ForkJoinPool.commonPool()
+                    .invoke(new DevelopShard(generation, developed, 0,
+                        generation.length));
+            else
+                for (int i = 0; i < generation.length; i++)
+                    developed[i] = develop(sets.get(generation[i]));
+            for (int i = 0; i < generation.length; i++)
+                addDevelopedState(generation[i], developed[i]);
+        }
+    }
+
+    /** The reduction and the transitions of a state, not yet numbered. */
+    private static class DevelopedState {
+        NotationRule reduce;
+        final List<NotationRule> reduceConflicts = new ArrayList<>();
+        final List<Cnst> heads = new ArrayList<>();
+        final List<ParseSet> goals = new ArrayList<>();
+        final BitSet shiftReduceConflicts = new BitSet();
+    }
+
+    private class DevelopShard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Integer[] generation;
+        private final DevelopedState[] developed;
+        private final int lo;
+        private final int hi;
+
+        DevelopShard(final Integer[] generation,
+            final DevelopedState[] developed, final int lo, final int hi)
+        {
+            this.generation = generation;
+            this.developed = developed;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GrammarConstants.LR_DEVELOP_SHARD_MIN_LEN) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(new DevelopShard(generation, developed, lo, mid),
+                    new DevelopShard(generation, developed, mid, hi));
+                return;
+            }
+            for (int i = lo; i < hi; i++)
+                developed[i] = develop(sets.get(generation[i]));
+        }
+    }
+
+    /**
+     * Computes the reduction of a state and the goal state of each of its
+     * shifts. Reads but does not update the parser tables, so several states
+     * can be developed concurrently.
+     *
+     * @param set the state
+     * @return the developed state
+     */
+    private DevelopedState develop(final ParseSet set) {
+        final DevelopedState d = new DevelopedState();
+        final Set<Cnst> shifted = new HashSet<>();
+        d.reduce = set.reduce(null,
+            (NotationRule reduce, final ParseState e) -> {
                 final Cnst head = e.head();
                 if (head == null) {
                     if (reduce != null)
-                        grammar.getMessages().accumMessage(
-                            GrammarConstants.ERRMSG_REDUCE_REDUCE, set, reduce,
-                            e.rule);
+                        d.reduceConflicts.add(e.rule);
                     else
                         reduce = e.rule;
                 }
-                else if (!row.transitions.containsKey(head.getId())) {
+                else if (shifted.add(head)) {
                     final ParseSet goal = new ParseSet();
                     set.forEach(state -> {
                         if (head.equals(state.head()))
                             goal.add(state.advance());
                     });
                     makeClosure(goal);
-                    final int goalIndex = getState(goal);
-                    row.transitions.put(head.getId(), goalIndex);
-                    backtrack.get(goalIndex).add(index);
                     if (reduce != null && followByTyp
                         .get(reduce.getGrammarRuleTyp()).contains(head))
-                        conflicts.add(index);
+                        d.shiftReduceConflicts.set(d.heads.size());
+                    d.heads.add(head);
+                    d.goals.add(goal);
                 }
                 return reduce;
-            }));
+            });
+        return d;
+    }
+
+    private void addDevelopedState(final Integer index,
+        final DevelopedState d)
+    {
+        final ParseTableRow row = rows.get(index);
+        for (final NotationRule rule : d.reduceConflicts)
+            grammar.getMessages().accumMessage(
+                GrammarConstants.ERRMSG_REDUCE_REDUCE, sets.get(index),
+                d.reduce, rule);
+        for (int i = 0; i < d.heads.size(); i++) {
+            final int goalIndex = getState(d.goals.get(i));
+            row.transitions.put(d.heads.get(i).getId(), goalIndex);
+            backtrack.get(goalIndex).add(index);
+            if (d.shiftReduceConflicts.get(i))
+                conflicts.add(index);
+        }
+        row.setReduction(d.reduce);
     }
 
     private void makeClosure(final ParseSet set) {
@@ -449,6 +578,11 @@ public class LRParser implements GrammaticalParser {
     }
 
     public void load(final boolean fromFile) {
+        final File tableFile = grammar.getParseTableFile();
+        if (tableFile != null) {
+            loadTableFile(tableFile);
+            return;
+        }
         if (grammarHash.get().equals(grammar.getNotationGRSet().size())) {
             startStates = startStatesSetting.get();
             rows = rowsSetting.get();
@@ -468,8 +602,215 @@ public class LRParser implements GrammaticalParser {
                 }
                 load(false);
             }
-            else
+            else {
                 initialize();
+                grammarHash.reset();
+                grammarHash.set(grammar.getNotationGRSet().size());
+                startStatesSetting.reset();
+                startStatesSetting.set(startStates);
+                rowsSetting.reset();
+                rowsSetting.set(rows);
+            }
+    }
+
+    /**
+     * Loads the parse table from a parse table file, or builds it and writes
+     * the file if the file is missing or was written for another grammar.
+     *
+     * @param tableFile the parse table file
+     */
+    private void loadTableFile(final File tableFile) {
+        final int ruleCnt = grammar.getNotationGRSet().size();
+        if (tableFileRuleCnt == ruleCnt)
+            return;
+        final long key = getGrammarKey();
+        try {
+            if (readTableFile(tableFile, key)) {
+                tableFileRuleCnt = ruleCnt;
+                grammar.getMessages().accumMessage(
+                    GrammarConstants.ERRMSG_PARSE_TABLE_LOADED,
+                    tableFile.getAbsolutePath(), rows.size());
+                return;
+            }
+        } catch (final IOException | RuntimeException e) {
+            // unreadable or damaged: rebuild it
+        }
+        initialize();
+        tableFileRuleCnt = ruleCnt;
+        try {
+            writeTableFile(tableFile, key);
+            grammar.getMessages().accumMessage(
+                GrammarConstants.ERRMSG_PARSE_TABLE_WRITTEN, rows.size(),
+                tableFile.getAbsolutePath());
+        } catch (final IOException e) {
+            grammar.getMessages().accumMessage(
+                GrammarConstants.ERRMSG_PARSE_TABLE_WRITE_ERROR, rows.size(),
+                tableFile.getAbsolutePath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a hash of everything the parse table is built from: the variable
+     * types and the notation rules.
+     *
+     * @return the grammar key of parse table files
+     */
+    private long getGrammarKey() {
+        final List<String> rules = new ArrayList<>();
+        for (final Cnst typ : grammar.getVarHypTypSet())
+            rules.add(typ.getId());
+        for (final NotationRule rule : grammar.getNotationGRSet()) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(rule.getGrammarRuleTyp().getId()).append(" =:");
+            for (final Cnst c : rule.getRuleFormatExpr())
+                sb.append(' ').append(c.getId());
+            sb.append(" :");
+            for (final RPNStep step : rule.getParamTransformationTree()
+                .convertToRPN())
+                sb.append(' ').append(step);
+            sb.append(" : ").append(rule.getIsGimmeMatchNbr());
+            rules.add(sb.toString());
+        }
+        Collections.sort(rules);
+        long h = 1125899906842597L;
+        for (final String rule : rules) {
+            for (int i = 0; i < rule.length(); i++)
+                h = 31 * h + rule.charAt(i);
+            h = 31 * h + '\n';
+        }
+        return h;
+    }
+
+    /**
+     * Reads a parse table file.
+     *
+     * @param tableFile the parse table file
+     * @param key the grammar key
+     * @return true if the file was read, false if it does not exist or was
+     *         written for another grammar
+     * @throws IOException if an I/O error occurred
+     */
+    private boolean readTableFile(final File tableFile, final long key)
+        throws IOException
+    {
+        if (!tableFile.exists())
+            return false;
+        final ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(tableFile.toPath(),
+            StandardOpenOption.READ))
+        {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (in.getInt() != GrammarConstants.LR_PARSE_TABLE_MAGIC
+            || in.getInt() != GrammarConstants.LR_PARSE_TABLE_VERSION
+            || in.getLong() != key)
+            return false;
+
+        final String[] strings = new String[in.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            final byte[] b = new byte[in.getInt()];
+            in.get(b);
+            strings[i] = new String(b, StandardCharsets.UTF_8);
+        }
+
+        final Map<String, Integer> newStartStates = new HashMap<>();
+        for (int i = in.getInt(); i > 0; i--)
+            newStartStates.put(strings[in.getInt()], in.getInt());
+
+        final int nbrRows = in.getInt();
+        final List<ParseTableRow> newRows = new ArrayList<>(nbrRows);
+        final Map<String, Stmt> stmtTbl = grammar.stmtTbl;
+        for (int r = 0; r < nbrRows; r++) {
+            final ParseTableRow row = new ParseTableRow();
+            for (int i = in.getInt(); i > 0; i--)
+                row.transitions.put(strings[in.getInt()], in.getInt());
+            final int typeCode = in.getInt();
+            if (typeCode >= 0) {
+                row.typeCode = strings[typeCode];
+                row.args = in.getInt();
+                final RPNStep[] rpn = new RPNStep[in.getInt()];
+                for (int i = 0; i < rpn.length; i++)
+                    rpn[i] = new RPNStep(stmtTbl, strings[in.getInt()]);
+                row.paramTransformationTree = new ParseTree(rpn);
+            }
+            newRows.add(row);
+        }
+        startStates = newStartStates;
+        rows = newRows;
+        return true;
+    }
+
+    /**
+     * Writes the parse table to a parse table file. The file is written under
+     * a temporary name and then renamed, so that other processes sharing the
+     * file never see a partial table.
+     *
+     * @param tableFile the parse table file
+     * @param key the grammar key
+     * @throws IOException if an I/O error occurred
+     */
+    private void writeTableFile(final File tableFile, final long key)
+        throws IOException
+    {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final ByteArrayOutputStream tableBytes = new ByteArrayOutputStream();
+        final DataOutputStream table = new DataOutputStream(tableBytes);
+        table.writeInt(startStates.size());
+        for (final Entry<String, Integer> e : startStates.entrySet()) {
+            table.writeInt(stringIndex(strings, e.getKey()));
+            table.writeInt(e.getValue());
+        }
+        table.writeInt(rows.size());
+        for (final ParseTableRow row : rows) {
+            table.writeInt(row.transitions.length());
+            for (final String token : row.transitions.keySet()) {
+                table.writeInt(stringIndex(strings, token));
+                table.writeInt(row.getTransition(token));
+            }
+            if (row.typeCode == null)
+                table.writeInt(-1);
+            else {
+                table.writeInt(stringIndex(strings, row.typeCode));
+                table.writeInt(row.args);
+                final RPNStep[] rpn = row.paramTransformationTree
+                    .convertToRPN();
+                table.writeInt(rpn.length);
+                for (final RPNStep step : rpn)
+                    table.writeInt(stringIndex(strings, step.toString()));
+            }
+        }
+        table.flush();
+
+        final File dir = tableFile.getAbsoluteFile().getParentFile();
+        final File tempFile = File.createTempFile(tableFile.getName(), ".tmp",
+            dir);
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile))))
+            {
+                out.writeInt(GrammarConstants.LR_PARSE_TABLE_MAGIC);
+                out.writeInt(GrammarConstants.LR_PARSE_TABLE_VERSION);
+                out.writeLong(key);
+                out.writeInt(strings.size());
+                for (final String string : strings.keySet()) {
+                    final byte[] b = string.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(b.length);
+                    out.write(b);
+                }
+                tableBytes.writeTo(out);
+            }
+            Files.move(tempFile.toPath(), tableFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    private static int stringIndex(final Map<String, Integer> strings,
+        final String s)
+    {
+        return strings.computeIfAbsent(s, k -> strings.size());
     }
 
     /**
@@ -596,7 +937,7 @@ public class LRParser implements GrammaticalParser {
     }
 
     private static class ParseState implements Comparable<ParseState> {
-        static Map<ParseState, ParseState> cache = new HashMap<>();
+        static Map<ParseState, ParseState> cache = new ConcurrentHashMap<>();
         final NotationRule rule;
         final int position;
 
@@ -611,12 +952,8 @@ public class LRParser implements GrammaticalParser {
 
         public static ParseState get(final NotationRule rule, final int pos) {
             final ParseState state = new ParseState(rule, pos);
-            final ParseState cached = cache.get(state);
-            if (cached == null) {
-                cache.put(state, state);
-                return state;
-            }
-            return cached;
+            final ParseState cached = cache.putIfAbsent(state, state);
+            return cached == null ? state : cached;
         }
 
         public static ParseState get(final NotationRule rule) {
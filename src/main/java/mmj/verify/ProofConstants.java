@@ -133,6 +133,16 @@ public class ProofConstants {
      */
     public static final int PROOF_SUBST_HARD_FAILURE_LEN = 6400;
 
+    /**
+     * Default number of threads used by VerifyProof "*" (1 = serial).
+     */
+    public static final int PROOF_VERIFY_THREADS_DEFAULT = 1;
+    /**
+     * Number of theorems below which a parallel verification shard is not
+     * split any further.
+     */
+    public static final int PROOF_VERIFY_SHARD_MIN_LEN = 64;
+
     /**
      * QED ProofDerivationStepEntry last step number
      */
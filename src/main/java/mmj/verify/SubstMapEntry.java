@@ -6,7 +6,12 @@
 //*4567890123456 (71-character line to adjust editor window) 23456789*/
 
 /*
- * SubstMapEntry.java  0.02 08/26/2005
+ * SubstMapEntry.java  0.03 10/18/2026
+ *
+ * Version 0.03 - 10/18/2026
+ *     -> substTo may be a slice (substToStart..substToEnd) of a
+ *        larger array, so a Formula's Sym array can be used
+ *        without copying out its expression.
  */
 
 package mmj.verify;
@@ -34,6 +39,9 @@ import mmj.lang.Sym;
  *                    FOR each occurrence of substFrom
  *                    in the proof step's mandatory
  *                    hypotheses and assertion.
+ *
+ *     int substToStart, substToEnd: the part of substTo
+ *                    holding the expression.
  * </pre>
  */
 public class SubstMapEntry {
@@ -48,6 +56,16 @@ public class SubstMapEntry {
      */
     public Sym[] substTo;
 
+    /**
+     * substToStart -- index of the first substTo symbol.
+     */
+    public int substToStart;
+
+    /**
+     * substToEnd -- index after the last substTo symbol.
+     */
+    public int substToEnd;
+
     /**
      * Default Constructor.
      */
@@ -60,8 +78,25 @@ public class SubstMapEntry {
      * @param substTo expression or variable to replace substFrom.
      */
     public SubstMapEntry(final Sym substFrom, final Sym[] substTo) {
+        set(substFrom, substTo, 0, substTo.length);
+    }
+
+    /**
+     * Set substFrom and a slice of an array for substTo.
+     *
+     * @param substFrom variable to be replaced.
+     * @param substTo array containing the expression or variable to replace
+     *            substFrom.
+     * @param substToStart index of the first symbol in substTo.
+     * @param substToEnd index after the last symbol in substTo.
+     */
+    public void set(final Sym substFrom, final Sym[] substTo,
+        final int substToStart, final int substToEnd)
+    {
         this.substFrom = substFrom;
         this.substTo = substTo;
+        this.substToStart = substToStart;
+        this.substToEnd = substToEnd;
     }
 
     @Override
@@ -69,8 +104,8 @@ public class SubstMapEntry {
         String s = substFrom + " :>";
         if (substTo == null)
             return s + " null";
-        for (final Sym sym : substTo)
-            s += " " + sym;
+        for (int i = substToStart; i < substToEnd; i++)
+            s += " " + substTo[i];
         return s;
     }
 }
@@ -7,7 +7,7 @@
 //*456789012345678 (80-character line to adjust editor window) 456789012345678*/
 
 /*
- * VerifyProofs.java 0.09 11/01/2011
+ * VerifyProofs.java 0.11 10/18/2026
  *
  * 15-Jan-2006
  *             --> added verifyDerivStepProof(),
@@ -58,17 +58,37 @@
  *       GMFFExportTheorem export of dummylink came out as follows
  *        h1::dummylink.1     |- ph
  *        hqed::dummylink.2   |- ps
+ *
+ * Version 0.10 - Oct-18-2026:
+ *     - Substitutions no longer search subst[] for each symbol:
+ *       Assrt.getMandVarIndex() maps each variable directly to
+ *       its subst[] entry. The subst entries and stackTop array
+ *       are reused, the VarHyp expressions are referenced in
+ *       place instead of copied, and LogHyp substitutions are
+ *       compared against the stack without building a Formula.
+ *
+ * Version 0.11 - Oct-18-2026:
+ *     - Added verifyProofs(Messages, List, int) to verify just
+ *       the theorems affected by TheoremLoader updates.
+ *     - Record proof verification metrics (see mmj.util.Metrics).
+ *     - Check DjVars with the frames' DjVarsTable bitsets instead of
+ *       scanning the djVarsArrays for each pair of variables.
  */
 
 package mmj.verify;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import mmj.lang.*;
 import mmj.lang.ParseTree.RPNStep;
 import mmj.pa.ErrorCode;
 import mmj.pa.PaConstants;
 import mmj.pa.PaConstants.*;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Counter;
+import mmj.util.Metrics.Timer;
 
 /**
  * VerifyProofs implements the proof verification process described in
@@ -131,6 +151,13 @@ import mmj.pa.PaConstants.*;
  *      Entity-Relationship Notes</a>
  */
 public class VerifyProofs implements ProofVerifier {
+    private static final Timer VERIFY_PROOF_TIMER = Metrics
+        .timer("verify_proof_seconds");
+    private static final Timer VERIFY_RUN_TIMER = Metrics
+        .timer("verify_proofs_run_seconds");
+    private static final Counter VERIFY_ERRORS = Metrics
+        .counter("verify_proof_errors_total");
+
     private int retryCnt = -1;
 
     // *******************************************
@@ -155,6 +182,11 @@ public class VerifyProofs implements ProofVerifier {
     private int substHighwater;
     private SubstMapEntry[] subst;
 
+    // stepFrame DjVarsTable local index of each subst[].substFrom
+    private int[] substDjIdx = new int[ProofConstants.PROOF_SUBST_INIT_LEN];
+    private Formula[] stackTop = new Formula[0];
+    private int[][] stepVarIndex;
+
     private boolean isExprRPNVerify;
     private String proofStmtLabel;
     private Formula proofStmtFormula;
@@ -208,6 +240,7 @@ public class VerifyProofs implements ProofVerifier {
     public void verifyAllProofs(final Messages messages,
         final Map<String, Stmt> stmtTbl)
     {
+        final long start = VERIFY_RUN_TIMER.start();
         final List<Stmt> list = new ArrayList<>(stmtTbl.values());
         Collections.sort(list, MObj.SEQ);
         for (final Stmt stmt : list) {
@@ -219,6 +252,127 @@ public class VerifyProofs implements ProofVerifier {
                     messages.accumException(errMsg);
             }
         }
+        VERIFY_RUN_TIMER.stop(start);
+    }
+
+    /**
+     * Verify all proofs in Statement Table using a pool of worker threads.
+     * <p>
+     * The theorems are sorted by sequence number and sharded across a
+     * fork-join pool. VerifyProofs work areas cannot be shared, so each worker
+     * thread gets its own VerifyProofs instance. The error messages are
+     * accumulated in statement sequence order after all shards have finished,
+     * so the output is identical to that of the single-threaded
+     * {@link #verifyAllProofs(Messages, Map)} (except that every theorem is
+     * verified even if MaxErrorMessages is reached.)
+     *
+     * @param messages Messages object for output error messages.
+     * @param stmtTbl Statement Table (map).
+     * @param nbrThreads number of worker threads; 1 or less verifies serially
+     *            on the calling thread.
+     */
+    public void verifyAllProofs(final Messages messages,
+        final Map<String, Stmt> stmtTbl, final int nbrThreads)
+    {
+        if (nbrThreads <= 1) {
+            verifyAllProofs(messages, stmtTbl);
+            return;
+        }
+
+        final List<Theorem> list = new ArrayList<>();
+        for (final Stmt stmt : stmtTbl.values())
+            if (stmt instanceof Theorem)
+                list.add((Theorem)stmt);
+        Collections.sort(list, MObj.SEQ);
+
+        verifyProofs(messages, list, nbrThreads);
+    }
+
+    /**
+     * Verify the proofs of a list of theorems, optionally using a pool of
+     * worker threads.
+     * <p>
+     * Used to re-verify just the theorems affected by TheoremLoader updates
+     * (see {@code mmj.lang.ProofDependencyGraph}). Error messages are
+     * accumulated in list order.
+     *
+     * @param messages Messages object for output error messages.
+     * @param list Theorems to verify, normally in MObj.seq order.
+     * @param nbrThreads number of worker threads; 1 or less verifies serially
+     *            on the calling thread.
+     */
+    public void verifyProofs(final Messages messages, final List<Theorem> list,
+        final int nbrThreads)
+    {
+        final long start = VERIFY_RUN_TIMER.start();
+        if (nbrThreads <= 1) {
+            for (final Theorem theorem : list) {
+                if (messages.maxErrorMessagesReached())
+                    break;
+                final VerifyException errMsg = verifyOneProof(theorem);
+                if (errMsg != null)
+                    messages.accumException(errMsg);
+            }
+            VERIFY_RUN_TIMER.stop(start);
+            return;
+        }
+
+        final VerifyException[] errMsgs = new VerifyException[list.size()];
+        final ThreadLocal<VerifyProofs> verifiers = ThreadLocal
+            .withInitial(VerifyProofs::new);
+        final ForkJoinPool pool = new ForkJoinPool(nbrThreads);
+        try {
+            pool.invoke(new VerifyShard(list, errMsgs, verifiers, 0,
+                errMsgs.length));
+        } finally {
+            pool.shutdown();
+        }
+        VERIFY_RUN_TIMER.stop(start);
+
+        for (final VerifyException errMsg : errMsgs) {
+            if (messages.maxErrorMessagesReached())
+                break;
+            if (errMsg != null)
+                messages.accumException(errMsg);
+        }
+    }
+
+    /**
+     * A contiguous range of the (sequence-ordered) theorem list, verified by
+     * one fork-join task. Results are stored in the parallel errMsgs array.
+     */
+    private static class VerifyShard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Theorem> list;
+        private final VerifyException[] errMsgs;
+        private final ThreadLocal<VerifyProofs> verifiers;
+        private final int lo;
+        private final int hi;
+
+        VerifyShard(final List<Theorem> list, final VerifyException[] errMsgs,
+            final ThreadLocal<VerifyProofs> verifiers, final int lo,
+            final int hi)
+        {
+            this.list = list;
+            this.errMsgs = errMsgs;
+            this.verifiers = verifiers;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > ProofConstants.PROOF_VERIFY_SHARD_MIN_LEN) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(new VerifyShard(list, errMsgs, verifiers, lo, mid),
+                    new VerifyShard(list, errMsgs, verifiers, mid, hi));
+                return;
+            }
+            final VerifyProofs verifyProofs = verifiers.get();
+            for (int i = lo; i < hi; i++)
+                errMsgs[i] = verifyProofs.verifyOneProof(list.get(i));
+        }
     }
 
     /**
@@ -229,6 +383,7 @@ public class VerifyProofs implements ProofVerifier {
      */
     public VerifyException verifyOneProof(final Theorem theorem) {
 
+        final long start = VERIFY_PROOF_TIMER.start();
         VerifyException errMsg = null;
         boolean needToRetry = true;
 
@@ -254,6 +409,9 @@ public class VerifyProofs implements ProofVerifier {
             errMsg = e;
         }
 
+        VERIFY_PROOF_TIMER.stop(start);
+        if (errMsg != null)
+            VERIFY_ERRORS.increment();
         return errMsg;
 
     }
@@ -616,7 +774,8 @@ public class VerifyProofs implements ProofVerifier {
 
             findUniqueSubstMapping();
 
-            stepSubstFormula = applySubstMapping(stepFormula);
+            stepSubstFormula = applySubstMapping(stepFormula,
+                stepVarIndex[substCnt]);
             if (proof[stepNbr].backRef < 0) {
                 backrefs.add(stepSubstFormula);
                 backrefSteps.add(null);
@@ -733,13 +892,12 @@ public class VerifyProofs implements ProofVerifier {
 
             if (subst[substCnt] == null)
                 subst[substCnt] = new SubstMapEntry();
-            subst[substCnt].substFrom = ((VarHyp)stepFrame.hypArray[i])
-                .getVar();
 
             final Sym[] s = new Sym[wExprCnt];
             for (int w = 0; w < wExprCnt; w++)
                 s[w] = wExpr[w];
-            subst[substCnt].substTo = s;
+            subst[substCnt].set(((VarHyp)stepFrame.hypArray[i]).getVar(), s,
+                0, wExprCnt);
             substCnt++;
         }
     }
@@ -853,7 +1011,8 @@ public class VerifyProofs implements ProofVerifier {
                 checkDjVars();
             }
 
-            stepSubstFormula = applySubstMapping(stepFormula);
+            stepSubstFormula = applySubstMapping(stepFormula,
+                stepVarIndex[substCnt]);
             if (proof[stepNbr].backRef < 0)
                 backrefs.add(stepSubstFormula);
             pStack.push(stepSubstFormula);
@@ -893,51 +1052,53 @@ public class VerifyProofs implements ProofVerifier {
      * output:-  SubstMapEntry[] subst --> contains output array of:
      *
      *              Sym substFrom (variable from proof step mandatory
-     *                             hypotheses)
+     *                             hypotheses, null for LogHyps)
      *              Sym[] substTo (expression/variable to substitute
      *                             FOR each occurrence of substFrom
      *                             in the proof step's mandatory
-     *                             hypotheses and assertion.)
+     *                             hypotheses and assertion -- the
+     *                             stack Formula's Sym array, from
+     *                             substToStart = 1.)
+     *
+     *        -  int[][] stepVarIndex (stepAssrt.getMandVarIndex())
      * </pre>
      *
      * @throws VerifyException if DjVars (restriction) violation found.
      */
     private void findUniqueSubstMapping() throws VerifyException {
-        substCnt = stepFrame.hypArray.length;
-        if (pStack.size() < stepFrame.hypArray.length)
+        final Hyp[] hypArray = stepFrame.hypArray;
+        substCnt = hypArray.length;
+        if (pStack.size() < substCnt)
             raiseVerifyException(Integer.toString(stepNbr + 1),
                 ProofConstants.ERRMSG_STACK_SIZE_MISMATCH_FOR_STEP_HYPS,
                 stepLabel);
 //            raiseVerifyException(Integer.toString(stepNbr + 1), stepLabel,
 //                ProofConstants.ERRMSG_PROOF_STACK_UNDERFLOW);
 
-        final Formula[] stackTop = new Formula[stepFrame.hypArray.length];
-        for (int i = stepFrame.hypArray.length - 1; i >= 0; i--)
+        if (stackTop.length < substCnt)
+            stackTop = new Formula[Math.max(substCnt, 2 * stackTop.length)];
+        for (int i = substCnt - 1; i >= 0; i--)
             stackTop[i] = pStack.pop();
 
+        stepVarIndex = stepAssrt.getMandVarIndex();
+
         // 1) scan stepFrame.hypArray, pulling out VarHyp's and
         // creating the subst array entries for them (subst
         // is parallel by index to hypArray and pStack, with
         // unused entries left null...initially.)
         for (int i = 0; i < substCnt; i++) {
-            final Hyp hyp = stepFrame.hypArray[i];
+            final Hyp hyp = hypArray[i];
             if (hyp.getTyp() != stackTop[i].getTyp())
                 raiseVerifyException(Integer.toString(stepNbr + 1),
                     ProofConstants.ERRMSG_HYP_TYP_MISMATCH_STACK_TYP, stepLabel,
                     hyp.getTyp(), stackTop[i].getTyp());
-            if (!(hyp instanceof VarHyp)) {
-                subst[i] = null;
-                continue;
-            }
-
             if (subst[i] == null)
-                subst[i] = new SubstMapEntry(((VarHyp)hyp).getVar(),
-                    stackTop[i].getExpr());
-            else {
-                subst[i].substFrom = ((VarHyp)hyp).getVar();
-                subst[i].substTo = stackTop[i].getExpr();
-            }
-
+                subst[i] = new SubstMapEntry();
+            if (hyp instanceof VarHyp)
+                subst[i].set(((VarHyp)hyp).getVar(), stackTop[i].getSym(), 1,
+                    stackTop[i].getCnt());
+            else
+                subst[i].set(null, null, 0, 0);
         }
 
         // 2) now! go back through hypArray applying the generated
@@ -946,18 +1107,58 @@ public class VerifyProofs implements ProofVerifier {
         // to make sure the substitutions "work"...and that the
         // proofstep is therefore "legal".
         for (int i = 0; i < substCnt; i++) {
-            final Hyp hyp = stepFrame.hypArray[i];
+            final Hyp hyp = hypArray[i];
             if (hyp instanceof VarHyp)
                 continue;
-            final Formula workFormula = applySubstMapping(hyp.getFormula());
-            if (!workFormula.equals(stackTop[i]))
+            if (!substEquals(hyp.getFormula(), stepVarIndex[i], stackTop[i]))
                 raiseVerifyException(Integer.toString(stepNbr + 1),
                     ProofConstants.ERRMSG_STEP_LOG_HYP_SUBST_UNEQUAL, stepLabel,
-                    stackTop[i], workFormula);
+                    stackTop[i],
+                    applySubstMapping(hyp.getFormula(), stepVarIndex[i]));
 
         }
     }
 
+    /**
+     * Compares a Formula, with the subst[] substitutions applied, to another
+     * Formula without building the substituted Formula.
+     *
+     * @param f the formula to substitute into
+     * @param varIndex the subst[] index of each symbol of f, or -1
+     * @param target the formula to compare to
+     * @return true if f, substituted, equals target
+     */
+    private boolean substEquals(final Formula f, final int[] varIndex,
+        final Formula target)
+    {
+        final int fCnt = f.getCnt();
+        final Sym[] fSymArray = f.getSym();
+        final int tCnt = target.getCnt();
+        final Sym[] tSymArray = target.getSym();
+        if (fSymArray[0] != tSymArray[0])
+            return false;
+
+        int t = 1;
+        for (int i = 1; i < fCnt; i++) {
+            final int j = varIndex[i];
+            if (j < 0) {
+                if (t >= tCnt || tSymArray[t++] != fSymArray[i])
+                    return false;
+                continue;
+            }
+            final SubstMapEntry substMapEntry = subst[j];
+            final Sym[] substTo = substMapEntry.substTo;
+            final int end = substMapEntry.substToEnd;
+            int k = substMapEntry.substToStart;
+            if (t + end - k > tCnt)
+                return false;
+            while (k < end)
+                if (tSymArray[t++] != substTo[k++])
+                    return false;
+        }
+        return t == tCnt;
+    }
+
     /**
      * ok, some input, work and output areas in global (class) work areas
      * <p>
@@ -971,29 +1172,28 @@ public class VerifyProofs implements ProofVerifier {
      * formula.
      *
      * @param f the formula
+     * @param varIndex the subst[] index of each symbol of f, or -1 (see
+     *            Assrt.getMandVarIndex())
      * @return a new Formula
      */
-    private Formula applySubstMapping(final Formula f) {
+    private Formula applySubstMapping(final Formula f, final int[] varIndex) {
 
         final int fCnt = f.getCnt();
         final Sym[] fSymArray = f.getSym();
         wExpr[0] = fSymArray[0];
         wExprCnt = 1;
 
-        nextFSym: for (int i = 1; i < fCnt; i++) {
-            final Sym fSym = fSymArray[i];
-            for (int j = 0; j < substCnt; j++) {
-                final SubstMapEntry substMapEntry = subst[j];
-                if (substMapEntry == null)
-                    // this wasn't a VarHyp subst entry
-                    continue;
-                if (fSym == substMapEntry.substFrom) {
-                    for (final Sym element : substMapEntry.substTo)
-                        wExpr[wExprCnt++] = element;
-                    continue nextFSym;
-                }
+        for (int i = 1; i < fCnt; i++) {
+            final int j = varIndex[i];
+            if (j < 0) {
+                wExpr[wExprCnt++] = fSymArray[i]; // no subst, use orig sym!
+                continue;
             }
-            wExpr[wExprCnt++] = fSym; // no subst, use orig sym!
+            final SubstMapEntry substMapEntry = subst[j];
+            final Sym[] substTo = substMapEntry.substTo;
+            final int end = substMapEntry.substToEnd;
+            for (int k = substMapEntry.substToStart; k < end; k++)
+                wExpr[wExprCnt++] = substTo[k];
         }
 
         return new Formula(wExprCnt, wExpr);
@@ -1030,10 +1230,27 @@ public class VerifyProofs implements ProofVerifier {
         final int xMax = substCnt - 1;
         final int yMax = xMax + 1;
 
+        final DjVarsTable stepDjVars = stepFrame.getDjVarsTable();
+        if (stepDjVars != null) {
+            if (substDjIdx.length < substCnt)
+                substDjIdx = new int[subst.length];
+            for (int i = 0; i < substCnt; i++)
+                substDjIdx[i] = subst[i].substFrom == null ? -1
+                    : stepDjVars.getLocalIdx((Var)subst[i].substFrom);
+            for (int fromX = 0; fromX < xMax; fromX++) {
+                final int x = substDjIdx[fromX];
+                if (x >= 0)
+                    for (int fromY = fromX + 1; fromY < yMax; fromY++)
+                        if (stepDjVars.isDjPair(x, substDjIdx[fromY]))
+                            checkSubstToVars(fromX, fromY);
+            }
+            return;
+        }
+
         for (int fromX = 0; fromX < xMax; fromX++)
-            if (subst[fromX] != null)
+            if (subst[fromX].substFrom != null)
                 for (int fromY = fromX + 1; fromY < yMax; fromY++)
-                    if (subst[fromY] != null)
+                    if (subst[fromY].substFrom != null)
                         if (ScopeFrame.isVarPairInDjArray(stepFrame,
                             (Var)subst[fromX].substFrom,
                             (Var)subst[fromY].substFrom))
@@ -1083,10 +1300,21 @@ public class VerifyProofs implements ProofVerifier {
     private void checkSubstToVars(final int x, final int y)
         throws VerifyException
     {
-        for (final Sym symI : subst[x].substTo) {
+        final SubstMapEntry substX = subst[x];
+        final SubstMapEntry substY = subst[y];
+        final DjVarsTable mandDjVars = proofStmtFrame.getDjVarsTable();
+        final DjVarsTable optDjVars = proofStmtOptFrame.getDjVarsTable();
+        for (int i = substX.substToStart; i < substX.substToEnd; i++) {
+            final Sym symI = substX.substTo[i];
             if (!(symI instanceof Var))
                 continue;
-            for (final Sym symJ : subst[y].substTo) {
+            // look up symI's DjVarsTable rows once for all of substY
+            final int mandI = mandDjVars == null ? -1
+                : mandDjVars.getLocalIdx((Var)symI);
+            final int optI = optDjVars == null ? -1
+                : optDjVars.getLocalIdx((Var)symI);
+            for (int j = substY.substToStart; j < substY.substToEnd; j++) {
+                final Sym symJ = substY.substTo[j];
                 if (!(symJ instanceof Var))
                     continue;
                 if (symI == symJ)
@@ -1098,9 +1326,9 @@ public class VerifyProofs implements ProofVerifier {
                 if (proofDjVarsSoftErrorsIgnore)
                     continue;
 
-                if (!ScopeFrame.isVarPairInDjArray(proofStmtFrame, (Var)symI,
-                    (Var)symJ)
-                    && !ScopeFrame.isVarPairInDjArray(proofStmtOptFrame,
+                if (!isDjVarPair(proofStmtFrame, mandDjVars, mandI,
+                    (Var)symI, (Var)symJ)
+                    && !isDjVarPair(proofStmtOptFrame, optDjVars, optI,
                         (Var)symI, (Var)symJ)
                     &&
                 // don't report "soft" Dj WorkVar errors
@@ -1119,6 +1347,26 @@ public class VerifyProofs implements ProofVerifier {
             }
         }
     }
+
+    /**
+     * Checks a pair of variables against a frame's DjVars, using the frame's
+     * DjVarsTable if it has one.
+     *
+     * @param frame the ScopeFrame
+     * @param table frame.getDjVarsTable(), or null
+     * @param localI table's local index of vI (unused if table is null)
+     * @param vI the first variable
+     * @param vJ the second variable
+     * @return true if the pair is in the frame's DjVars
+     */
+    private static boolean isDjVarPair(final ScopeFrame frame,
+        final DjVarsTable table, final int localI, final Var vI, final Var vJ)
+    {
+        if (table == null)
+            return ScopeFrame.isVarPairInDjArray(frame, vI, vJ);
+        return localI >= 0 && table.isDjPair(localI, table.getLocalIdx(vJ));
+    }
+
     public void raiseVerifyException(final String stepLabel,
         final ErrorCode code, final Object... args) throws VerifyException
     {
@@ -1301,7 +1549,8 @@ public class VerifyProofs implements ProofVerifier {
 
             findUniqueSubstMapping();
 
-            stepSubstFormula = applySubstMapping(stepFormula);
+            stepSubstFormula = applySubstMapping(stepFormula,
+                stepVarIndex[substCnt]);
             if (proof[stepNbr].backRef < 0)
                 backrefs.add(stepSubstFormula);
             pStack.push(stepSubstFormula);
@@ -0,0 +1,105 @@
+package mmj;
+
+import java.io.File;
+
+import mmj.gmff.GMFFManager;
+import mmj.lang.*;
+import mmj.mmio.Systemizer;
+import mmj.pa.ProofAsst;
+import mmj.pa.ProofAsstPreferences;
+import mmj.pa.SessionStore;
+import mmj.tl.TheoremLoader;
+import mmj.tl.TlPreferences;
+import mmj.verify.Grammar;
+import mmj.verify.VerifyProofs;
+
+/**
+ * Loads and parses one of the Metamath files in data/mm for the tests.
+ */
+public class TestDatabase {
+
+    /** The directory holding the test databases. */
+    public static final File MM_DIR = new File("data/mm");
+
+    public final Messages messages = new Messages();
+    public final LogicalSystem logicalSystem;
+    public final Grammar grammar;
+
+    private TestDatabase(final String fileName, final int parseThreads)
+        throws Exception
+    {
+        logicalSystem = newLogicalSystem(messages);
+        final Systemizer systemizer = new Systemizer();
+        systemizer.init(messages, logicalSystem, 0, null, false, true);
+        systemizer.load(MM_DIR, fileName);
+        grammar = new Grammar();
+        grammar.initializeGrammar(messages, logicalSystem.getSymTbl(),
+            logicalSystem.getStmtTbl());
+        grammar.parseAllFormulas(messages, logicalSystem.getSymTbl(),
+            logicalSystem.getStmtTbl(), parseThreads);
+    }
+
+    /**
+     * Builds an empty LogicalSystem with the default settings.
+     *
+     * @param messages the Messages object
+     * @return the new LogicalSystem
+     */
+    public static LogicalSystem newLogicalSystem(final Messages messages) {
+        return new LogicalSystem("|-", "wff", new GMFFManager(null, messages),
+            new BookManager(false, "|-"), new SeqAssigner(),
+            LangConstants.SYM_TBL_INITIAL_SIZE_DEFAULT,
+            LangConstants.STMT_TBL_INITIAL_SIZE_DEFAULT, null, null);
+    }
+
+    /**
+     * Builds a ProofAsst for the database, with its lookup tables initialized
+     * and no MacroManager.
+     *
+     * @return the new ProofAsst
+     * @throws Exception if the Work Variables cannot be declared
+     */
+    public ProofAsst newProofAsst() throws Exception {
+        final ProofAsstPreferences proofAsstPreferences = new ProofAsstPreferences();
+        final WorkVarManager workVarManager = new WorkVarManager(grammar);
+        workVarManager.declareWorkVars(grammar, logicalSystem);
+        proofAsstPreferences.setWorkVarManager(workVarManager);
+        final ProofAsst proofAsst = new ProofAsst(proofAsstPreferences,
+            logicalSystem, grammar, new VerifyProofs(),
+            new TheoremLoader(
+                new TlPreferences(logicalSystem, new SessionStore())),
+            null);
+        proofAsst.initializeLookupTables(messages);
+        return proofAsst;
+    }
+
+    /**
+     * Loads a file from data/mm and parses all of its formulas.
+     *
+     * @param fileName the name of the file in data/mm
+     * @return the loaded database
+     * @throws Exception if the file cannot be loaded, or has errors
+     */
+    public static TestDatabase load(final String fileName) throws Exception {
+        return load(fileName, 1);
+    }
+
+    /**
+     * Loads a file from data/mm and parses all of its formulas using the
+     * given number of threads.
+     *
+     * @param fileName the name of the file in data/mm
+     * @param parseThreads the number of threads used to parse the formulas
+     * @return the loaded database
+     * @throws Exception if the file cannot be loaded, or has errors
+     */
+    public static TestDatabase load(final String fileName,
+        final int parseThreads) throws Exception
+    {
+        final TestDatabase db = new TestDatabase(fileName, parseThreads);
+        if (db.messages.getErrorMessageCnt() != 0)
+            throw new IllegalStateException(fileName + ": "
+                + db.messages.getErrorMessageCnt() + " load errors");
+        return db;
+    }
+}
@@ -0,0 +1,75 @@
+package mmj.lang;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+
+public class DiscriminationTreeTest {
+
+    /**
+     * The candidates found by the index must include every assertion found by
+     * a linear scan that tries to unify each assertion in turn, as the Proof
+     * Unifier did before the index was added.
+     */
+    @Test
+    public void candidatesIncludeLinearSearchMatches() throws Exception {
+        final TestDatabase db = TestDatabase.load("setFirst100.mm");
+
+        final List<Assrt> assrts = new ArrayList<>();
+        final List<ParseTree> queries = new ArrayList<>();
+        for (final Stmt stmt : db.logicalSystem.getStmtTbl().values()) {
+            if (stmt.getExprParseTree() == null)
+                continue;
+            if (stmt instanceof Assrt)
+                assrts.add((Assrt)stmt);
+            if (stmt instanceof Theorem || stmt instanceof LogHyp)
+                queries.add(stmt.getExprParseTree());
+        }
+        Collections.sort(assrts, MObj.SEQ);
+
+        final DiscriminationTree<Assrt> index = new DiscriminationTree<>();
+        for (final Assrt a : assrts)
+            index.add(a.getExprParseTree().getRoot(), a);
+        assertEquals(assrts.size(), index.size());
+
+        final Deque<ParseNode> unifyNodeStack = new ArrayDeque<>();
+        final Deque<ParseNode> compareNodeStack = new ArrayDeque<>();
+        int matches = 0;
+        int candidates = 0;
+        for (final ParseTree q : queries) {
+            final Set<Assrt> found = index.getCandidates(q.getRoot(), false);
+            candidates += found.size();
+            for (final Assrt a : assrts)
+                if (a.getExprParseTree().getRoot().unifyWithSubtree(
+                    q.getRoot(), a.getMandVarHypArray(), unifyNodeStack,
+                    compareNodeStack) != null)
+                {
+                    matches++;
+                    assertTrue(a.getLabel() + " unifies with " + q
+                        + " but is not a candidate", found.contains(a));
+                }
+        }
+        assertTrue(matches >= queries.size()); // each theorem matches itself
+        assertTrue(candidates < queries.size() * assrts.size());
+    }
+
+    @Test
+    public void clearEmptiesTheIndex() throws Exception {
+        final TestDatabase db = TestDatabase.load("setFirst100.mm");
+        final Assrt a = (Assrt)db.logicalSystem.getStmtTbl().get("ax-mp");
+        final DiscriminationTree<Assrt> index = new DiscriminationTree<>();
+        index.add(a.getExprParseTree().getRoot(), a);
+        assertEquals(1, index.size());
+        assertTrue(index.getCandidates(a.getExprParseTree().getRoot(), false)
+            .contains(a));
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(
+            index.getCandidates(a.getExprParseTree().getRoot(), false).isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package mmj.lang;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+public class DjVarsTableTest {
+
+    /**
+     * The table must give the same answer as a scan of the DjVars array for
+     * every pair of variables, including variables not in the array.
+     */
+    @Test
+    public void tableAgreesWithScan() throws Exception {
+        final List<Var> vars = Arrays.asList(declareVars(12));
+        for (int i = 0; i < vars.size(); i++)
+            vars.get(i).setTblIdx(i * 7); // not dense, as in a real database
+
+        final List<DjVars> list = new ArrayList<>();
+        for (int i = 0; i < vars.size() - 2; i++)
+            for (int j = i + 1; j < vars.size() - 2; j++)
+                if ((i + j) % 3 == 0)
+                    list.add(new DjVars(vars.get(i), vars.get(j)));
+        final ScopeFrame frame = new ScopeFrame();
+        frame.djVarsArray = list.toArray(new DjVars[list.size()]);
+        assertTrue(
+            frame.djVarsArray.length >= LangConstants.DJ_VARS_TABLE_MIN_LEN);
+
+        final DjVarsTable table = frame.getDjVarsTable();
+        assertNotNull(table);
+        assertSame(table, frame.getDjVarsTable());
+        for (final Var vI : vars)
+            for (final Var vJ : vars) {
+                final boolean expected = scan(frame.djVarsArray, vI, vJ);
+                assertEquals(vI + " " + vJ, expected,
+                    table.isDjVarPair(vI, vJ));
+                assertEquals(vI + " " + vJ, expected,
+                    ScopeFrame.isVarPairInDjArray(frame, vI, vJ));
+            }
+    }
+
+    /**
+     * An array with a variable that is not in the Symbol Table is not indexed,
+     * and the lookup falls back to the scan.
+     */
+    @Test
+    public void unregisteredVarIsNotIndexed() throws Exception {
+        final Var[] vars = declareVars(
+            LangConstants.DJ_VARS_TABLE_MIN_LEN + 1);
+        final DjVars[] array = new DjVars[vars.length - 1];
+        for (int i = 0; i < array.length; i++)
+            array[i] = new DjVars(vars[i], vars[i + 1]);
+        assertFalse(DjVarsTable.build(array).isIndexed());
+
+        final ScopeFrame frame = new ScopeFrame();
+        frame.djVarsArray = array;
+        assertNull(frame.getDjVarsTable());
+        assertNull(frame.getDjVarsTable());
+        assertTrue(ScopeFrame.isVarPairInDjArray(frame, vars[1], vars[0]));
+        assertFalse(ScopeFrame.isVarPairInDjArray(frame, vars[0], vars[2]));
+    }
+
+    private static Var[] declareVars(final int cnt) throws LangException {
+        final Map<String, Sym> symTbl = new HashMap<>();
+        final Map<String, Stmt> stmtTbl = new HashMap<>();
+        final Var[] vars = new Var[cnt];
+        for (int i = 0; i < cnt; i++)
+            vars[i] = Var.declareVar(i, symTbl, stmtTbl, "v" + i);
+        return vars;
+    }
+
+    private static boolean scan(final DjVars[] array, final Var vI,
+        final Var vJ)
+    {
+        for (final DjVars djVars : array)
+            if (djVars.getVarLo() == vI && djVars.getVarHi() == vJ
+                || djVars.getVarLo() == vJ && djVars.getVarHi() == vI)
+                return true;
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package mmj.lang;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+import mmj.lang.ParseTree.RPNStep;
+import mmj.mmio.BlockList;
+
+public class ProofCompressionTest {
+
+    /**
+     * Decompressing a compressed proof gives back the squished proof it was
+     * compressed from, for every theorem, with one ProofCompression reused
+     * for all of them.
+     */
+    @Test
+    public void compressThenDecompressGivesTheSameProof() throws Exception {
+        final TestDatabase db = TestDatabase.load("setFirst100.mm");
+        final Map<String, Stmt> stmtTbl = db.logicalSystem.getStmtTbl();
+        final ProofCompression proofCompression = new ProofCompression();
+
+        int n = 0;
+        for (final Stmt stmt : stmtTbl.values()) {
+            if (!(stmt instanceof Theorem))
+                continue;
+            final Theorem theorem = (Theorem)stmt;
+            final RPNStep[] rpn = new ParseTree(theorem.getProof())
+                .squishTree().convertToRPN(false);
+
+            final List<VarHyp> optHypList = new ArrayList<>();
+            for (final Hyp hyp : theorem.getOptFrame().hypArray)
+                if (hyp instanceof VarHyp)
+                    optHypList.add((VarHyp)hyp);
+            final StringBuilder letters = new StringBuilder();
+            final List<Stmt> parenList = proofCompression.compress(
+                theorem.getLabel(), 60,
+                Arrays.asList(theorem.getMandFrame().hypArray), optHypList,
+                rpn, letters);
+
+            final List<String> otherRefList = new ArrayList<>();
+            for (final Stmt ref : parenList)
+                otherRefList.add(ref.getLabel());
+            final BlockList blockList = new BlockList();
+            blockList.addBlock(letters.toString());
+            final RPNStep[] decompressed = proofCompression.decompress(
+                theorem.getLabel(), theorem.getSeq(), stmtTbl,
+                theorem.getMandFrame().hypArray,
+                theorem.getOptFrame().hypArray, otherRefList, blockList);
+
+            assertEquals(theorem.getLabel(), Arrays.toString(rpn),
+                Arrays.toString(decompressed));
+            assertEquals(theorem.getLabel(),
+                Arrays.toString(
+                    new ParseTree(theorem.getProof()).convertToRPNExpanded()),
+                Arrays.toString(
+                    new ParseTree(decompressed).convertToRPNExpanded()));
+            n++;
+        }
+        assertTrue(n > 50);
+    }
+}
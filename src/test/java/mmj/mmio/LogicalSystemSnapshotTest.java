@@ -0,0 +1,98 @@
+package mmj.mmio;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.*;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+import mmj.lang.*;
+
+public class LogicalSystemSnapshotTest {
+
+    private static final String LOAD_SETTINGS = "test";
+
+    @Test
+    public void replayedLoadEqualsOriginalLoad() throws Exception {
+        assertReplayEquals(new File(TestDatabase.MM_DIR, "setFirst100.mm"));
+    }
+
+    /**
+     * Calls that failed during the original load must fail again during the
+     * replay, so that the messages and the sequence numbers match.
+     */
+    @Test
+    public void replayedLoadWithErrorsEqualsOriginalLoad() throws Exception {
+        final File mmFile = File.createTempFile("snapshot", ".mm");
+        mmFile.deleteOnExit();
+        try (Writer w = new FileWriter(mmFile)) {
+            w.write("$c ( ) -> wff |- $.\n" //
+                + "$v p q $.\n" //
+                + "wp $f wff p $.\n" //
+                + "wq $f wff q $.\n" //
+                + "wi $a wff ( p -> q ) $.\n" //
+                + "$c ( $.\n" // duplicate constant
+                + "ax-1 $a |- ( p -> ( q -> p ) ) $.\n" //
+                + "wp $f wff q $.\n" // duplicate label
+                + "ax-2 $a |- ( p -> p ) $.\n");
+        }
+        final Messages messages = assertReplayEquals(mmFile);
+        assertTrue(messages.getErrorMessageCnt() > 0);
+    }
+
+    private static Messages assertReplayEquals(final File mmFile)
+        throws Exception
+    {
+        final Messages messages = new Messages();
+        final LogicalSystem original = TestDatabase.newLogicalSystem(messages);
+        final LogicalSystemSnapshot recording = new LogicalSystemSnapshot(
+            LOAD_SETTINGS);
+        final Systemizer systemizer = new Systemizer();
+        systemizer.init(messages, recording.record(original), 0, null, true,
+            true);
+        systemizer.load(mmFile.getParentFile(), mmFile.getName());
+        recording.addSourceFile(mmFile);
+
+        final File file = File.createTempFile("snapshot", ".snap");
+        file.deleteOnExit();
+        recording.write(file, original.getStmtTbl(), false, false);
+
+        final LogicalSystemSnapshot snapshot = LogicalSystemSnapshot
+            .read(file, mmFile, LOAD_SETTINGS);
+        assertNotNull(snapshot);
+        final Messages replayMessages = new Messages();
+        final LogicalSystem replayed = TestDatabase
+            .newLogicalSystem(replayMessages);
+        snapshot.load(replayed, replayMessages);
+
+        // the replayed messages have no source position
+        assertEquals(messages.getErrorMessageCnt(),
+            replayMessages.getErrorMessageCnt());
+        for (int i = 0; i < messages.getErrorMessageCnt(); i++)
+            assertEquals(
+                messages.getErrorMessageArray()[i].replaceFirst(
+                    " Source Id: .*", ""),
+                replayMessages.getErrorMessageArray()[i]);
+        assertEquals(original.getSymTbl().keySet(),
+            replayed.getSymTbl().keySet());
+        assertEquals(original.getStmtTbl().keySet(),
+            replayed.getStmtTbl().keySet());
+        for (final Stmt stmt : original.getStmtTbl().values()) {
+            final Stmt other = replayed.getStmtTbl().get(stmt.getLabel());
+            assertEquals(stmt.getLabel(), stmt.getSeq(), other.getSeq());
+            assertEquals(stmt.getLabel(), stmt.getFormula().toString(),
+                other.getFormula().toString());
+            assertEquals(stmt.getLabel(), stmt.getDescription(),
+                other.getDescription());
+            if (stmt instanceof Theorem)
+                assertEquals(stmt.getLabel(),
+                    Arrays.toString(((Theorem)stmt).getProof()),
+                    Arrays.toString(((Theorem)other).getProof()));
+        }
+        return messages;
+    }
+}
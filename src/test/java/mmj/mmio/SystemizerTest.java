@@ -0,0 +1,92 @@
+package mmj.mmio;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+import mmj.lang.*;
+
+public class SystemizerTest {
+
+    private static final String HEADER = "$c ( ) -> wff |- $.\n" //
+        + "$v p q $.\n" //
+        + "wp $f wff p $.\n" //
+        + "wq $f wff q $.\n" //
+        + "wi $a wff ( p -> q ) $.\n" //
+        + "ax-1 $a |- ( p -> ( q -> p ) ) $.\n" //
+        + "th1 $p |- ( p -> ( q -> p ) ) $= ( ax-1 ) ABD $.\n" // bad proof
+        + "th2 $p |- ( p -> ( q -> p ) ) $= ( ax-1 ) ABC $.\n" //
+        + "th3 $p |- ( p -> ( q -> p ) ) $= ( ax-1 ) ABE $.\n"; // bad proof
+
+    /**
+     * Decompressing the proofs at the end of a multi-threaded load must not
+     * change the messages, nor their order.
+     */
+    @Test
+    public void loadThreadsDoNotChangeMessages() throws Exception {
+        final File mmFile = write(HEADER);
+        final Messages serial = load(mmFile, 1, new Messages());
+        assertEquals(2, serial.getInfoMessageCnt());
+        assertMessagesEqual(serial, load(mmFile, 4, new Messages()));
+    }
+
+    /**
+     * A load that stops at the maximum number of error messages never reaches
+     * finalizeEOF(), but its deferred proofs must still be decompressed.
+     */
+    @Test
+    public void abortedLoadDecompressesDeferredProofs() throws Exception {
+        final File mmFile = write(HEADER + "$c ( $.\n" // duplicate constant
+            + "th4 $p |- ( p -> ( q -> p ) ) $= ( ax-1 ) ABC $.\n");
+        final Messages serial = load(mmFile, 1, new Messages(1, 100));
+        assertTrue(serial.maxErrorMessagesReached());
+        assertMessagesEqual(serial, load(mmFile, 4, new Messages(1, 100)));
+    }
+
+    private static Messages load(final File mmFile, final int loadThreads,
+        final Messages messages) throws Exception
+    {
+        final LogicalSystem logicalSystem = TestDatabase
+            .newLogicalSystem(messages);
+        logicalSystem.setLoadThreads(loadThreads);
+        final Systemizer systemizer = new Systemizer();
+        systemizer.init(messages, logicalSystem, 0, null, false, true);
+        systemizer.setLoadThreads(loadThreads);
+        systemizer.load(mmFile.getParentFile(), mmFile.getName());
+        for (final Stmt stmt : logicalSystem.getStmtTbl().values())
+            if (stmt instanceof Theorem)
+                assertFalse(stmt.getLabel(),
+                    ((Theorem)stmt).isProofDecompressedLazily());
+        return messages;
+    }
+
+    private static void assertMessagesEqual(final Messages expected,
+        final Messages actual)
+    {
+        assertEquals(
+            Arrays.asList(expected.getErrorMessageArray())
+                .subList(0, expected.getErrorMessageCnt()),
+            Arrays.asList(actual.getErrorMessageArray())
+                .subList(0, actual.getErrorMessageCnt()));
+        assertEquals(
+            Arrays.asList(expected.getInfoMessageArray())
+                .subList(0, expected.getInfoMessageCnt()),
+            Arrays.asList(actual.getInfoMessageArray())
+                .subList(0, actual.getInfoMessageCnt()));
+    }
+
+    private static File write(final String text) throws Exception {
+        final File mmFile = File.createTempFile("systemizer", ".mm");
+        mmFile.deleteOnExit();
+        try (Writer w = new FileWriter(mmFile)) {
+            w.write(text);
+        }
+        return mmFile;
+    }
+}
@@ -0,0 +1,73 @@
+package mmj.mmio;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class TokenizerTest {
+
+    private static final String ASCII = "$c ( ) wff |- $.\n"
+        + "$( A comment $)\n" + "$v p $.\r\n" + "wp $f wff p $.\n";
+
+    private static final String NON_ASCII = "$c ( ) wff |- $.\n"
+        + "$( A comment by J\u00f6rg \u2192 \u00c5 $) $v p $.\n"
+        + "wp $f wff p $.\n";
+
+    @Test
+    public void asciiFileIsMapped() throws Exception {
+        final File f = write(ASCII);
+        try (Tokenizer t = new Tokenizer(f, "")) {
+            assertTrue(t.isMapped());
+        }
+        assertSameTokens(f);
+    }
+
+    /**
+     * A file with non-ASCII characters must be tokenized exactly as the
+     * Reader-based Tokenizer does, with the same character positions.
+     */
+    @Test
+    public void nonAsciiFileMatchesReader() throws Exception {
+        final File f = write(NON_ASCII);
+        try (Tokenizer t = new Tokenizer(f, "")) {
+            assertFalse(t.isMapped());
+        }
+        assertSameTokens(f);
+    }
+
+    private static void assertSameTokens(final File f) throws Exception {
+        try (Tokenizer mapped = new Tokenizer(f, "");
+            Tokenizer read = new Tokenizer(
+                new BufferedReader(
+                    new InputStreamReader(new FileInputStream(f))),
+                ""))
+        {
+            final StringBuilder sb = new StringBuilder();
+            String token;
+            do {
+                sb.setLength(0);
+                final int len = read.getToken(sb, 0);
+                token = mapped.getToken((TokenTable)null);
+                assertEquals(len < 0 ? null : sb.toString(), token);
+                assertEquals(read.getCurrentLineNbr(),
+                    mapped.getCurrentLineNbr());
+                assertEquals(read.getCurrentColumnNbr(),
+                    mapped.getCurrentColumnNbr());
+                assertEquals(read.getCurrentCharNbr(),
+                    mapped.getCurrentCharNbr());
+            } while (token != null);
+        }
+    }
+
+    private static File write(final String s) throws IOException {
+        final File f = File.createTempFile("tokenizer", ".mm");
+        f.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(f)) {
+            out.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return f;
+    }
+}
@@ -0,0 +1,78 @@
+package mmj.pa;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Counter;
+
+public class ProofUnifierTest {
+
+    /** syl, with the Refs of its derivation steps left for unification. */
+    private static final String SYL = "$( <MM> <PROOF_ASST> THEOREM=syl  LOC_AFTER=?\n"
+        + "\n" //
+        + "h1::syl.1          |- ( ph -> ps )\n" //
+        + "h2::syl.2          |- ( ps -> ch )\n" //
+        + "3:2:               |- ( ph -> ( ps -> ch ) )\n" //
+        + "4:3:               |- ( ( ph -> ps ) -> ( ph -> ch ) )\n" //
+        + "qed:1,4:           |- ( ph -> ch )\n" //
+        + "$)\n";
+
+    private final Counter hits = Metrics
+        .counter("unify_step_cache_hits_total");
+
+    /**
+     * A second unification of the same empty-Ref steps replays the remembered
+     * assertions, with the same result as the full search.
+     */
+    @Test
+    public void unchangedStepsAreReplayed() throws Exception {
+        final ProofAsst proofAsst = TestDatabase.load("setFirst100.mm")
+            .newProofAsst();
+
+        long before = hits.get();
+        final String first = unify(proofAsst, SYL);
+        assertEquals(0, hits.get() - before);
+        assertTrue(first, first.contains("3:2:a1i"));
+        assertTrue(first, first.contains("4:3:a2i"));
+        assertTrue(first, first.contains("qed:1,4:ax-mp"));
+        assertTrue(first, first.contains("$="));
+
+        before = hits.get();
+        assertEquals(first, unify(proofAsst, SYL));
+        assertEquals(3, hits.get() - before);
+
+        // a changed step is searched again; the others are replayed
+        before = hits.get();
+        final String edited = unify(proofAsst,
+            SYL.replace("3:2:               |- ( ph -> ( ps -> ch ) )",
+                "3:2:               |- ( ps -> ( ps -> ch ) )"));
+        assertFalse(edited, edited.contains("$="));
+        assertEquals(1, hits.get() - before);
+    }
+
+    /** Adding assertions forgets the remembered ones. */
+    @Test
+    public void mergeOfAssertionsClearsTheCache() throws Exception {
+        final ProofAsst proofAsst = TestDatabase.load("setFirst100.mm")
+            .newProofAsst();
+        final String first = unify(proofAsst, SYL);
+
+        proofAsst.proofUnifier
+            .mergeListOfAssrtAddsSortedBySeq(Collections.emptyList());
+        final long before = hits.get();
+        assertEquals(first, unify(proofAsst, SYL));
+        assertEquals(0, hits.get() - before);
+    }
+
+    private static String unify(final ProofAsst proofAsst,
+        final String proofText)
+    {
+        return proofAsst.unify(false, false, proofText, null, null, null, -1,
+            true).getOutputProofText();
+    }
+}
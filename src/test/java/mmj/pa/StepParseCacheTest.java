@@ -0,0 +1,55 @@
+package mmj.pa;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+import mmj.util.Metrics;
+import mmj.util.Metrics.Counter;
+
+public class StepParseCacheTest {
+
+    private static final String SYL = "$( <MM> <PROOF_ASST> THEOREM=syl  LOC_AFTER=?\n"
+        + "\n" //
+        + "h1::syl.1          |- ( ph -> ps )\n" //
+        + "h2::syl.2          |- ( ps -> ch )\n" //
+        + "3:2:a1i            |- ( ph -> ( ps -> ch ) )\n" //
+        + "4:3:a2i            |- ( ( ph -> ps ) -> ( ph -> ch ) )\n" //
+        + "qed:1,4:ax-mp      |- ( ph -> ch )\n" //
+        + "$)\n";
+
+    /**
+     * Unifying the same worksheet again parses none of its step formulas, and
+     * gives the same result. (The hyps and the qed step of an existing theorem
+     * take their parse trees from the theorem.)
+     */
+    @Test
+    public void unchangedStepsAreNotParsedAgain() throws Exception {
+        final TestDatabase db = TestDatabase.load("setFirst100.mm");
+        final ProofAsst proofAsst = db.newProofAsst();
+        final Counter hits = Metrics.counter("step_parse_cache_hits_total");
+
+        final String first = unify(proofAsst, SYL);
+        assertTrue(first, first.contains("$="));
+
+        final long before = hits.get();
+        assertEquals(first, unify(proofAsst, SYL));
+        assertEquals(2, hits.get() - before);
+
+        // only the changed step is parsed
+        final long beforeEdit = hits.get();
+        final String edited = unify(proofAsst,
+            SYL.replace("|- ( ( ph -> ps ) -> ( ph -> ch ) )",
+                "|- ( ( ph -> ps ) -> ( ph -> ps ) )"));
+        assertFalse(edited, first.equals(edited));
+        assertEquals(1, hits.get() - beforeEdit);
+    }
+
+    private static String unify(final ProofAsst proofAsst,
+        final String proofText)
+    {
+        return proofAsst.unify(false, false, proofText, null, null, null, -1,
+            true).getOutputProofText();
+    }
+}
@@ -0,0 +1,69 @@
+package mmj.tl;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+import mmj.lang.*;
+import mmj.mmio.Systemizer;
+import mmj.pa.SessionStore;
+
+public class MMRecompressorTest {
+
+    /**
+     * The loaded file with recompressed proofs is a complete database with
+     * the same proofs, and recompressing it again changes nothing.
+     */
+    @Test
+    public void recompressedFileLoadsWithTheSameProofs() throws Exception {
+        final TestDatabase db = TestDatabase.load("setFirst100.mm");
+        final File mmFile = new File(TestDatabase.MM_DIR, "setFirst100.mm");
+        final File out = recompress(db.logicalSystem, mmFile, 4);
+
+        final Messages messages = new Messages();
+        final LogicalSystem loaded = TestDatabase.newLogicalSystem(messages);
+        final Systemizer systemizer = new Systemizer();
+        systemizer.init(messages, loaded, 0, null, false, true);
+        systemizer.load(out.getParentFile(), out.getName());
+        assertEquals(0, messages.getErrorMessageCnt());
+        assertEquals(db.logicalSystem.getStmtTbl().size(),
+            loaded.getStmtTbl().size());
+
+        for (final Stmt stmt : db.logicalSystem.getStmtTbl().values())
+            if (stmt instanceof Theorem)
+                assertEquals(stmt.getLabel(), expand((Theorem)stmt),
+                    expand((Theorem)loaded.getStmtTbl().get(stmt.getLabel())));
+
+        assertEquals(read(out), read(recompress(loaded, out, 1)));
+    }
+
+    private static File recompress(final LogicalSystem logicalSystem,
+        final File mmFile, final int threads) throws Exception
+    {
+        final File out = File.createTempFile("recompressed", ".mm");
+        out.deleteOnExit();
+        try (BufferedWriter w = new BufferedWriter(new FileWriter(out))) {
+            new MMRecompressor(
+                new TlPreferences(logicalSystem, new SessionStore()), threads)
+                    .recompressMMFile(logicalSystem, mmFile, w,
+                        out.getName(), new Messages());
+        }
+        return out;
+    }
+
+    private static String expand(final Theorem theorem) {
+        return Arrays.toString(
+            new ParseTree(theorem.getProof()).convertToRPNExpanded());
+    }
+
+    private static String read(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()),
+            Charset.defaultCharset());
+    }
+}
@@ -0,0 +1,89 @@
+package mmj.util;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+
+public class GMFFBossTest {
+
+    private static final String[] EXPORT_TYPES = {"html", "althtml"};
+
+    /**
+     * A multi-threaded GMFFExportTheorem,* writes the same files, and reports
+     * the same messages in the same order, as a serial one.
+     */
+    @Test
+    public void parallelExportMatchesSerialExport() throws Exception {
+        final File serial = export(1);
+        final File parallel = export(4);
+
+        assertEquals(messages(serial), messages(parallel));
+        for (final String exportType : EXPORT_TYPES) {
+            final String[] names = new File(serial, exportType).list();
+            final String[] parallelNames = new File(parallel, exportType)
+                .list();
+            Arrays.sort(names);
+            Arrays.sort(parallelNames);
+            assertEquals(100, names.length);
+            assertArrayEquals(names, parallelNames);
+            for (final String name : names)
+                assertEquals(name, read(new File(serial, exportType), name),
+                    read(new File(parallel, exportType), name));
+        }
+    }
+
+    private static File export(final int threads) throws IOException {
+        final File dir = Files.createTempDirectory("gmff").toFile();
+        for (final String mm : new String[]{"setFirst100.mm",
+                "DollarTFirst100.mm"})
+            Files.copy(new File(TestDatabase.MM_DIR, mm).toPath(),
+                new File(dir, mm).toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        final StringBuilder runParms = new StringBuilder(
+            "MacrosEnabled,no\n" + "SystemOutputFile,out.txt,update\n"
+                + "LoadFile,setFirst100.mm\n" + "LoadFile,DollarTFirst100.mm\n"
+                + "VerifyProof,*\n" + "Parse,*\n");
+        for (final String exportType : EXPORT_TYPES) {
+            new File(dir, exportType).mkdir();
+            runParms.append("GMFFExportParms," + exportType + ",ON,"
+                + exportType + "def," + exportType + ",.html,"
+                + new File("data/gmfftest/models", exportType)
+                    .getAbsolutePath()
+                + ",A,ISO-8859-1\n");
+        }
+        runParms.append("GMFFExportThreads," + threads + "\n"
+            + "GMFFExportTheorem,*,1000\n");
+
+        final File rpFile = new File(dir, "rp.txt");
+        Files.write(rpFile.toPath(),
+            runParms.toString().getBytes(Charset.defaultCharset()));
+        Files.write(new File(dir, "out.txt").toPath(), new byte[0]);
+        assertEquals(0, new BatchMMJ2().runIt(new String[]{
+                rpFile.getAbsolutePath(), "n", dir.getAbsolutePath(),
+                dir.getAbsolutePath()}));
+        return dir;
+    }
+
+    /** The messages of the export, without the run's directory. */
+    private static String messages(final File dir) throws IOException {
+        final String out = read(dir, "out.txt");
+        return out.substring(out.indexOf("GMFFExportTheorem"))
+            .replace(dir.getAbsolutePath(), "");
+    }
+
+    private static String read(final File dir, final String name)
+        throws IOException
+    {
+        return new String(Files.readAllBytes(new File(dir, name).toPath()),
+            Charset.defaultCharset());
+    }
+}
@@ -0,0 +1,67 @@
+package mmj.util;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+
+public class LogicalSystemBossTest {
+
+    private static final String LOAD = "MacrosEnabled,no\n"
+        + "SystemOutputFile,out.txt,update\n"
+        + "LoadSnapshot,test.snap,setFirst100.mm\n" //
+        + "VerifyProof,*\n" //
+        + "Parse,*\n";
+
+    /**
+     * Once the Theorem Loader has changed the LogicalSystem, the snapshot it
+     * was loaded from no longer stands in for VerifyProof,* or Parse,*.
+     */
+    @Test
+    public void theoremLoaderCommitInvalidatesLoadedSnapshot()
+        throws Exception
+    {
+        final File dir = Files.createTempDirectory("snapshot").toFile();
+        Files.copy(new File(TestDatabase.MM_DIR, "setFirst100.mm").toPath(),
+            new File(dir, "setFirst100.mm").toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+        new File(dir, "mmt").mkdir();
+
+        run(dir, LOAD + "WriteSnapshot\n");
+
+        final String out = run(dir,
+            LOAD + "TheoremLoaderMMTFolder,mmt\n"
+                + "ExtractTheoremToMMTFolder,syl\n"
+                + "LoadTheoremsFromMMTFolder,syl\n" //
+                + "VerifyProof,*\n" //
+                + "Parse,*\n");
+        final String afterCommit = out
+            .substring(out.indexOf("LoadTheoremsFromMMTFolder,syl"));
+        assertTrue(out, out.contains("I-UT-0702"));
+        assertTrue(out, out.contains("I-UT-0061"));
+        assertTrue(out, afterCommit.contains("Theorem updated"));
+        assertFalse(out, afterCommit.contains("I-UT-0702"));
+        assertFalse(out, afterCommit.contains("I-UT-0061"));
+    }
+
+    private static String run(final File dir, final String runParms)
+        throws IOException
+    {
+        final File rpFile = new File(dir, "rp.txt");
+        final File outFile = new File(dir, "out.txt");
+        Files.write(rpFile.toPath(),
+            runParms.getBytes(Charset.defaultCharset()));
+        Files.write(outFile.toPath(), new byte[0]);
+        assertEquals(0, new BatchMMJ2().runIt(new String[]{
+                rpFile.getAbsolutePath(), "n", dir.getAbsolutePath(),
+                dir.getAbsolutePath()}));
+        return new String(Files.readAllBytes(outFile.toPath()),
+            Charset.defaultCharset());
+    }
+}
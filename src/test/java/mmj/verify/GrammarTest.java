@@ -0,0 +1,25 @@
+package mmj.verify;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Test;
+
+import mmj.TestDatabase;
+import mmj.lang.Stmt;
+
+public class GrammarTest {
+
+    @Test
+    public void parallelParseEqualsSerialParse() throws Exception {
+        final TestDatabase serial = TestDatabase.load("setFirst100.mm", 1);
+        final TestDatabase parallel = TestDatabase.load("setFirst100.mm", 4);
+        for (final Stmt stmt : serial.logicalSystem.getStmtTbl().values()) {
+            final Stmt other = parallel.logicalSystem.getStmtTbl()
+                .get(stmt.getLabel());
+            assertNotNull(stmt.getLabel(), other.getExprParseTree());
+            assertEquals(stmt.getLabel(), stmt.getExprParseTree().toString(),
+                other.getExprParseTree().toString());
+        }
+    }
+}